@@ -3,10 +3,8 @@ package epitech.timemanager1;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
-import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.scheduling.annotation.EnableAsync;
 
-@EnableKafka
 @SpringBootApplication
 @EnableJpaAuditing
 @EnableAsync
@@ -0,0 +1,9 @@
+package epitech.timemanager1.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(HolidayProperties.class)
+public class HolidayConfig {
+}
@@ -0,0 +1,31 @@
+package epitech.timemanager1.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holiday calendars ({@code app.holidays.*}).
+ *
+ * @param defaultCalendar calendar of teams not listed in {@code teams}
+ * @param calendars       codes to load; each is read from {@code location + code + ".txt"}
+ * @param location        resource prefix, e.g. {@code classpath:holidays/} or {@code file:/etc/timemanager/holidays/}
+ * @param firstYear       first year covered by the precomputed tables
+ * @param lastYear        last year covered by the precomputed tables
+ * @param teams           team id to calendar code, for teams not on the default calendar
+ */
+@ConfigurationProperties("app.holidays")
+public record HolidayProperties(
+        @DefaultValue("FR") String defaultCalendar,
+        @DefaultValue("FR") List<String> calendars,
+        @DefaultValue("classpath:holidays/") String location,
+        @DefaultValue("2000") int firstYear,
+        @DefaultValue("2100") int lastYear,
+        Map<Long, String> teams
+) {
+    public HolidayProperties {
+        teams = teams == null ? Map.of() : Map.copyOf(teams);
+    }
+}
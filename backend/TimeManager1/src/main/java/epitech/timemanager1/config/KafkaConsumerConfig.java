@@ -1,46 +1,48 @@
 package epitech.timemanager1.config;
 
-import epitech.timemanager1.events.PasswordResetRequestedEvent;
+import epitech.timemanager1.kafka.codec.EventCodecDeserializer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 
-import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Consumer side of the binary event codec: every listener gets the record type named by the
+ * payload's schema id, so no type headers or trusted packages are needed.
+ */
 @Configuration
+@ConditionalOnProperty(name = "app.kafka.enabled", havingValue = "true", matchIfMissing = true)
 public class KafkaConsumerConfig {
 
     @Bean
-    public ConsumerFactory<String, PasswordResetRequestedEvent>
-    passwordResetConsumerFactory() {
-
-        JsonDeserializer<PasswordResetRequestedEvent> deserializer =
-                new JsonDeserializer<>(PasswordResetRequestedEvent.class);
-        deserializer.addTrustedPackages("epitech.timemanager1.*");
-
-        Map<String, Object> props = new HashMap<>();
+    public ConsumerFactory<String, Object> eventConsumerFactory(KafkaProperties kafkaProperties) {
+        Map<String, Object> props = kafkaProperties.buildConsumerProperties();
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
 
-        return new org.springframework.kafka.core.DefaultKafkaConsumerFactory<>(
+        return new DefaultKafkaConsumerFactory<>(
                 props,
                 new StringDeserializer(),
-                deserializer
+                new ErrorHandlingDeserializer<>(new EventCodecDeserializer())
         );
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, PasswordResetRequestedEvent>
-    passwordResetKafkaListenerFactory(
-            ConsumerFactory<String, PasswordResetRequestedEvent> cf) {
+    public ConcurrentKafkaListenerContainerFactory<String, Object>
+    kafkaListenerContainerFactory(ConsumerFactory<String, Object> eventConsumerFactory) {
 
-        ConcurrentKafkaListenerContainerFactory<String, PasswordResetRequestedEvent> factory =
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(cf);
+        factory.setConsumerFactory(eventConsumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.RECORD);
         return factory;
     }
-}
\ No newline at end of file
+}
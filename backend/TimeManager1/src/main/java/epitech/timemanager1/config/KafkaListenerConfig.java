@@ -0,0 +1,15 @@
+package epitech.timemanager1.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafka;
+
+/**
+ * Turns {@code @KafkaListener} methods into Kafka consumers only when Kafka is enabled.
+ * With {@code app.kafka.enabled=false} the same methods are fed by the in-process event bus.
+ */
+@Configuration
+@EnableKafka
+@ConditionalOnProperty(name = "app.kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class KafkaListenerConfig {
+}
@@ -0,0 +1,85 @@
+package epitech.timemanager1.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+/**
+ * Lets Postgres enforce "an employee never has two overlapping shifts".
+ * <p>
+ * Once Hibernate has created or updated the schema, this adds a GiST exclusion constraint on
+ * {@code work_shifts}: same {@code employee_id} and overlapping {@code [start_at, end_at)} range
+ * is refused by the database itself, so concurrent edits cannot both slip through and no
+ * pre-check query is needed. Unassigned shifts ({@code employee_id} null) never conflict.
+ * </p>
+ * On other databases (H2 in tests), or if the constraint cannot be added (missing privilege,
+ * existing overlaps), {@link #isInstalled()} stays false and the service keeps its overlap query.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class ShiftOverlapConstraint {
+
+    public static final String NAME = "ex_work_shifts_employee_overlap";
+
+    /** Postgres SQLSTATE exclusion_violation */
+    static final String EXCLUSION_VIOLATION = "23P01";
+
+    private final JdbcTemplate jdbc;
+    private final boolean enabled;
+    private volatile boolean installed;
+
+    public ShiftOverlapConstraint(JdbcTemplate jdbc,
+                                  @Value("${app.shifts.overlap-constraint.enabled:true}") boolean enabled) {
+        this.jdbc = jdbc;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    void install() {
+        if (!enabled) return;
+        String product = jdbc.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(product)) {
+            log.info("Shift overlap constraint skipped on {}; overlaps are checked by query", product);
+            return;
+        }
+        try {
+            jdbc.execute("CREATE EXTENSION IF NOT EXISTS btree_gist");
+            Boolean exists = jdbc.queryForObject(
+                    "select exists(select 1 from pg_constraint where conname = ?)", Boolean.class, NAME);
+            if (!Boolean.TRUE.equals(exists)) {
+                jdbc.execute("ALTER TABLE work_shifts ADD CONSTRAINT " + NAME
+                        + " EXCLUDE USING gist (employee_id WITH =, tsrange(start_at, end_at, '[)') WITH &&)");
+                log.info("Shift overlap constraint {} created", NAME);
+            }
+            installed = true;
+        } catch (DataAccessException ex) {
+            log.warn("Cannot install shift overlap constraint {} ({}); overlaps stay checked by query",
+                    NAME, ex.getMostSpecificCause().getMessage());
+        }
+    }
+
+    /** Whether the database rejects overlapping shifts itself. */
+    public boolean isInstalled() {
+        return installed;
+    }
+
+    /** Whether {@code ex} (or one of its causes) is a violation of this constraint. */
+    public static boolean isViolation(Throwable ex) {
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sql && EXCLUSION_VIOLATION.equals(sql.getSQLState())
+                    && sql.getMessage() != null && sql.getMessage().contains(NAME)) {
+                return true;
+            }
+            if (t.getCause() == t) break;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,52 @@
+package epitech.timemanager1.controllers;
+
+import epitech.timemanager1.services.HolidayCalendarService;
+import epitech.timemanager1.util.BusinessCalendar;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/calendars")
+@RequiredArgsConstructor
+public class HolidayCalendarController {
+
+    private final HolidayCalendarService holidays;
+
+    /** Codes of the loaded holiday calendars. */
+    @GetMapping
+    public ResponseEntity<Set<String>> codes() {
+        return ResponseEntity.ok(holidays.codes());
+    }
+
+    /**
+     * Holidays of a calendar in one year.
+     * Example: GET /api/calendars/FR/holidays?year=2025
+     */
+    @GetMapping("/{code}/holidays")
+    public ResponseEntity<Map<LocalDate, String>> holidays(@PathVariable String code, @RequestParam int year) {
+        return ResponseEntity.ok(holidays.calendar(code)
+                .holidaysBetween(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31)));
+    }
+
+    /**
+     * Business days between two dates (inclusive) of a calendar, or of a team's calendar.
+     * Example: GET /api/calendars/business-days?from=2025-05-01&to=2025-05-31&teamId=4
+     */
+    @GetMapping("/business-days")
+    public ResponseEntity<Map<String, Object>> businessDays(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String code,
+            @RequestParam(required = false) Long teamId
+    ) {
+        BusinessCalendar cal = code != null ? holidays.calendar(code) : holidays.forTeam(teamId);
+        holidays.requireCovered(from.isAfter(to) ? to : from, to.isBefore(from) ? from : to);
+        return ResponseEntity.ok(Map.of("calendar", cal.code(), "businessDays", cal.businessDaysBetween(from, to)));
+    }
+}
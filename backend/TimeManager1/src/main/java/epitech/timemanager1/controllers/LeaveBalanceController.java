@@ -0,0 +1,75 @@
+package epitech.timemanager1.controllers;
+
+import epitech.timemanager1.dto.LeaveAccrualRuleDTO;
+import epitech.timemanager1.dto.LeaveBalanceAdjustmentDTO;
+import epitech.timemanager1.dto.LeaveBalanceDTO;
+import epitech.timemanager1.dto.LeaveLedgerEntryDTO;
+import epitech.timemanager1.entities.LeaveAccrualRule;
+import epitech.timemanager1.entities.LeaveType;
+import epitech.timemanager1.services.LeaveAccrualJob;
+import epitech.timemanager1.services.LeaveLedgerService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Year;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/leaves")
+@RequiredArgsConstructor
+public class LeaveBalanceController {
+
+    private final LeaveLedgerService ledger;
+    private final LeaveAccrualJob accrualJob;
+
+    /** All balances of an employee, one per leave type that has any movement. */
+    @GetMapping("/balances")
+    public ResponseEntity<List<LeaveBalanceDTO>> balances(@RequestParam Long employeeId) {
+        return ResponseEntity.ok(ledger.balancesFor(employeeId));
+    }
+
+    /** One balance (zero if the employee never had a movement for that type). */
+    @GetMapping("/balances/{type}")
+    public ResponseEntity<LeaveBalanceDTO> balance(@PathVariable LeaveType type, @RequestParam Long employeeId) {
+        return ResponseEntity.ok(ledger.balanceFor(employeeId, type));
+    }
+
+    /** Latest ledger entries behind a balance, newest first. */
+    @GetMapping("/ledger")
+    public ResponseEntity<List<LeaveLedgerEntryDTO>> ledger(@RequestParam Long employeeId,
+                                                            @RequestParam LeaveType type) {
+        return ResponseEntity.ok(ledger.history(employeeId, type));
+    }
+
+    /** Manager/CEO corrects a balance by hand. */
+    @PostMapping("/balances/adjustments")
+    public ResponseEntity<LeaveBalanceDTO> adjust(@RequestParam Long employeeId,
+                                                  @Valid @RequestBody LeaveBalanceAdjustmentDTO body) {
+        return ResponseEntity.ok(ledger.adjust(employeeId, body.getType(), body.getDays(), body.getNote()));
+    }
+
+    @GetMapping("/accrual-rules")
+    public ResponseEntity<List<LeaveAccrualRule>> rules() {
+        return ResponseEntity.ok(ledger.rules());
+    }
+
+    /** Creates or replaces the yearly entitlement of a leave type. */
+    @PutMapping("/accrual-rules/{type}")
+    public ResponseEntity<LeaveAccrualRule> saveRule(@PathVariable LeaveType type,
+                                                     @Valid @RequestBody LeaveAccrualRuleDTO body) {
+        return ResponseEntity.ok(ledger.saveRule(type, body));
+    }
+
+    /**
+     * Runs the yearly accrual now (it also runs on {@code app.leave.accrual.cron}).
+     * Safe to repeat: employees already credited for the year are skipped.
+     */
+    @PostMapping("/accrual/run")
+    public ResponseEntity<Map<String, Integer>> runAccrual(@RequestParam(required = false) Integer year) {
+        int y = year != null ? year : Year.now().getValue();
+        return ResponseEntity.ok(Map.of("year", y, "credited", accrualJob.run(y)));
+    }
+}
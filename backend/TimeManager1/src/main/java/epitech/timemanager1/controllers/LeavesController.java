@@ -1,10 +1,14 @@
 package epitech.timemanager1.controllers;
 
+import epitech.timemanager1.dto.LeaveBulkDecisionDTO;
 import epitech.timemanager1.dto.LeaveDecisionDTO;
+import epitech.timemanager1.dto.LeaveDecisionResultDTO;
 import epitech.timemanager1.dto.LeaveRequestCreateDTO;
+import epitech.timemanager1.dto.PendingLeavePageDTO;
 import epitech.timemanager1.entities.LeaveRequest;
 import epitech.timemanager1.entities.LeaveStatus;
 import epitech.timemanager1.services.LeaveRequestService;
+import epitech.timemanager1.services.PendingLeaveCounter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -14,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/leaves")
@@ -21,6 +26,7 @@ import java.util.List;
 public class LeavesController {
 
     private final LeaveRequestService leaves;
+    private final PendingLeaveCounter pendingCounter;
 
     /** Employee creates a leave request. */
     @PostMapping
@@ -73,6 +79,17 @@ public class LeavesController {
         return ResponseEntity.badRequest().build();
     }
 
+    /**
+     * Manager/CEO decides many leaves at once; returns one outcome per entry, in input order.
+     * Entries that cannot be applied (not found, not PENDING, conflicting) are reported, not thrown.
+     */
+    @PostMapping("/decisions")
+    public ResponseEntity<List<LeaveDecisionResultDTO>> decideAll(
+            @Valid @RequestBody LeaveBulkDecisionDTO body
+    ) {
+        return ResponseEntity.ok(leaves.decideAll(body.getDecisions()));
+    }
+
     /** All requests for an employee (newest first). */
     @GetMapping
     public ResponseEntity<List<LeaveRequest>> listForEmployee(@RequestParam Long employeeId) {
@@ -85,6 +102,34 @@ public class LeavesController {
         return ResponseEntity.ok(leaves.listPendingForApprover());
     }
 
+    /**
+     * Pending requests of a manager's team members, oldest start first, one page at a time.
+     * Pass the previous page's {@code nextCursor} to get the next one.
+     * Example:
+     * GET /api/leaves/pending/queue?managerId=3&size=20&cursor=2025-12-01:42
+     */
+    @GetMapping("/pending/queue")
+    public ResponseEntity<PendingLeavePageDTO> pendingQueue(
+            @RequestParam Long managerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(leaves.pendingQueueForManager(managerId, cursor, size));
+    }
+
+    /**
+     * Number of pending requests waiting on a manager, and when the queue last changed (epoch millis,
+     * taken from the leaves themselves); cheap enough to poll. Eventually consistent across instances
+     * (see {@link PendingLeaveCounter}).
+     */
+    @GetMapping("/pending/count")
+    public ResponseEntity<Map<String, Long>> pendingCount(@RequestParam Long managerId) {
+        return ResponseEntity.ok(Map.of(
+                "managerId", managerId,
+                "pending", pendingCounter.pendingFor(managerId),
+                "changedAt", pendingCounter.changedAt(managerId)));
+    }
+
     /**
      * List all leave requests for an employee between two dates (inclusive).
      * Example:
@@ -0,0 +1,57 @@
+package epitech.timemanager1.controllers;
+
+import epitech.timemanager1.dto.PayrollLineDTO;
+import epitech.timemanager1.dto.PayrollPeriodDTO;
+import epitech.timemanager1.dto.PayrollSnapshotDTO;
+import epitech.timemanager1.services.PayrollService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Closed payroll periods. Closing freezes every employee's totals for the period and locks the
+ * clocks and pauses inside it; reads come from the frozen snapshot.
+ */
+@RestController
+@RequestMapping("/api/payroll/periods")
+@RequiredArgsConstructor
+@Validated
+public class PayrollController {
+
+    private final PayrollService payroll;
+
+    @PostMapping("/close")
+    @ResponseStatus(HttpStatus.CREATED)
+    public PayrollPeriodDTO close(@Valid @RequestBody CloseRequest body) {
+        return payroll.close(body.from(), body.to());
+    }
+
+    @GetMapping
+    public List<PayrollPeriodDTO> list() {
+        return payroll.list();
+    }
+
+    @GetMapping("/{id}")
+    public PayrollSnapshotDTO snapshot(@PathVariable Long id) {
+        return payroll.snapshot(id);
+    }
+
+    @GetMapping("/{id}/users/{userId}")
+    public PayrollLineDTO line(@PathVariable Long id, @PathVariable Long userId) {
+        return payroll.line(id, userId);
+    }
+
+    // ---- payloads ----
+    /** First and last day of the period, both included. */
+    public record CloseRequest(
+            @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {}
+}
@@ -0,0 +1,71 @@
+package epitech.timemanager1.controllers;
+
+import epitech.timemanager1.dto.ReportJobDTO;
+import epitech.timemanager1.dto.ReportJobRequestDTO;
+import epitech.timemanager1.services.ReportJobService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+/**
+ * Background reports: submit the parameters, then poll the job or subscribe to its events,
+ * and download the result once it is {@code DONE}. Results are kept for a limited time.
+ */
+@RestController
+@RequestMapping("/api/report-jobs")
+@RequiredArgsConstructor
+@Validated
+public class ReportJobController {
+
+    private final ReportJobService jobs;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ReportJobDTO submit(@Valid @RequestBody ReportJobRequestDTO body, Authentication auth) {
+        return jobs.submit(body, auth.getName());
+    }
+
+    @GetMapping
+    public List<ReportJobDTO> mine(Authentication auth) {
+        return jobs.mine(auth.getName());
+    }
+
+    @GetMapping("/{id}")
+    public ReportJobDTO get(@PathVariable Long id) {
+        return jobs.get(id);
+    }
+
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable Long id) {
+        return jobs.subscribe(id);
+    }
+
+    /** Sends the stored gzip as is when the client accepts it, else inflates it into the response. */
+    @GetMapping("/{id}/result")
+    public ResponseEntity<StreamingResponseBody> result(
+            @PathVariable Long id,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        ReportJobService.Download d = jobs.result(id);
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(d.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + d.filename() + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip")) {
+            return ok.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .contentLength(d.gzipped().length)
+                    .body(out -> out.write(d.gzipped()));
+        }
+        return ok.body(d::writeTo);
+    }
+}
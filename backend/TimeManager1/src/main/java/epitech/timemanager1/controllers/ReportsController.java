@@ -1,11 +1,21 @@
 package epitech.timemanager1.controllers;
 
+import epitech.timemanager1.dto.AdherenceSummaryDTO;
+import epitech.timemanager1.dto.HoursCubeDTO;
+import epitech.timemanager1.dto.OvertimeWeekDTO;
 import epitech.timemanager1.dto.ReportsDTO;
 import epitech.timemanager1.dto.TeamAvgHoursDTO;
+import epitech.timemanager1.dto.TeamOvertimeDTO;
+import epitech.timemanager1.dto.TeamTrendDTO;
 import epitech.timemanager1.entities.Clock;
 import epitech.timemanager1.repositories.ClockPauseRepository;
+import epitech.timemanager1.services.AdherenceService;
 import epitech.timemanager1.services.ClockService;
+import epitech.timemanager1.services.HoursCubeService;
+import epitech.timemanager1.services.OvertimeService;
 import epitech.timemanager1.services.ReportsService;
+import epitech.timemanager1.services.SiteZones;
+import epitech.timemanager1.util.DayBucketer;
 import jakarta.validation.constraints.Pattern;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -14,7 +24,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.*;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/reports")
@@ -24,13 +33,25 @@ public class ReportsController {
     private final ReportsService reportsService;
     private final ClockService clockService;
     private final ClockPauseRepository pauseRepo;
+    private final AdherenceService adherenceService;
+    private final OvertimeService overtimeService;
+    private final HoursCubeService cube;
+    private final SiteZones zones;
 
     public ReportsController(ReportsService reportsService,
                              ClockService clockService,
-                             ClockPauseRepository pauseRepo) {
+                             ClockPauseRepository pauseRepo,
+                             AdherenceService adherenceService,
+                             OvertimeService overtimeService,
+                             HoursCubeService cube,
+                             SiteZones zones) {
         this.reportsService = reportsService;
         this.clockService = clockService;
         this.pauseRepo = pauseRepo;
+        this.adherenceService = adherenceService;
+        this.overtimeService = overtimeService;
+        this.cube = cube;
+        this.zones = zones;
     }
 
     @GetMapping("/overview")
@@ -51,6 +72,116 @@ public class ReportsController {
         return ResponseEntity.ok(dto.getTeamAvgHoursWeek());
     }
 
+    /**
+     * Weekly net hours and lateness of each team (or of {@code teamIds}) for the weeks overlapping
+     * {@code [from, to]}, at most 106 weeks, for trend charts.
+     * <p>
+     * Read from the hours cube's daily facts only: weeks older than the cube, and clocks edited by
+     * hand after the nightly rebuild window, show as empty or stale until
+     * {@code POST /api/reports/cube/backfill} has been run over their days.
+     * </p>
+     */
+    @GetMapping("/teams/trends")
+    public ResponseEntity<List<TeamTrendDTO>> teamTrends(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "teamIds", required = false) List<Long> teamIds,
+            @RequestParam(name = "lateAfter", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime lateAfter
+    ) {
+        return ResponseEntity.ok(reportsService.teamTrends(from, to, teamIds, lateAfter));
+    }
+
+    /**
+     * Shift adherence of a team: shifts starting between {@code from} and {@code to} (inclusive,
+     * at most 92 days), with the per-shift detail unless {@code details=false}.
+     */
+    @GetMapping("/teams/{teamId}/adherence")
+    public ResponseEntity<AdherenceSummaryDTO> teamAdherence(
+            @PathVariable long teamId,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "details", defaultValue = "true") boolean details
+    ) {
+        return ResponseEntity.ok(adherenceService.forTeam(teamId, from, to, details));
+    }
+
+    /** Shift adherence totals of every team for one month, computed in a single pass. */
+    @GetMapping("/adherence")
+    public ResponseEntity<List<AdherenceSummaryDTO>> companyAdherence(
+            @RequestParam(name = "yearMonth") @Pattern(
+                    regexp = "^[0-9]{4}-[0-1][0-9]$", message = "yearMonth must be YYYY-MM")
+            String yearMonth
+    ) {
+        YearMonth ym = YearMonth.parse(yearMonth);
+        return ResponseEntity.ok(adherenceService.forCompany(ym.atDay(1), ym.atEndOfMonth()));
+    }
+
+    /** Weekly overtime buckets of a user for the weeks overlapping {@code [from, to]}. */
+    @GetMapping("/users/{userId}/overtime")
+    public ResponseEntity<List<OvertimeWeekDTO>> userOvertime(
+            @PathVariable long userId,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(overtimeService.forUser(userId, from, to));
+    }
+
+    /** Weekly overtime buckets of a team's members for the weeks overlapping {@code [from, to]}, with totals. */
+    @GetMapping("/teams/{teamId}/overtime")
+    public ResponseEntity<TeamOvertimeDTO> teamOvertime(
+            @PathVariable long teamId,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(overtimeService.forTeam(teamId, from, to));
+    }
+
+    /** Recomputes the overtime accumulators of the week containing {@code week} from the clocks. */
+    @PostMapping("/overtime/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildOvertime(
+            @RequestParam("week") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate week
+    ) {
+        return ResponseEntity.ok(Map.of("employees", overtimeService.rebuildWeek(week)));
+    }
+
+    /**
+     * Hours cube over the days {@code [from, to]} (at most 366), e.g.
+     * {@code ?by=team,month&measures=net_hours,lateness_rate&filter=role:EMPLOYEE;weekday:MON..FRI}.
+     * Dimensions: user, team, role, day, week, month, weekday. Measures: net_hours, pause_hours,
+     * days, late_days, lateness_rate, avg_net_hours.
+     */
+    @GetMapping("/cube")
+    public ResponseEntity<HoursCubeDTO> cube(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "by", required = false) String by,
+            @RequestParam(name = "measures", required = false) String measures,
+            @RequestParam(name = "filter", required = false) String filter,
+            @RequestParam(name = "lateAfter", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime lateAfter
+    ) {
+        return ResponseEntity.ok(cube.query(by, measures, filter, from, to, lateAfter));
+    }
+
+    /** Recomputes the cube's daily facts of {@code [from, to]} (at most 31 days) from the clocks. */
+    @PostMapping("/cube/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildCube(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(Map.of("facts", cube.rebuild(from, to)));
+    }
+
+    /** Recomputes the cube's daily facts of {@code [from, to]} (at most 106 weeks) 31 days at a time. */
+    @PostMapping("/cube/backfill")
+    public ResponseEntity<Map<String, Integer>> backfillCube(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(Map.of("facts", cube.backfill(from, to)));
+    }
+
     @GetMapping("/users/{userId}/is-late")
     public ResponseEntity<UserLateResponse> isLate(
             @PathVariable long userId,
@@ -64,15 +195,14 @@ public class ReportsController {
         LocalDate theDay = (date != null) ? date : LocalDate.now(zone);
         LocalTime thr = LocalTime.parse(threshold);
 
-        LocalDateTime from = theDay.atStartOfDay();
-        LocalDateTime to = from.plusDays(1);
+        DayBucketer day = zones.days(zone, theDay, theDay);
 
-        List<Clock> clocks = clockService.listForUserBetween(userId, from, to);
+        List<Clock> clocks = clockService.listForUserBetween(userId, day.storageStart(), day.storageEnd());
         Optional<Clock> first = clocks.stream()
                 .min(Comparator.comparing(Clock::getClockIn));
 
         LocalDateTime firstIn = first.map(Clock::getClockIn).orElse(null);
-        boolean late = firstIn != null && firstIn.toLocalTime().isAfter(thr);
+        boolean late = firstIn != null && day.secondOfDay(day.toInstant(firstIn)) > thr.toSecondOfDay();
 
         return ResponseEntity.ok(new UserLateResponse(userId, theDay, thr, firstIn, late));
     }
@@ -89,23 +219,27 @@ public class ReportsController {
     ) {
         ZoneId zone = resolveZone(zoneId);
         YearMonth ym = YearMonth.parse(yearMonth);
-        LocalDateTime from = ym.atDay(1).atStartOfDay();
-        LocalDateTime to = ym.plusMonths(1).atDay(1).atStartOfDay();
         LocalTime thr = LocalTime.parse(threshold);
+        DayBucketer month = zones.days(zone, ym.atDay(1), ym.atEndOfMonth());
 
-        List<Clock> clocks = clockService.listForUserBetween(userId, from, to);
+        List<Clock> clocks = clockService.listForUserBetween(userId, month.storageStart(), month.storageEnd());
 
-        Map<LocalDate, Clock> firstByDay = clocks.stream()
-                .collect(Collectors.toMap(
-                        c -> c.getClockIn().toLocalDate(),
-                        c -> c,
-                        (a, b) -> a.getClockIn().isBefore(b.getClockIn()) ? a : b
-                ));
+        // first clock-in of each local day
+        long[] firstByDay = new long[month.days()];
+        Arrays.fill(firstByDay, Long.MAX_VALUE);
+        for (Clock c : clocks) {
+            long in = month.toInstant(c.getClockIn());
+            int d = month.dayOf(in);
+            if (d >= 0) firstByDay[d] = Math.min(firstByDay[d], in);
+        }
 
-        long totalDays = firstByDay.size();
-        long lateDays = firstByDay.values().stream()
-                .filter(c -> c.getClockIn().toLocalTime().isAfter(thr))
-                .count();
+        long totalDays = 0;
+        long lateDays = 0;
+        for (long in : firstByDay) {
+            if (in == Long.MAX_VALUE) continue;
+            totalDays++;
+            if (month.secondOfDay(in) > thr.toSecondOfDay()) lateDays++;
+        }
 
         double rate = totalDays == 0 ? 0.0 : (double) lateDays / totalDays;
 
@@ -121,15 +255,20 @@ public class ReportsController {
             @RequestParam("to")   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
             @RequestParam(name = "zone", required = false) String zoneId
     ) {
+        // from/to are wall-clock times of the zone; clocks are stored in the storage zone
+        ZoneId zone = resolveZone(zoneId);
+        LocalDateTime storedFrom = zones.toStorage(from, zone);
+        LocalDateTime storedTo = zones.toStorage(to, zone);
+
         // Pull clocks; we’ll load pauses per clock explicitly to avoid fetch-join surprises
-        List<Clock> clocks = clockService.listForUserBetween(userId, from, to);
+        List<Clock> clocks = clockService.listForUserBetween(userId, storedFrom, storedTo);
 
         double totalGrossMin = 0.0;
         double totalPauseMin = 0.0;
 
         for (Clock c : clocks) {
-            LocalDateTime start = max(c.getClockIn(), from);
-            LocalDateTime end   = min(c.getClockOut() != null ? c.getClockOut() : to, to);
+            LocalDateTime start = max(c.getClockIn(), storedFrom);
+            LocalDateTime end   = min(c.getClockOut() != null ? c.getClockOut() : storedTo, storedTo);
             if (end.isBefore(start)) continue;
 
             long grossMin = Duration.between(start, end).toMinutes();
@@ -158,9 +297,8 @@ public class ReportsController {
 
     // ------------ helpers / tiny response records -----------------
 
-    private static ZoneId resolveZone(String zoneId) {
-        if (zoneId == null || zoneId.isBlank()) return ZoneId.systemDefault();
-        return ZoneId.of(zoneId);
+    private ZoneId resolveZone(String zoneId) {
+        return zones.resolve(zoneId);
     }
 
     private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
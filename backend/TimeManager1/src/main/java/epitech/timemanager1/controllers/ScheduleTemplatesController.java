@@ -1,15 +1,21 @@
 package epitech.timemanager1.controllers;
 
+import epitech.timemanager1.dto.ScheduleCoverageDTO;
 import epitech.timemanager1.dto.ScheduleTemplateDTO;
+import epitech.timemanager1.dto.WeeklyPatternDTO;
 import epitech.timemanager1.entities.ScheduleTemplate;
 import epitech.timemanager1.mapper.ScheduleTemplateMapper;
 import epitech.timemanager1.services.ScheduleTemplateService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/schedule-templates")
@@ -43,6 +49,27 @@ public class ScheduleTemplatesController {
         return ResponseEntity.ok(mapper.toDtoList(templates.listForTeam(teamId)));
     }
 
+    // -------- PATTERN --------
+    @GetMapping("/{id}/pattern")
+    public ResponseEntity<WeeklyPatternDTO> pattern(@PathVariable Long id) {
+        return ResponseEntity.ok(templates.pattern(id));
+    }
+
+    @GetMapping("/{id}/fits")
+    public ResponseEntity<Map<String, Boolean>> fits(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startAt,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endAt) {
+        return ResponseEntity.ok(Map.of("fits", templates.fits(id, startAt, endAt)));
+    }
+
+    @GetMapping("/{id}/coverage")
+    public ResponseEntity<ScheduleCoverageDTO> coverage(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate week) {
+        return ResponseEntity.ok(templates.coverage(id, week));
+    }
+
     // -------- UPDATE --------
     @PutMapping("/{id}")
     public ResponseEntity<ScheduleTemplateDTO> update(
@@ -0,0 +1,105 @@
+package epitech.timemanager1.controllers;
+
+import epitech.timemanager1.dto.ShiftSeriesDTO;
+import epitech.timemanager1.dto.WorkShiftDTO;
+import epitech.timemanager1.mapper.WorkShiftMapper;
+import epitech.timemanager1.services.ShiftSeriesService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Recurring shifts. Occurrences show up in the regular shift listings
+ * ({@code /api/workshifts/team/...}, {@code /api/workshifts/employee/...}) with
+ * {@code seriesId} and {@code occurrenceDate} set; edit or cancel them here.
+ */
+@RestController
+@RequestMapping("/api/shift-series")
+@RequiredArgsConstructor
+@Validated
+public class ShiftSeriesController {
+
+    private final ShiftSeriesService seriesService;
+    private final WorkShiftMapper shiftMapper;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public ShiftSeriesDTO create(@Valid @RequestBody CreateRequest body) {
+        return ShiftSeriesDTO.of(seriesService.create(
+                body.teamId(),
+                body.employeeId(),
+                body.days(),
+                body.startTime(),
+                body.endTime(),
+                body.validFrom(),
+                body.validUntil(),
+                Boolean.TRUE.equals(body.skipHolidays()),
+                body.note()));
+    }
+
+    @GetMapping("/team/{teamId}")
+    public List<ShiftSeriesDTO> listForTeam(@PathVariable Long teamId) {
+        return seriesService.listForTeam(teamId).stream().map(ShiftSeriesDTO::of).toList();
+    }
+
+    /** Last day of the series (inclusive). */
+    @PatchMapping("/{id}/end")
+    public ShiftSeriesDTO end(@PathVariable Long id,
+                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate lastDay) {
+        return ShiftSeriesDTO.of(seriesService.end(id, lastDay));
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void delete(@PathVariable Long id) {
+        seriesService.delete(id);
+    }
+
+    @PutMapping("/{id}/occurrences/{date}")
+    public WorkShiftDTO editOccurrence(@PathVariable Long id,
+                                       @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                       @Valid @RequestBody OccurrenceRequest body) {
+        return shiftMapper.toDto(seriesService.editOccurrence(
+                id, date, body.employeeId(), body.startAt(), body.endAt(), body.note()));
+    }
+
+    @DeleteMapping("/{id}/occurrences/{date}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void cancelOccurrence(@PathVariable Long id,
+                                 @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        seriesService.cancelOccurrence(id, date);
+    }
+
+    // ---- payloads ----
+    public record CreateRequest(
+            @NotNull Long teamId,
+            Long employeeId,
+            @NotEmpty Set<DayOfWeek> days,
+            @NotNull LocalTime startTime,
+            @NotNull LocalTime endTime,
+            @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate validFrom,
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate validUntil,
+            Boolean skipHolidays,
+            @Size(max = 300) String note
+    ) {}
+
+    public record OccurrenceRequest(
+            Long employeeId,
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startAt,
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endAt,
+            @Size(max = 300) String note
+    ) {}
+}
@@ -1,15 +1,23 @@
 package epitech.timemanager1.controllers;
 
+import epitech.timemanager1.dto.OvertimeRuleDTO;
+import epitech.timemanager1.dto.TeamAbsenceCalendarDTO;
+import epitech.timemanager1.dto.TeamCoverageDTO;
 import epitech.timemanager1.dto.TeamDTO;
 import epitech.timemanager1.entities.Team;
 import epitech.timemanager1.mapper.TeamMapper;
+import epitech.timemanager1.services.OvertimeService;
+import epitech.timemanager1.services.TeamAbsenceCalendarService;
+import epitech.timemanager1.services.TeamCoverageService;
 import epitech.timemanager1.services.TeamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -30,6 +38,15 @@ public class TeamController {
     /** Mapper used to convert between {@link Team} and {@link TeamDTO}. */
     private final TeamMapper teamMapper;
 
+    /** Service computing day-by-day team absences. */
+    private final TeamAbsenceCalendarService absenceCalendar;
+
+    /** Service computing planned-versus-actual staffing curves. */
+    private final TeamCoverageService coverage;
+
+    /** Service keeping overtime accumulators and rules. */
+    private final OvertimeService overtime;
+
     /**
      * Creates a new team.
      *
@@ -77,6 +94,74 @@ public class TeamController {
         return ResponseEntity.ok(teamMapper.toDTOs(teams));
     }
 
+    /**
+     * Returns the team's absence calendar: per-day counts of members on approved and pending
+     * leave, and who they are, from {@code from} (today by default) over {@code days} days.
+     * <p>
+     * Example: {@code GET /api/teams/4/absences?from=2025-01-01&days=365}
+     * </p>
+     *
+     * @param id   the ID of the team
+     * @param from first day of the calendar (optional, defaults to today)
+     * @param days number of days (defaults to 365, at most 731)
+     * @return the day-indexed {@link TeamAbsenceCalendarDTO}
+     */
+    @GetMapping("/{id}/absences")
+    public ResponseEntity<TeamAbsenceCalendarDTO> absences(
+            @PathVariable long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "365") int days) {
+        return ResponseEntity.ok(absenceCalendar.calendar(id, from != null ? from : LocalDate.now(), days));
+    }
+
+    /**
+     * Returns planned (shifts) versus actual (clocked, minus pauses) headcount of the team per
+     * time slot, from {@code from} over {@code days} days.
+     * <p>
+     * Example: {@code GET /api/teams/4/coverage?from=2025-01-01&days=31&slotMinutes=15}
+     * </p>
+     *
+     * @param id          the ID of the team
+     * @param from        first day (optional, defaults to the first day of the current month)
+     * @param days        number of days (defaults to 31, at most 92)
+     * @param slotMinutes slot length in minutes (defaults to 15; must divide a day)
+     * @return the slot-indexed {@link TeamCoverageDTO}
+     */
+    @GetMapping("/{id}/coverage")
+    public ResponseEntity<TeamCoverageDTO> coverage(
+            @PathVariable long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "31") int days,
+            @RequestParam(defaultValue = "15") int slotMinutes) {
+        LocalDate start = from != null ? from : LocalDate.now().withDayOfMonth(1);
+        return ResponseEntity.ok(coverage.coverage(id, start, days, slotMinutes));
+    }
+
+    /**
+     * Returns the team's overtime thresholds, or the application defaults if it has none.
+     *
+     * @param id the ID of the team
+     * @return the {@link OvertimeRuleDTO} in effect
+     */
+    @GetMapping("/{id}/overtime-rule")
+    public ResponseEntity<OvertimeRuleDTO> overtimeRule(@PathVariable long id) {
+        return ResponseEntity.ok(overtime.ruleForTeam(id));
+    }
+
+    /**
+     * Creates or replaces the team's overtime thresholds. Weeks from the current one on are
+     * recomputed for its members.
+     *
+     * @param id   the ID of the team
+     * @param body thresholds in minutes ({@code null} disables a rule)
+     * @return the saved {@link OvertimeRuleDTO}
+     */
+    @PutMapping("/{id}/overtime-rule")
+    public ResponseEntity<OvertimeRuleDTO> saveOvertimeRule(@PathVariable long id,
+                                                            @Valid @RequestBody OvertimeRuleDTO body) {
+        return ResponseEntity.ok(overtime.saveRule(id, body));
+    }
+
     /**
      * Updates an existing team.
      *
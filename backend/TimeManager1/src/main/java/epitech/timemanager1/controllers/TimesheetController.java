@@ -0,0 +1,54 @@
+package epitech.timemanager1.controllers;
+
+import epitech.timemanager1.services.SiteZones;
+import epitech.timemanager1.services.TimesheetExportService;
+import jakarta.validation.constraints.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.time.ZoneId;
+
+/**
+ * Company-wide timesheet export. The CSV is streamed while it is computed, one slice of
+ * employees at a time, so the response starts at once and memory does not grow with headcount.
+ */
+@RestController
+@RequestMapping("/api/timesheets")
+@RequiredArgsConstructor
+@Validated
+public class TimesheetController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private final TimesheetExportService exports;
+    private final SiteZones zones;
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam("yearMonth") @Pattern(
+                    regexp = "^[0-9]{4}-[0-1][0-9]$", message = "yearMonth must be YYYY-MM") String yearMonth,
+            @RequestParam(name = "zone", required = false) String zoneId
+    ) {
+        YearMonth ym = YearMonth.parse(yearMonth);
+        ZoneId zone = zones.resolve(zoneId);
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            exports.writeCsv(ym.atDay(1), ym.atEndOfMonth(), zone, writer);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"timesheets-" + ym + ".csv\"")
+                .body(body);
+    }
+}
@@ -1,10 +1,15 @@
 package epitech.timemanager1.controllers;
 
+import epitech.timemanager1.dto.RosterCloneResultDTO;
+import epitech.timemanager1.dto.WorkShiftBatchDTO;
+import epitech.timemanager1.dto.WorkShiftBatchResultDTO;
 import epitech.timemanager1.dto.WorkShiftDTO;
 import epitech.timemanager1.entities.WorkShift;
 import epitech.timemanager1.mapper.WorkShiftMapper;
 import epitech.timemanager1.services.WorkShiftService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -12,6 +17,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -38,6 +44,18 @@ public class WorkShiftController {
         return mapper.toDto(ws);
     }
 
+    /** Creates up to 1000 shifts; returns one result per entry, in request order. */
+    @PostMapping("/batch")
+    public List<WorkShiftBatchResultDTO> createBatch(@Valid @RequestBody WorkShiftBatchDTO body) {
+        return workShiftService.createAll(body.getShifts());
+    }
+
+    /** Copies the team's shifts of one week into the following weeks. */
+    @PostMapping("/team/{teamId}/clone-week")
+    public RosterCloneResultDTO cloneWeek(@PathVariable Long teamId, @Valid @RequestBody CloneWeekRequest body) {
+        return workShiftService.cloneWeek(teamId, body.sourceWeek(), body.weeks());
+    }
+
     @PatchMapping("/{id}")
     public WorkShiftDTO update(@PathVariable Long id, @Valid @RequestBody UpdateRequest body) {
         WorkShift ws = workShiftService.update(
@@ -108,4 +126,9 @@ public class WorkShiftController {
     ) {}
 
     public record AssignRequest(@NotNull Long employeeId) {}
+
+    public record CloneWeekRequest(
+            @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate sourceWeek, // any day of the week
+            @NotNull @Min(1) @Max(52) Integer weeks
+    ) {}
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package epitech.timemanager1.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Adherence of a team over {@code [from, to)}: counts of shifts late, left early, not clocked
+ * or not clocked out, and the corresponding minute totals. Only shifts that have ended count.
+ *
+ * @param shifts per-shift detail, or an empty list when only totals were asked for
+ */
+public record AdherenceSummaryDTO(
+        Long teamId,
+        LocalDateTime from,
+        LocalDateTime to,
+        int graceMinutes,
+        long shiftCount,
+        long lateCount,
+        long earlyLeaveCount,
+        long noShowCount,
+        long missingClockOutCount,
+        long plannedMinutes,
+        long workedMinutes,
+        long lateMinutes,
+        long earlyLeaveMinutes,
+        long overtimeMinutes,
+        List<ShiftAdherenceDTO> shifts
+) {}
@@ -0,0 +1,18 @@
+package epitech.timemanager1.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answer of the hours cube: one row per combination of the {@code by} dimensions, keyed by
+ * dimension then measure name. {@code truncated} is set when rows past the limit were dropped.
+ */
+public record HoursCubeDTO(
+        List<String> by,
+        List<String> measures,
+        LocalDate from,
+        LocalDate to,
+        boolean truncated,
+        List<Map<String, Object>> rows
+) {}
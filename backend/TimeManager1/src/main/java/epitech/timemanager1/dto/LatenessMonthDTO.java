@@ -0,0 +1,12 @@
+package epitech.timemanager1.dto;
+
+import java.time.YearMonth;
+
+/** One employee's lateness over one month: days with a clock-in, and how many started late. */
+public record LatenessMonthDTO(
+        Long userId,
+        YearMonth month,
+        int daysWithClock,
+        int lateDays,
+        double rate
+) {}
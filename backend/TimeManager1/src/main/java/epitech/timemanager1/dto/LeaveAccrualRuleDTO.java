@@ -0,0 +1,14 @@
+package epitech.timemanager1.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class LeaveAccrualRuleDTO {
+    @NotNull @DecimalMin("0") private BigDecimal daysPerYear;
+    @DecimalMin("0") private BigDecimal carryOverMaxDays; // null = no cap
+    private boolean active = true;
+}
@@ -0,0 +1,15 @@
+package epitech.timemanager1.dto;
+
+import epitech.timemanager1.entities.LeaveType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class LeaveBalanceAdjustmentDTO {
+    @NotNull private LeaveType type;
+    @NotNull private BigDecimal days;      // negative to remove days
+    @Size(max = 200) private String note;
+}
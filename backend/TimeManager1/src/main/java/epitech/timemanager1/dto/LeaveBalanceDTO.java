@@ -0,0 +1,26 @@
+package epitech.timemanager1.dto;
+
+import epitech.timemanager1.entities.LeaveBalance;
+import epitech.timemanager1.entities.LeaveType;
+
+import java.math.BigDecimal;
+
+/**
+ * An employee's balance for one leave type.
+ *
+ * @param remaining accrued minus taken
+ * @param available remaining minus the days held by pending requests
+ */
+public record LeaveBalanceDTO(
+        LeaveType type,
+        BigDecimal accrued,
+        BigDecimal taken,
+        BigDecimal pending,
+        BigDecimal remaining,
+        BigDecimal available
+) {
+    public static LeaveBalanceDTO of(LeaveBalance b) {
+        return new LeaveBalanceDTO(b.getType(), b.getAccrued(), b.getTaken(), b.getPending(),
+                b.remaining(), b.available());
+    }
+}
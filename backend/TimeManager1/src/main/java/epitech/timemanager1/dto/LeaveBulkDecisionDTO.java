@@ -0,0 +1,29 @@
+package epitech.timemanager1.dto;
+
+import epitech.timemanager1.entities.LeaveStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+public class LeaveBulkDecisionDTO {
+
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@Valid Item> decisions;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        @NotNull private Long leaveId;
+        @NotNull private LeaveStatus decision; // APPROVED or REJECTED
+        @Size(max = 300) private String note;  // optional approver note
+    }
+}
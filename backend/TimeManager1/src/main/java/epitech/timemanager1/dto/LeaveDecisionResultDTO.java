@@ -0,0 +1,25 @@
+package epitech.timemanager1.dto;
+
+import epitech.timemanager1.entities.LeaveStatus;
+
+/**
+ * Outcome of one entry of a bulk decision.
+ *
+ * @param applied whether the decision was stored
+ * @param status  the leave's status after the batch ({@code null} if the leave does not exist)
+ * @param error   why the decision was not applied ({@code null} when applied)
+ */
+public record LeaveDecisionResultDTO(
+        Long leaveId,
+        boolean applied,
+        LeaveStatus status,
+        String error
+) {
+    public static LeaveDecisionResultDTO applied(Long leaveId, LeaveStatus status) {
+        return new LeaveDecisionResultDTO(leaveId, true, status, null);
+    }
+
+    public static LeaveDecisionResultDTO refused(Long leaveId, LeaveStatus status, String error) {
+        return new LeaveDecisionResultDTO(leaveId, false, status, error);
+    }
+}
@@ -0,0 +1,24 @@
+package epitech.timemanager1.dto;
+
+import epitech.timemanager1.entities.LeaveLedgerEntry;
+import epitech.timemanager1.entities.LeaveLedgerEntryKind;
+import epitech.timemanager1.entities.LeaveType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record LeaveLedgerEntryDTO(
+        Long id,
+        LeaveType type,
+        LeaveLedgerEntryKind kind,
+        BigDecimal days,
+        Long leaveRequestId,
+        Integer accrualYear,
+        String note,
+        LocalDateTime createdAt
+) {
+    public static LeaveLedgerEntryDTO of(LeaveLedgerEntry e) {
+        return new LeaveLedgerEntryDTO(e.getId(), e.getType(), e.getKind(), e.getDays(),
+                e.getLeaveRequestId(), e.getAccrualYear(), e.getNote(), e.getCreatedAt());
+    }
+}
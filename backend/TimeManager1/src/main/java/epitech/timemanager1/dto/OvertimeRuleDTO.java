@@ -0,0 +1,24 @@
+package epitech.timemanager1.dto;
+
+import epitech.timemanager1.entities.OvertimeRule;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Overtime thresholds of a team, in minutes; a null threshold disables that rule. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OvertimeRuleDTO {
+    private Long teamId; // read-only
+    @Min(0) @Max(1440) private Integer dailyMaxMinutes;
+    @Min(0) @Max(10080) private Integer weeklyMaxMinutes;
+    @Min(0) @Max(10080) private Integer weeklyHigherRateMinutes;
+
+    public static OvertimeRuleDTO of(Long teamId, OvertimeRule rule) {
+        return new OvertimeRuleDTO(teamId, rule.getDailyMaxMinutes(), rule.getWeeklyMaxMinutes(),
+                rule.getWeeklyHigherRateMinutes());
+    }
+}
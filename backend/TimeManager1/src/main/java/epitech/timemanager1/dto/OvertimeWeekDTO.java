@@ -0,0 +1,28 @@
+package epitech.timemanager1.dto;
+
+import epitech.timemanager1.entities.OvertimeWeek;
+
+import java.time.LocalDate;
+
+/**
+ * Overtime buckets of one employee for the week starting {@code weekStart} (a Monday), in
+ * minutes. {@code weeklyOvertimeMinutes} includes {@code higherRateMinutes}.
+ */
+public record OvertimeWeekDTO(
+        Long userId,
+        LocalDate weekStart,
+        int[] dayMinutes,
+        int workedMinutes,
+        int dailyOvertimeMinutes,
+        int weeklyOvertimeMinutes,
+        int higherRateMinutes
+) {
+    public static OvertimeWeekDTO of(Long userId, OvertimeWeek w) {
+        return new OvertimeWeekDTO(userId, w.getWeekStart(), w.getDayMinutes().clone(), w.getWorkedMinutes(),
+                w.getDailyOvertimeMinutes(), w.getWeeklyOvertimeMinutes(), w.getHigherRateMinutes());
+    }
+
+    public int totalOvertimeMinutes() {
+        return dailyOvertimeMinutes + weeklyOvertimeMinutes;
+    }
+}
@@ -0,0 +1,24 @@
+package epitech.timemanager1.dto;
+
+/**
+ * Frozen payroll totals of one employee for a closed period. Minutes are whole minutes; overtime
+ * comes from the weeks ending (on Sunday) in the period, lateness from the shifts starting in it.
+ *
+ * @param netMinutes     clocked minutes inside the period, pauses removed
+ * @param leaveDays      business days of approved leave inside the period
+ * @param lateShifts     shifts started late beyond the adherence grace period
+ */
+public record PayrollLineDTO(
+        Long userId,
+        String email,
+        String firstName,
+        String lastName,
+        long netMinutes,
+        long pauseMinutes,
+        long dailyOvertimeMinutes,
+        long weeklyOvertimeMinutes,
+        long higherRateMinutes,
+        long leaveDays,
+        long lateShifts,
+        long lateMinutes
+) {}
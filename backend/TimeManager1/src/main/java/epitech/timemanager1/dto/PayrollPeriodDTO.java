@@ -0,0 +1,22 @@
+package epitech.timemanager1.dto;
+
+import epitech.timemanager1.entities.PayrollPeriod;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/** A closed payroll period, without its lines. {@code periodEnd} is inclusive. */
+public record PayrollPeriodDTO(
+        Long id,
+        LocalDate periodStart,
+        LocalDate periodEnd,
+        LocalDateTime closedAt,
+        int employeeCount,
+        int compressedSize,
+        String sha256
+) {
+    public static PayrollPeriodDTO of(PayrollPeriod p) {
+        return new PayrollPeriodDTO(p.getId(), p.getPeriodStart(), p.getPeriodEnd(), p.getClosedAt(),
+                p.getEmployeeCount(), p.getCompressedSize(), p.getSha256());
+    }
+}
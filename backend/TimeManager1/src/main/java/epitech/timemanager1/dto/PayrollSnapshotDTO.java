@@ -0,0 +1,9 @@
+package epitech.timemanager1.dto;
+
+import java.util.List;
+
+/** A closed payroll period with its frozen per-employee lines, ordered by user id. */
+public record PayrollSnapshotDTO(
+        PayrollPeriodDTO period,
+        List<PayrollLineDTO> lines
+) {}
@@ -0,0 +1,13 @@
+package epitech.timemanager1.dto;
+
+import java.util.List;
+
+/**
+ * One page of a manager's pending-leave queue, ordered by (startDate, id).
+ *
+ * @param nextCursor opaque cursor to pass back for the next page ({@code null} on the last page)
+ */
+public record PendingLeavePageDTO(
+        List<PendingLeaveRowDTO> items,
+        String nextCursor
+) {}
@@ -0,0 +1,19 @@
+package epitech.timemanager1.dto;
+
+import epitech.timemanager1.entities.LeaveType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/** One entry of a manager's pending-leave queue: only what the approval widget shows. */
+public record PendingLeaveRowDTO(
+        Long id,
+        Long employeeId,
+        String employeeFirstName,
+        String employeeLastName,
+        LeaveType type,
+        LocalDate startDate,
+        LocalDate endDate,
+        String reason,
+        LocalDateTime createdAt
+) {}
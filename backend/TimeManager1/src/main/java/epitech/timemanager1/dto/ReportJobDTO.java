@@ -0,0 +1,29 @@
+package epitech.timemanager1.dto;
+
+import epitech.timemanager1.entities.ReportJob;
+import epitech.timemanager1.entities.ReportJobStatus;
+import epitech.timemanager1.entities.ReportJobType;
+
+import java.time.LocalDateTime;
+
+/** State of a background report; the result is downloaded separately once {@code DONE}. */
+public record ReportJobDTO(
+        Long id,
+        ReportJobType type,
+        ReportJobStatus status,
+        String params,
+        int progress,
+        String error,
+        String contentType,
+        long resultSize,
+        LocalDateTime createdAt,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        LocalDateTime expiresAt
+) {
+    public static ReportJobDTO of(ReportJob j) {
+        return new ReportJobDTO(j.getId(), j.getType(), j.getStatus(), j.getParams(), j.getProgress(),
+                j.getError(), j.getContentType(), j.getResultSize(), j.getCreatedAt(), j.getStartedAt(),
+                j.getFinishedAt(), j.getExpiresAt());
+    }
+}
@@ -0,0 +1,25 @@
+package epitech.timemanager1.dto;
+
+import epitech.timemanager1.entities.ReportJobType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Parameters of a background report. {@code from} and {@code to} are both included.
+ * {@code teamIds} is required for {@code TEAM_TIMESHEETS} and narrows {@code LATENESS} (all
+ * employees when empty); {@code threshold} only applies to {@code LATENESS}.
+ */
+@Data
+public class ReportJobRequestDTO {
+    @NotNull private ReportJobType type;
+    @NotNull private LocalDate from;
+    @NotNull private LocalDate to;
+    @Size(max = 50) private List<Long> teamIds;
+    @Pattern(regexp = "^[0-2]\\d:[0-5]\\d$", message = "threshold must be HH:mm") private String threshold;
+    private String zone;
+}
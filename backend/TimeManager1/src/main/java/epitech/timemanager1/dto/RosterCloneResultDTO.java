@@ -0,0 +1,19 @@
+package epitech.timemanager1.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of copying a team's week of shifts into the following weeks.
+ *
+ * @param sourceShifts shifts found in the source week
+ * @param created      shifts inserted over all target weeks
+ * @param skipped      copies left out (employee on approved leave, or already busy at that time)
+ */
+public record RosterCloneResultDTO(
+        Long teamId,
+        LocalDate sourceWeekStart,
+        int weeks,
+        long sourceShifts,
+        int created,
+        long skipped
+) {}
@@ -0,0 +1,18 @@
+package epitech.timemanager1.dto;
+
+import java.time.LocalDate;
+
+/**
+ * How a team's planned shifts of one week cover its schedule template.
+ *
+ * @param expected     the template's pattern
+ * @param uncovered    minutes of the pattern with no planned shift
+ * @param coveredHours hours of the pattern with at least one planned shift
+ */
+public record ScheduleCoverageDTO(
+        Long templateId,
+        LocalDate weekStart,
+        WeeklyPatternDTO expected,
+        WeeklyPatternDTO uncovered,
+        double coveredHours
+) {}
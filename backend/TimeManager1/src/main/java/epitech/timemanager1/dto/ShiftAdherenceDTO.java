@@ -0,0 +1,30 @@
+package epitech.timemanager1.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * What happened on one assigned shift. Minutes are whole minutes; {@code lateMinutes},
+ * {@code earlyLeaveMinutes} and {@code overtimeMinutes} are 0 within the grace period.
+ *
+ * @param firstClockIn    first clock-in overlapping the shift, null on a no-show
+ * @param lastClockOut    last clock-out, null on a no-show or a missing clock-out
+ * @param workedMinutes   clocked minutes inside the shift (pauses included; an open session
+ *                        counts up to the shift end)
+ * @param noShow          nobody clocked during the shift
+ * @param missingClockOut a clock session overlapping the shift is still open after it ended
+ */
+public record ShiftAdherenceDTO(
+        Long shiftId,
+        Long employeeId,
+        Long teamId,
+        LocalDateTime startAt,
+        LocalDateTime endAt,
+        LocalDateTime firstClockIn,
+        LocalDateTime lastClockOut,
+        long workedMinutes,
+        long lateMinutes,
+        long earlyLeaveMinutes,
+        long overtimeMinutes,
+        boolean noShow,
+        boolean missingClockOut
+) {}
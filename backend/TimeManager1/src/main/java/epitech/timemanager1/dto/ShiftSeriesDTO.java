@@ -0,0 +1,28 @@
+package epitech.timemanager1.dto;
+
+import epitech.timemanager1.entities.ShiftSeries;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+public record ShiftSeriesDTO(
+        Long id,
+        Long teamId,
+        Long employeeId,            // null = unassigned slot
+        Set<DayOfWeek> days,
+        LocalTime startTime,
+        LocalTime endTime,          // at or before startTime: ends the next day
+        LocalDate validFrom,
+        LocalDate validUntil,       // null = open-ended
+        boolean skipHolidays,
+        String note
+) {
+    public static ShiftSeriesDTO of(ShiftSeries s) {
+        return new ShiftSeriesDTO(s.getId(), s.getTeam().getId(),
+                s.getEmployee() != null ? s.getEmployee().getId() : null,
+                s.weekdaySet(), s.getStartTime(), s.getEndTime(), s.getValidFrom(), s.getValidUntil(),
+                s.isSkipHolidays(), s.getNote());
+    }
+}
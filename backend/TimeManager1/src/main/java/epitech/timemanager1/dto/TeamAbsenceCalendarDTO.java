@@ -0,0 +1,29 @@
+package epitech.timemanager1.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Day-indexed absences of a team: day {@code i} is {@code from.plusDays(i)}.
+ * <p>
+ * {@code approved[i]} and {@code pending[i]} count the distinct members on leave that day.
+ * Who they are is given by {@code segments}: maximal runs of days with the same absent members,
+ * in day order. Days nobody is away are not covered by any segment.
+ * </p>
+ */
+public record TeamAbsenceCalendarDTO(
+        Long teamId,
+        LocalDate from,
+        int days,
+        List<Member> members,
+        int[] approved,
+        int[] pending,
+        List<Segment> segments
+) {
+
+    /** A team member who is away at least one day of the window. */
+    public record Member(Long id, String firstName, String lastName) {}
+
+    /** Days {@code fromDay..toDay} (inclusive) share these absent members (ids, ascending). */
+    public record Segment(int fromDay, int toDay, List<Long> approved, List<Long> pending) {}
+}
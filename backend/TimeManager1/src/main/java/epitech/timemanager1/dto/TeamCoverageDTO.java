@@ -0,0 +1,20 @@
+package epitech.timemanager1.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Planned versus actual staffing of a team, slot by slot: slot {@code i} is
+ * {@code [from + i * slotMinutes, from + (i + 1) * slotMinutes)}.
+ * <p>
+ * Values are the average number of people over the slot: {@code planned} from assigned shifts,
+ * {@code actual} from clock sessions minus pauses. Someone present for half of a slot counts 0.5.
+ * </p>
+ */
+public record TeamCoverageDTO(
+        Long teamId,
+        LocalDateTime from,
+        int slotMinutes,
+        int slots,
+        double[] planned,
+        double[] actual
+) {}
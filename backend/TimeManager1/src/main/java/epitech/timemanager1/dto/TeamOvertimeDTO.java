@@ -0,0 +1,27 @@
+package epitech.timemanager1.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/** Overtime of a team's members for the weeks {@code fromWeek} to {@code toWeek}, with totals. */
+public record TeamOvertimeDTO(
+        Long teamId,
+        LocalDate fromWeek,
+        LocalDate toWeek,
+        long workedMinutes,
+        long dailyOvertimeMinutes,
+        long weeklyOvertimeMinutes,
+        long higherRateMinutes,
+        List<OvertimeWeekDTO> weeks
+) {
+    public static TeamOvertimeDTO of(Long teamId, LocalDate fromWeek, LocalDate toWeek, List<OvertimeWeekDTO> weeks) {
+        long worked = 0, daily = 0, weekly = 0, higher = 0;
+        for (OvertimeWeekDTO w : weeks) {
+            worked += w.workedMinutes();
+            daily += w.dailyOvertimeMinutes();
+            weekly += w.weeklyOvertimeMinutes();
+            higher += w.higherRateMinutes();
+        }
+        return new TeamOvertimeDTO(teamId, fromWeek, toWeek, worked, daily, weekly, higher, weeks);
+    }
+}
@@ -0,0 +1,11 @@
+package epitech.timemanager1.dto;
+
+import java.util.List;
+
+/** Weekly series of a team, one point per week of the range, weeks without clocks included. */
+public record TeamTrendDTO(
+        Long teamId,
+        String teamName,
+        long members,
+        List<TeamWeekTrendDTO> weeks
+) {}
@@ -0,0 +1,19 @@
+package epitech.timemanager1.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One week of a team's trend.
+ *
+ * @param avgHours      net hours per current team member, as in the weekly overview
+ * @param activeMembers members with clocked time that week
+ */
+public record TeamWeekTrendDTO(
+        LocalDate weekStart,
+        double netHours,
+        double avgHours,
+        long activeMembers,
+        long daysWithClock,
+        long lateDays,
+        double latenessRate
+) {}
@@ -0,0 +1,32 @@
+package epitech.timemanager1.dto;
+
+import epitech.timemanager1.util.WeeklyPattern;
+
+import java.time.DayOfWeek;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A weekly pattern as slots per day, in the same {@code ["HH:mm", "HH:mm"]} form as
+ * {@code weeklyPatternJson} (a slot running to midnight ends at {@code "24:00"}).
+ */
+public record WeeklyPatternDTO(
+        double hoursPerWeek,
+        Map<DayOfWeek, List<List<String>>> slots
+) {
+    public static WeeklyPatternDTO of(WeeklyPattern p) {
+        Map<DayOfWeek, List<List<String>>> slots = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek d : DayOfWeek.values()) {
+            List<int[]> ranges = p.ranges(d);
+            if (!ranges.isEmpty()) {
+                slots.put(d, ranges.stream().map(r -> List.of(hhmm(r[0]), hhmm(r[1]))).toList());
+            }
+        }
+        return new WeeklyPatternDTO(Math.round(p.hoursPerWeek() * 100.0) / 100.0, slots);
+    }
+
+    private static String hhmm(int minuteOfDay) {
+        return String.format("%02d:%02d", minuteOfDay / 60, minuteOfDay % 60);
+    }
+}
@@ -0,0 +1,32 @@
+package epitech.timemanager1.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class WorkShiftBatchDTO {
+
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@Valid Item> shifts;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        @NotNull private Long teamId;
+        private Long employeeId;               // null = unassigned slot
+        @NotNull private LocalDateTime startAt;
+        @NotNull private LocalDateTime endAt;
+        private String location;
+        private String note;
+    }
+}
@@ -0,0 +1,24 @@
+package epitech.timemanager1.dto;
+
+/**
+ * Outcome of one entry of a batch shift creation.
+ *
+ * @param index   position of the entry in the request
+ * @param created whether the shift was stored
+ * @param shiftId id of the new shift ({@code null} when refused)
+ * @param error   why the shift was refused ({@code null} when created)
+ */
+public record WorkShiftBatchResultDTO(
+        int index,
+        boolean created,
+        Long shiftId,
+        String error
+) {
+    public static WorkShiftBatchResultDTO created(int index, Long shiftId) {
+        return new WorkShiftBatchResultDTO(index, true, shiftId, null);
+    }
+
+    public static WorkShiftBatchResultDTO refused(int index, String error) {
+        return new WorkShiftBatchResultDTO(index, false, null, error);
+    }
+}
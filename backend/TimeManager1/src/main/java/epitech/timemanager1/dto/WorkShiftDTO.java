@@ -3,6 +3,7 @@ package epitech.timemanager1.dto;
 import lombok.Builder;
 import lombok.Data;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Data @Builder
@@ -15,4 +16,6 @@ public class WorkShiftDTO {
     private LocalDateTime startAt;
     private LocalDateTime endAt;
     private String note;
+    private Long seriesId; // set (with id null) on an occurrence of a recurring series
+    private LocalDate occurrenceDate;
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package epitech.timemanager1.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Worked time of one employee on one local day of the site, from closed clocks.
+ * <p>
+ * The calendar dimensions (week, month, weekday) are stored alongside the day so the hours cube
+ * groups on plain columns. Rows are recomputed from the clocks, never edited.
+ * </p>
+ */
+@Entity
+@Table(name = "daily_user_facts",
+        uniqueConstraints = @UniqueConstraint(name = "ux_daily_fact_user_day", columnNames = {"user_id", "fact_day"}),
+        indexes = @Index(name = "ix_daily_fact_day", columnList = "fact_day"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class DailyUserFact {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "fact_day", nullable = false)
+    private LocalDate day;
+
+    /** Monday of the week. */
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+
+    /** First day of the month. */
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    /** ISO day of week, 1 (Monday) to 7 (Sunday). */
+    @Column(nullable = false)
+    private int weekday;
+
+    /** Clocked minutes minus pauses. */
+    private int netMinutes;
+    private int pauseMinutes;
+    /** Sessions started that day. */
+    private int clockCount;
+
+    /** Local second of day of the first clock-in, null when no session started that day. */
+    private Integer firstInSecond;
+
+    private LocalDateTime updatedAt;
+}
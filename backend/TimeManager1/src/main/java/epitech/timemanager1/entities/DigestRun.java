@@ -0,0 +1,29 @@
+package epitech.timemanager1.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The manager digest run of one day. Every instance fires the digest schedule; the first to
+ * insert the day's row sends the mails, the others hit the unique day and skip.
+ */
+@Entity
+@Immutable
+@Table(name = "digest_runs",
+        uniqueConstraints = @UniqueConstraint(name = "ux_digest_run_day", columnNames = "run_day"))
+@Getter @NoArgsConstructor @AllArgsConstructor @Builder
+public class DigestRun {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_day", nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+}
@@ -0,0 +1,31 @@
+package epitech.timemanager1.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/** Yearly entitlement for one leave type, credited to every active employee by the accrual job. */
+@Entity
+@Table(name = "leave_accrual_rules",
+        uniqueConstraints = @UniqueConstraint(name = "ux_accrual_rule_type", columnNames = "leave_type"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class LeaveAccrualRule {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "leave_type", nullable = false, length = 24)
+    private LeaveType type;
+
+    @Column(nullable = false, precision = 7, scale = 2)
+    private BigDecimal daysPerYear;
+
+    /** Unused days kept into the next year; {@code null} keeps everything. */
+    @Column(precision = 7, scale = 2)
+    private BigDecimal carryOverMaxDays;
+
+    @Column(nullable = false)
+    private boolean active;
+}
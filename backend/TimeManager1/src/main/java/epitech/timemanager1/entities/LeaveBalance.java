@@ -0,0 +1,68 @@
+package epitech.timemanager1.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running totals of an employee's {@link LeaveLedgerEntry} rows for one leave type, updated with
+ * every entry so a balance read is a single-row lookup.
+ */
+@Entity
+@Table(name = "leave_balances",
+        uniqueConstraints = @UniqueConstraint(name = "ux_balance_employee_type", columnNames = {"employee_id", "leave_type"}))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class LeaveBalance {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "employee_id", nullable = false)
+    private User employee;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "leave_type", nullable = false, length = 24)
+    private LeaveType type;
+
+    @Builder.Default
+    @Column(nullable = false, precision = 7, scale = 2)
+    private BigDecimal accrued = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(nullable = false, precision = 7, scale = 2)
+    private BigDecimal taken = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(nullable = false, precision = 7, scale = 2)
+    private BigDecimal pending = BigDecimal.ZERO;
+
+    /**
+     * A concurrent posting for the same employee and type fails the whole leave transaction with an
+     * optimistic lock error instead of overwriting this total; two concurrent first postings fail on
+     * the unique constraint. Both are answered with a 409 by {@code ApiExceptionHandler}, and the
+     * caller repeats the request.
+     */
+    @Version
+    private long version;
+
+    private LocalDateTime updatedAt;
+
+    public void apply(LeaveLedgerEntryKind kind, BigDecimal days) {
+        accrued = accrued.add(days.multiply(BigDecimal.valueOf(kind.accrued)));
+        taken = taken.add(days.multiply(BigDecimal.valueOf(kind.taken)));
+        pending = pending.add(days.multiply(BigDecimal.valueOf(kind.pending)));
+    }
+
+    /** Days left once approved leaves are deducted. */
+    public BigDecimal remaining() {
+        return accrued.subtract(taken);
+    }
+
+    /** Days that can still be requested: remaining minus what pending requests hold. */
+    public BigDecimal available() {
+        return remaining().subtract(pending);
+    }
+}
@@ -0,0 +1,52 @@
+package epitech.timemanager1.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One immutable movement of an employee's leave balance. {@link LeaveBalance} holds the running
+ * totals; entries are the audit trail they can be rebuilt from.
+ */
+@Entity
+@Table(name = "leave_ledger_entries",
+        indexes = {
+                @Index(name = "ix_ledger_employee_type", columnList = "employee_id,leave_type,id"),
+                @Index(name = "ix_ledger_leave", columnList = "leaveRequestId"),
+                @Index(name = "ix_ledger_accrual", columnList = "leave_type,accrualYear,kind")
+        })
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class LeaveLedgerEntry {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "employee_id", nullable = false)
+    private User employee;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "leave_type", nullable = false, length = 24)
+    private LeaveType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private LeaveLedgerEntryKind kind;
+
+    @Column(nullable = false, precision = 7, scale = 2)
+    private BigDecimal days;
+
+    /** Source leave for RESERVE/RELEASE/DEBIT/REFUND; not a foreign key, the leave may be deleted. */
+    private Long leaveRequestId;
+
+    /** Year credited by ACCRUAL/EXPIRY entries. */
+    private Integer accrualYear;
+
+    @Column(length = 200)
+    private String note;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
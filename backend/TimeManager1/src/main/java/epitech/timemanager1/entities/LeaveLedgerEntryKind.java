@@ -0,0 +1,25 @@
+package epitech.timemanager1.entities;
+
+/**
+ * What a {@link LeaveLedgerEntry} does to a {@link LeaveBalance}.
+ * Each constant gives the sign applied to the entry's days on the accrued, taken and pending columns.
+ */
+public enum LeaveLedgerEntryKind {
+    ACCRUAL(1, 0, 0),      // yearly entitlement
+    EXPIRY(-1, 0, 0),      // unused days above the carry-over cap
+    ADJUSTMENT(1, 0, 0),   // manual correction, days may be negative
+    RESERVE(0, 0, 1),      // request submitted (or edited) while PENDING
+    RELEASE(0, 0, -1),     // pending request approved, rejected, cancelled or deleted
+    DEBIT(0, 1, 0),        // request approved
+    REFUND(0, -1, 0);      // approved request cancelled
+
+    public final int accrued;
+    public final int taken;
+    public final int pending;
+
+    LeaveLedgerEntryKind(int accrued, int taken, int pending) {
+        this.accrued = accrued;
+        this.taken = taken;
+        this.pending = pending;
+    }
+}
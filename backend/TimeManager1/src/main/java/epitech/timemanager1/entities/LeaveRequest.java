@@ -15,7 +15,8 @@ import java.time.LocalDate;
 @Table(name = "leave_requests",
         indexes = {
                 @Index(name = "ix_leave_employee", columnList = "employee_id"),
-                @Index(name = "ix_leave_start", columnList = "start_at") // matches DB
+                @Index(name = "ix_leave_start", columnList = "start_at"), // matches DB
+                @Index(name = "ix_leave_status_start_id", columnList = "status, start_at, id") // pending queue keyset
         })
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 @EntityListeners(AuditingEntityListener.class)
@@ -62,6 +63,10 @@ public class LeaveRequest {
     @Column(name = "created_at", nullable = false, updatable = false)
     private java.time.LocalDateTime createdAt;
 
+    /** Last time the request entered, left or was edited in the pending queue; drives the pending counter's changedAt. */
+    @Column(name = "pending_changed_at")
+    private java.time.LocalDateTime pendingChangedAt;
+
     @PrePersist
     @PreUpdate
     private void syncCompatColumns() {
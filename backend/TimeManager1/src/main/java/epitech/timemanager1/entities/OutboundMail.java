@@ -0,0 +1,54 @@
+package epitech.timemanager1.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A mail waiting in (or already delivered from) the persistent outbound queue.
+ * Rows are claimed in batches by {@code MailQueueWorker}.
+ */
+@Entity
+@Table(name = "outbound_mails",
+        indexes = {
+                @Index(name = "ix_outbound_mail_due", columnList = "status,nextAttemptAt")
+        })
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class OutboundMail {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 160)
+    private String recipient;
+
+    @Column(nullable = false, length = 200)
+    private String subject;
+
+    @Lob
+    @Column(nullable = false)
+    private String body;
+
+    /** true when {@link #body} is HTML (e.g. digests), false for plain text. */
+    @Column(nullable = false)
+    private boolean html;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OutboundMailStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+}
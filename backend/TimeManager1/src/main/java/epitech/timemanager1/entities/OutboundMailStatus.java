@@ -0,0 +1,8 @@
+package epitech.timemanager1.entities;
+
+public enum OutboundMailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
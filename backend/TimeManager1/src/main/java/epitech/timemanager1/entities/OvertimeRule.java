@@ -0,0 +1,35 @@
+package epitech.timemanager1.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Overtime thresholds of a team, in minutes. A {@code null} threshold disables that rule; teams
+ * without a row use the {@code app.overtime.*} defaults.
+ */
+@Entity
+@Table(name = "overtime_rules",
+        uniqueConstraints = @UniqueConstraint(name = "ux_overtime_rule_team", columnNames = "team_id"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class OvertimeRule {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "team_id", nullable = false)
+    private Team team;
+
+    /** Worked minutes per day above which every minute is daily overtime. */
+    private Integer dailyMaxMinutes;
+
+    /** Regular (non daily-overtime) minutes per week above which minutes are weekly overtime. */
+    private Integer weeklyMaxMinutes;
+
+    /** Regular minutes per week above which weekly overtime is paid at the higher rate. */
+    private Integer weeklyHigherRateMinutes;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,73 @@
+package epitech.timemanager1.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Overtime of one employee for one week (Monday to Sunday).
+ * <p>
+ * The seven day totals are recomputed from the week's closed clocks whenever one of them or one
+ * of their pauses changes; the buckets then follow from the totals and the employee's
+ * {@link OvertimeRule}. Reading overtime costs one row per week whatever the history.
+ * </p>
+ */
+@Entity
+@Table(name = "overtime_weeks",
+        uniqueConstraints = @UniqueConstraint(name = "ux_overtime_week_user", columnNames = {"user_id", "week_start"}))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class OvertimeWeek {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /** Monday of the week. */
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+
+    /** Net worked minutes, Monday first. */
+    @Builder.Default
+    @Column(nullable = false)
+    private int[] dayMinutes = new int[7];
+
+    private int workedMinutes;
+    private int dailyOvertimeMinutes;
+    /** Weekly overtime, higher-rate minutes included. */
+    private int weeklyOvertimeMinutes;
+    private int higherRateMinutes;
+
+    /**
+     * Recomputes of one week are serialised by a lock on the employee; the version makes any other concurrent
+     * write (a rule change) fail instead of overwriting a fresher total.
+     */
+    @Version
+    private long version;
+
+    private LocalDateTime updatedAt;
+
+    public void add(LocalDate day, int minutes) {
+        dayMinutes[day.getDayOfWeek().getValue() - 1] += minutes;
+    }
+
+    /** Recomputes the buckets from the day totals. */
+    public void recompute(OvertimeRule rule) {
+        int worked = 0, daily = 0;
+        for (int m : dayMinutes) {
+            worked += m;
+            if (rule.getDailyMaxMinutes() != null) daily += Math.max(0, m - rule.getDailyMaxMinutes());
+        }
+        int regular = worked - daily;
+        Integer weeklyMax = rule.getWeeklyMaxMinutes();
+        Integer higher = rule.getWeeklyHigherRateMinutes();
+        workedMinutes = worked;
+        dailyOvertimeMinutes = daily;
+        weeklyOvertimeMinutes = weeklyMax == null ? 0 : Math.max(0, regular - weeklyMax);
+        higherRateMinutes = weeklyMax == null || higher == null ? 0 : Math.max(0, regular - Math.max(weeklyMax, higher));
+    }
+}
@@ -0,0 +1,32 @@
+package epitech.timemanager1.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+
+/**
+ * One day claimed by a payroll close.
+ * <p>
+ * A close inserts a row per day of its period before computing anything; the unique day makes
+ * the second of two overlapping closes running at the same time fail instead of freezing a
+ * second, overlapping {@link PayrollPeriod}.
+ * </p>
+ */
+@Entity
+@Immutable
+@Table(name = "payroll_closed_days",
+        uniqueConstraints = @UniqueConstraint(name = "ux_payroll_closed_day", columnNames = "closed_day"))
+@Getter @NoArgsConstructor @AllArgsConstructor @Builder
+public class PayrollClosedDay {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "closed_day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+}
@@ -0,0 +1,53 @@
+package epitech.timemanager1.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A closed payroll period and the per-employee totals frozen when it was closed.
+ * <p>
+ * The totals are a gzipped JSON array of {@code PayrollLineDTO}s, written once and never
+ * updated: payroll and audit reads decompress one row instead of recomputing from clocks.
+ * Clocks and pauses inside a closed period can no longer be edited (see
+ * {@code PayrollLock}).
+ * </p>
+ */
+@Entity
+@Immutable
+@Table(name = "payroll_periods",
+        uniqueConstraints = @UniqueConstraint(name = "ux_payroll_period", columnNames = {"period_start", "period_end"}),
+        indexes = @Index(name = "ix_payroll_period_end", columnList = "period_end"))
+@Getter @NoArgsConstructor @AllArgsConstructor @Builder
+public class PayrollPeriod {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    /** Last day of the period (inclusive). */
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd;
+
+    @Column(nullable = false)
+    private LocalDateTime closedAt;
+
+    private int employeeCount;
+
+    private int compressedSize;
+
+    /** SHA-256 of the uncompressed snapshot, hex. */
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARBINARY)
+    @Column(nullable = false)
+    private byte[] snapshot;
+}
@@ -0,0 +1,80 @@
+package epitech.timemanager1.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A report computed in the background. The parameters are kept as canonical JSON with their
+ * hash, so an identical job still in flight is reused instead of started twice; the hash is also
+ * held in the unique {@link #activeHash} while the job is in flight, so two instances cannot start
+ * the same job. The output lives in {@link ReportJobResult}, which is read only on download; both
+ * are purged once {@link #expiresAt} has passed.
+ */
+@Entity
+@Table(name = "report_jobs",
+        uniqueConstraints = @UniqueConstraint(name = "ux_report_job_active", columnNames = "active_hash"),
+        indexes = {
+                @Index(name = "ix_report_job_params", columnList = "params_hash,status"),
+                @Index(name = "ix_report_job_owner", columnList = "requested_by,status"),
+                @Index(name = "ix_report_job_expiry", columnList = "expires_at")
+        })
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ReportJob {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 24)
+    private ReportJobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ReportJobStatus status;
+
+    @Column(nullable = false, length = 2000)
+    private String params;
+
+    /** SHA-256 of type and canonical parameters, hex. */
+    @Column(name = "params_hash", nullable = false, length = 64)
+    private String paramsHash;
+
+    /** {@link #paramsHash} while queued or running, null once the job has ended. */
+    @Column(name = "active_hash", length = 64)
+    private String activeHash;
+
+    /** Instance whose worker pool runs the job. */
+    @Column(length = 64)
+    private String owner;
+
+    /** Refreshed by the owner while the job is in flight; a stale one means the owner is gone. */
+    private LocalDateTime heartbeatAt;
+
+    /** Username (email) of who submitted the job. */
+    @Column(name = "requested_by", nullable = false, length = 160)
+    private String requestedBy;
+
+    /** 0 to 100. */
+    private int progress;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(length = 64)
+    private String contentType;
+
+    /** Uncompressed size of the result, in bytes. */
+    private long resultSize;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,21 @@
+package epitech.timemanager1.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/** Gzipped output of a finished {@link ReportJob}, stored apart so status reads never load it. */
+@Entity
+@Table(name = "report_job_results")
+@Getter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ReportJobResult {
+
+    /** Id of the job. */
+    @Id
+    private Long jobId;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARBINARY)
+    @Column(nullable = false)
+    private byte[] data;
+}
@@ -0,0 +1,8 @@
+package epitech.timemanager1.entities;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,10 @@
+package epitech.timemanager1.entities;
+
+public enum ReportJobType {
+    /** Monthly lateness of every employee (or of some teams) over up to a year. */
+    LATENESS,
+    /** Timesheets of several teams over up to a quarter, as JSON. */
+    TEAM_TIMESHEETS,
+    /** Company-wide timesheet CSV over up to a month. */
+    TIMESHEET_EXPORT
+}
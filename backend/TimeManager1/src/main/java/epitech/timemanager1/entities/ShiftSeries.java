@@ -0,0 +1,102 @@
+package epitech.timemanager1.entities;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A recurring shift: the same hours on some weekdays, from {@code validFrom} until
+ * {@code validUntil} (open-ended when null).
+ * <p>
+ * Occurrences are not stored; they are expanded on read. An occurrence that is cancelled or
+ * edited gets a {@link ShiftSeriesException}, and an edited one becomes a real {@link WorkShift}.
+ * </p>
+ */
+@Entity
+@Table(name = "shift_series",
+        indexes = {
+                @Index(name = "ix_series_team", columnList = "team_id"),
+                @Index(name = "ix_series_employee", columnList = "employee_id")
+        })
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ShiftSeries {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "team_id", nullable = false)
+    private Team team;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "employee_id")
+    private User employee; // null = unassigned slot
+
+    /** Bit {@code d - 1} set when the shift runs on {@code DayOfWeek.of(d)} (bit 0 = Monday). */
+    @Column(nullable = false)
+    private int weekdays;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalTime startTime;
+
+    /** At or before {@link #startTime}: the shift ends the next day. */
+    @NotNull
+    @Column(nullable = false)
+    private LocalTime endTime;
+
+    @NotNull
+    @Column(nullable = false)
+    private LocalDate validFrom;
+
+    private LocalDate validUntil;
+
+    /** Skip holidays of the team's calendar. */
+    @Column(nullable = false)
+    private boolean skipHolidays;
+
+    @Size(max = 300)
+    private String note;
+
+    public static int weekdayMask(Collection<DayOfWeek> days) {
+        int mask = 0;
+        for (DayOfWeek d : days) mask |= 1 << (d.getValue() - 1);
+        return mask;
+    }
+
+    public Set<DayOfWeek> weekdaySet() {
+        Set<DayOfWeek> out = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek d : DayOfWeek.values()) {
+            if (runsOn(d)) out.add(d);
+        }
+        return out;
+    }
+
+    public boolean runsOn(DayOfWeek day) {
+        return (weekdays & (1 << (day.getValue() - 1))) != 0;
+    }
+
+    /** Whether {@code date} is in the series' validity and on one of its weekdays (holidays not considered). */
+    public boolean hasOccurrenceOn(LocalDate date) {
+        return !date.isBefore(validFrom)
+                && (validUntil == null || !date.isAfter(validUntil))
+                && runsOn(date.getDayOfWeek());
+    }
+
+    public LocalDateTime occurrenceStart(LocalDate date) {
+        return date.atTime(startTime);
+    }
+
+    public LocalDateTime occurrenceEnd(LocalDate date) {
+        return endTime.isAfter(startTime) ? date.atTime(endTime) : date.plusDays(1).atTime(endTime);
+    }
+}
@@ -0,0 +1,33 @@
+package epitech.timemanager1.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * One occurrence of a {@link ShiftSeries} that no longer follows the rule: cancelled
+ * ({@code shiftId} null) or replaced by the materialised, edited {@link WorkShift} {@code shiftId}.
+ * If that shift is later deleted, the occurrence stays gone until it is edited again, which
+ * materialises a new shift from the series.
+ */
+@Entity
+@Table(name = "shift_series_exceptions",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uq_series_exception_date", columnNames = {"series_id", "occurrenceDate"})
+        })
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ShiftSeriesException {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "series_id", nullable = false)
+    private ShiftSeries series;
+
+    @Column(nullable = false)
+    private LocalDate occurrenceDate;
+
+    private Long shiftId;
+}
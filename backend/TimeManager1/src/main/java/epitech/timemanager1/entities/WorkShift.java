@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
@@ -38,4 +39,11 @@ public class WorkShift {
 
     @Size(max = 300)
     private String note;
+
+    // Set on occurrences expanded from a ShiftSeries (not stored; id is null for those)
+    @Transient
+    private Long seriesId;
+
+    @Transient
+    private LocalDate occurrenceDate;
 }
\ No newline at end of file
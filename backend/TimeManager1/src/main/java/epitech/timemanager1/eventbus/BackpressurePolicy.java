@@ -0,0 +1,14 @@
+package epitech.timemanager1.eventbus;
+
+/** What {@link RingBufferEventBus#publish} does when a topic's ring buffer is full. */
+public enum BackpressurePolicy {
+
+    /** Wait (spinning, then parking) until the consumer frees a slot. */
+    BLOCK,
+
+    /** Discard the new event and count it in {@code eventbus.dropped}. */
+    DROP,
+
+    /** Deliver the event to the subscribers on the publishing thread. */
+    CALLER_RUNS
+}
@@ -0,0 +1,10 @@
+package epitech.timemanager1.eventbus;
+
+import java.util.List;
+
+/** Consumer of one topic on the {@link RingBufferEventBus}; receives events in publication order. */
+@FunctionalInterface
+public interface BatchHandler {
+
+    void onBatch(List<Object> events);
+}
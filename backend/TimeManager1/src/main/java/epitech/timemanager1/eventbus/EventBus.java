@@ -0,0 +1,23 @@
+package epitech.timemanager1.eventbus;
+
+import epitech.timemanager1.kafka.KafkaTopics;
+
+/**
+ * Publish side of the application's event topics (see {@link KafkaTopics}).
+ * <p>
+ * Backed by Kafka when {@code app.kafka.enabled=true} ({@link KafkaEventBus}) and by an
+ * in-process ring buffer otherwise ({@link RingBufferEventBus}). Subscribers are the existing
+ * {@code @KafkaListener} methods in both modes, so services never care which one is active.
+ * </p>
+ */
+public interface EventBus {
+
+    /**
+     * Publishes {@code event} on {@code topic}. Never blocks on a broker round trip.
+     *
+     * @param topic one of {@link KafkaTopics}
+     * @param key   partitioning key; events with the same key keep their order (may be {@code null})
+     * @param event the payload
+     */
+    void publish(String topic, String key, Object event);
+}
@@ -0,0 +1,34 @@
+package epitech.timemanager1.eventbus;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link EventBus} backed by the Kafka producer. {@link KafkaTemplate#send} is asynchronous;
+ * failures are only logged, as before.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.kafka.enabled", havingValue = "true", matchIfMissing = true)
+public class KafkaEventBus implements EventBus {
+
+    /** OPTIONAL Kafka bean (NOT created in tests) */
+    @Autowired(required = false)
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Override
+    public void publish(String topic, String key, Object event) {
+        if (kafkaTemplate == null) {
+            return;
+        }
+        kafkaTemplate.send(topic, key, event)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.warn("Failed to publish {} on {} for {}", event.getClass().getSimpleName(), topic, key, ex);
+                    }
+                });
+    }
+}
@@ -0,0 +1,82 @@
+package epitech.timemanager1.eventbus;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Subscribes every {@code @KafkaListener} method to the {@link RingBufferEventBus} when Kafka is
+ * disabled, so the same listener classes serve both modes.
+ * <p>
+ * A method taking a {@link List} receives each batch as is; any other method is called once per
+ * event whose type matches its parameter.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.kafka.enabled", havingValue = "false")
+public class LocalKafkaListenerRegistrar implements SmartInitializingSingleton {
+
+    private final ApplicationContext context;
+    private final RingBufferEventBus bus;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String beanName : context.getBeanDefinitionNames()) {
+            Class<?> type = context.getType(beanName, false);
+            if (type == null) continue;
+
+            Map<Method, KafkaListener> listeners = MethodIntrospector.selectMethods(
+                    ClassUtils.getUserClass(type),
+                    (MethodIntrospector.MetadataLookup<KafkaListener>) m ->
+                            AnnotatedElementUtils.findMergedAnnotation(m, KafkaListener.class));
+            if (listeners.isEmpty()) continue;
+
+            Object bean = context.getBean(beanName);
+            listeners.forEach((method, listener) -> register(bean, method, listener));
+        }
+    }
+
+    private void register(Object bean, Method method, KafkaListener listener) {
+        if (method.getParameterCount() != 1) {
+            log.warn("Skipping {}: local event bus listeners take exactly one parameter", method);
+            return;
+        }
+        Method invocable = AopUtils.selectInvocableMethod(method, bean.getClass());
+        ReflectionUtils.makeAccessible(invocable);
+        Class<?> param = method.getParameterTypes()[0];
+
+        BatchHandler handler = List.class.isAssignableFrom(param)
+                ? events -> ReflectionUtils.invokeMethod(invocable, bean, events)
+                : events -> {
+                    for (Object event : events) {
+                        if (!param.isInstance(event)) continue;
+                        try {
+                            ReflectionUtils.invokeMethod(invocable, bean, event);
+                        } catch (RuntimeException ex) {
+                            log.error("{} failed for {}", method.getName(), event, ex);
+                        }
+                    }
+                };
+
+        for (String topic : listener.topics()) {
+            String resolved = context.getEnvironment().resolvePlaceholders(topic);
+            bus.subscribe(resolved, handler);
+            log.debug("Local event bus: {} subscribed to {}", method.getName(), resolved);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package epitech.timemanager1.eventbus;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process {@link EventBus} for single-node installs ({@code app.kafka.enabled=false}).
+ * <p>
+ * Each topic owns a bounded lock-free {@link RingBuffer} and one consumer thread. The consumer
+ * drains up to {@code app.eventbus.batch-size} events at a time and hands the batch to every
+ * subscriber, so events of a topic are seen in publication order just like a single Kafka partition.
+ * An idle consumer parks and is unparked by the next publish. When a buffer is full,
+ * {@code app.eventbus.backpressure} decides between blocking, dropping or running on the caller.
+ * </p>
+ * Metrics: {@code eventbus.depth} and {@code eventbus.dropped}, tagged by topic.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.kafka.enabled", havingValue = "false")
+public class RingBufferEventBus implements EventBus, SmartLifecycle {
+
+    private static final int SPINS_BEFORE_PARK = 100;
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Map<String, Topic> topics = new ConcurrentHashMap<>();
+    private final MeterRegistry meters;
+    private final int capacity;
+    private final int batchSize;
+    private final BackpressurePolicy policy;
+    private volatile boolean running;
+
+    public RingBufferEventBus(MeterRegistry meters,
+                              @Value("${app.eventbus.capacity:1024}") int capacity,
+                              @Value("${app.eventbus.batch-size:64}") int batchSize,
+                              @Value("${app.eventbus.backpressure:BLOCK}") BackpressurePolicy policy) {
+        this.meters = meters;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.policy = policy;
+    }
+
+    /** Registers {@code handler} for {@code topic}; subscribing before {@link #start()} is fine. */
+    public void subscribe(String topic, BatchHandler handler) {
+        Topic t = topic(topic);
+        t.handlers.add(handler);
+        if (running) {
+            t.startConsumer();
+        }
+    }
+
+    @Override
+    public void publish(String topic, String key, Object event) {
+        Topic t = topics.get(topic);
+        if (t == null || t.handlers.isEmpty()) {
+            return; // nobody listens: same as a Kafka topic without consumer group
+        }
+        if (!running) {
+            t.deliver(List.of(event));
+            return;
+        }
+        if (t.ring.offer(event)) {
+            t.wakeUp();
+            return;
+        }
+
+        switch (policy) {
+            case DROP -> {
+                t.dropped.increment();
+                log.warn("Event bus topic {} full, dropped {}", topic, event.getClass().getSimpleName());
+            }
+            case CALLER_RUNS -> t.deliver(List.of(event));
+            case BLOCK -> {
+                int spins = 0;
+                while (!t.ring.offer(event)) {
+                    if (!running) {
+                        t.deliver(List.of(event));
+                        return;
+                    }
+                    t.wakeUp();
+                    if (++spins < SPINS_BEFORE_PARK) {
+                        Thread.onSpinWait();
+                    } else {
+                        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+                    }
+                }
+                t.wakeUp();
+            }
+        }
+    }
+
+    private Topic topic(String name) {
+        return topics.computeIfAbsent(name, Topic::new);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        topics.values().forEach(Topic::startConsumer);
+    }
+
+    /** Stops accepting work, lets each consumer drain what is already queued and waits for it. */
+    @Override
+    public void stop() {
+        running = false;
+        for (Topic t : topics.values()) {
+            t.stopConsumer();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private final class Topic {
+
+        final String name;
+        final RingBuffer<Object> ring;
+        final List<BatchHandler> handlers = new CopyOnWriteArrayList<>();
+        final AtomicBoolean parked = new AtomicBoolean();
+        final Counter dropped;
+        volatile Thread consumer;
+
+        Topic(String name) {
+            this.name = name;
+            this.ring = new RingBuffer<>(capacity);
+            this.dropped = meters.counter("eventbus.dropped", "topic", name);
+            Gauge.builder("eventbus.depth", ring, RingBuffer::size).tag("topic", name).register(meters);
+        }
+
+        synchronized void startConsumer() {
+            if (consumer != null || handlers.isEmpty()) return;
+            consumer = Thread.ofPlatform()
+                    .name("eventbus-" + name)
+                    .daemon(true)
+                    .start(this::consume);
+        }
+
+        synchronized void stopConsumer() {
+            Thread t = consumer;
+            if (t == null) return;
+            LockSupport.unpark(t);
+            try {
+                t.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            consumer = null;
+        }
+
+        void wakeUp() {
+            if (parked.get()) {
+                LockSupport.unpark(consumer);
+            }
+        }
+
+        private void consume() {
+            List<Object> batch = new ArrayList<>(batchSize);
+            int idleSpins = 0;
+            while (running || ring.size() > 0) {
+                if (ring.drain(batch::add, batchSize) > 0) {
+                    deliver(List.copyOf(batch));
+                    batch.clear();
+                    idleSpins = 0;
+                } else if (++idleSpins < SPINS_BEFORE_PARK) {
+                    Thread.onSpinWait();
+                } else {
+                    parked.set(true);
+                    if (ring.size() == 0 && running) {
+                        LockSupport.parkNanos(this, MAX_PARK_NANOS);
+                    }
+                    parked.set(false);
+                }
+            }
+        }
+
+        void deliver(List<Object> events) {
+            for (BatchHandler handler : handlers) {
+                try {
+                    handler.onBatch(events);
+                } catch (RuntimeException ex) {
+                    log.error("Event handler on {} failed for a batch of {}", name, events.size(), ex);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package epitech.timemanager1.events;
+
+import java.time.LocalDateTime;
+
+public record ClockEvent(
+        Type type,
+        Long clockId,
+        Long userId,
+        LocalDateTime clockIn,
+        LocalDateTime clockOut,
+        LocalDateTime occurredAt
+) implements DomainEvent {
+
+    public enum Type {
+        CLOCK_IN,
+        CLOCK_OUT
+    }
+}
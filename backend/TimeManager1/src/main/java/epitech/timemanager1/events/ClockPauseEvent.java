@@ -0,0 +1,38 @@
+package epitech.timemanager1.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * A pause was started, ended, edited or removed.
+ * <p>
+ * {@code startAt}/{@code endAt} are the pause as it is now (null once removed);
+ * {@code previousStartAt}/{@code previousEndAt} are the times it had before a
+ * {@code PAUSE_CHANGED} or {@code PAUSE_REMOVED}, so consumers keeping running totals can
+ * take the old interval back out.
+ * </p>
+ */
+public record ClockPauseEvent(
+        Type type,
+        Long pauseId,
+        Long clockId,
+        Long userId,
+        LocalDateTime startAt,
+        LocalDateTime endAt,
+        LocalDateTime occurredAt,
+        LocalDateTime previousStartAt,
+        LocalDateTime previousEndAt
+) implements DomainEvent {
+
+    public enum Type {
+        PAUSE_STARTED,
+        PAUSE_ENDED,
+        PAUSE_CHANGED,
+        PAUSE_REMOVED
+    }
+
+    /** A start or end: there is no previous interval. */
+    public ClockPauseEvent(Type type, Long pauseId, Long clockId, Long userId,
+                           LocalDateTime startAt, LocalDateTime endAt, LocalDateTime occurredAt) {
+        this(type, pauseId, clockId, userId, startAt, endAt, occurredAt, null, null);
+    }
+}
@@ -0,0 +1,15 @@
+package epitech.timemanager1.events;
+
+/**
+ * Marker for events describing a committed change to a clock, pause, shift or leave.
+ * <p>
+ * Services publish them through Spring's {@code ApplicationEventPublisher};
+ * {@link epitech.timemanager1.kafka.DomainEventKafkaRelay} forwards them to Kafka
+ * once the surrounding transaction has committed.
+ * </p>
+ */
+public interface DomainEvent {
+
+    /** The user the change belongs to; used as the partition key (may be null for unassigned shifts). */
+    Long userId();
+}
@@ -0,0 +1,18 @@
+package epitech.timemanager1.events;
+
+import epitech.timemanager1.entities.LeaveStatus;
+import epitech.timemanager1.entities.LeaveType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record LeaveStatusChangedEvent(
+        Long leaveId,
+        Long userId,
+        LeaveType leaveType,
+        LeaveStatus previousStatus,   // null when the request was just submitted
+        LeaveStatus status,           // null when the request was deleted
+        LocalDate startDate,
+        LocalDate endDate,
+        LocalDateTime occurredAt
+) implements DomainEvent {}
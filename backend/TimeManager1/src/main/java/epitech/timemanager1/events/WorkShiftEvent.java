@@ -0,0 +1,21 @@
+package epitech.timemanager1.events;
+
+import java.time.LocalDateTime;
+
+public record WorkShiftEvent(
+        Type type,
+        Long shiftId,
+        Long teamId,
+        Long userId,          // null when the shift is unassigned
+        LocalDateTime startAt,
+        LocalDateTime endAt,
+        LocalDateTime occurredAt
+) implements DomainEvent {
+
+    public enum Type {
+        SHIFT_CREATED,
+        SHIFT_UPDATED,
+        SHIFT_ASSIGNED,
+        SHIFT_UNASSIGNED
+    }
+}
@@ -1,6 +1,8 @@
 package epitech.timemanager1.exception;
 
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -47,4 +49,28 @@ public class ApiExceptionHandler {
     public ResponseEntity<?> handleConflict(ConflictException ex) {
         return ResponseEntity.status(409).body(Map.of("error", ex.getMessage()));
     }
-}
\ No newline at end of file
+
+    /**
+     * Handles a concurrent update detected by a {@code @Version} column, e.g. two postings to the
+     * same leave balance. The transaction was rolled back, so the request can simply be repeated.
+     *
+     * @param ex the exception
+     * @return 409 Conflict asking the caller to retry
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<?> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(409).body(Map.of("error", "Concurrent update, retry the request", "retry", true));
+    }
+
+    /**
+     * Handles a unique or foreign key violation, e.g. two concurrent first postings creating the
+     * same leave balance row. The constraint details are not exposed.
+     *
+     * @param ex the exception
+     * @return 409 Conflict asking the caller to retry
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<?> handleDataIntegrity(DataIntegrityViolationException ex) {
+        return ResponseEntity.status(409).body(Map.of("error", "Conflicting concurrent change, retry the request", "retry", true));
+    }
+}
@@ -0,0 +1,44 @@
+package epitech.timemanager1.kafka;
+
+import epitech.timemanager1.events.ClockEvent;
+import epitech.timemanager1.events.ClockPauseEvent;
+import epitech.timemanager1.events.DomainEvent;
+import epitech.timemanager1.events.LeaveStatusChangedEvent;
+import epitech.timemanager1.events.WorkShiftEvent;
+import epitech.timemanager1.eventbus.EventBus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Forwards {@link DomainEvent}s to their topic on the {@link EventBus} once the publishing
+ * transaction has committed, so consumers never see a change that was rolled back.
+ * <p>
+ * Records are keyed by {@code user-<id>} so every event of one user lands on the same partition
+ * and keeps its order. With Kafka, the producer groups records into batches according to
+ * {@code spring.kafka.producer.batch-size} / {@code linger.ms}.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class DomainEventKafkaRelay {
+
+    private final EventBus eventBus;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void relay(DomainEvent event) {
+        String key = event.userId() != null ? "user-" + event.userId() : null;
+        eventBus.publish(topicFor(event), key, event);
+    }
+
+    static String topicFor(DomainEvent event) {
+        return switch (event) {
+            case ClockEvent e -> KafkaTopics.CLOCK_EVENTS;
+            case ClockPauseEvent e -> KafkaTopics.PAUSE_EVENTS;
+            case WorkShiftEvent e -> KafkaTopics.SHIFT_EVENTS;
+            case LeaveStatusChangedEvent e -> KafkaTopics.LEAVE_EVENTS;
+            default -> throw new IllegalArgumentException("No topic for " + event.getClass().getName());
+        };
+    }
+}
@@ -16,4 +16,22 @@ public final class KafkaTopics {
 
     public static final String USER_REJECTED =
             "timemanager.user-rejected";
+
+    // ---- domain events (keyed by userId) ----
+
+    /** Clock-in / clock-out of a session */
+    public static final String CLOCK_EVENTS =
+            "timemanager.clock-events";
+
+    /** Pause started / ended inside a clock session */
+    public static final String PAUSE_EVENTS =
+            "timemanager.pause-events";
+
+    /** Work shift created, updated, assigned or unassigned */
+    public static final String SHIFT_EVENTS =
+            "timemanager.shift-events";
+
+    /** Leave request status transitions */
+    public static final String LEAVE_EVENTS =
+            "timemanager.leave-events";
 }
\ No newline at end of file
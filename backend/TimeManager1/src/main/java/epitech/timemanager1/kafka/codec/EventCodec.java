@@ -0,0 +1,80 @@
+package epitech.timemanager1.kafka.codec;
+
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of event records.
+ * <p>
+ * Layout: magic byte {@code 0xE1}, schema id (varint), schema version (varint), then one
+ * {@code (fieldNumber << 3 | wireType)} key and value per non-null field. There are no field
+ * names, no type headers and no reflection on the hot path; the schema id selects the record
+ * class from the {@link EventSchemaCatalogue}.
+ * </p>
+ */
+public final class EventCodec {
+
+    static final int MAGIC = 0xE1;
+
+    public static final EventCodec DEFAULT = new EventCodec(EventSchemaCatalogue.schemas());
+
+    private final Map<Class<?>, EventSchema<?>> byType = new HashMap<>();
+    private final Map<Integer, EventSchema<?>> byId = new HashMap<>();
+
+    public EventCodec(List<EventSchema<?>> schemas) {
+        for (EventSchema<?> s : schemas) {
+            if (byId.put(s.id, s) != null) {
+                throw new EventCodecException("Duplicate schema id " + s.id);
+            }
+            if (byType.put(s.type, s) != null) {
+                throw new EventCodecException("Duplicate schema for " + s.type.getName());
+            }
+        }
+    }
+
+    public byte[] encode(Object event) {
+        EventSchema<?> schema = byType.get(event.getClass());
+        if (schema == null) {
+            throw new EventCodecException("No schema registered for " + event.getClass().getName());
+        }
+        WireWriter out = new WireWriter(64);
+        out.writeByte(MAGIC);
+        out.writeVarLong(schema.id);
+        out.writeVarLong(schema.version);
+        schema.write(event, out);
+        return out.toByteArray();
+    }
+
+    public Object decode(byte[] data) {
+        WireReader in = new WireReader(data);
+        if (in.readByte() != MAGIC) {
+            throw new EventCodecException("Not an encoded event (bad magic byte)");
+        }
+        int id = (int) in.readVarLong();
+        in.readVarLong(); // writer's version: informative only, fields are matched by number
+        EventSchema<?> schema = byId.get(id);
+        if (schema == null) {
+            throw new EventCodecException("Unknown schema id " + id);
+        }
+        return schema.read(in);
+    }
+
+    public <T> T decode(byte[] data, Class<T> type) {
+        Object event = decode(data);
+        if (!type.isInstance(event)) {
+            throw new EventCodecException("Expected " + type.getSimpleName() + " but got " + event.getClass().getSimpleName());
+        }
+        return type.cast(event);
+    }
+
+    /** Kafka Streams serde for one event type. */
+    public static <T> Serde<T> serde(Class<T> type) {
+        return Serdes.serdeFrom(
+                (topic, event) -> event == null ? null : DEFAULT.encode(event),
+                (topic, bytes) -> bytes == null ? null : DEFAULT.decode(bytes, type));
+    }
+}
@@ -0,0 +1,25 @@
+package epitech.timemanager1.kafka.codec;
+
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Consumer value deserializer. Returns the record class named by the payload's schema id, so one
+ * container factory serves every listener.
+ */
+public class EventCodecDeserializer implements Deserializer<Object> {
+
+    private final EventCodec codec;
+
+    public EventCodecDeserializer() {
+        this(EventCodec.DEFAULT);
+    }
+
+    public EventCodecDeserializer(EventCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return data == null ? null : codec.decode(data);
+    }
+}
@@ -0,0 +1,15 @@
+package epitech.timemanager1.kafka.codec;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+/** Raised for unknown schemas, unsupported field types or corrupt payloads. */
+public class EventCodecException extends SerializationException {
+
+    public EventCodecException(String message) {
+        super(message);
+    }
+
+    public EventCodecException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
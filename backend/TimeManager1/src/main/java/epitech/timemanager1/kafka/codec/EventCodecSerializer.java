@@ -0,0 +1,22 @@
+package epitech.timemanager1.kafka.codec;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+/** Producer value serializer ({@code spring.kafka.producer.value-serializer}). */
+public class EventCodecSerializer implements Serializer<Object> {
+
+    private final EventCodec codec;
+
+    public EventCodecSerializer() {
+        this(EventCodec.DEFAULT);
+    }
+
+    public EventCodecSerializer(EventCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object event) {
+        return event == null ? null : codec.encode(event);
+    }
+}
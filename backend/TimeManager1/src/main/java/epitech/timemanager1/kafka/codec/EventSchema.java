@@ -0,0 +1,149 @@
+package epitech.timemanager1.kafka.codec;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Binary layout of one event record: a stable schema id plus a stable number per field.
+ * <p>
+ * Field numbers are assigned by position in the declaration, starting at 1. Evolving a schema
+ * means appending names (and bumping the version); a field that is removed from the record is
+ * replaced by {@link EventSchemaCatalogue#RETIRED} so its number is never reused. Readers skip
+ * numbers they do not know and leave missing fields {@code null}, so old and new producers and
+ * consumers can be mixed during a rolling upgrade.
+ * </p>
+ */
+public final class EventSchema<T extends Record> {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    final int id;
+    final int version;
+    final Class<T> type;
+
+    /** Indexed by field number; {@code null} for retired numbers. */
+    private final Field[] byNumber;
+    private final Field[] fields;
+    private final MethodHandle constructor;
+    private final Object[] defaults;
+
+    record Field(int number, String name, FieldType fieldType, Class<?> javaType, int component, MethodHandle accessor) {
+        int key() {
+            return (number << 3) | fieldType.wireType;
+        }
+    }
+
+    private EventSchema(int id, int version, Class<T> type, String... fieldNames) {
+        if (!type.isRecord()) {
+            throw new EventCodecException(type.getName() + " is not a record");
+        }
+        this.id = id;
+        this.version = version;
+        this.type = type;
+
+        RecordComponent[] components = type.getRecordComponents();
+        Map<String, Integer> componentIndex = new HashMap<>();
+        for (int i = 0; i < components.length; i++) {
+            componentIndex.put(components[i].getName(), i);
+        }
+
+        this.byNumber = new Field[fieldNames.length + 1];
+        this.fields = new Field[components.length];
+        for (int n = 1; n <= fieldNames.length; n++) {
+            String name = fieldNames[n - 1];
+            if (EventSchemaCatalogue.RETIRED.equals(name)) continue;
+
+            Integer c = componentIndex.remove(name);
+            if (c == null) {
+                throw new EventCodecException(type.getSimpleName() + " has no component '" + name + "'");
+            }
+            RecordComponent rc = components[c];
+            Field field = new Field(n, name, FieldType.of(rc.getType()), rc.getType(), c, accessor(rc));
+            byNumber[n] = field;
+            fields[c] = field;
+        }
+        if (!componentIndex.isEmpty()) {
+            throw new EventCodecException(type.getSimpleName() + " components without field number: "
+                    + componentIndex.keySet());
+        }
+
+        this.constructor = canonicalConstructor(type, components);
+        this.defaults = Arrays.stream(components).map(rc -> primitiveDefault(rc.getType())).toArray();
+    }
+
+    public static <T extends Record> EventSchema<T> of(int id, int version, Class<T> type, String... fieldNames) {
+        return new EventSchema<>(id, version, type, fieldNames);
+    }
+
+    void write(Object event, WireWriter out) {
+        for (Field f : fields) {
+            Object value;
+            try {
+                value = (Object) f.accessor.invokeExact(event);
+            } catch (Throwable t) {
+                throw new EventCodecException("Cannot read " + type.getSimpleName() + "." + f.name, t);
+            }
+            if (value == null) continue;
+            out.writeVarLong(f.key());
+            f.fieldType.write(out, value);
+        }
+    }
+
+    T read(WireReader in) {
+        Object[] args = defaults.clone();
+        while (in.hasRemaining()) {
+            long key = in.readVarLong();
+            int number = (int) (key >>> 3);
+            int wireType = (int) (key & 7);
+
+            Field f = number < byNumber.length ? byNumber[number] : null;
+            if (f == null || f.fieldType.wireType != wireType) {
+                FieldType.skip(in, wireType);
+                continue;
+            }
+            Object value = f.fieldType.read(in, f.javaType);
+            if (value != null) {
+                args[f.component] = value;
+            }
+        }
+        try {
+            return type.cast(constructor.invokeExact(args));
+        } catch (Throwable t) {
+            throw new EventCodecException("Cannot build " + type.getSimpleName(), t);
+        }
+    }
+
+    private static MethodHandle accessor(RecordComponent rc) {
+        try {
+            return LOOKUP.unreflect(rc.getAccessor())
+                    .asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new EventCodecException("Cannot access " + rc, e);
+        }
+    }
+
+    private static MethodHandle canonicalConstructor(Class<?> type, RecordComponent[] components) {
+        Class<?>[] params = Arrays.stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new);
+        try {
+            return LOOKUP.unreflectConstructor(type.getDeclaredConstructor(params))
+                    .asSpreader(Object[].class, params.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (ReflectiveOperationException e) {
+            throw new EventCodecException("No canonical constructor on " + type.getName(), e);
+        }
+    }
+
+    private static Object primitiveDefault(Class<?> type) {
+        if (!type.isPrimitive()) return null;
+        if (type == boolean.class) return false;
+        if (type == long.class) return 0L;
+        if (type == int.class) return 0;
+        if (type == double.class) return 0d;
+        throw new EventCodecException("Unsupported primitive " + type);
+    }
+}
@@ -0,0 +1,53 @@
+package epitech.timemanager1.kafka.codec;
+
+import epitech.timemanager1.events.ClockEvent;
+import epitech.timemanager1.events.ClockPauseEvent;
+import epitech.timemanager1.events.LeaveStatusChangedEvent;
+import epitech.timemanager1.events.PasswordResetRequestedEvent;
+import epitech.timemanager1.events.UserApprovedEvent;
+import epitech.timemanager1.events.UserRegisteredEvent;
+import epitech.timemanager1.events.UserRejectedEvent;
+import epitech.timemanager1.events.WorkShiftEvent;
+
+import java.util.List;
+
+/**
+ * Local schema registry for every event published on {@code KafkaTopics}.
+ * <p>
+ * Rules: never change or reuse a schema id; only append field names (and bump the version);
+ * replace a removed field by {@link #RETIRED} instead of deleting it.
+ * </p>
+ */
+public final class EventSchemaCatalogue {
+
+    private EventSchemaCatalogue() {}
+
+    /** Placeholder for a field number that must not be reused. */
+    public static final String RETIRED = "-";
+
+    public static List<EventSchema<?>> schemas() {
+        return List.of(
+                // ---- account / auth events ----
+                EventSchema.of(1, 1, UserRegisteredEvent.class,
+                        "userId", "email", "firstName", "registeredAt"),
+                EventSchema.of(2, 1, UserApprovedEvent.class,
+                        "userId", "email", "firstName", "approvedAt"),
+                EventSchema.of(3, 1, UserRejectedEvent.class,
+                        "userId", "email", "firstName", "reason", "rejectedAt"),
+                EventSchema.of(4, 1, PasswordResetRequestedEvent.class,
+                        "userId", "email", "link", "requestedAt"),
+
+                // ---- domain events (keyed by userId) ----
+                EventSchema.of(10, 1, ClockEvent.class,
+                        "type", "clockId", "userId", "clockIn", "clockOut", "occurredAt"),
+                EventSchema.of(11, 2, ClockPauseEvent.class,
+                        "type", "pauseId", "clockId", "userId", "startAt", "endAt", "occurredAt",
+                        "previousStartAt", "previousEndAt"),
+                EventSchema.of(12, 1, WorkShiftEvent.class,
+                        "type", "shiftId", "teamId", "userId", "startAt", "endAt", "occurredAt"),
+                EventSchema.of(13, 1, LeaveStatusChangedEvent.class,
+                        "leaveId", "userId", "leaveType", "previousStatus", "status",
+                        "startDate", "endDate", "occurredAt")
+        );
+    }
+}
@@ -0,0 +1,99 @@
+package epitech.timemanager1.kafka.codec;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Java types an event field may have, with their wire encoding.
+ * <p>
+ * Wire types: {@code 0} zigzag varint, {@code 1} 8-byte little endian, {@code 2} length-prefixed
+ * bytes, {@code 3} date-time (zigzag epoch seconds + varint nanos). Enums travel by name so
+ * constants can be reordered or added without breaking older readers.
+ * </p>
+ */
+enum FieldType {
+
+    LONG(0) {
+        void write(WireWriter out, Object v) { out.writeZigZag((Long) v); }
+        Object read(WireReader in, Class<?> javaType) { return in.readZigZag(); }
+    },
+    INT(0) {
+        void write(WireWriter out, Object v) { out.writeZigZag((Integer) v); }
+        Object read(WireReader in, Class<?> javaType) { return (int) in.readZigZag(); }
+    },
+    BOOLEAN(0) {
+        void write(WireWriter out, Object v) { out.writeVarLong((Boolean) v ? 1 : 0); }
+        Object read(WireReader in, Class<?> javaType) { return in.readVarLong() != 0; }
+    },
+    DOUBLE(1) {
+        void write(WireWriter out, Object v) { out.writeDouble((Double) v); }
+        Object read(WireReader in, Class<?> javaType) { return in.readDouble(); }
+    },
+    STRING(2) {
+        void write(WireWriter out, Object v) { out.writeString((String) v); }
+        Object read(WireReader in, Class<?> javaType) { return in.readString(); }
+    },
+    ENUM(2) {
+        void write(WireWriter out, Object v) { out.writeString(((Enum<?>) v).name()); }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Object read(WireReader in, Class<?> javaType) {
+            String name = in.readString();
+            try {
+                return Enum.valueOf((Class<? extends Enum>) javaType, name);
+            } catch (IllegalArgumentException unknownConstant) {
+                return null; // written by a newer producer; treat like an absent field
+            }
+        }
+    },
+    LOCAL_DATE(0) {
+        void write(WireWriter out, Object v) { out.writeZigZag(((LocalDate) v).toEpochDay()); }
+        Object read(WireReader in, Class<?> javaType) { return LocalDate.ofEpochDay(in.readZigZag()); }
+    },
+    LOCAL_DATE_TIME(3) {
+        void write(WireWriter out, Object v) {
+            LocalDateTime t = (LocalDateTime) v;
+            out.writeZigZag(t.toEpochSecond(ZoneOffset.UTC));
+            out.writeVarLong(t.getNano());
+        }
+        Object read(WireReader in, Class<?> javaType) {
+            long seconds = in.readZigZag();
+            int nanos = (int) in.readVarLong();
+            return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+        }
+    };
+
+    final int wireType;
+
+    FieldType(int wireType) {
+        this.wireType = wireType;
+    }
+
+    abstract void write(WireWriter out, Object value);
+
+    abstract Object read(WireReader in, Class<?> javaType);
+
+    static FieldType of(Class<?> type) {
+        if (type == Long.class || type == long.class) return LONG;
+        if (type == Integer.class || type == int.class) return INT;
+        if (type == Boolean.class || type == boolean.class) return BOOLEAN;
+        if (type == Double.class || type == double.class) return DOUBLE;
+        if (type == String.class) return STRING;
+        if (type.isEnum()) return ENUM;
+        if (type == LocalDate.class) return LOCAL_DATE;
+        if (type == LocalDateTime.class) return LOCAL_DATE_TIME;
+        throw new EventCodecException("Unsupported event field type " + type.getName());
+    }
+
+    /** Skips a value of an unknown or retired field. */
+    static void skip(WireReader in, int wireType) {
+        switch (wireType) {
+            case 0 -> in.readVarLong();
+            case 1 -> in.skip(8);
+            case 2 -> in.skipBytes();
+            case 3 -> { in.readVarLong(); in.readVarLong(); }
+            default -> throw new EventCodecException("Unknown wire type " + wireType);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package epitech.timemanager1.kafka.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/** Cursor over an encoded event; throws {@link EventCodecException} on truncated input. */
+final class WireReader {
+
+    private final byte[] buf;
+    private int pos;
+
+    WireReader(byte[] buf) {
+        this.buf = buf;
+    }
+
+    boolean hasRemaining() {
+        return pos < buf.length;
+    }
+
+    int readByte() {
+        require(1);
+        return buf[pos++] & 0xFF;
+    }
+
+    long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new EventCodecException("Malformed varint at offset " + pos);
+    }
+
+    long readZigZag() {
+        long v = readVarLong();
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    double readDouble() {
+        require(8);
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits |= (long) (buf[pos++] & 0xFF) << (8 * i);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    String readString() {
+        int len = (int) readVarLong();
+        require(len);
+        String s = new String(buf, pos, len, StandardCharsets.UTF_8);
+        pos += len;
+        return s;
+    }
+
+    void skipBytes() {
+        int len = (int) readVarLong();
+        require(len);
+        pos += len;
+    }
+
+    void skip(int n) {
+        require(n);
+        pos += n;
+    }
+
+    private void require(int n) {
+        if (n < 0 || pos + n > buf.length) {
+            throw new EventCodecException("Truncated event payload at offset " + pos);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package epitech.timemanager1.kafka.streams;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Read side of {@link TeamHoursTopology}: point lookups in the local
+ * {@link TeamHoursTopology#USER_WEEK_NET_MINUTES} store.
+ * <p>
+ * When Kafka Streams is disabled or not yet {@code RUNNING}, {@link #store()} is empty and
+ * callers fall back to computing hours from the database.
+ * </p>
+ * <p>
+ * The store is per instance: it only holds the users of the partitions assigned to this node,
+ * and only closed sessions. Run the topology on a single instance, and add the sessions still
+ * open from the database when reading it.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeamHoursStateStore {
+
+    private final ObjectProvider<StreamsBuilderFactoryBean> streamsFactory;
+
+    public Optional<ReadOnlyKeyValueStore<String, Long>> store() {
+        StreamsBuilderFactoryBean factory = streamsFactory.getIfAvailable();
+        if (factory == null) return Optional.empty();
+
+        KafkaStreams streams = factory.getKafkaStreams();
+        if (streams == null || streams.state() != KafkaStreams.State.RUNNING) return Optional.empty();
+
+        try {
+            return Optional.of(streams.store(StoreQueryParameters.fromNameAndType(
+                    TeamHoursTopology.USER_WEEK_NET_MINUTES,
+                    QueryableStoreTypes.keyValueStore())));
+        } catch (InvalidStateStoreException ex) {
+            log.debug("Team hours store not queryable yet: {}", ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Net hours of a user for the ISO week starting on {@code weekStart}; 0 if nothing was recorded.
+     * Not clamped: a pause that ended inside a session still open is a negative delta until the
+     * session closes, so callers clamp after adding the open sessions.
+     */
+    public static double netHours(ReadOnlyKeyValueStore<String, Long> store, Long userId, LocalDate weekStart) {
+        Long minutes = store.get(TeamHoursTopology.key(userId, weekStart));
+        return minutes == null ? 0.0 : minutes / 60d;
+    }
+}
@@ -0,0 +1,22 @@
+package epitech.timemanager1.kafka.streams;
+
+import org.apache.kafka.streams.StreamsBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+
+/**
+ * Starts the team-hours Kafka Streams application when {@code app.kafka.streams.enabled=true}.
+ * Connection settings come from {@code spring.kafka.streams.*} (Boot auto-configuration).
+ */
+@Configuration
+@EnableKafkaStreams
+@ConditionalOnProperty(name = "app.kafka.streams.enabled", havingValue = "true")
+public class TeamHoursStreamsConfig {
+
+    @Autowired
+    void buildTopology(StreamsBuilder builder) {
+        TeamHoursTopology.build(builder);
+    }
+}
@@ -0,0 +1,114 @@
+package epitech.timemanager1.kafka.streams;
+
+import epitech.timemanager1.events.ClockEvent;
+import epitech.timemanager1.events.ClockPauseEvent;
+import epitech.timemanager1.kafka.KafkaTopics;
+import epitech.timemanager1.kafka.codec.EventCodec;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.state.KeyValueStore;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.time.DayOfWeek.MONDAY;
+
+/**
+ * Streaming aggregation of net worked minutes per user and ISO week.
+ * <p>
+ * Closed clock sessions add their duration, ended pauses subtract theirs; an edited or removed
+ * pause gives its previous interval back before its new one is subtracted. Intervals that
+ * cross a Monday midnight are split so each week only receives its own share, matching the
+ * clamping done by {@code ReportsService}. The result is kept in the
+ * {@link #USER_WEEK_NET_MINUTES} key-value store under the key {@code <userId>@<monday>}.
+ * </p>
+ * <p>
+ * The store is local to each instance and only holds the partitions assigned to it, so
+ * {@code app.kafka.streams.enabled} is meant for a single instance running the topology.
+ * </p>
+ */
+public final class TeamHoursTopology {
+
+    private TeamHoursTopology() {}
+
+    public static final String USER_WEEK_NET_MINUTES = "user-week-net-minutes";
+
+    public static void build(StreamsBuilder builder) {
+        Serde<ClockEvent> clockSerde = EventCodec.serde(ClockEvent.class);
+        Serde<ClockPauseEvent> pauseSerde = EventCodec.serde(ClockPauseEvent.class);
+
+        KStream<String, Long> worked = builder
+                .stream(KafkaTopics.CLOCK_EVENTS, Consumed.with(Serdes.String(), clockSerde))
+                .filter((k, e) -> e != null
+                        && e.type() == ClockEvent.Type.CLOCK_OUT
+                        && e.clockIn() != null && e.clockOut() != null)
+                .flatMap((k, e) -> splitByWeek(e.userId(), e.clockIn(), e.clockOut(), 1));
+
+        KStream<String, Long> paused = builder
+                .stream(KafkaTopics.PAUSE_EVENTS, Consumed.with(Serdes.String(), pauseSerde))
+                .filter((k, e) -> e != null)
+                .flatMap((k, e) -> pauseDeltas(e));
+
+        worked.merge(paused)
+                .groupByKey(Grouped.with(Serdes.String(), Serdes.Long()))
+                .reduce(Long::sum,
+                        Materialized.<String, Long, KeyValueStore<Bytes, byte[]>>as(USER_WEEK_NET_MINUTES)
+                                .withKeySerde(Serdes.String())
+                                .withValueSerde(Serdes.Long()));
+    }
+
+    public static String key(Long userId, LocalDate weekStart) {
+        return userId + "@" + weekStart;
+    }
+
+    public static LocalDate weekStartOf(LocalDate day) {
+        return day.with(TemporalAdjusters.previousOrSame(MONDAY));
+    }
+
+    static List<KeyValue<String, Long>> pauseDeltas(ClockPauseEvent e) {
+        List<KeyValue<String, Long>> out = new ArrayList<>(2);
+        if (e.type() == ClockPauseEvent.Type.PAUSE_CHANGED || e.type() == ClockPauseEvent.Type.PAUSE_REMOVED) {
+            if (e.previousStartAt() != null && e.previousEndAt() != null) {
+                out.addAll(splitByWeek(e.userId(), e.previousStartAt(), e.previousEndAt(), 1));
+            }
+        }
+        if (e.type() == ClockPauseEvent.Type.PAUSE_ENDED || e.type() == ClockPauseEvent.Type.PAUSE_CHANGED) {
+            if (e.startAt() != null && e.endAt() != null) {
+                out.addAll(splitByWeek(e.userId(), e.startAt(), e.endAt(), -1));
+            }
+        }
+        return out;
+    }
+
+    static List<KeyValue<String, Long>> splitByWeek(Long userId, LocalDateTime from, LocalDateTime to, int sign) {
+        List<KeyValue<String, Long>> out = new ArrayList<>(1);
+        if (userId == null || !to.isAfter(from)) {
+            return out;
+        }
+
+        LocalDateTime cursor = from;
+        while (cursor.isBefore(to)) {
+            LocalDate monday = weekStartOf(cursor.toLocalDate());
+            LocalDateTime weekEnd = monday.plusWeeks(1).atStartOfDay();
+            LocalDateTime sliceEnd = to.isBefore(weekEnd) ? to : weekEnd;
+
+            long minutes = Duration.between(cursor, sliceEnd).toMinutes();
+            if (minutes > 0) {
+                out.add(KeyValue.pair(key(userId, monday), sign * minutes));
+            }
+            cursor = sliceEnd;
+        }
+        return out;
+    }
+}
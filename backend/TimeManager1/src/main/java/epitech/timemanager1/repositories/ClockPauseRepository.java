@@ -3,6 +3,7 @@ package epitech.timemanager1.repositories;
 import epitech.timemanager1.entities.ClockPause;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -38,4 +39,16 @@ public interface ClockPauseRepository extends JpaRepository<ClockPause, Long> {
     boolean existsByClockIdAndEndAtIsNull(Long clockId);
     boolean existsByIdAndClockId(Long id, Long clockId);
     Optional<ClockPause> findByIdAndClockId(Long id, Long clockId);
-}
\ No newline at end of file
+
+    // Coverage analytics: pauses of the team's members intersecting [from, to)
+    @Query("""
+        select p.startAt as startAt, p.endAt as endAt
+        from ClockPause p
+        where p.clock.user.id in (select tm.user.id from TeamMember tm where tm.team.id = :teamId)
+          and p.startAt < :to
+          and (p.endAt is null or p.endAt > :from)
+    """)
+    List<TimeRangeRow> findRangesForTeam(@Param("teamId") Long teamId,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to);
+}
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +23,9 @@ public interface ClockRepository extends JpaRepository<Clock, Long> {
 
     List<Clock> findByUserIdAndClockInBetween(Long userId, LocalDateTime from, LocalDateTime to);
 
+    // Timesheet export: clocks of a slice of employees starting in the window
+    List<Clock> findByUserIdInAndClockInBetween(Collection<Long> userIds, LocalDateTime from, LocalDateTime to);
+
     @Query("""
            select c
            from Clock c
@@ -44,6 +48,21 @@ public interface ClockRepository extends JpaRepository<Clock, Long> {
                                                 @Param("from") LocalDateTime from,
                                                 @Param("to") LocalDateTime to);
 
+    // Closed sessions of one user intersecting [from, to) — no ORDER BY (entity has @OrderBy)
+    @Query("""
+           select distinct c
+           from Clock c
+             join fetch c.user u
+             left join fetch c.pauses p
+           where u.id = :userId
+             and c.clockOut is not null
+             and c.clockIn < :to
+             and c.clockOut > :from
+           """)
+    List<Clock> findClosedForUserOverlappingWithPauses(@Param("userId") long userId,
+                                                       @Param("from") LocalDateTime from,
+                                                       @Param("to") LocalDateTime to);
+
     // Weekly overview (overlap-aware): any clock intersecting [from, to) — also no ORDER BY
     @Query("""
            select distinct c
@@ -56,6 +75,17 @@ public interface ClockRepository extends JpaRepository<Clock, Long> {
     List<Clock> findAllBetweenFetchUserWithPauses(@Param("from") LocalDateTime from,
                                                   @Param("to") LocalDateTime to);
 
+    // Sessions still open that started before :to, with their pauses
+    @Query("""
+           select distinct c
+           from Clock c
+             join fetch c.user u
+             left join fetch c.pauses p
+           where c.clockOut is null
+             and c.clockIn < :to
+           """)
+    List<Clock> findOpenBeforeFetchUserWithPauses(@Param("to") LocalDateTime to);
+
     @Query("""
     select c
     from Clock c
@@ -65,4 +95,49 @@ public interface ClockRepository extends JpaRepository<Clock, Long> {
             @Param("from") LocalDateTime from,
             @Param("to") LocalDateTime to
     );
+
+    // Sessions still open since before :before, one row per manager of the user's teams (manager digest)
+    @Query("""
+           select c.id as clockId,
+                  m.email as managerEmail,
+                  m.firstName as managerFirstName,
+                  concat(u.firstName, ' ', u.lastName) as employeeName,
+                  t.name as teamName,
+                  c.clockIn as clockIn
+           from TeamMember tm
+             join tm.team t
+             join t.manager m
+             join tm.user u,
+                Clock c
+           where c.user = u
+             and m.active = true
+             and c.clockOut is null
+             and c.clockIn < :before
+           order by m.email asc, c.clockIn asc
+           """)
+    List<OpenClockDigestRow> findOpenSinceForDigest(@Param("before") LocalDateTime before);
+
+    interface OpenClockDigestRow {
+        Long getClockId();
+        String getManagerEmail();
+        String getManagerFirstName();
+        String getEmployeeName();
+        String getTeamName();
+        LocalDateTime getClockIn();
+    }
+
+    // Coverage analytics: clock sessions of the team's members intersecting [from, to)
+    @Query("""
+           select c.clockIn as startAt, c.clockOut as endAt
+           from Clock c
+           where c.user.id in (select tm.user.id from TeamMember tm where tm.team.id = :teamId)
+             and c.clockIn < :to
+             and (c.clockOut is null or c.clockOut > :from)
+           """)
+    List<TimeRangeRow> findRangesForTeam(@Param("teamId") Long teamId,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to);
+
+    // Payroll close: sessions started before the period end that are still open
+    long countByClockOutIsNullAndClockInLessThan(LocalDateTime to);
 }
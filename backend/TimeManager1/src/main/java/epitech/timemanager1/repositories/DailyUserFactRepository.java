@@ -0,0 +1,45 @@
+package epitech.timemanager1.repositories;
+
+import epitech.timemanager1.entities.DailyUserFact;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface DailyUserFactRepository extends JpaRepository<DailyUserFact, Long>, HoursCubeRepository {
+
+    List<DailyUserFact> findByUserIdAndDayBetweenOrderByDayAsc(Long userId, LocalDate from, LocalDate to);
+
+    /**
+     * Weekly totals of the current members of each team: team id, Monday, net minutes, employees
+     * with facts, days with a clock-in, and days whose first clock-in is after {@code lateAfter}
+     * (local second of day). Ordered by team then week.
+     */
+    @Query("""
+           select tm.team.id, f.weekStart, sum(f.netMinutes), count(distinct u.id), count(f.firstInSecond),
+                  sum(case when f.firstInSecond > :lateAfter then 1 else 0 end)
+           from DailyUserFact f
+             join f.user u
+             join TeamMember tm on tm.user = u
+           where tm.team.id in :teamIds
+             and f.weekStart between :fromWeek and :toWeek
+           group by tm.team.id, f.weekStart
+           order by tm.team.id, f.weekStart
+           """)
+    List<Object[]> weeklyTeamTotals(@Param("teamIds") Collection<Long> teamIds,
+                                    @Param("fromWeek") LocalDate fromWeek,
+                                    @Param("toWeek") LocalDate toWeek,
+                                    @Param("lateAfter") int lateAfter);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from DailyUserFact f where f.day between :from and :to")
+    int deleteByDayBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from DailyUserFact f where f.user.id = :userId and f.day between :from and :to")
+    int deleteForUserBetween(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
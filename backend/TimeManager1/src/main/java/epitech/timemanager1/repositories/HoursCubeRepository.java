@@ -0,0 +1,15 @@
+package epitech.timemanager1.repositories;
+
+import epitech.timemanager1.util.CubeQuery;
+
+import java.util.List;
+
+/** Grouped reads over {@link epitech.timemanager1.entities.DailyUserFact}, for the hours cube. */
+public interface HoursCubeRepository {
+
+    /**
+     * One row per combination of the query's dimensions, ordered by them: the dimension values,
+     * then net minutes, pause minutes, fact days, days with a clock-in and late days.
+     */
+    List<Object[]> aggregate(CubeQuery query, int maxRows);
+}
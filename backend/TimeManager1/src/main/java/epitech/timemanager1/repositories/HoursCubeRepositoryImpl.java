@@ -0,0 +1,77 @@
+package epitech.timemanager1.repositories;
+
+import epitech.timemanager1.util.CubeQuery;
+import epitech.timemanager1.util.CubeQuery.Dimension;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.*;
+
+/**
+ * Builds the cube JPQL from fixed fragments: dimensions and measures are enum constants, filter
+ * values are always bound parameters.
+ */
+class HoursCubeRepositoryImpl implements HoursCubeRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    static String column(Dimension d) {
+        return switch (d) {
+            case USER -> "u.id";
+            case TEAM -> "tm.team.id";
+            case ROLE -> "u.role";
+            case DAY -> "f.day";
+            case WEEK -> "f.weekStart";
+            case MONTH -> "f.monthStart";
+            case WEEKDAY -> "f.weekday";
+        };
+    }
+
+    /** The JPQL and its named parameters, split out so it can be checked without a database. */
+    static Map.Entry<String, Map<String, Object>> jpql(CubeQuery q) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("from", q.from());
+        params.put("to", q.to());
+        params.put("late", q.lateAfterSecond());
+
+        List<String> columns = q.by().stream().map(HoursCubeRepositoryImpl::column).toList();
+        boolean teamJoin = q.by().contains(Dimension.TEAM);
+
+        StringBuilder s = new StringBuilder("select ");
+        for (String c : columns) s.append(c).append(", ");
+        s.append("""
+                sum(f.netMinutes), sum(f.pauseMinutes), count(f), count(f.firstInSecond), \
+                sum(case when f.firstInSecond > :late then 1 else 0 end) \
+                from DailyUserFact f join f.user u\
+                """);
+        // grouping by team counts a member of two teams in both; a team filter alone counts them once
+        if (teamJoin) s.append(" join TeamMember tm on tm.user = u");
+        s.append(" where f.day between :from and :to");
+
+        int n = 0;
+        for (Map.Entry<Dimension, List<Object>> filter : q.filters().entrySet()) {
+            String p = "f" + n++;
+            params.put(p, filter.getValue());
+            if (filter.getKey() == Dimension.TEAM && !teamJoin) {
+                s.append(" and u.id in (select m.user.id from TeamMember m where m.team.id in :").append(p).append(')');
+            } else {
+                s.append(" and ").append(column(filter.getKey())).append(" in :").append(p);
+            }
+        }
+        if (!columns.isEmpty()) {
+            String list = String.join(", ", columns);
+            s.append(" group by ").append(list).append(" order by ").append(list);
+        }
+        return Map.entry(s.toString(), params);
+    }
+
+    @Override
+    public List<Object[]> aggregate(CubeQuery query, int maxRows) {
+        Map.Entry<String, Map<String, Object>> jpql = jpql(query);
+        TypedQuery<Object[]> q = em.createQuery(jpql.getKey(), Object[].class);
+        jpql.getValue().forEach(q::setParameter);
+        return q.setMaxResults(maxRows).getResultList();
+    }
+}
@@ -0,0 +1,15 @@
+package epitech.timemanager1.repositories;
+
+import epitech.timemanager1.entities.LeaveAccrualRule;
+import epitech.timemanager1.entities.LeaveType;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface LeaveAccrualRuleRepository extends JpaRepository<LeaveAccrualRule, Long> {
+
+    Optional<LeaveAccrualRule> findByType(LeaveType type);
+
+    List<LeaveAccrualRule> findByActiveTrue();
+}
@@ -0,0 +1,23 @@
+package epitech.timemanager1.repositories;
+
+import epitech.timemanager1.entities.LeaveBalance;
+import epitech.timemanager1.entities.LeaveType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface LeaveBalanceRepository extends JpaRepository<LeaveBalance, Long> {
+
+    Optional<LeaveBalance> findByEmployeeIdAndType(Long employeeId, LeaveType type);
+
+    List<LeaveBalance> findByEmployeeIdOrderByTypeAsc(Long employeeId);
+
+    // Accrual job: the balances of one batch of employees
+    @Query("select b from LeaveBalance b where b.type = :type and b.employee.id in :employeeIds")
+    List<LeaveBalance> findByTypeAndEmployeeIdIn(@Param("type") LeaveType type,
+                                                 @Param("employeeIds") Collection<Long> employeeIds);
+}
@@ -0,0 +1,42 @@
+package epitech.timemanager1.repositories;
+
+import epitech.timemanager1.entities.LeaveLedgerEntry;
+import epitech.timemanager1.entities.LeaveType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface LeaveLedgerEntryRepository extends JpaRepository<LeaveLedgerEntry, Long> {
+
+    // Ledger history of one balance, newest first
+    @Query("""
+           select e
+           from LeaveLedgerEntry e
+           where e.employee.id = :employeeId
+             and e.type = :type
+           order by e.id desc
+           """)
+    List<LeaveLedgerEntry> findHistory(@Param("employeeId") Long employeeId,
+                                       @Param("type") LeaveType type,
+                                       Limit limit);
+
+    // Everything posted for one leave, to undo a reservation or a debit
+    List<LeaveLedgerEntry> findByLeaveRequestId(Long leaveRequestId);
+
+    // Accrual job idempotency: employees of the batch already credited for that year
+    @Query("""
+           select e.employee.id
+           from LeaveLedgerEntry e
+           where e.type = :type
+             and e.accrualYear = :year
+             and e.kind = epitech.timemanager1.entities.LeaveLedgerEntryKind.ACCRUAL
+             and e.employee.id in :employeeIds
+           """)
+    List<Long> findAccruedEmployeeIds(@Param("type") LeaveType type,
+                                      @Param("year") int year,
+                                      @Param("employeeIds") Collection<Long> employeeIds);
+}
@@ -1,12 +1,17 @@
 package epitech.timemanager1.repositories;
 
+import epitech.timemanager1.dto.PendingLeaveRowDTO;
 import epitech.timemanager1.entities.LeaveRequest;
 import epitech.timemanager1.entities.LeaveStatus;
+import epitech.timemanager1.entities.LeaveType;
 import epitech.timemanager1.entities.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
@@ -50,6 +55,75 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
     """)
   List<LeaveRequest> findPendingForManager(@Param("managerId") Long managerId);
 
+  // Manager queue, first page: PENDING leaves of the manager's team members in (startDate, id) order
+  @Query("""
+      select new epitech.timemanager1.dto.PendingLeaveRowDTO(
+               l.id, e.id, e.firstName, e.lastName, l.type, l.startDate, l.endDate, l.reason, l.createdAt)
+      from LeaveRequest l
+        join l.employee e
+      where l.status = epitech.timemanager1.entities.LeaveStatus.PENDING
+        and exists (
+          select 1
+          from TeamMember tm
+          join tm.team t
+          where t.manager.id = :managerId
+            and tm.user.id = e.id
+        )
+      order by l.startDate asc, l.id asc
+      """)
+  List<PendingLeaveRowDTO> findPendingQueueForManager(@Param("managerId") Long managerId, Limit limit);
+
+  // Manager queue, next pages: same order, strictly after the (afterStart, afterId) keyset cursor
+  @Query("""
+      select new epitech.timemanager1.dto.PendingLeaveRowDTO(
+               l.id, e.id, e.firstName, e.lastName, l.type, l.startDate, l.endDate, l.reason, l.createdAt)
+      from LeaveRequest l
+        join l.employee e
+      where l.status = epitech.timemanager1.entities.LeaveStatus.PENDING
+        and exists (
+          select 1
+          from TeamMember tm
+          join tm.team t
+          where t.manager.id = :managerId
+            and tm.user.id = e.id
+        )
+        and (l.startDate > :afterStart or (l.startDate = :afterStart and l.id > :afterId))
+      order by l.startDate asc, l.id asc
+      """)
+  List<PendingLeaveRowDTO> findPendingQueueForManagerAfter(@Param("managerId") Long managerId,
+      @Param("afterStart") LocalDate afterStart,
+      @Param("afterId") Long afterId,
+      Limit limit);
+
+  // Seeds the per-manager pending counter
+  @Query("""
+      select count(l)
+      from LeaveRequest l
+      where l.status = epitech.timemanager1.entities.LeaveStatus.PENDING
+        and exists (
+          select 1
+          from TeamMember tm
+          join tm.team t
+          where t.manager.id = :managerId
+            and tm.user.id = l.employee.id
+        )
+      """)
+  long countPendingForManager(@Param("managerId") Long managerId);
+
+  // Seeds the pending counter's changedAt, so every instance reports the same one
+  @Query("""
+      select max(l.pendingChangedAt)
+      from LeaveRequest l
+      where exists (
+          select 1
+          from TeamMember tm
+          join tm.team t
+          where t.manager.id = :managerId
+            and tm.user.id = l.employee.id
+        )
+      """)
+  LocalDateTime lastPendingChangeForManager(@Param("managerId") Long managerId);
+
   // Window view for a month (or any window): overlap with [monthStart, monthEnd)
   @Query("""
       select l
@@ -63,10 +137,120 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
       @Param("monthStart") LocalDate monthStart,
       @Param("monthEnd") LocalDate monthEnd);
 
+  // Same window for a slice of employees (timesheet export)
+  @Query("""
+      select l
+      from LeaveRequest l
+      where l.employee.id in :employeeIds
+        and l.startDate < :monthEnd
+        and l.endDate   > :monthStart
+      order by l.startDate asc
+      """)
+  List<LeaveRequest> findForEmployeesInWindow(@Param("employeeIds") Collection<Long> employeeIds,
+      @Param("monthStart") LocalDate monthStart,
+      @Param("monthEnd") LocalDate monthEnd);
+
   // Simple helpers used by your service
   List<LeaveRequest> findByEmployeeIdOrderByStartDateDesc(Long employeeId);
 
   List<LeaveRequest> findByStatusOrderByStartDateAsc(LeaveStatus status);
 
   List<LeaveRequest> findByEmployeeIdOrderByStartDateAsc(Long employeeId);
-}
\ No newline at end of file
+
+  // Payroll close: approved leaves overlapping [from, to] (inclusive), with their employee
+  @Query("""
+      select l
+      from LeaveRequest l
+        join fetch l.employee e
+      where l.status = epitech.timemanager1.entities.LeaveStatus.APPROVED
+        and l.startDate <= :to
+        and l.endDate   >= :from
+      """)
+  List<LeaveRequest> findApprovedOverlapping(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+  // Bulk decisions: the leaves to decide, with their employee, in one round trip
+  @Query("""
+      select l
+      from LeaveRequest l
+        join fetch l.employee e
+      where l.id in :ids
+      """)
+  List<LeaveRequest> findAllByIdFetchEmployee(@Param("ids") Collection<Long> ids);
+
+  // Bulk decisions: every leave of the given employees in the given statuses (conflict index)
+  @Query("""
+      select l
+      from LeaveRequest l
+      where l.employee.id in :employeeIds
+        and l.status in :statuses
+      """)
+  List<LeaveRequest> findByEmployeeIdsAndStatusIn(@Param("employeeIds") Collection<Long> employeeIds,
+      @Param("statuses") Collection<LeaveStatus> statuses);
+
+  // Team absence calendar: every leave of the team's members in the given statuses touching [from, to]
+  @Query("""
+      select e.id as employeeId,
+             e.firstName as firstName,
+             e.lastName as lastName,
+             l.status as status,
+             l.startDate as startDate,
+             l.endDate as endDate
+      from LeaveRequest l
+        join l.employee e
+      where l.status in :statuses
+        and l.startDate <= :to
+        and l.endDate   >= :from
+        and exists (
+          select 1
+          from TeamMember tm
+          where tm.team.id = :teamId
+            and tm.user.id = e.id
+        )
+      """)
+  List<TeamAbsenceRow> findTeamAbsences(@Param("teamId") Long teamId,
+      @Param("from") LocalDate from,
+      @Param("to") LocalDate to,
+      @Param("statuses") Collection<LeaveStatus> statuses);
+
+  interface TeamAbsenceRow {
+    Long getEmployeeId();
+    String getFirstName();
+    String getLastName();
+    LeaveStatus getStatus();
+    LocalDate getStartDate();
+    LocalDate getEndDate();
+  }
+
+  // One row per (pending leave, manager of one of the employee's teams) — feeds the manager digest
+  @Query("""
+      select l.id as leaveId,
+             m.email as managerEmail,
+             m.firstName as managerFirstName,
+             concat(e.firstName, ' ', e.lastName) as employeeName,
+             t.name as teamName,
+             l.type as type,
+             l.startDate as startDate,
+             l.endDate as endDate
+      from TeamMember tm
+        join tm.team t
+        join t.manager m
+        join tm.user e,
+           LeaveRequest l
+      where l.employee = e
+        and m.active = true
+        and l.status = epitech.timemanager1.entities.LeaveStatus.PENDING
+      order by m.email asc, l.startDate asc
+      """)
+  List<PendingLeaveDigestRow> findPendingForDigest();
+
+  interface PendingLeaveDigestRow {
+    Long getLeaveId();
+    String getManagerEmail();
+    String getManagerFirstName();
+    String getEmployeeName();
+    String getTeamName();
+    LeaveType getType();
+    LocalDate getStartDate();
+    LocalDate getEndDate();
+  }
+}
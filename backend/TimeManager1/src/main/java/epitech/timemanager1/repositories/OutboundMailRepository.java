@@ -0,0 +1,39 @@
+package epitech.timemanager1.repositories;
+
+import epitech.timemanager1.entities.OutboundMail;
+import epitech.timemanager1.entities.OutboundMailStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboundMailRepository extends JpaRepository<OutboundMail, Long> {
+
+    // Due PENDING mails, oldest first. SKIP LOCKED (-2) lets several nodes claim disjoint batches.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+           select m
+           from OutboundMail m
+           where m.status = epitech.timemanager1.entities.OutboundMailStatus.PENDING
+             and m.nextAttemptAt <= :now
+           order by m.id asc
+           """)
+    List<OutboundMail> findDueForUpdate(@Param("now") LocalDateTime now, Pageable page);
+
+    // Mails left in SENDING by a crashed node go back to the queue
+    @Modifying
+    @Query("""
+           update OutboundMail m
+           set m.status = epitech.timemanager1.entities.OutboundMailStatus.PENDING
+           where m.status = epitech.timemanager1.entities.OutboundMailStatus.SENDING
+             and m.nextAttemptAt < :staleBefore
+           """)
+    int requeueStale(@Param("staleBefore") LocalDateTime staleBefore);
+
+    long countByStatus(OutboundMailStatus status);
+}
@@ -0,0 +1,15 @@
+package epitech.timemanager1.repositories;
+
+import epitech.timemanager1.entities.OvertimeRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OvertimeRuleRepository extends JpaRepository<OvertimeRule, Long> {
+
+    Optional<OvertimeRule> findByTeamId(Long teamId);
+
+    List<OvertimeRule> findByTeamIdInOrderByTeamIdAsc(Collection<Long> teamIds);
+}
@@ -0,0 +1,38 @@
+package epitech.timemanager1.repositories;
+
+import epitech.timemanager1.entities.OvertimeWeek;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OvertimeWeekRepository extends JpaRepository<OvertimeWeek, Long> {
+
+    Optional<OvertimeWeek> findByUserIdAndWeekStart(Long userId, LocalDate weekStart);
+
+    List<OvertimeWeek> findByUserIdAndWeekStartBetweenOrderByWeekStartAsc(Long userId, LocalDate from, LocalDate to);
+
+    @Query("""
+           select w from OvertimeWeek w
+           where w.user.id in :userIds
+             and w.weekStart between :from and :to
+           order by w.weekStart asc, w.user.id asc
+           """)
+    List<OvertimeWeek> findForUsersBetween(@Param("userIds") Collection<Long> userIds,
+                                           @Param("from") LocalDate from,
+                                           @Param("to") LocalDate to);
+
+    // Weeks a team rule change recomputes: all of them, or those after the last closed payroll period
+    List<OvertimeWeek> findByUserIdIn(Collection<Long> userIds);
+
+    List<OvertimeWeek> findByUserIdInAndWeekStartGreaterThanEqual(Collection<Long> userIds, LocalDate from);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from OvertimeWeek w where w.weekStart = :weekStart")
+    int deleteByWeekStart(@Param("weekStart") LocalDate weekStart);
+}
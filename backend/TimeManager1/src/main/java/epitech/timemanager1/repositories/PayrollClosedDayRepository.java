@@ -0,0 +1,7 @@
+package epitech.timemanager1.repositories;
+
+import epitech.timemanager1.entities.PayrollClosedDay;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PayrollClosedDayRepository extends JpaRepository<PayrollClosedDay, Long> {
+}
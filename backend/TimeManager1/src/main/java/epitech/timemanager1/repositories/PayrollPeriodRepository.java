@@ -0,0 +1,34 @@
+package epitech.timemanager1.repositories;
+
+import epitech.timemanager1.dto.PayrollPeriodDTO;
+import epitech.timemanager1.entities.PayrollPeriod;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface PayrollPeriodRepository extends JpaRepository<PayrollPeriod, Long> {
+
+    // Listing without loading the snapshots
+    @Query("""
+           select new epitech.timemanager1.dto.PayrollPeriodDTO(
+                      p.id, p.periodStart, p.periodEnd, p.closedAt, p.employeeCount, p.compressedSize, p.sha256)
+           from PayrollPeriod p
+           order by p.periodStart desc
+           """)
+    List<PayrollPeriodDTO> findAllSummaries();
+
+    @Query("""
+           select case when count(p) > 0 then true else false end
+           from PayrollPeriod p
+           where p.periodStart <= :to
+             and p.periodEnd   >= :from
+           """)
+    boolean existsOverlapping(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Last day covered by a closed period, null when none was closed
+    @Query("select max(p.periodEnd) from PayrollPeriod p")
+    LocalDate findLastClosedDay();
+}
@@ -0,0 +1,88 @@
+package epitech.timemanager1.repositories;
+
+import epitech.timemanager1.entities.ReportJob;
+import epitech.timemanager1.entities.ReportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+    // Deduplication: an identical job that is still queued or running
+    Optional<ReportJob> findFirstByParamsHashAndStatusInOrderByIdAsc(String paramsHash,
+                                                                   Collection<ReportJobStatus> statuses);
+
+    long countByRequestedByAndStatusIn(String requestedBy, Collection<ReportJobStatus> statuses);
+
+    List<ReportJob> findByRequestedByOrderByIdDesc(String requestedBy);
+
+    // Progress is written from the worker without loading the row
+    @Transactional
+    @Modifying
+    @Query("update ReportJob j set j.progress = :progress where j.id = :id and j.progress < :progress")
+    int updateProgress(@Param("id") Long id, @Param("progress") int progress);
+
+    // The owner refreshes its jobs in flight
+    @Modifying
+    @Query("update ReportJob j set j.heartbeatAt = :now where j.owner = :owner and j.status in :statuses")
+    int heartbeat(@Param("owner") String owner,
+                  @Param("statuses") Collection<ReportJobStatus> statuses,
+                  @Param("now") LocalDateTime now);
+
+    // Jobs in flight on an instance that restarted or stopped will never finish
+    @Modifying
+    @Query("""
+           update ReportJob j
+           set j.status = epitech.timemanager1.entities.ReportJobStatus.FAILED, j.activeHash = null,
+               j.error = :error, j.finishedAt = :now, j.expiresAt = :expiresAt
+           where j.status in :statuses
+             and (j.owner = :owner or j.heartbeatAt is null or j.heartbeatAt < :staleBefore)
+           """)
+    int failInterrupted(@Param("statuses") Collection<ReportJobStatus> statuses,
+                        @Param("owner") String owner,
+                        @Param("staleBefore") LocalDateTime staleBefore,
+                        @Param("error") String error,
+                        @Param("now") LocalDateTime now,
+                        @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Jobs in flight on instances that stopped beating
+    @Modifying
+    @Query("""
+           update ReportJob j
+           set j.status = epitech.timemanager1.entities.ReportJobStatus.FAILED, j.activeHash = null,
+               j.error = :error, j.finishedAt = :now, j.expiresAt = :expiresAt
+           where j.status in :statuses
+             and (j.heartbeatAt is null or j.heartbeatAt < :staleBefore)
+           """)
+    int failStale(@Param("statuses") Collection<ReportJobStatus> statuses,
+                  @Param("staleBefore") LocalDateTime staleBefore,
+                  @Param("error") String error,
+                  @Param("now") LocalDateTime now,
+                  @Param("expiresAt") LocalDateTime expiresAt);
+
+    // A job refused by a full worker queue, failed after its submit has committed
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("""
+           update ReportJob j
+           set j.status = epitech.timemanager1.entities.ReportJobStatus.FAILED, j.activeHash = null,
+               j.error = :error, j.finishedAt = :now, j.expiresAt = :expiresAt
+           where j.id = :id and j.status = epitech.timemanager1.entities.ReportJobStatus.QUEUED
+           """)
+    int failQueued(@Param("id") Long id,
+                   @Param("error") String error,
+                   @Param("now") LocalDateTime now,
+                   @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("delete from ReportJob j where j.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,19 @@
+package epitech.timemanager1.repositories;
+
+import epitech.timemanager1.entities.ReportJobResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface ReportJobResultRepository extends JpaRepository<ReportJobResult, Long> {
+
+    @Modifying
+    @Query("""
+           delete from ReportJobResult r
+           where r.jobId in (select j.id from ReportJob j where j.expiresAt < :now)
+           """)
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
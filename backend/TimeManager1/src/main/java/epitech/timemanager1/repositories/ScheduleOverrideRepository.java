@@ -4,10 +4,15 @@ import epitech.timemanager1.entities.ScheduleOverride;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface ScheduleOverrideRepository extends JpaRepository<ScheduleOverride, Long> {
     List<ScheduleOverride> findByEmployeeIdAndDateBetweenOrderByDateAsc(Long employeeId,
                                                                         LocalDate from,
                                                                         LocalDate to);
+
+    List<ScheduleOverride> findByEmployeeIdInAndDateBetweenOrderByDateAsc(Collection<Long> employeeIds,
+                                                                          LocalDate from,
+                                                                          LocalDate to);
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package epitech.timemanager1.repositories;
+
+import java.time.LocalDateTime;
+
+/**
+ * One assigned shift joined with one clock session of its employee overlapping it. A shift
+ * nobody clocked for comes as a single row with {@code clockIn} null. The end of the employee's
+ * previous shift and the start of their next one are null when there is none.
+ */
+public interface ShiftClockRow {
+    Long getShiftId();
+    Long getEmployeeId();
+    Long getTeamId();
+    LocalDateTime getShiftStart();
+    LocalDateTime getShiftEnd();
+    LocalDateTime getPreviousShiftEnd();
+    LocalDateTime getNextShiftStart();
+    LocalDateTime getClockIn();
+    LocalDateTime getClockOut();
+}
@@ -0,0 +1,31 @@
+package epitech.timemanager1.repositories;
+
+import epitech.timemanager1.entities.ShiftSeriesException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ShiftSeriesExceptionRepository extends JpaRepository<ShiftSeriesException, Long> {
+
+    Optional<ShiftSeriesException> findBySeriesIdAndOccurrenceDate(Long seriesId, LocalDate occurrenceDate);
+
+    @Query("""
+       select e
+       from ShiftSeriesException e
+       where e.series.id in :seriesIds
+         and e.occurrenceDate between :from and :to
+       """)
+    List<ShiftSeriesException> findForSeriesBetween(@Param("seriesIds") Collection<Long> seriesIds,
+                                                    @Param("from") LocalDate from,
+                                                    @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("delete from ShiftSeriesException e where e.series.id = :seriesId")
+    void deleteBySeriesId(@Param("seriesId") Long seriesId);
+}
@@ -0,0 +1,55 @@
+package epitech.timemanager1.repositories;
+
+import epitech.timemanager1.entities.ShiftSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface ShiftSeriesRepository extends JpaRepository<ShiftSeries, Long> {
+
+    List<ShiftSeries> findByTeamIdOrderByIdAsc(Long teamId);
+
+    // Series of a team valid on at least one day of [from, to]
+    @Query("""
+       select s
+       from ShiftSeries s
+       join fetch s.team
+       left join fetch s.employee
+       where s.team.id = :teamId
+         and s.validFrom <= :to
+         and (s.validUntil is null or s.validUntil >= :from)
+       """)
+    List<ShiftSeries> findActiveForTeam(@Param("teamId") Long teamId,
+                                        @Param("from") LocalDate from,
+                                        @Param("to") LocalDate to);
+
+    @Query("""
+       select s
+       from ShiftSeries s
+       join fetch s.team
+       left join fetch s.employee
+       where s.employee.id = :employeeId
+         and s.validFrom <= :to
+         and (s.validUntil is null or s.validUntil >= :from)
+       """)
+    List<ShiftSeries> findActiveForEmployee(@Param("employeeId") Long employeeId,
+                                            @Param("from") LocalDate from,
+                                            @Param("to") LocalDate to);
+
+    @Query("""
+       select s
+       from ShiftSeries s
+       join fetch s.team
+       left join fetch s.employee
+       where s.employee.id in :employeeIds
+         and s.validFrom <= :to
+         and (s.validUntil is null or s.validUntil >= :from)
+       """)
+    List<ShiftSeries> findActiveForEmployees(@Param("employeeIds") Collection<Long> employeeIds,
+                                             @Param("from") LocalDate from,
+                                             @Param("to") LocalDate to);
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,5 +25,17 @@ public interface TeamMemberRepository extends JpaRepository<TeamMember, Id> {
     @Query("select tm.user.id from TeamMember tm where tm.team.id = :teamId")
     List<Long> findUserIdsByTeamId(@Param("teamId") Long teamId);
 
+    @Query("select distinct t.manager.id from TeamMember tm join tm.team t where tm.user.id = :userId and t.manager is not null")
+    List<Long> findManagerIdsByUserId(@Param("userId") Long userId);
+
+    @Query("select tm.team.id from TeamMember tm where tm.user.id = :userId order by tm.team.id asc")
+    List<Long> findTeamIdsByUserId(@Param("userId") Long userId);
+
+    List<TeamMember> findByUserIdInOrderByTeamIdAsc(Collection<Long> userIds);
+
+    /** (team id, member count) of the given teams. */
+    @Query("select tm.team.id, count(tm) from TeamMember tm where tm.team.id in :teamIds group by tm.team.id")
+    List<Object[]> countMembersByTeamIds(@Param("teamIds") Collection<Long> teamIds);
+
     Optional<TeamMember> findByUserIdAndTeamId(Long userId, Long teamId);
 }
\ No newline at end of file
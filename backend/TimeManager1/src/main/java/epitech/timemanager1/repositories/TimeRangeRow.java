@@ -0,0 +1,9 @@
+package epitech.timemanager1.repositories;
+
+import java.time.LocalDateTime;
+
+/** Start and end of a shift, clock session or pause; {@code endAt} is null while still open. */
+public interface TimeRangeRow {
+    LocalDateTime getStartAt();
+    LocalDateTime getEndAt();
+}
@@ -1,9 +1,15 @@
 package epitech.timemanager1.repositories;
 
+import epitech.timemanager1.entities.Role;
 import epitech.timemanager1.entities.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,6 +18,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    // Serialises a user's concurrent submissions across instances (report job limit)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from User u where u.email = :email")
+    Optional<User> lockByEmail(@Param("email") String email);
+
+    // Serialises the recomputes of one employee's overtime weeks and hours facts, whose rows may not exist yet
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u.id from User u where u.id = :id")
+    Optional<Long> lockById(@Param("id") Long id);
+
     boolean existsByEmail(String email);
 
     Page<User> findByLastNameContainingIgnoreCaseOrFirstNameContainingIgnoreCase(
@@ -19,4 +35,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     );
 
     List<User> findAllByActiveFalse();
+
+    List<User> findByRoleAndActiveTrue(Role role);
+
+    long countByActiveTrue();
+
+    // Batch jobs walk active users by id (keyset), one slice at a time
+    @Query("select u.id from User u where u.active = true and u.id > :afterId order by u.id asc")
+    List<Long> findActiveIdsAfter(@Param("afterId") Long afterId, Limit limit);
 }
\ No newline at end of file
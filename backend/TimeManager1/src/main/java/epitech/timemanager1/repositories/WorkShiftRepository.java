@@ -1,11 +1,15 @@
 package epitech.timemanager1.repositories;
 
 import epitech.timemanager1.entities.WorkShift;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface WorkShiftRepository extends JpaRepository<WorkShift, Long> {
 
@@ -13,6 +17,11 @@ public interface WorkShiftRepository extends JpaRepository<WorkShift, Long> {
                                                                        LocalDateTime from,
                                                                        LocalDateTime to);
 
+    // Timesheet export: shifts of a slice of employees starting in the window
+    List<WorkShift> findByEmployeeIdInAndStartAtBetweenOrderByStartAtAsc(Collection<Long> employeeIds,
+                                                                         LocalDateTime from,
+                                                                         LocalDateTime to);
+
     List<WorkShift> findByTeamIdAndStartAtBetweenOrderByStartAtAsc(Long teamId,
                                                                    LocalDateTime from,
                                                                    LocalDateTime to);
@@ -40,4 +49,136 @@ public interface WorkShiftRepository extends JpaRepository<WorkShift, Long> {
                                                 @Param("excludeId") Long excludeId,
                                                 @Param("startAt") LocalDateTime startAt,
                                                 @Param("endAt") LocalDateTime endAt);
-}
\ No newline at end of file
+
+    // Batch creation: every shift of these employees overlapping [from, to), in one round trip
+    @Query("""
+       select s
+       from WorkShift s
+       where s.employee.id in :employeeIds
+         and s.startAt < :to
+         and s.endAt   > :from
+       """)
+    List<WorkShift> findForEmployeesOverlapping(@Param("employeeIds") Collection<Long> employeeIds,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to);
+
+    long countByTeamIdAndStartAtGreaterThanEqualAndStartAtLessThan(Long teamId,
+                                                                   LocalDateTime from,
+                                                                   LocalDateTime to);
+
+    /**
+     * Copies the team's shifts starting in {@code [from, to)} into each of the next {@code weeks}
+     * weeks, in one statement. A copy is left out when its employee is on approved leave that day,
+     * or already has a shift overlapping it (for unassigned slots: when the same slot exists).
+     * The overlap check only sees rows that existed before the statement, so a source shift whose
+     * copy would overlap the next week's copy of another of the employee's source shifts (a Monday
+     * early shift after a Sunday night one) is not copied at all.
+     *
+     * @return number of shifts inserted
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(nativeQuery = true, value = """
+       insert into work_shifts (team_id, employee_id, start_at, end_at, note)
+       select c.team_id, c.employee_id, c.start_at, c.end_at, c.note
+       from (
+           select s.team_id, s.employee_id, s.note,
+                  s.start_at + w.n * interval '7' day as start_at,
+                  s.end_at   + w.n * interval '7' day as end_at
+           from work_shifts s
+           cross join generate_series(1, :weeks) as w(n)
+           where s.team_id = :teamId
+             and s.start_at >= :from
+             and s.start_at <  :to
+             and not exists (
+                   select 1 from work_shifts n
+                   where n.team_id = s.team_id
+                     and n.start_at >= :from
+                     and n.start_at <  :to
+                     and n.employee_id = s.employee_id
+                     and n.id <> s.id
+                     and s.start_at + interval '7' day < n.end_at
+                     and s.end_at   + interval '7' day > n.start_at)
+       ) c
+       where not exists (
+               select 1 from leave_requests l
+               where l.employee_id = c.employee_id
+                 and l.status = 'APPROVED'
+                 and l.start_at <= cast(c.end_at as date)
+                 and l.end_at   >= cast(c.start_at as date))
+         and not exists (
+               select 1 from work_shifts o
+               where o.start_at < c.end_at
+                 and o.end_at   > c.start_at
+                 and (o.employee_id = c.employee_id
+                      or (c.employee_id is null and o.employee_id is null and o.team_id = c.team_id
+                          and o.start_at = c.start_at and o.end_at = c.end_at)))
+       """)
+    int cloneWeeks(@Param("teamId") Long teamId,
+                   @Param("from") LocalDateTime from,
+                   @Param("to") LocalDateTime to,
+                   @Param("weeks") int weeks);
+
+    // Coverage analytics: assigned shifts of a team intersecting [from, to)
+    @Query("""
+       select s.startAt as startAt, s.endAt as endAt
+       from WorkShift s
+       where s.team.id = :teamId
+         and s.employee is not null
+         and s.startAt < :to
+         and s.endAt   > :from
+       """)
+    List<TimeRangeRow> findAssignedRangesForTeam(@Param("teamId") Long teamId,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to);
+
+    // Adherence: shifts that started in [from, to) and ended by asOf, each with the clocks of its
+    // employee overlapping it (left join) and the employee's neighbouring shifts, ordered so that
+    // the rows of one shift are adjacent
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+       select s.id as shiftId, e.id as employeeId, s.team.id as teamId,
+              s.startAt as shiftStart, s.endAt as shiftEnd,
+              (select max(p.endAt) from WorkShift p
+                where p.employee = e and p.id <> s.id and p.endAt <= s.startAt) as previousShiftEnd,
+              (select min(n.startAt) from WorkShift n
+                where n.employee = e and n.id <> s.id and n.startAt >= s.endAt) as nextShiftStart,
+              c.clockIn as clockIn, c.clockOut as clockOut
+       from WorkShift s
+       join s.employee e
+       left join Clock c on c.user = e
+                        and c.clockIn < s.endAt
+                        and (c.clockOut is null or c.clockOut > s.startAt)
+       where s.startAt >= :from
+         and s.startAt <  :to
+         and s.endAt   <= :asOf
+       order by s.id, c.clockIn
+       """)
+    Stream<ShiftClockRow> streamWithClocks(@Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           @Param("asOf") LocalDateTime asOf);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+       select s.id as shiftId, e.id as employeeId, s.team.id as teamId,
+              s.startAt as shiftStart, s.endAt as shiftEnd,
+              (select max(p.endAt) from WorkShift p
+                where p.employee = e and p.id <> s.id and p.endAt <= s.startAt) as previousShiftEnd,
+              (select min(n.startAt) from WorkShift n
+                where n.employee = e and n.id <> s.id and n.startAt >= s.endAt) as nextShiftStart,
+              c.clockIn as clockIn, c.clockOut as clockOut
+       from WorkShift s
+       join s.employee e
+       left join Clock c on c.user = e
+                        and c.clockIn < s.endAt
+                        and (c.clockOut is null or c.clockOut > s.startAt)
+       where s.team.id = :teamId
+         and s.startAt >= :from
+         and s.startAt <  :to
+         and s.endAt   <= :asOf
+       order by s.id, c.clockIn
+       """)
+    Stream<ShiftClockRow> streamWithClocksForTeam(@Param("teamId") Long teamId,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to,
+                                                  @Param("asOf") LocalDateTime asOf);
+}
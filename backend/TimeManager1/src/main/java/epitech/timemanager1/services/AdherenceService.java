@@ -0,0 +1,212 @@
+package epitech.timemanager1.services;
+
+import epitech.timemanager1.dto.AdherenceSummaryDTO;
+import epitech.timemanager1.dto.ShiftAdherenceDTO;
+import epitech.timemanager1.exception.ConflictException;
+import epitech.timemanager1.exception.NotFoundException;
+import epitech.timemanager1.repositories.ShiftClockRow;
+import epitech.timemanager1.repositories.TeamRepository;
+import epitech.timemanager1.repositories.WorkShiftRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Planned shifts versus what was clocked: late start, early leave, no-show, missing clock-out
+ * and overtime per assigned shift.
+ * <p>
+ * A whole period is one query: every shift of the window left-joined with the clock sessions of
+ * its employee that overlap it, ordered by shift. The rows are streamed and folded shift by
+ * shift, so a month for the whole company is a single pass that never holds more than one shift
+ * in memory (plus the per-shift detail when asked for). Only shifts that have ended are judged,
+ * and recurring-series occurrences that were never materialised are not part of it.
+ * </p>
+ * <p>
+ * A session is only attributed to a shift up to the employee's neighbouring shifts: one session
+ * covering two back-to-back shifts counts until the second one starts for the first, and from
+ * the first one's end for the second, so it yields neither overtime nor a hidden late start.
+ * </p>
+ */
+@Service
+@Transactional(readOnly = true)
+public class AdherenceService {
+
+    static final int MAX_TEAM_DAYS = 92;
+    static final int MAX_COMPANY_DAYS = 31;
+
+    private final WorkShiftRepository workShifts;
+    private final TeamRepository teams;
+    private final int graceMinutes;
+
+    public AdherenceService(WorkShiftRepository workShifts,
+                            TeamRepository teams,
+                            @Value("${app.adherence.grace-minutes:5}") int graceMinutes) {
+        this.workShifts = workShifts;
+        this.teams = teams;
+        this.graceMinutes = graceMinutes;
+    }
+
+    /** Adherence of one team for the shifts starting between {@code from} and {@code to} (inclusive). */
+    public AdherenceSummaryDTO forTeam(Long teamId, LocalDate from, LocalDate to, boolean withShifts) {
+        checkWindow(from, to, MAX_TEAM_DAYS);
+        if (!teams.existsById(teamId)) {
+            throw new NotFoundException("Team not found: " + teamId);
+        }
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+
+        Totals totals = new Totals(teamId);
+        List<ShiftAdherenceDTO> detail = new ArrayList<>();
+        try (Stream<ShiftClockRow> rows = workShifts.streamWithClocksForTeam(teamId, start, end, LocalDateTime.now())) {
+            fold(rows, s -> {
+                totals.add(s);
+                if (withShifts) detail.add(s);
+            });
+        }
+        return totals.toDto(start, end, graceMinutes, detail);
+    }
+
+    /** Per-team adherence of every team for the shifts starting between {@code from} and {@code to} (inclusive). */
+    public List<AdherenceSummaryDTO> forCompany(LocalDate from, LocalDate to) {
+        Map<Long, Totals> byTeam = new TreeMap<>();
+        eachShift(from, to, s -> byTeam.computeIfAbsent(s.teamId(), Totals::new).add(s));
+        return byTeam.values().stream()
+                .map(t -> t.toDto(from.atStartOfDay(), to.plusDays(1).atStartOfDay(), graceMinutes, List.of()))
+                .toList();
+    }
+
+    /** Hands every judged shift of the company starting between {@code from} and {@code to} (inclusive) to {@code sink}. */
+    public void eachShift(LocalDate from, LocalDate to, Consumer<ShiftAdherenceDTO> sink) {
+        checkWindow(from, to, MAX_COMPANY_DAYS);
+        try (Stream<ShiftClockRow> rows = workShifts.streamWithClocks(
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay(), LocalDateTime.now())) {
+            fold(rows, sink);
+        }
+    }
+
+    private static void checkWindow(LocalDate from, LocalDate to, int maxDays) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new ConflictException("Invalid date window");
+        }
+        if (to.toEpochDay() - from.toEpochDay() >= maxDays) {
+            throw new ConflictException("Window is limited to " + maxDays + " days");
+        }
+    }
+
+    /** Groups adjacent rows of the same shift and hands each judged shift to {@code sink}. */
+    private void fold(Stream<ShiftClockRow> rows, Consumer<ShiftAdherenceDTO> sink) {
+        Iterator<ShiftClockRow> it = rows.iterator();
+        ShiftFold current = null;
+        while (it.hasNext()) {
+            ShiftClockRow row = it.next();
+            if (current == null || !current.shiftId.equals(row.getShiftId())) {
+                if (current != null) sink.accept(current.result(graceMinutes));
+                current = new ShiftFold(row);
+            }
+            current.add(row);
+        }
+        if (current != null) sink.accept(current.result(graceMinutes));
+    }
+
+    private static long minutes(LocalDateTime from, LocalDateTime to) {
+        return Duration.between(from, to).toMinutes();
+    }
+
+    /** Clock sessions of one shift seen so far. */
+    static final class ShiftFold {
+        final Long shiftId;
+        final Long employeeId;
+        final Long teamId;
+        final LocalDateTime start;
+        final LocalDateTime end;
+        final LocalDateTime previousEnd;
+        final LocalDateTime nextStart;
+        LocalDateTime firstIn;
+        LocalDateTime lastOut;
+        boolean open;
+        long worked;
+
+        ShiftFold(ShiftClockRow row) {
+            shiftId = row.getShiftId();
+            employeeId = row.getEmployeeId();
+            teamId = row.getTeamId();
+            start = row.getShiftStart();
+            end = row.getShiftEnd();
+            previousEnd = row.getPreviousShiftEnd();
+            nextStart = row.getNextShiftStart();
+        }
+
+        void add(ShiftClockRow row) {
+            LocalDateTime in = row.getClockIn();
+            if (in == null) return; // no clock for this shift
+            LocalDateTime out = row.getClockOut();
+            // the parts of the session belonging to the neighbouring shifts are theirs
+            if (previousEnd != null && in.isBefore(previousEnd)) in = previousEnd;
+            if (out != null && nextStart != null && out.isAfter(nextStart)) out = nextStart;
+            if (out != null && !out.isAfter(in)) return;
+            if (firstIn == null || in.isBefore(firstIn)) firstIn = in;
+            if (out == null) {
+                open = true;
+            } else if (lastOut == null || out.isAfter(lastOut)) {
+                lastOut = out;
+            }
+            // an open session counts up to the end of the shift
+            LocalDateTime from = in.isAfter(start) ? in : start;
+            LocalDateTime to = out == null || out.isAfter(end) ? end : out;
+            if (to.isAfter(from)) worked += minutes(from, to);
+        }
+
+        ShiftAdherenceDTO result(int grace) {
+            boolean noShow = firstIn == null;
+            long late = noShow ? 0 : beyondGrace(minutes(start, firstIn), grace);
+            long early = noShow || open ? 0 : beyondGrace(minutes(lastOut, end), grace);
+            long overtime = noShow || open ? 0 : beyondGrace(minutes(end, lastOut), grace);
+            return new ShiftAdherenceDTO(shiftId, employeeId, teamId, start, end,
+                    firstIn, open ? null : lastOut, worked, late, early, overtime, noShow, open);
+        }
+
+        private static long beyondGrace(long minutes, int grace) {
+            return minutes > grace ? minutes : 0;
+        }
+    }
+
+    /** Running totals of one team. */
+    static final class Totals {
+        final Long teamId;
+        long shifts, late, early, noShow, missingOut;
+        long planned, worked, lateMin, earlyMin, overtimeMin;
+
+        Totals(Long teamId) {
+            this.teamId = teamId;
+        }
+
+        void add(ShiftAdherenceDTO s) {
+            shifts++;
+            planned += minutes(s.startAt(), s.endAt());
+            worked += s.workedMinutes();
+            if (s.lateMinutes() > 0) late++;
+            if (s.earlyLeaveMinutes() > 0) early++;
+            if (s.noShow()) noShow++;
+            if (s.missingClockOut()) missingOut++;
+            lateMin += s.lateMinutes();
+            earlyMin += s.earlyLeaveMinutes();
+            overtimeMin += s.overtimeMinutes();
+        }
+
+        AdherenceSummaryDTO toDto(LocalDateTime from, LocalDateTime to, int grace, List<ShiftAdherenceDTO> detail) {
+            return new AdherenceSummaryDTO(teamId, from, to, grace, shifts, late, early, noShow, missingOut,
+                    planned, worked, lateMin, earlyMin, overtimeMin, detail);
+        }
+    }
+}
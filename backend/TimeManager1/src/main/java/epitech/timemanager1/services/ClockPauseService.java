@@ -2,16 +2,19 @@ package epitech.timemanager1.services;
 
 import epitech.timemanager1.entities.Clock;
 import epitech.timemanager1.entities.ClockPause;
+import epitech.timemanager1.events.ClockPauseEvent;
 import epitech.timemanager1.exception.ConflictException;
 import epitech.timemanager1.exception.NotFoundException;
 import epitech.timemanager1.repositories.ClockPauseRepository;
 import epitech.timemanager1.repositories.ClockRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @Transactional
@@ -20,6 +23,8 @@ public class ClockPauseService {
 
     private final ClockRepository clocks;
     private final ClockPauseRepository pauses;
+    private final ApplicationEventPublisher events;
+    private final PayrollLock payrollLock;
 
     public ClockPause create(Long clockId,
             LocalDateTime startAt,
@@ -39,6 +44,8 @@ public class ClockPauseService {
         if (in == null) {
             throw new ConflictException("Clock has no clockIn");
         }
+        payrollLock.assertOpen(in);
+        payrollLock.assertOpenDuring(startAt, endAt);
 
         if (endAt != null) {
             if (!startAt.isBefore(endAt)) {
@@ -69,7 +76,11 @@ public class ClockPauseService {
                 .note(note)
                 .build();
 
-        return pauses.save(p);
+        ClockPause saved = pauses.save(p);
+        // keep the clock's collection in step: listeners re-read it within this transaction
+        if (c.getPauses() != null) c.getPauses().add(saved);
+        publish(endAt == null ? ClockPauseEvent.Type.PAUSE_STARTED : ClockPauseEvent.Type.PAUSE_ENDED, saved);
+        return saved;
     }
 
     public ClockPause update(Long clockId,
@@ -91,6 +102,14 @@ public class ClockPauseService {
             throw new ConflictException("Clock has no clockIn");
         }
 
+        payrollLock.assertOpen(c.getClockIn());
+        payrollLock.assertOpenDuring(p.getStartAt(), p.getEndAt());
+        payrollLock.assertOpenDuring(startAt != null ? startAt : p.getStartAt(), endAt != null ? endAt : p.getEndAt());
+
+        boolean wasOpen = p.getEndAt() == null;
+        LocalDateTime oldStart = p.getStartAt();
+        LocalDateTime oldEnd = p.getEndAt();
+
         // 2) Determine the target values (partial update)
         LocalDateTime newStart = (startAt != null) ? startAt : p.getStartAt();
         LocalDateTime newEnd   = (endAt   != null) ? endAt   : p.getEndAt();
@@ -150,18 +169,62 @@ public class ClockPauseService {
             p.setNote(note.isBlank() ? null : note.trim());
         }
 
-        return pauses.save(p);
+        ClockPause saved = pauses.save(p);
+        if (wasOpen && saved.getEndAt() != null) {
+            publish(ClockPauseEvent.Type.PAUSE_ENDED, saved);
+        } else if (!Objects.equals(oldStart, saved.getStartAt()) || !Objects.equals(oldEnd, saved.getEndAt())) {
+            publish(ClockPauseEvent.Type.PAUSE_CHANGED, saved, oldStart, oldEnd);
+        }
+        return saved;
     }
 
     public void delete(Long clockId, Long pauseId) {
         if (!pauses.existsByIdAndClockId(pauseId, clockId)) {
             throw new NotFoundException("Pause " + pauseId + " not found for clock " + clockId);
         }
-        pauses.deleteById(pauseId);
+        ClockPause p = pauses.findById(pauseId)
+                .orElseThrow(() -> new NotFoundException("Pause not found: " + pauseId));
+        payrollLock.assertOpen(p.getClock().getClockIn());
+        payrollLock.assertOpenDuring(p.getStartAt(), p.getEndAt());
+        Clock c = p.getClock();
+        if (c.getPauses() != null) c.getPauses().remove(p);
+        pauses.delete(p);
+        // published after the delete so listeners re-reading the clock no longer see the pause
+        events.publishEvent(new ClockPauseEvent(
+                ClockPauseEvent.Type.PAUSE_REMOVED,
+                p.getId(),
+                c.getId(),
+                c.getUser().getId(),
+                null,
+                null,
+                LocalDateTime.now(),
+                p.getStartAt(),
+                p.getEndAt()
+        ));
     }
 
     @Transactional
     public List<ClockPause> listForClock(Long clockId) {
         return pauses.findByClockIdOrderByStartAtAsc(clockId);
     }
-}
\ No newline at end of file
+
+    private void publish(ClockPauseEvent.Type type, ClockPause p) {
+        publish(type, p, null, null);
+    }
+
+    private void publish(ClockPauseEvent.Type type, ClockPause p,
+                         LocalDateTime previousStartAt, LocalDateTime previousEndAt) {
+        Clock c = p.getClock();
+        events.publishEvent(new ClockPauseEvent(
+                type,
+                p.getId(),
+                c.getId(),
+                c.getUser().getId(),
+                p.getStartAt(),
+                p.getEndAt(),
+                LocalDateTime.now(),
+                previousStartAt,
+                previousEndAt
+        ));
+    }
+}
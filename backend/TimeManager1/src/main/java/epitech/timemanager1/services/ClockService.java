@@ -2,10 +2,12 @@ package epitech.timemanager1.services;
 
 import epitech.timemanager1.entities.Clock;
 import epitech.timemanager1.entities.User;
+import epitech.timemanager1.events.ClockEvent;
 import epitech.timemanager1.exception.ConflictException;
 import epitech.timemanager1.exception.NotFoundException;
 import epitech.timemanager1.repositories.ClockRepository;
 import epitech.timemanager1.repositories.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -21,10 +23,15 @@ public class ClockService {
 
     private final ClockRepository clocks;
     private final UserRepository users;
+    private final ApplicationEventPublisher events;
+    private final PayrollLock payrollLock;
 
-    public ClockService(ClockRepository clocks, UserRepository users) {
+    public ClockService(ClockRepository clocks, UserRepository users, ApplicationEventPublisher events,
+                        PayrollLock payrollLock) {
         this.clocks = clocks;
         this.users = users;
+        this.events = events;
+        this.payrollLock = payrollLock;
     }
 
     public Clock clockIn(long userId, LocalDateTime when) {
@@ -40,8 +47,11 @@ public class ClockService {
                 .user(user)
                 .clockIn(when != null ? when : LocalDateTime.now())
                 .build();
+        payrollLock.assertOpen(c.getClockIn());
 
-        return clocks.save(c);
+        Clock saved = clocks.save(c);
+        publish(ClockEvent.Type.CLOCK_IN, saved);
+        return saved;
     }
 
     public Clock clockOut(long userId, LocalDateTime when) {
@@ -55,7 +65,11 @@ public class ClockService {
             throw new ConflictException("Already clocked-out");
         }
 
-        last.setClockOut(when != null ? when : LocalDateTime.now());
+        LocalDateTime out = when != null ? when : LocalDateTime.now();
+        // the whole session counts: clocking out across a closed period would change its frozen hours
+        payrollLock.assertOpenDuring(last.getClockIn(), out);
+        last.setClockOut(out);
+        publish(ClockEvent.Type.CLOCK_OUT, last);
         return last; // managed entity
     }
 
@@ -81,4 +95,15 @@ public class ClockService {
     public List<Clock> listAllOverlappingWeek(LocalDateTime from, LocalDateTime to) {
         return clocks.findAllBetweenFetchUserWithPauses(from, to);
     }
-}
\ No newline at end of file
+
+    private void publish(ClockEvent.Type type, Clock c) {
+        events.publishEvent(new ClockEvent(
+                type,
+                c.getId(),
+                c.getUser().getId(),
+                c.getClockIn(),
+                c.getClockOut(),
+                LocalDateTime.now()
+        ));
+    }
+}
@@ -0,0 +1,156 @@
+package epitech.timemanager1.services;
+
+import epitech.timemanager1.config.HolidayProperties;
+import epitech.timemanager1.entities.TeamMember;
+import epitech.timemanager1.exception.ConflictException;
+import epitech.timemanager1.exception.NotFoundException;
+import epitech.timemanager1.repositories.TeamMemberRepository;
+import epitech.timemanager1.util.BusinessCalendar;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Loads the holiday calendars listed in {@code app.holidays.calendars} from local files at
+ * startup and tells which one applies to a team or an employee.
+ * <p>
+ * A team uses the calendar mapped to it in {@code app.holidays.teams}, or the default one.
+ * An employee uses the calendar of their first mapped team (by team id), or the default one.
+ * File format: see {@code holidays/FR.txt}.
+ * </p>
+ * <p>
+ * The calendars only cover {@code app.holidays.first-year..last-year}; entry points taking dates
+ * call {@link #requireCovered} so a date outside that range is a 409, not an error from deep
+ * inside a calendar lookup.
+ * </p>
+ */
+@Slf4j
+@Service
+public class HolidayCalendarService {
+
+    private static final Pattern YEARLY = Pattern.compile("\\d{2}-\\d{2}");
+    private static final Pattern DATED = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+    private static final Pattern EASTER = Pattern.compile("easter([+-]\\d+)?");
+
+    private final HolidayProperties props;
+    private final TeamMemberRepository members;
+    private final Map<String, BusinessCalendar> byCode = new LinkedHashMap<>();
+
+    public HolidayCalendarService(HolidayProperties props, ResourceLoader resources, TeamMemberRepository members) {
+        this.props = props;
+        this.members = members;
+        for (String code : props.calendars()) {
+            Resource file = resources.getResource(props.location() + code + ".txt");
+            byCode.put(code, parse(code, file, props.firstYear(), props.lastYear()));
+        }
+        if (!byCode.containsKey(props.defaultCalendar())) {
+            throw new IllegalStateException("Default holiday calendar not loaded: " + props.defaultCalendar());
+        }
+        log.info("Holiday calendars loaded: {} ({}..{})", byCode.keySet(), props.firstYear(), props.lastYear());
+    }
+
+    /** Refuses a window the calendars do not cover. */
+    public void requireCovered(LocalDate from, LocalDate to) {
+        if (from.getYear() < props.firstYear() || to.getYear() > props.lastYear()) {
+            throw new ConflictException("Dates must be between " + props.firstYear() + "-01-01 and "
+                    + props.lastYear() + "-12-31");
+        }
+    }
+
+    public Set<String> codes() {
+        return byCode.keySet();
+    }
+
+    public BusinessCalendar calendar(String code) {
+        BusinessCalendar cal = byCode.get(code);
+        if (cal == null) throw new NotFoundException("Holiday calendar not found: " + code);
+        return cal;
+    }
+
+    public BusinessCalendar defaultCalendar() {
+        return byCode.get(props.defaultCalendar());
+    }
+
+    public BusinessCalendar forTeam(Long teamId) {
+        String code = teamId == null ? null : props.teams().get(teamId);
+        return code != null ? calendar(code) : defaultCalendar();
+    }
+
+    public BusinessCalendar forEmployee(Long employeeId) {
+        if (props.teams().isEmpty()) return defaultCalendar(); // nothing to look up
+        for (Long teamId : members.findTeamIdsByUserId(employeeId)) {
+            String code = props.teams().get(teamId);
+            if (code != null) return calendar(code);
+        }
+        return defaultCalendar();
+    }
+
+    /** Calendar of each of {@code employeeIds}, with one membership query. */
+    public Map<Long, BusinessCalendar> forEmployees(Collection<Long> employeeIds) {
+        Map<Long, BusinessCalendar> out = new HashMap<>();
+        if (!props.teams().isEmpty()) {
+            for (TeamMember tm : members.findByUserIdInOrderByTeamIdAsc(employeeIds)) {
+                String code = props.teams().get(tm.getTeam().getId());
+                if (code != null) out.putIfAbsent(tm.getUser().getId(), calendar(code));
+            }
+        }
+        for (Long id : employeeIds) out.putIfAbsent(id, defaultCalendar());
+        return out;
+    }
+
+    static BusinessCalendar parse(String code, Resource file, int firstYear, int lastYear) {
+        BusinessCalendar.Builder builder = BusinessCalendar.builder(code, firstYear, lastYear);
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNo = 0;
+            while ((line = in.readLine()) != null) {
+                lineNo++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                if (line.startsWith("weekend=")) {
+                    builder.weekend(Arrays.stream(line.substring("weekend=".length()).split(","))
+                            .map(s -> DayOfWeek.valueOf(s.strip().toUpperCase(Locale.ROOT)))
+                            .toList());
+                    continue;
+                }
+
+                String[] parts = line.split("\\s+", 2);
+                String when = parts[0];
+                String name = parts.length > 1 ? parts[1] : when;
+                Matcher easter = EASTER.matcher(when);
+                if (YEARLY.matcher(when).matches()) {
+                    builder.yearly(MonthDay.parse("--" + when), name);
+                } else if (DATED.matcher(when).matches()) {
+                    builder.on(LocalDate.parse(when), name);
+                } else if (easter.matches()) {
+                    builder.easterRelative(easter.group(1) == null ? 0 : Integer.parseInt(easter.group(1)), name);
+                } else {
+                    throw new IllegalStateException(file.getDescription() + ":" + lineNo + ": cannot read '" + line + "'");
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read holiday calendar " + code + " from " + file.getDescription(), ex);
+        }
+        return builder.build();
+    }
+}
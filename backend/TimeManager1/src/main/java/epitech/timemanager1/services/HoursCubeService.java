@@ -0,0 +1,280 @@
+package epitech.timemanager1.services;
+
+import epitech.timemanager1.dto.HoursCubeDTO;
+import epitech.timemanager1.entities.Clock;
+import epitech.timemanager1.entities.ClockPause;
+import epitech.timemanager1.entities.DailyUserFact;
+import epitech.timemanager1.events.ClockEvent;
+import epitech.timemanager1.events.ClockPauseEvent;
+import epitech.timemanager1.exception.ConflictException;
+import epitech.timemanager1.repositories.ClockRepository;
+import epitech.timemanager1.repositories.DailyUserFactRepository;
+import epitech.timemanager1.repositories.UserRepository;
+import epitech.timemanager1.util.CubeQuery;
+import epitech.timemanager1.util.CubeQuery.Dimension;
+import epitech.timemanager1.util.CubeQuery.Measure;
+import epitech.timemanager1.util.DayBucketer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+/**
+ * Hours cube: net hours, pause time and lateness sliced by team, role, user and calendar.
+ * <p>
+ * Questions are answered from {@link DailyUserFact}, one row per employee and local day of the
+ * default site zone, never from the raw clocks. A closed session refreshes its employee's days
+ * once its transaction has committed, in a transaction of its own: a refresh that fails is logged
+ * and never fails the clock-out, and the nightly rebuild of the last days repairs it along with
+ * clocks edited or deleted by hand.
+ * </p>
+ */
+@Slf4j
+@Service
+@Transactional
+public class HoursCubeService {
+
+    static final int MAX_ROWS = 5000;
+    static final int MAX_QUERY_DAYS = 366;
+    static final int MAX_REBUILD_DAYS = 31;
+    static final int MAX_BACKFILL_DAYS = 742;
+
+    private final DailyUserFactRepository facts;
+    private final ClockRepository clocks;
+    private final UserRepository users;
+    private final SiteZones zones;
+    private final TransactionTemplate ownTransaction;
+    private final int nightlyDays;
+
+    public HoursCubeService(DailyUserFactRepository facts,
+                            ClockRepository clocks,
+                            UserRepository users,
+                            SiteZones zones,
+                            PlatformTransactionManager transactions,
+                            @Value("${app.cube.rebuild-days:7}") int nightlyDays) {
+        this.facts = facts;
+        this.clocks = clocks;
+        this.users = users;
+        this.zones = zones;
+        this.ownTransaction = new TransactionTemplate(transactions);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.nightlyDays = nightlyDays;
+    }
+
+    // ---------- fact maintenance ----------
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onClock(ClockEvent event) {
+        if (event.type() != ClockEvent.Type.CLOCK_OUT || event.clockOut() == null) return;
+        refreshAfterCommit(event.userId(), event.clockIn().toLocalDate().minusDays(1), event.clockOut().toLocalDate().plusDays(1));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onPause(ClockPauseEvent event) {
+        if (event.type() == ClockPauseEvent.Type.PAUSE_STARTED) return;
+        // an edited or removed pause also frees the days of its previous interval
+        LocalDateTime first = null, last = null;
+        for (LocalDateTime t : new LocalDateTime[]{event.startAt(), event.endAt(), event.previousStartAt(), event.previousEndAt()}) {
+            if (t == null) continue;
+            if (first == null || t.isBefore(first)) first = t;
+            if (last == null || t.isAfter(last)) last = t;
+        }
+        if (first == null) return;
+        refreshAfterCommit(event.userId(), first.toLocalDate().minusDays(1), last.toLocalDate().plusDays(1));
+    }
+
+    private void refreshAfterCommit(Long userId, LocalDate first, LocalDate last) {
+        try {
+            ownTransaction.executeWithoutResult(status -> refreshUser(userId, first, last));
+        } catch (RuntimeException ex) {
+            log.warn("Could not refresh hours facts of user {} from {} to {}; left to the nightly rebuild",
+                    userId, first, last, ex);
+        }
+    }
+
+    /** Recomputes the facts of one employee for the local days {@code first} to {@code last}. */
+    public int refreshUser(Long userId, LocalDate first, LocalDate last) {
+        // two refreshes of one employee would both delete then insert the same days
+        users.lockById(userId);
+        DayBucketer days = zones.days(zones.resolve(null), first, last);
+        // sessions are shorter than a day: starting the day before catches those running past midnight
+        List<Clock> sessions = clocks.findAllForUserBetweenWithPauses(userId,
+                days.storageStart().minusDays(1), days.storageEnd());
+        facts.deleteForUserBetween(userId, first, last);
+        List<DailyUserFact> rows = compute(days, sessions);
+        facts.saveAll(rows);
+        return rows.size();
+    }
+
+    /**
+     * Drops and recomputes every fact of the local days {@code from} to {@code to} (at most 31).
+     *
+     * @return the number of facts written
+     */
+    public int rebuild(LocalDate from, LocalDate to) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_REBUILD_DAYS) {
+            throw new ConflictException("Rebuild window must be 1 to " + MAX_REBUILD_DAYS + " days");
+        }
+        DayBucketer days = zones.days(zones.resolve(null), from, to);
+        facts.deleteByDayBetween(from, to);
+        List<DailyUserFact> rows = compute(days,
+                clocks.findAllBetweenFetchUserWithPauses(days.storageStart(), days.storageEnd()));
+        facts.saveAll(rows);
+        return rows.size();
+    }
+
+    /**
+     * Rebuilds the local days {@code from} to {@code to} (at most 106 weeks) in windows of 31 days,
+     * each committed on its own: fills the facts of days older than the cube, or of clocks edited
+     * after the nightly rebuild stopped covering them. A failure keeps the windows already done;
+     * repeating the call is harmless.
+     *
+     * @return the number of facts written
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int backfill(LocalDate from, LocalDate to) {
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_BACKFILL_DAYS) {
+            throw new ConflictException("Backfill window must be 1 to " + MAX_BACKFILL_DAYS + " days");
+        }
+        int written = 0;
+        for (LocalDate start = from; !start.isAfter(to); start = start.plusDays(MAX_REBUILD_DAYS)) {
+            LocalDate a = start, b = start.plusDays(MAX_REBUILD_DAYS - 1);
+            written += ownTransaction.execute(status -> rebuild(a, b.isAfter(to) ? to : b));
+        }
+        return written;
+    }
+
+    @Scheduled(cron = "${app.cube.rebuild-cron:0 15 1 * * *}")
+    public void rebuildRecent() {
+        LocalDate today = LocalDate.now(zones.resolve(null));
+        rebuild(today.minusDays(Math.min(nightlyDays, MAX_REBUILD_DAYS)), today.minusDays(1));
+    }
+
+    /** Facts of the closed sessions over the bucketer's days; open sessions are left to their clock-out. */
+    private List<DailyUserFact> compute(DayBucketer days, List<Clock> sessions) {
+        int n = days.days();
+        // per employee: gross seconds, pause seconds, sessions started, first clock-in second (-1: none)
+        Map<Long, long[][]> byUser = new LinkedHashMap<>();
+        for (Clock c : sessions) {
+            if (c.getClockOut() == null || !c.getClockOut().isAfter(c.getClockIn())) continue;
+            long[][] acc = byUser.computeIfAbsent(c.getUser().getId(), id -> {
+                long[][] a = new long[4][n];
+                Arrays.fill(a[3], -1);
+                return a;
+            });
+            days.accumulate(c.getClockIn(), c.getClockOut(), acc[0]);
+            if (c.getPauses() != null) {
+                for (ClockPause p : c.getPauses()) {
+                    if (p.getStartAt() == null) continue;
+                    LocalDateTime s = p.getStartAt().isBefore(c.getClockIn()) ? c.getClockIn() : p.getStartAt();
+                    LocalDateTime e = p.getEndAt() == null || p.getEndAt().isAfter(c.getClockOut()) ? c.getClockOut() : p.getEndAt();
+                    if (s.isBefore(e)) days.accumulate(s, e, acc[1]);
+                }
+            }
+            long in = days.toInstant(c.getClockIn());
+            int i = days.dayOf(in);
+            if (i >= 0) {
+                acc[2][i]++;
+                int second = days.secondOfDay(in);
+                if (acc[3][i] < 0 || second < acc[3][i]) acc[3][i] = second;
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<DailyUserFact> rows = new ArrayList<>();
+        for (Map.Entry<Long, long[][]> e : byUser.entrySet()) {
+            long[][] acc = e.getValue();
+            for (int i = 0; i < n; i++) {
+                if (acc[0][i] == 0 && acc[2][i] == 0) continue;
+                LocalDate day = days.day(i);
+                rows.add(DailyUserFact.builder()
+                        .user(users.getReferenceById(e.getKey()))
+                        .day(day)
+                        .weekStart(day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)))
+                        .monthStart(day.withDayOfMonth(1))
+                        .weekday(day.getDayOfWeek().getValue())
+                        .netMinutes((int) Math.round(Math.max(0, acc[0][i] - acc[1][i]) / 60.0))
+                        .pauseMinutes((int) Math.round(acc[1][i] / 60.0))
+                        .clockCount((int) acc[2][i])
+                        .firstInSecond(acc[3][i] < 0 ? null : (int) acc[3][i])
+                        .updatedAt(now)
+                        .build());
+            }
+        }
+        return rows;
+    }
+
+    // ---------- queries ----------
+
+    /**
+     * Answers a cube query; see {@link CubeQuery} for the syntax of {@code by}, {@code measures}
+     * and {@code filter}. Days are local days of the default site zone.
+     */
+    @Transactional(readOnly = true)
+    public HoursCubeDTO query(String by, String measures, String filter,
+                              LocalDate from, LocalDate to, LocalTime lateAfter) {
+        CubeQuery q;
+        try {
+            q = CubeQuery.parse(by, measures, filter, from, to, lateAfter);
+        } catch (IllegalArgumentException e) {
+            throw new ConflictException(e.getMessage());
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_QUERY_DAYS) {
+            throw new ConflictException("Cube window is limited to " + MAX_QUERY_DAYS + " days");
+        }
+
+        List<Object[]> result = facts.aggregate(q, MAX_ROWS + 1);
+        boolean truncated = result.size() > MAX_ROWS;
+        List<Map<String, Object>> rows = new ArrayList<>(Math.min(result.size(), MAX_ROWS));
+        int dims = q.by().size();
+        for (Object[] r : result.subList(0, Math.min(result.size(), MAX_ROWS))) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < dims; i++) {
+                Dimension d = q.by().get(i);
+                row.put(d.key(), d.format(r[i]));
+            }
+            long net = count(r[dims]), pause = count(r[dims + 1]), factDays = count(r[dims + 2]),
+                    clockDays = count(r[dims + 3]), late = count(r[dims + 4]);
+            for (Measure m : q.measures()) {
+                row.put(m.key(), switch (m) {
+                    case NET_HOURS -> round2(net / 60.0);
+                    case PAUSE_HOURS -> round2(pause / 60.0);
+                    case DAYS -> factDays;
+                    case LATE_DAYS -> late;
+                    case LATENESS_RATE -> clockDays == 0 ? 0.0 : (double) late / clockDays;
+                    case AVG_NET_HOURS -> factDays == 0 ? 0.0 : round2(net / 60.0 / factDays);
+                });
+            }
+            rows.add(row);
+        }
+        return new HoursCubeDTO(
+                q.by().stream().map(Dimension::key).toList(),
+                q.measures().stream().map(Measure::key).toList(),
+                from, to, truncated, rows);
+    }
+
+    private static long count(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    private static double round2(double v) {
+        return Math.round(v * 100.0) / 100.0;
+    }
+}
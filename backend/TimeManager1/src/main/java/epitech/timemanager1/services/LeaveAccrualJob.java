@@ -0,0 +1,57 @@
+package epitech.timemanager1.services;
+
+import epitech.timemanager1.entities.LeaveAccrualRule;
+import epitech.timemanager1.repositories.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Year;
+import java.util.List;
+
+/**
+ * Credits the yearly entitlement of every active accrual rule to every active employee.
+ * <p>
+ * Employees are walked by id in slices of {@code app.leave.accrual.batch-size}; each slice is
+ * one {@link LeaveLedgerService#accrueBatch} transaction (three reads, then batched inserts),
+ * so a failure only loses the current slice and a rerun skips what was already credited.
+ * </p>
+ */
+@Slf4j
+@Component
+public class LeaveAccrualJob {
+
+    private final LeaveLedgerService ledger;
+    private final UserRepository users;
+    private final int batchSize;
+
+    public LeaveAccrualJob(LeaveLedgerService ledger,
+                           UserRepository users,
+                           @Value("${app.leave.accrual.batch-size:500}") int batchSize) {
+        this.ledger = ledger;
+        this.users = users;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${app.leave.accrual.cron:0 30 0 1 1 *}")
+    public void accrueCurrentYear() {
+        run(Year.now().getValue());
+    }
+
+    /** @return the number of (employee, rule) pairs credited */
+    public int run(int year) {
+        int credited = 0;
+        for (LeaveAccrualRule rule : ledger.activeRules()) {
+            long afterId = 0L;
+            List<Long> slice;
+            while (!(slice = users.findActiveIdsAfter(afterId, Limit.of(batchSize))).isEmpty()) {
+                credited += ledger.accrueBatch(rule.getId(), year, slice);
+                afterId = slice.get(slice.size() - 1);
+            }
+        }
+        log.info("Leave accrual {}: {} balance(s) credited", year, credited);
+        return credited;
+    }
+}
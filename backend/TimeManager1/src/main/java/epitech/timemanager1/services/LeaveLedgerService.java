@@ -0,0 +1,232 @@
+package epitech.timemanager1.services;
+
+import epitech.timemanager1.dto.LeaveAccrualRuleDTO;
+import epitech.timemanager1.dto.LeaveBalanceDTO;
+import epitech.timemanager1.dto.LeaveLedgerEntryDTO;
+import epitech.timemanager1.entities.LeaveAccrualRule;
+import epitech.timemanager1.entities.LeaveBalance;
+import epitech.timemanager1.entities.LeaveLedgerEntry;
+import epitech.timemanager1.entities.LeaveLedgerEntryKind;
+import epitech.timemanager1.entities.LeaveStatus;
+import epitech.timemanager1.entities.LeaveType;
+import epitech.timemanager1.events.LeaveStatusChangedEvent;
+import epitech.timemanager1.exception.ConflictException;
+import epitech.timemanager1.exception.NotFoundException;
+import epitech.timemanager1.repositories.LeaveAccrualRuleRepository;
+import epitech.timemanager1.repositories.LeaveBalanceRepository;
+import epitech.timemanager1.repositories.LeaveLedgerEntryRepository;
+import epitech.timemanager1.repositories.UserRepository;
+import epitech.timemanager1.util.BusinessCalendar;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static epitech.timemanager1.entities.LeaveLedgerEntryKind.*;
+
+/**
+ * Per-employee, per-leave-type leave balances kept as a ledger.
+ * <p>
+ * Every movement is a {@link LeaveLedgerEntry}; the matching {@link LeaveBalance} row is
+ * updated in the same transaction, so reading a balance is one row lookup instead of a sum
+ * over the employee's leave history. Entries are posted from {@link LeaveStatusChangedEvent}s
+ * inside the transaction that changed the leave:
+ * </p>
+ * <ul>
+ *   <li>submitted (or edited) while PENDING: the days it holds are reserved;</li>
+ *   <li>leaving PENDING: the reservation is released, and approval debits the days;</li>
+ *   <li>leaving APPROVED: the debit is refunded.</li>
+ * </ul>
+ * Releases and refunds use the leave's own entries, so they undo exactly what was posted even
+ * if the leave's dates or type changed in between.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class LeaveLedgerService {
+
+    static final int HISTORY_LIMIT = 200;
+
+    private final LeaveLedgerEntryRepository entries;
+    private final LeaveBalanceRepository balances;
+    private final LeaveAccrualRuleRepository rules;
+    private final UserRepository users;
+    private final HolidayCalendarService holidays;
+
+    @EventListener
+    public void onLeaveStatusChanged(LeaveStatusChangedEvent event) {
+        LeaveStatus from = event.previousStatus();
+        LeaveStatus to = event.status();
+
+        if (from == LeaveStatus.PENDING || from == LeaveStatus.APPROVED) {
+            List<LeaveLedgerEntry> posted = entries.findByLeaveRequestId(event.leaveId());
+            if (from == LeaveStatus.PENDING) {
+                undo(event, posted, RESERVE, RELEASE);
+            }
+            if (from == LeaveStatus.APPROVED && to != LeaveStatus.APPROVED) {
+                undo(event, posted, DEBIT, REFUND);
+            }
+        }
+
+        if (to == LeaveStatus.PENDING) {
+            post(event.userId(), event.leaveType(), RESERVE, daysOf(event), event.leaveId(), null, null);
+        } else if (to == LeaveStatus.APPROVED && from != LeaveStatus.APPROVED) {
+            post(event.userId(), event.leaveType(), DEBIT, daysOf(event), event.leaveId(), null, null);
+        }
+    }
+
+    /**
+     * Days a leave counts for: business days of the employee's holiday calendar, both ends included.
+     * Leave dates are checked at creation; one outside the calendar still fails with a 409.
+     */
+    BigDecimal daysOf(LeaveStatusChangedEvent event) {
+        BusinessCalendar calendar = holidays.forEmployee(event.userId());
+        if (!calendar.covers(event.startDate()) || !calendar.covers(event.endDate())) {
+            throw new ConflictException("Leave " + event.leaveId() + " is outside holiday calendar " + calendar.code());
+        }
+        return BigDecimal.valueOf(calendar.businessDaysBetween(event.startDate(), event.endDate()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<LeaveBalanceDTO> balancesFor(Long employeeId) {
+        return balances.findByEmployeeIdOrderByTypeAsc(employeeId).stream().map(LeaveBalanceDTO::of).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public LeaveBalanceDTO balanceFor(Long employeeId, LeaveType type) {
+        return LeaveBalanceDTO.of(balances.findByEmployeeIdAndType(employeeId, type)
+                .orElseGet(() -> LeaveBalance.builder().type(type).build()));
+    }
+
+    /** Latest ledger entries of one balance, newest first. */
+    @Transactional(readOnly = true)
+    public List<LeaveLedgerEntryDTO> history(Long employeeId, LeaveType type) {
+        return entries.findHistory(employeeId, type, Limit.of(HISTORY_LIMIT)).stream()
+                .map(LeaveLedgerEntryDTO::of)
+                .toList();
+    }
+
+    /** Manual correction; negative days remove days. */
+    public LeaveBalanceDTO adjust(Long employeeId, LeaveType type, BigDecimal days, String note) {
+        if (!users.existsById(employeeId)) {
+            throw new NotFoundException("User not found: " + employeeId);
+        }
+        return LeaveBalanceDTO.of(post(employeeId, type, ADJUSTMENT, days, null, null, note));
+    }
+
+    @Transactional(readOnly = true)
+    public List<LeaveAccrualRule> rules() {
+        return rules.findAll();
+    }
+
+    @Transactional(readOnly = true)
+    public List<LeaveAccrualRule> activeRules() {
+        return rules.findByActiveTrue();
+    }
+
+    /** Creates or replaces the accrual rule of a leave type. */
+    public LeaveAccrualRule saveRule(LeaveType type, LeaveAccrualRuleDTO body) {
+        LeaveAccrualRule rule = rules.findByType(type)
+                .orElseGet(() -> LeaveAccrualRule.builder().type(type).build());
+        rule.setDaysPerYear(body.getDaysPerYear());
+        rule.setCarryOverMaxDays(body.getCarryOverMaxDays());
+        rule.setActive(body.isActive());
+        return rules.save(rule);
+    }
+
+    /**
+     * Credits one year of a rule to a batch of employees, in one transaction.
+     * <p>
+     * Employees already credited for that year are skipped, so a rerun after a partial failure
+     * only fills the gaps. When the rule caps carry-over, unused days above the cap expire first.
+     * </p>
+     *
+     * @return the number of employees credited
+     */
+    public int accrueBatch(Long ruleId, int year, List<Long> employeeIds) {
+        LeaveAccrualRule rule = rules.findById(ruleId)
+                .orElseThrow(() -> new NotFoundException("Accrual rule not found: " + ruleId));
+
+        Set<Long> done = new HashSet<>(entries.findAccruedEmployeeIds(rule.getType(), year, employeeIds));
+        Map<Long, LeaveBalance> byEmployee = balances.findByTypeAndEmployeeIdIn(rule.getType(), employeeIds).stream()
+                .collect(Collectors.toMap(b -> b.getEmployee().getId(), Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<LeaveLedgerEntry> newEntries = new ArrayList<>();
+        List<LeaveBalance> touched = new ArrayList<>();
+        for (Long employeeId : employeeIds) {
+            if (done.contains(employeeId)) continue;
+
+            LeaveBalance balance = byEmployee.computeIfAbsent(employeeId, id -> LeaveBalance.builder()
+                    .employee(users.getReferenceById(id))
+                    .type(rule.getType())
+                    .build());
+
+            if (rule.getCarryOverMaxDays() != null) {
+                BigDecimal expired = balance.remaining().subtract(rule.getCarryOverMaxDays());
+                if (expired.signum() > 0) {
+                    newEntries.add(entry(balance, EXPIRY, expired, null, year, "Carry-over cap", now));
+                }
+            }
+            newEntries.add(entry(balance, ACCRUAL, rule.getDaysPerYear(), null, year, null, now));
+            touched.add(balance);
+        }
+
+        entries.saveAll(newEntries);
+        balances.saveAll(touched);
+        return touched.size();
+    }
+
+    private void undo(LeaveStatusChangedEvent event, Collection<LeaveLedgerEntry> posted,
+                      LeaveLedgerEntryKind done, LeaveLedgerEntryKind undone) {
+        Map<LeaveType, BigDecimal> held = new EnumMap<>(LeaveType.class);
+        for (LeaveLedgerEntry e : posted) {
+            if (e.getKind() == done) held.merge(e.getType(), e.getDays(), BigDecimal::add);
+            else if (e.getKind() == undone) held.merge(e.getType(), e.getDays().negate(), BigDecimal::add);
+        }
+        held.forEach((type, days) -> {
+            if (days.signum() > 0) post(event.userId(), type, undone, days, event.leaveId(), null, null);
+        });
+    }
+
+    private LeaveBalance post(Long employeeId, LeaveType type, LeaveLedgerEntryKind kind, BigDecimal days,
+                              Long leaveId, Integer year, String note) {
+        LeaveBalance balance = balances.findByEmployeeIdAndType(employeeId, type)
+                .orElseGet(() -> LeaveBalance.builder()
+                        .employee(users.getReferenceById(employeeId))
+                        .type(type)
+                        .build());
+        entries.save(entry(balance, kind, days, leaveId, year, note, LocalDateTime.now()));
+        return balances.save(balance);
+    }
+
+    /** Builds an entry and applies it to the balance it belongs to. */
+    private static LeaveLedgerEntry entry(LeaveBalance balance, LeaveLedgerEntryKind kind, BigDecimal days,
+                                          Long leaveId, Integer year, String note, LocalDateTime now) {
+        balance.apply(kind, days);
+        balance.setUpdatedAt(now);
+        return LeaveLedgerEntry.builder()
+                .employee(balance.getEmployee())
+                .type(balance.getType())
+                .kind(kind)
+                .days(days)
+                .leaveRequestId(leaveId)
+                .accrualYear(year)
+                .note(note)
+                .createdAt(now)
+                .build();
+    }
+}
@@ -1,27 +1,48 @@
 package epitech.timemanager1.services;
 
+import epitech.timemanager1.dto.LeaveBulkDecisionDTO;
+import epitech.timemanager1.dto.LeaveDecisionResultDTO;
+import epitech.timemanager1.dto.PendingLeavePageDTO;
+import epitech.timemanager1.dto.PendingLeaveRowDTO;
 import epitech.timemanager1.entities.LeaveRequest;
 import epitech.timemanager1.entities.LeaveStatus;
 import epitech.timemanager1.entities.LeaveType;
 import epitech.timemanager1.entities.User;
+import epitech.timemanager1.events.LeaveStatusChangedEvent;
 import epitech.timemanager1.exception.ConflictException;
 import epitech.timemanager1.exception.NotFoundException;
 import epitech.timemanager1.repositories.LeaveRequestRepository;
 import epitech.timemanager1.repositories.UserRepository;
+import epitech.timemanager1.util.IntervalIndex;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class LeaveRequestService {
 
+    static final int MAX_QUEUE_PAGE = 100;
+
     private final LeaveRequestRepository leaves;
     private final UserRepository users;
+    private final ApplicationEventPublisher events;
+    private final PayrollLock payrollLock;
+    private final HolidayCalendarService holidays;
 
     /** Employee submits a PENDING leave request. */
     public LeaveRequest requestLeave(Long employeeId,
@@ -33,6 +54,7 @@ public class LeaveRequestService {
         if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
             throw new ConflictException("Invalid date range");
         }
+        holidays.requireCovered(startDate, endDate);
 
         User employee = users.findById(employeeId)
                 .orElseThrow(() -> new NotFoundException("User not found: " + employeeId));
@@ -52,7 +74,9 @@ public class LeaveRequestService {
                 .reason(reason)
                 .build();
 
-        return leaves.save(lr);
+        LeaveRequest saved = leaves.save(lr);
+        publishTransition(saved, null);
+        return saved;
     }
 
     /** Employee can cancel their own PENDING leave. */
@@ -67,6 +91,7 @@ public class LeaveRequestService {
             throw new ConflictException("Only PENDING leaves can be cancelled");
         }
         lr.setStatus(LeaveStatus.CANCELLED);
+        publishTransition(lr, LeaveStatus.PENDING);
         return lr;
     }
 
@@ -78,6 +103,7 @@ public class LeaveRequestService {
         if (lr.getStatus() != LeaveStatus.PENDING) {
             throw new ConflictException("Only PENDING leaves can be approved");
         }
+        payrollLock.assertOpenBetween(lr.getStartDate(), lr.getEndDate());
 
         boolean overlapsApprovedOrPending = leaves.existsOverlappingApprovedOrPending(
                 lr.getEmployee().getId(), lr.getStartDate(), lr.getEndDate());
@@ -96,6 +122,7 @@ public class LeaveRequestService {
         }
 
         lr.setStatus(LeaveStatus.APPROVED);
+        publishTransition(lr, LeaveStatus.PENDING);
         return lr;
     }
 
@@ -111,9 +138,82 @@ public class LeaveRequestService {
             lr.setReason(note);
         }
         lr.setStatus(LeaveStatus.REJECTED);
+        publishTransition(lr, LeaveStatus.PENDING);
         return lr;
     }
 
+    /**
+     * Manager/CEO decides many leaves in one transaction.
+     * <p>
+     * The leaves and the APPROVED leaves of their employees are loaded in two queries. Conflicts
+     * are checked against one {@link IntervalIndex} per employee, which also receives the
+     * approvals made earlier in the same batch. An entry that cannot be applied is reported in
+     * its result and does not roll back the others.
+     * </p>
+     */
+    public List<LeaveDecisionResultDTO> decideAll(List<LeaveBulkDecisionDTO.Item> decisions) {
+        Map<Long, LeaveRequest> byId = leaves.findAllByIdFetchEmployee(
+                        decisions.stream().map(LeaveBulkDecisionDTO.Item::getLeaveId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(LeaveRequest::getId, Function.identity()));
+
+        Map<Long, IntervalIndex<LocalDate, LeaveRequest>> approvedByEmployee = new HashMap<>();
+        List<Long> employeeIds = byId.values().stream().map(l -> l.getEmployee().getId()).distinct().toList();
+        if (!employeeIds.isEmpty()) {
+            for (LeaveRequest other : leaves.findByEmployeeIdsAndStatusIn(employeeIds, List.of(LeaveStatus.APPROVED))) {
+                approvedByEmployee
+                        .computeIfAbsent(other.getEmployee().getId(), id -> IntervalIndex.closed())
+                        .add(other.getStartDate(), other.getEndDate(), other);
+            }
+        }
+
+        List<LeaveDecisionResultDTO> results = new ArrayList<>(decisions.size());
+        for (LeaveBulkDecisionDTO.Item d : decisions) {
+            LeaveRequest lr = byId.get(d.getLeaveId());
+            if (lr == null) {
+                results.add(LeaveDecisionResultDTO.refused(d.getLeaveId(), null, "Leave not found: " + d.getLeaveId()));
+                continue;
+            }
+            if (lr.getStatus() != LeaveStatus.PENDING) {
+                results.add(LeaveDecisionResultDTO.refused(lr.getId(), lr.getStatus(), "Only PENDING leaves can be decided"));
+                continue;
+            }
+
+            if (d.getDecision() == LeaveStatus.APPROVED) {
+                IntervalIndex<LocalDate, LeaveRequest> approved = approvedByEmployee
+                        .computeIfAbsent(lr.getEmployee().getId(), id -> IntervalIndex.closed());
+                boolean conflicts = approved.anyOverlapping(lr.getStartDate(), lr.getEndDate(),
+                        other -> !other.getId().equals(lr.getId()));
+                if (conflicts) {
+                    results.add(LeaveDecisionResultDTO.refused(lr.getId(), lr.getStatus(),
+                            "Conflicts with an already APPROVED leave"));
+                    continue;
+                }
+                try {
+                    payrollLock.assertOpenBetween(lr.getStartDate(), lr.getEndDate());
+                } catch (ConflictException e) {
+                    results.add(LeaveDecisionResultDTO.refused(lr.getId(), lr.getStatus(), e.getMessage()));
+                    continue;
+                }
+                lr.setStatus(LeaveStatus.APPROVED);
+                approved.add(lr.getStartDate(), lr.getEndDate(), lr);
+            } else if (d.getDecision() == LeaveStatus.REJECTED) {
+                if (d.getNote() != null && !d.getNote().isBlank()) {
+                    lr.setReason(d.getNote());
+                }
+                lr.setStatus(LeaveStatus.REJECTED);
+            } else {
+                results.add(LeaveDecisionResultDTO.refused(lr.getId(), lr.getStatus(),
+                        "Decision must be APPROVED or REJECTED"));
+                continue;
+            }
+
+            publishTransition(lr, LeaveStatus.PENDING);
+            results.add(LeaveDecisionResultDTO.applied(lr.getId(), lr.getStatus()));
+        }
+        return results;
+    }
+
     /** Employee history (newest first). */
     @Transactional
     public List<LeaveRequest> listForEmployee(Long employeeId) {
@@ -127,6 +227,42 @@ public class LeaveRequestService {
         return leaves.findByStatusOrderByStartDateAsc(LeaveStatus.PENDING);
     }
 
+    /**
+     * One page of the PENDING leaves of a manager's team members, ordered by (startDate, id).
+     * <p>
+     * Uses keyset pagination: the cursor is the (startDate, id) of the last row already seen, so
+     * every page is an index range scan whatever its depth. One extra row is fetched to know
+     * whether another page follows.
+     * </p>
+     */
+    @Transactional
+    public PendingLeavePageDTO pendingQueueForManager(Long managerId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_QUEUE_PAGE));
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<PendingLeaveRowDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = leaves.findPendingQueueForManager(managerId, limit);
+        } else {
+            int sep = cursor.lastIndexOf(':');
+            try {
+                rows = leaves.findPendingQueueForManagerAfter(managerId,
+                        LocalDate.parse(cursor.substring(0, sep)),
+                        Long.valueOf(cursor.substring(sep + 1)),
+                        limit);
+            } catch (IndexOutOfBoundsException | DateTimeParseException | NumberFormatException ex) {
+                throw new ConflictException("Invalid cursor: " + cursor);
+            }
+        }
+
+        if (rows.size() <= pageSize) {
+            return new PendingLeavePageDTO(rows, null);
+        }
+        List<PendingLeaveRowDTO> page = rows.subList(0, pageSize);
+        PendingLeaveRowDTO last = page.get(pageSize - 1);
+        return new PendingLeavePageDTO(List.copyOf(page), last.startDate() + ":" + last.id());
+    }
+
     /** Simple month (or any window) view for a user. */
     @Transactional
     public List<LeaveRequest> listForEmployeeInWindow(Long employeeId, LocalDate from, LocalDate to) {
@@ -153,6 +289,7 @@ public class LeaveRequestService {
         if (newStart == null || newEnd == null || newStart.isAfter(newEnd)) {
             throw new ConflictException("Invalid date range");
         }
+        holidays.requireCovered(newStart, newEnd);
 
         Long employeeId = lr.getEmployee().getId();
 
@@ -177,6 +314,7 @@ public class LeaveRequestService {
         if (reason != null) {
             lr.setReason(reason);
         }
+        publishTransition(lr, LeaveStatus.PENDING); // still PENDING, but dates/type may have moved
         return lr; // managed entity
     }
 
@@ -189,5 +327,28 @@ public class LeaveRequestService {
             throw new ConflictException("Only PENDING leaves can be deleted");
         }
         leaves.delete(lr);
+        publishTransition(lr, LeaveStatus.PENDING, null);
+    }
+
+    private void publishTransition(LeaveRequest lr, LeaveStatus previous) {
+        publishTransition(lr, previous, lr.getStatus());
+    }
+
+    private void publishTransition(LeaveRequest lr, LeaveStatus previous, LeaveStatus status) {
+        // millis, so the stamp read back from the row equals the one carried by the event
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        if (status != null && (previous == LeaveStatus.PENDING || status == LeaveStatus.PENDING)) {
+            lr.setPendingChangedAt(now);
+        }
+        events.publishEvent(new LeaveStatusChangedEvent(
+                lr.getId(),
+                lr.getEmployee().getId(),
+                lr.getType(),
+                previous,
+                status,
+                lr.getStartDate(),
+                lr.getEndDate(),
+                now
+        ));
     }
-}
\ No newline at end of file
+}
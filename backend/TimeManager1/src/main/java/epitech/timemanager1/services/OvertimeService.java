@@ -0,0 +1,315 @@
+package epitech.timemanager1.services;
+
+import epitech.timemanager1.dto.OvertimeRuleDTO;
+import epitech.timemanager1.dto.OvertimeWeekDTO;
+import epitech.timemanager1.dto.TeamOvertimeDTO;
+import epitech.timemanager1.entities.Clock;
+import epitech.timemanager1.entities.ClockPause;
+import epitech.timemanager1.entities.OvertimeRule;
+import epitech.timemanager1.entities.OvertimeWeek;
+import epitech.timemanager1.entities.Team;
+import epitech.timemanager1.entities.TeamMember;
+import epitech.timemanager1.events.ClockEvent;
+import epitech.timemanager1.events.ClockPauseEvent;
+import epitech.timemanager1.exception.ConflictException;
+import epitech.timemanager1.exception.NotFoundException;
+import epitech.timemanager1.repositories.ClockRepository;
+import epitech.timemanager1.repositories.OvertimeRuleRepository;
+import epitech.timemanager1.repositories.OvertimeWeekRepository;
+import epitech.timemanager1.repositories.PayrollPeriodRepository;
+import epitech.timemanager1.repositories.TeamMemberRepository;
+import epitech.timemanager1.repositories.TeamRepository;
+import epitech.timemanager1.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Daily and weekly overtime, kept up to date as clocks change.
+ * <p>
+ * A {@link ClockEvent.Type#CLOCK_OUT} or any pause change (end, edit, removal) recomputes the
+ * employee's {@link OvertimeWeek} rows of the weeks it touches from that week's closed clocks
+ * (pauses removed, split at midnight), inside the same transaction. Nothing is added to a running
+ * total, so a late or repeated event cannot leave a week wrong. Reading overtime is then a lookup
+ * of a few week rows instead of a scan of the clock history.
+ * </p>
+ * <p>
+ * An employee's rule is the one of their lowest-id team that has one, else the
+ * {@code app.overtime.*} defaults. Changing a team's rule recomputes its members' weeks since the
+ * last closed payroll period; {@link #rebuildWeek(LocalDate)} recomputes a past week from the clocks.
+ * </p>
+ */
+@Service
+@Transactional
+public class OvertimeService {
+
+    static final int MAX_WEEKS = 53;
+
+    private final OvertimeWeekRepository weeks;
+    private final OvertimeRuleRepository rules;
+    private final ClockRepository clocks;
+    private final TeamRepository teams;
+    private final TeamMemberRepository members;
+    private final UserRepository users;
+    private final PayrollPeriodRepository periods;
+    private final OvertimeRule defaults;
+
+    public OvertimeService(OvertimeWeekRepository weeks,
+                           OvertimeRuleRepository rules,
+                           ClockRepository clocks,
+                           TeamRepository teams,
+                           TeamMemberRepository members,
+                           UserRepository users,
+                           PayrollPeriodRepository periods,
+                           @Value("${app.overtime.daily-max-minutes:600}") Integer dailyMaxMinutes,
+                           @Value("${app.overtime.weekly-max-minutes:2100}") Integer weeklyMaxMinutes,
+                           @Value("${app.overtime.weekly-higher-rate-minutes:2580}") Integer weeklyHigherRateMinutes) {
+        this.weeks = weeks;
+        this.rules = rules;
+        this.clocks = clocks;
+        this.teams = teams;
+        this.members = members;
+        this.users = users;
+        this.periods = periods;
+        this.defaults = OvertimeRule.builder()
+                .dailyMaxMinutes(dailyMaxMinutes)
+                .weeklyMaxMinutes(weeklyMaxMinutes)
+                .weeklyHigherRateMinutes(weeklyHigherRateMinutes)
+                .build();
+    }
+
+    @EventListener
+    public void onClock(ClockEvent event) {
+        if (event.type() != ClockEvent.Type.CLOCK_OUT || event.clockOut() == null) return;
+        recomputeWeeks(event.userId(), weeksOf(event.clockIn(), event.clockOut(), new TreeSet<>()));
+    }
+
+    @EventListener
+    public void onPause(ClockPauseEvent event) {
+        // a pause still running only counts once it ends or its session closes
+        if (event.type() == ClockPauseEvent.Type.PAUSE_STARTED) return;
+        TreeSet<LocalDate> mondays = new TreeSet<>();
+        weeksOf(event.startAt(), event.endAt(), mondays);
+        weeksOf(event.previousStartAt(), event.previousEndAt(), mondays);
+        recomputeWeeks(event.userId(), mondays);
+    }
+
+    private static TreeSet<LocalDate> weeksOf(LocalDateTime start, LocalDateTime end, TreeSet<LocalDate> mondays) {
+        if (start == null) return mondays;
+        LocalDate last = mondayOf((end != null && end.isAfter(start) ? end : start).toLocalDate());
+        for (LocalDate m = mondayOf(start.toLocalDate()); !m.isAfter(last); m = m.plusWeeks(1)) mondays.add(m);
+        return mondays;
+    }
+
+    private void recomputeWeeks(Long userId, TreeSet<LocalDate> mondays) {
+        if (userId == null || mondays.isEmpty()) return;
+        // the employee's row, not the week's: a week's first recompute has no row to lock yet
+        users.lockById(userId);
+        OvertimeRule rule = ruleFor(userId);
+        for (LocalDate monday : mondays) recomputeWeek(userId, monday, rule);
+    }
+
+    /**
+     * Replaces one employee's week with the totals of its closed clocks; an empty week has no row.
+     * Callers hold the employee's lock, so the read below cannot miss a row being inserted.
+     */
+    void recomputeWeek(Long userId, LocalDate monday, OvertimeRule rule) {
+        Optional<OvertimeWeek> existing = weeks.findByUserIdAndWeekStart(userId, monday);
+        LocalDateTime from = monday.atStartOfDay();
+        LocalDateTime to = from.plusWeeks(1);
+        OvertimeWeek fresh = OvertimeWeek.builder().weekStart(monday).build();
+        for (Clock c : clocks.findClosedForUserOverlappingWithPauses(userId, from, to)) {
+            netMinutesByWeek(c, from, to).getOrDefault(monday, Map.of()).forEach(fresh::add);
+        }
+        if (Arrays.stream(fresh.getDayMinutes()).allMatch(m -> m == 0)) {
+            existing.ifPresent(weeks::delete);
+            return;
+        }
+        OvertimeWeek acc = existing.orElseGet(() -> {
+            fresh.setUser(users.getReferenceById(userId));
+            return fresh;
+        });
+        acc.setDayMinutes(fresh.getDayMinutes());
+        acc.recompute(rule);
+        acc.setUpdatedAt(LocalDateTime.now());
+        weeks.save(acc);
+    }
+
+    /**
+     * Drops and recomputes the accumulators of one week from the closed clocks overlapping it.
+     *
+     * @return the number of employees with minutes that week
+     */
+    public int rebuildWeek(LocalDate day) {
+        LocalDate monday = mondayOf(day);
+        LocalDateTime from = monday.atStartOfDay();
+        LocalDateTime to = from.plusWeeks(1);
+        weeks.deleteByWeekStart(monday);
+
+        Map<Long, OvertimeWeek> byUser = new HashMap<>();
+        for (Clock c : clocks.findAllBetweenFetchUserWithPauses(from, to)) {
+            if (c.getClockOut() == null) continue;
+            OvertimeWeek acc = byUser.computeIfAbsent(c.getUser().getId(), id -> OvertimeWeek.builder()
+                    .user(c.getUser())
+                    .weekStart(monday)
+                    .build());
+            netMinutesByWeek(c, from, to).getOrDefault(monday, Map.of()).forEach(acc::add);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (OvertimeWeek acc : byUser.values()) {
+            acc.recompute(ruleFor(acc.getUser().getId()));
+            acc.setUpdatedAt(now);
+        }
+        weeks.saveAll(byUser.values());
+        return byUser.size();
+    }
+
+    // ---------- reads ----------
+
+    /** Weeks of one employee overlapping {@code [from, to]}, oldest first. */
+    @Transactional(readOnly = true)
+    public List<OvertimeWeekDTO> forUser(Long userId, LocalDate from, LocalDate to) {
+        checkWindow(from, to);
+        if (!users.existsById(userId)) {
+            throw new NotFoundException("User not found: " + userId);
+        }
+        return weeks.findByUserIdAndWeekStartBetweenOrderByWeekStartAsc(userId, mondayOf(from), mondayOf(to))
+                .stream().map(w -> OvertimeWeekDTO.of(userId, w)).toList();
+    }
+
+    /** Team members' weeks overlapping {@code [from, to]}, with the team totals. */
+    @Transactional(readOnly = true)
+    public TeamOvertimeDTO forTeam(Long teamId, LocalDate from, LocalDate to) {
+        checkWindow(from, to);
+        if (!teams.existsById(teamId)) {
+            throw new NotFoundException("Team not found: " + teamId);
+        }
+        List<Long> userIds = members.findUserIdsByTeamId(teamId);
+        List<OvertimeWeekDTO> rows = userIds.isEmpty() ? List.of()
+                : weeks.findForUsersBetween(userIds, mondayOf(from), mondayOf(to)).stream()
+                        .map(w -> OvertimeWeekDTO.of(w.getUser().getId(), w)).toList();
+        return TeamOvertimeDTO.of(teamId, mondayOf(from), mondayOf(to), rows);
+    }
+
+    // ---------- rules ----------
+
+    @Transactional(readOnly = true)
+    public OvertimeRuleDTO ruleForTeam(Long teamId) {
+        if (!teams.existsById(teamId)) {
+            throw new NotFoundException("Team not found: " + teamId);
+        }
+        return OvertimeRuleDTO.of(teamId, rules.findByTeamId(teamId).orElse(defaults));
+    }
+
+    /**
+     * Creates or replaces a team's rule and recomputes its members' weeks from the first one not
+     * wholly inside a closed payroll period, all of them when none was closed. Closed weeks keep
+     * the buckets their period was paid with.
+     */
+    public OvertimeRuleDTO saveRule(Long teamId, OvertimeRuleDTO body) {
+        Team team = teams.findById(teamId)
+                .orElseThrow(() -> new NotFoundException("Team not found: " + teamId));
+        OvertimeRule rule = rules.findByTeamId(teamId)
+                .orElseGet(() -> OvertimeRule.builder().team(team).build());
+        rule.setDailyMaxMinutes(body.getDailyMaxMinutes());
+        rule.setWeeklyMaxMinutes(body.getWeeklyMaxMinutes());
+        rule.setWeeklyHigherRateMinutes(body.getWeeklyHigherRateMinutes());
+        rule.setUpdatedAt(LocalDateTime.now());
+        rules.save(rule);
+
+        List<Long> userIds = members.findUserIdsByTeamId(teamId);
+        if (!userIds.isEmpty()) {
+            LocalDate lastClosed = periods.findLastClosedDay();
+            List<OvertimeWeek> open = lastClosed == null ? weeks.findByUserIdIn(userIds)
+                    : weeks.findByUserIdInAndWeekStartGreaterThanEqual(userIds, mondayOf(lastClosed.plusDays(1)));
+            Map<Long, OvertimeRule> byUser = new HashMap<>();
+            for (OvertimeWeek w : open) {
+                w.recompute(byUser.computeIfAbsent(w.getUser().getId(), this::ruleFor));
+            }
+        }
+        return OvertimeRuleDTO.of(teamId, rule);
+    }
+
+    OvertimeRule ruleFor(Long userId) {
+        List<Long> teamIds = members.findTeamIdsByUserId(userId);
+        if (teamIds.isEmpty()) return defaults;
+        return rules.findByTeamIdInOrderByTeamIdAsc(teamIds).stream().findFirst().orElse(defaults);
+    }
+
+    /** {@link #ruleFor(Long)} of several employees with two queries. */
+    Map<Long, OvertimeRule> rulesFor(Collection<Long> userIds) {
+        Map<Long, OvertimeRule> out = new HashMap<>();
+        if (userIds.isEmpty()) return out;
+        List<TeamMember> memberships = members.findByUserIdInOrderByTeamIdAsc(userIds);
+        Map<Long, OvertimeRule> byTeam = new HashMap<>();
+        List<Long> teamIds = memberships.stream().map(m -> m.getTeam().getId()).distinct().toList();
+        if (!teamIds.isEmpty()) {
+            rules.findByTeamIdInOrderByTeamIdAsc(teamIds).forEach(r -> byTeam.put(r.getTeam().getId(), r));
+        }
+        for (TeamMember m : memberships) {
+            OvertimeRule rule = byTeam.get(m.getTeam().getId());
+            if (rule != null) out.putIfAbsent(m.getUser().getId(), rule);
+        }
+        for (Long id : userIds) out.putIfAbsent(id, defaults);
+        return out;
+    }
+
+    // ---------- helpers ----------
+
+    /**
+     * Net minutes of a closed session per day, grouped by week; only the part inside
+     * {@code [from, to)} when bounds are given. An unfinished pause ends with the session.
+     */
+    static Map<LocalDate, Map<LocalDate, Integer>> netMinutesByWeek(Clock c, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from != null && c.getClockIn().isBefore(from) ? from : c.getClockIn();
+        LocalDateTime end = to != null && c.getClockOut().isAfter(to) ? to : c.getClockOut();
+        List<ClockPause> pauses = c.getPauses() != null ? c.getPauses() : List.of();
+        Map<LocalDate, Map<LocalDate, Integer>> out = new TreeMap<>();
+        LocalDateTime segStart = start;
+        while (segStart.isBefore(end)) {
+            LocalDateTime midnight = segStart.toLocalDate().plusDays(1).atStartOfDay();
+            LocalDateTime segEnd = midnight.isBefore(end) ? midnight : end;
+            long net = Duration.between(segStart, segEnd).toSeconds();
+            for (ClockPause p : pauses) {
+                LocalDateTime ps = p.getStartAt().isAfter(segStart) ? p.getStartAt() : segStart;
+                LocalDateTime pauseEnd = p.getEndAt() != null ? p.getEndAt() : c.getClockOut();
+                LocalDateTime pe = pauseEnd.isBefore(segEnd) ? pauseEnd : segEnd;
+                if (pe.isAfter(ps)) net -= Duration.between(ps, pe).toSeconds();
+            }
+            if (net > 0) {
+                LocalDate day = segStart.toLocalDate();
+                out.computeIfAbsent(mondayOf(day), k -> new TreeMap<>()).merge(day, (int) (net / 60), Integer::sum);
+            }
+            segStart = segEnd;
+        }
+        return out;
+    }
+
+    private static void checkWindow(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new ConflictException("Invalid date window");
+        }
+        if (to.toEpochDay() - from.toEpochDay() > MAX_WEEKS * 7L) {
+            throw new ConflictException("Window is limited to " + MAX_WEEKS + " weeks");
+        }
+    }
+
+    static LocalDate mondayOf(LocalDate day) {
+        return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
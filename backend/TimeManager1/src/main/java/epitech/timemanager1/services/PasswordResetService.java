@@ -2,15 +2,13 @@ package epitech.timemanager1.services;
 
 import epitech.timemanager1.entities.PasswordResetToken;
 import epitech.timemanager1.entities.User;
+import epitech.timemanager1.eventbus.EventBus;
 import epitech.timemanager1.events.PasswordResetRequestedEvent;
 import epitech.timemanager1.exception.ConflictException;
 import epitech.timemanager1.kafka.KafkaTopics;
 import epitech.timemanager1.repositories.PasswordResetTokenRepository;
 import epitech.timemanager1.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,12 +25,7 @@ public class PasswordResetService {
     private final UserRepository users;
     private final PasswordResetTokenRepository tokens;
     private final PasswordEncoder passwordEncoder;
-
-    @Autowired(required = false)
-    private KafkaTemplate<String, PasswordResetRequestedEvent> kafka;
-
-    @Value("${app.kafka.enabled:true}")
-    private boolean kafkaEnabled;
+    private final EventBus eventBus;
 
     private static final int TOKEN_BYTES = 24;
     private static final int TOKEN_TTL_MINUTES = 60;
@@ -55,18 +48,16 @@ public class PasswordResetService {
 
         tokens.saveAndFlush(prt);
 
-        if (kafkaEnabled && kafka != null) {
-            kafka.send(
-                    KafkaTopics.PASSWORD_RESET_REQUESTED,
-                    "password-reset:" + user.getId(),
-                    new PasswordResetRequestedEvent(
-                            user.getId(),
-                            user.getEmail(),
-                            resetLinkBase + token,
-                            LocalDateTime.now()
-                    )
-            );
-        }
+        eventBus.publish(
+                KafkaTopics.PASSWORD_RESET_REQUESTED,
+                "password-reset:" + user.getId(),
+                new PasswordResetRequestedEvent(
+                        user.getId(),
+                        user.getEmail(),
+                        resetLinkBase + token,
+                        LocalDateTime.now()
+                )
+        );
     }
 
     @Transactional
@@ -0,0 +1,42 @@
+package epitech.timemanager1.services;
+
+import epitech.timemanager1.exception.ConflictException;
+import epitech.timemanager1.repositories.PayrollPeriodRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Refuses changes dated inside a closed payroll period: clocks and pauses (worked time and
+ * overtime), leave approvals (leave days) and assigned shifts (lateness). Intervals are checked
+ * over every day they cover, so one spanning a whole closed period is refused too.
+ */
+@Component
+@RequiredArgsConstructor
+public class PayrollLock {
+
+    private final PayrollPeriodRepository periods;
+
+    public void assertOpen(LocalDateTime... times) {
+        for (LocalDateTime t : times) {
+            if (t != null && periods.existsOverlapping(t.toLocalDate(), t.toLocalDate())) {
+                throw new ConflictException("Payroll period closed for " + t.toLocalDate());
+            }
+        }
+    }
+
+    /** Refuses a change to the interval {@code [start, end]}; a null {@code end} checks {@code start} alone. */
+    public void assertOpenDuring(LocalDateTime start, LocalDateTime end) {
+        if (start == null) return;
+        assertOpenBetween(start.toLocalDate(), (end != null && end.isAfter(start) ? end : start).toLocalDate());
+    }
+
+    /** Refuses a change touching any day of {@code [from, to]}. */
+    public void assertOpenBetween(LocalDate from, LocalDate to) {
+        if (from != null && to != null && periods.existsOverlapping(from, to)) {
+            throw new ConflictException("Payroll period closed between " + from + " and " + to);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package epitech.timemanager1.services;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import epitech.timemanager1.dto.PayrollLineDTO;
+import epitech.timemanager1.dto.PayrollPeriodDTO;
+import epitech.timemanager1.dto.PayrollSnapshotDTO;
+import epitech.timemanager1.entities.Clock;
+import epitech.timemanager1.entities.ClockPause;
+import epitech.timemanager1.entities.LeaveRequest;
+import epitech.timemanager1.entities.OvertimeRule;
+import epitech.timemanager1.entities.OvertimeWeek;
+import epitech.timemanager1.entities.PayrollClosedDay;
+import epitech.timemanager1.entities.PayrollPeriod;
+import epitech.timemanager1.entities.User;
+import epitech.timemanager1.exception.ConflictException;
+import epitech.timemanager1.exception.NotFoundException;
+import epitech.timemanager1.repositories.ClockRepository;
+import epitech.timemanager1.repositories.LeaveRequestRepository;
+import epitech.timemanager1.repositories.PayrollClosedDayRepository;
+import epitech.timemanager1.repositories.PayrollPeriodRepository;
+import epitech.timemanager1.repositories.UserRepository;
+import epitech.timemanager1.util.BusinessCalendar;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Payroll period close.
+ * <p>
+ * Closing a period computes every employee's totals once (net clocked minutes, pauses, overtime
+ * buckets, approved leave days, late shifts) with one bulk query per source, and freezes them as
+ * an immutable, gzipped {@link PayrollPeriod} row. From then on payroll and audit reads decompress
+ * that row, and {@link PayrollLock} refuses clock, pause, leave approval and assigned shift changes
+ * dated inside the period, so the figures cannot drift. A period can only be closed once it has
+ * ended, with no session open across its end.
+ * </p>
+ * <p>
+ * Overtime thresholds are weekly, so overtime is computed on whole ISO weeks with each employee's
+ * rule, and each week belongs to the period containing its Sunday: a week straddling a boundary is
+ * counted once, in full, by the later period. Close periods in order, so the days such a week
+ * borrows from the previous period are already locked. Each close first claims its days in
+ * {@link PayrollClosedDay}, so two overlapping closes running at the same time cannot both succeed.
+ * </p>
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class PayrollService {
+
+    static final int MAX_DAYS = 31;
+
+    private static final TypeReference<List<PayrollLineDTO>> LINES = new TypeReference<>() {};
+
+    private final PayrollPeriodRepository periods;
+    private final PayrollClosedDayRepository closedDays;
+    private final ClockRepository clocks;
+    private final OvertimeService overtime;
+    private final LeaveRequestRepository leaves;
+    private final UserRepository users;
+    private final HolidayCalendarService holidays;
+    private final AdherenceService adherence;
+    private final ObjectMapper json;
+
+    /** Closes {@code [from, to]} (both included) and freezes its per-employee totals. */
+    public PayrollPeriodDTO close(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new ConflictException("Invalid date window");
+        }
+        if (to.toEpochDay() - from.toEpochDay() >= MAX_DAYS) {
+            throw new ConflictException("A payroll period is at most " + MAX_DAYS + " days");
+        }
+        holidays.requireCovered(from, to);
+        if (!to.isBefore(LocalDate.now())) {
+            throw new ConflictException("Period has not ended yet");
+        }
+        if (periods.existsOverlapping(from, to)) {
+            throw new ConflictException("Period overlaps a closed payroll period");
+        }
+        claimDays(from, to);
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        long open = clocks.countByClockOutIsNullAndClockInLessThan(end);
+        if (open > 0) {
+            throw new ConflictException(open + " clock session(s) still open across the period end");
+        }
+        // whole weeks whose Sunday is in the period; the first one may start before it
+        LocalDate firstMonday = OvertimeService.mondayOf(from);
+        LocalDate lastMonday = OvertimeService.mondayOf(to.minusDays(6));
+        LocalDateTime weeksStart = firstMonday.atStartOfDay();
+        LocalDateTime weeksEnd = lastMonday.plusWeeks(1).atStartOfDay();
+
+        Map<Long, User> byId = users.findAll().stream().collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, Line> lines = new TreeMap<>();
+        Function<Long, Line> line = id -> lines.computeIfAbsent(id, k -> new Line());
+        byId.values().stream().filter(User::isActive).forEach(u -> line.apply(u.getId()));
+
+        // overtime weeks of the period, from the clocks clipped to those whole weeks
+        Map<Long, Map<LocalDate, OvertimeWeek>> weeks = new TreeMap<>();
+        for (Clock c : clocks.findAllBetweenFetchUserWithPauses(weeksStart, end)) {
+            Long userId = c.getUser().getId();
+            if (weeksStart.isBefore(weeksEnd)) {
+                OvertimeService.netMinutesByWeek(c, weeksStart, weeksEnd).forEach((monday, days) -> {
+                    OvertimeWeek w = weeks.computeIfAbsent(userId, k -> new TreeMap<>())
+                            .computeIfAbsent(monday, k -> OvertimeWeek.builder().weekStart(k).build());
+                    days.forEach(w::add);
+                });
+            }
+
+            LocalDateTime in = c.getClockIn().isBefore(start) ? start : c.getClockIn();
+            LocalDateTime out = c.getClockOut().isAfter(end) ? end : c.getClockOut();
+            if (!out.isAfter(in)) continue;
+            long gross = Duration.between(in, out).toSeconds();
+            long paused = 0;
+            for (ClockPause p : c.getPauses() != null ? c.getPauses() : List.<ClockPause>of()) {
+                LocalDateTime ps = p.getStartAt().isAfter(in) ? p.getStartAt() : in;
+                LocalDateTime pauseEnd = p.getEndAt() != null ? p.getEndAt() : c.getClockOut();
+                LocalDateTime pe = pauseEnd.isBefore(out) ? pauseEnd : out;
+                if (pe.isAfter(ps)) paused += Duration.between(ps, pe).toSeconds();
+            }
+            paused = Math.min(paused, gross);
+            Line l = line.apply(userId);
+            l.netSeconds += gross - paused;
+            l.pauseSeconds += paused;
+        }
+
+        Map<Long, OvertimeRule> rules = overtime.rulesFor(weeks.keySet());
+        weeks.forEach((userId, byMonday) -> {
+            Line l = line.apply(userId);
+            for (OvertimeWeek w : byMonday.values()) {
+                w.recompute(rules.get(userId));
+                l.dailyOvertime += w.getDailyOvertimeMinutes();
+                l.weeklyOvertime += w.getWeeklyOvertimeMinutes();
+                l.higherRate += w.getHigherRateMinutes();
+            }
+        });
+
+        Map<Long, BusinessCalendar> calendars = new HashMap<>();
+        for (LeaveRequest leave : leaves.findApprovedOverlapping(from, to)) {
+            Long userId = leave.getEmployee().getId();
+            BusinessCalendar cal = calendars.computeIfAbsent(userId, holidays::forEmployee);
+            LocalDate a = leave.getStartDate().isBefore(from) ? from : leave.getStartDate();
+            LocalDate b = leave.getEndDate().isAfter(to) ? to : leave.getEndDate();
+            line.apply(userId).leaveDays += cal.businessDaysBetween(a, b);
+        }
+
+        adherence.eachShift(from, to, s -> {
+            if (s.lateMinutes() > 0) {
+                Line l = line.apply(s.employeeId());
+                l.lateShifts++;
+                l.lateMinutes += s.lateMinutes();
+            }
+        });
+
+        List<PayrollLineDTO> out = lines.entrySet().stream()
+                .map(e -> e.getValue().toDto(e.getKey(), byId.get(e.getKey())))
+                .toList();
+        byte[] raw = write(out);
+        byte[] packed = gzip(raw);
+        PayrollPeriod saved = periods.save(PayrollPeriod.builder()
+                .periodStart(from)
+                .periodEnd(to)
+                .closedAt(LocalDateTime.now())
+                .employeeCount(out.size())
+                .compressedSize(packed.length)
+                .sha256(sha256(raw))
+                .snapshot(packed)
+                .build());
+        return PayrollPeriodDTO.of(saved);
+    }
+
+    /** One row per day of the period; fails if a concurrent close already claimed one of them. */
+    private void claimDays(LocalDate from, LocalDate to) {
+        List<PayrollClosedDay> days = new ArrayList<>();
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            days.add(PayrollClosedDay.builder().day(d).periodStart(from).build());
+        }
+        try {
+            closedDays.saveAllAndFlush(days);
+        } catch (DataIntegrityViolationException ex) {
+            throw new ConflictException("Period overlaps a payroll period being closed");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<PayrollPeriodDTO> list() {
+        return periods.findAllSummaries();
+    }
+
+    @Transactional(readOnly = true)
+    public PayrollSnapshotDTO snapshot(Long id) {
+        PayrollPeriod p = periods.findById(id)
+                .orElseThrow(() -> new NotFoundException("Payroll period not found: " + id));
+        return new PayrollSnapshotDTO(PayrollPeriodDTO.of(p), read(p));
+    }
+
+    @Transactional(readOnly = true)
+    public PayrollLineDTO line(Long id, Long userId) {
+        return snapshot(id).lines().stream()
+                .filter(l -> l.userId().equals(userId))
+                .findFirst()
+                .orElseThrow(() -> new NotFoundException("No payroll line for user " + userId + " in period " + id));
+    }
+
+    // ---------- snapshot encoding ----------
+
+    private byte[] write(List<PayrollLineDTO> lines) {
+        try {
+            return json.writeValueAsBytes(lines);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<PayrollLineDTO> read(PayrollPeriod p) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(p.getSnapshot()))) {
+            byte[] raw = in.readAllBytes();
+            if (!sha256(raw).equals(p.getSha256())) {
+                throw new IllegalStateException("Payroll snapshot " + p.getId() + " does not match its checksum");
+            }
+            return json.readValue(raw, LINES);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static byte[] gzip(byte[] raw) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(raw.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static String sha256(byte[] raw) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(raw));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Totals of one employee while the period is being closed. */
+    private static final class Line {
+        long netSeconds, pauseSeconds;
+        long dailyOvertime, weeklyOvertime, higherRate;
+        long leaveDays, lateShifts, lateMinutes;
+
+        PayrollLineDTO toDto(Long userId, User u) {
+            return new PayrollLineDTO(userId,
+                    u != null ? u.getEmail() : null,
+                    u != null ? u.getFirstName() : null,
+                    u != null ? u.getLastName() : null,
+                    netSeconds / 60, pauseSeconds / 60,
+                    dailyOvertime, weeklyOvertime, higherRate,
+                    leaveDays, lateShifts, lateMinutes);
+        }
+    }
+}
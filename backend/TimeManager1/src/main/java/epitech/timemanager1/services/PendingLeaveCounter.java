@@ -0,0 +1,114 @@
+package epitech.timemanager1.services;
+
+import epitech.timemanager1.entities.LeaveStatus;
+import epitech.timemanager1.events.LeaveStatusChangedEvent;
+import epitech.timemanager1.repositories.LeaveRequestRepository;
+import epitech.timemanager1.repositories.TeamMemberRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Number of PENDING leaves waiting on each manager, kept in memory so the approval widget can
+ * poll it every few seconds without touching the leave table.
+ * <p>
+ * A manager's count is seeded by one count query on first read, then moved by the committed
+ * {@link LeaveStatusChangedEvent}s of their team members (+1 into PENDING, -1 out of it).
+ * Team membership changes do not emit events, so the counts are dropped and re-seeded on a
+ * fixed delay ({@code app.leaves.pending-count.resync-ms}) to bound any drift.
+ * </p>
+ * <p>
+ * The counts are per instance and only eventually consistent: events are local, so another
+ * instance sees a change only at its next resync, and a transition committed while a count is
+ * being seeded can be counted twice or missed until then. Counts are kept non-negative, which
+ * hides that drift rather than fixing it.
+ * </p>
+ * <p>
+ * Each count also carries the time of the last change to the queue ({@link #changedAt}), taken
+ * from the leaves' {@code pendingChangedAt} rather than from this instance's clock: a resync that
+ * finds nothing new keeps it, and every instance converges on the same value. Pollers should
+ * reload when it grows, not when the count moves (an approval and a new request leave the count
+ * unchanged) nor when it differs (an instance behind its resync reports an older one).
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class PendingLeaveCounter {
+
+    private final LeaveRequestRepository leaves;
+    private final TeamMemberRepository members;
+
+    private final ConcurrentMap<Long, Entry> byManager = new ConcurrentHashMap<>();
+
+    public long pendingFor(Long managerId) {
+        return entry(managerId).count.get();
+    }
+
+    /** Epoch millis of the last change to the manager's queue, 0 when there was none; never decreases on an instance. */
+    public long changedAt(Long managerId) {
+        return entry(managerId).changedAt.get();
+    }
+
+    private Entry entry(Long managerId) {
+        return byManager.computeIfAbsent(managerId, this::seed);
+    }
+
+    private Entry seed(Long managerId) {
+        return new Entry(leaves.countPendingForManager(managerId), millis(leaves.lastPendingChangeForManager(managerId)));
+    }
+
+    private static long millis(LocalDateTime t) {
+        return t == null ? 0 : t.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLeaveStatusChanged(LeaveStatusChangedEvent event) {
+        boolean queued = event.status() == LeaveStatus.PENDING, wasQueued = event.previousStatus() == LeaveStatus.PENDING;
+        if (!(queued || wasQueued) || byManager.isEmpty()) return;
+        int delta = (queued ? 1 : 0) - (wasQueued ? 1 : 0);
+
+        for (Long managerId : members.findManagerIdsByUserId(event.userId())) {
+            Entry entry = byManager.get(managerId);
+            if (entry != null) {
+                // never seeded managers read the committed state on first access instead
+                entry.count.updateAndGet(n -> Math.max(0, n + delta));
+                // a deleted request has no row left to stamp: only its count moves
+                if (event.status() != null) entry.advanceTo(millis(event.occurredAt()));
+            }
+        }
+    }
+
+    /** Re-seeds the tracked managers' counts; their changedAt only moves if the database has a later change. */
+    @Scheduled(fixedDelayString = "${app.leaves.pending-count.resync-ms:300000}")
+    public void resync() {
+        for (Long managerId : byManager.keySet()) {
+            Entry fresh = seed(managerId);
+            byManager.computeIfPresent(managerId, (id, old) -> {
+                fresh.advanceTo(old.changedAt.get());
+                return fresh;
+            });
+        }
+    }
+
+    private static final class Entry {
+        final AtomicLong count;
+        final AtomicLong changedAt;
+
+        Entry(long count, long changedAt) {
+            this.count = new AtomicLong(count);
+            this.changedAt = new AtomicLong(changedAt);
+        }
+
+        void advanceTo(long at) {
+            changedAt.accumulateAndGet(at, Math::max);
+        }
+    }
+}
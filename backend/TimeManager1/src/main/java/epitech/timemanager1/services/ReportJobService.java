@@ -0,0 +1,479 @@
+package epitech.timemanager1.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import epitech.timemanager1.dto.LatenessMonthDTO;
+import epitech.timemanager1.dto.ReportJobDTO;
+import epitech.timemanager1.dto.ReportJobRequestDTO;
+import epitech.timemanager1.entities.ReportJob;
+import epitech.timemanager1.entities.ReportJobResult;
+import epitech.timemanager1.entities.ReportJobStatus;
+import epitech.timemanager1.exception.ConflictException;
+import epitech.timemanager1.exception.NotFoundException;
+import epitech.timemanager1.repositories.ReportJobRepository;
+import epitech.timemanager1.repositories.ReportJobResultRepository;
+import epitech.timemanager1.repositories.TeamMemberRepository;
+import epitech.timemanager1.repositories.TeamRepository;
+import epitech.timemanager1.repositories.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntConsumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reports too long for a request, computed in the background.
+ * <p>
+ * A submitted job is stored as {@code QUEUED} and handed to a pool of
+ * {@code app.reports.jobs.workers} threads with a queue of {@code app.reports.jobs.queue-capacity}.
+ * Its parameters are normalised into canonical JSON and hashed. Submitting the same report while
+ * it is still queued or running returns the job in flight instead of starting a second one. Each
+ * user may have at most {@code app.reports.jobs.max-per-user} jobs in flight.
+ * </p>
+ * <p>
+ * Both rules hold across instances: a submission locks the submitter's user row before counting
+ * their jobs, and the unique {@code active_hash} refuses a second identical job in flight. Each
+ * job records the instance that runs it, which refreshes its heartbeat every
+ * {@code app.reports.jobs.heartbeat-interval-ms}; jobs of a restarted instance, or whose heartbeat
+ * is older than {@code app.reports.jobs.heartbeat-timeout}, are marked failed.
+ * </p>
+ * <p>
+ * Progress is written to the job row and pushed to SSE subscribers. The output is gzipped while
+ * it is produced into a {@link ReportJobResult} row, and downloaded from those bytes. A finished job, failed or done, is purged with its result
+ * {@code app.reports.jobs.ttl} after it ends.
+ * </p>
+ */
+@Slf4j
+@Service
+public class ReportJobService {
+
+    static final Set<ReportJobStatus> IN_FLIGHT = EnumSet.of(ReportJobStatus.QUEUED, ReportJobStatus.RUNNING);
+
+    static final int MAX_LATENESS_DAYS = 366;
+    static final int MAX_TEAM_TIMESHEET_DAYS = 92;
+
+    private static final long SSE_TIMEOUT_MS = Duration.ofMinutes(30).toMillis();
+
+    private final ReportJobRepository jobs;
+    private final ReportJobResultRepository results;
+    private final ReportsService reports;
+    private final TimeSheetService timesheets;
+    private final TimesheetExportService exports;
+    private final TeamRepository teams;
+    private final TeamMemberRepository members;
+    private final UserRepository users;
+    private final SiteZones zones;
+    private final ObjectMapper json;
+    private final int maxPerUser;
+    private final Duration ttl;
+    private final String instanceId;
+    private final Duration heartbeatTimeout;
+    private final ThreadPoolTaskExecutor pool;
+
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    public ReportJobService(ReportJobRepository jobs,
+                            ReportJobResultRepository results,
+                            ReportsService reports,
+                            TimeSheetService timesheets,
+                            TimesheetExportService exports,
+                            TeamRepository teams,
+                            TeamMemberRepository members,
+                            UserRepository users,
+                            SiteZones zones,
+                            ObjectMapper json,
+                            @Value("${app.reports.jobs.workers:2}") int workers,
+                            @Value("${app.reports.jobs.queue-capacity:50}") int queueCapacity,
+                            @Value("${app.reports.jobs.max-per-user:3}") int maxPerUser,
+                            @Value("${app.reports.jobs.ttl:PT24H}") Duration ttl,
+                            @Value("${app.instance-id:${HOSTNAME:}}") String instanceId,
+                            @Value("${app.reports.jobs.heartbeat-timeout:PT2M}") Duration heartbeatTimeout) {
+        this.jobs = jobs;
+        this.results = results;
+        this.reports = reports;
+        this.timesheets = timesheets;
+        this.exports = exports;
+        this.teams = teams;
+        this.members = members;
+        this.users = users;
+        this.zones = zones;
+        this.json = json;
+        this.maxPerUser = maxPerUser;
+        this.ttl = ttl;
+        this.instanceId = instanceId == null || instanceId.isBlank() ? UUID.randomUUID().toString() : instanceId;
+        this.heartbeatTimeout = heartbeatTimeout;
+
+        this.pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(workers);
+        pool.setMaxPoolSize(workers);
+        pool.setQueueCapacity(queueCapacity);
+        pool.setThreadNamePrefix("report-job-");
+        pool.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    // ---------- submit / read ----------
+
+    /** Queues a report, or returns the identical one already in flight. */
+    @Transactional
+    public ReportJobDTO submit(ReportJobRequestDTO request, String username) {
+        String params = canonicalParams(request);
+        String hash = PayrollService.sha256(params.getBytes(StandardCharsets.UTF_8));
+
+        // held until commit: the user's submissions on every instance are counted one at a time
+        users.lockByEmail(username);
+        var same = jobs.findFirstByParamsHashAndStatusInOrderByIdAsc(hash, IN_FLIGHT);
+        if (same.isPresent()) return ReportJobDTO.of(same.get());
+
+        if (jobs.countByRequestedByAndStatusIn(username, IN_FLIGHT) >= maxPerUser) {
+            throw new ConflictException("At most " + maxPerUser + " report jobs may run at once per user");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        ReportJob job;
+        try {
+            job = jobs.saveAndFlush(ReportJob.builder()
+                    .type(request.getType())
+                    .status(ReportJobStatus.QUEUED)
+                    .params(params)
+                    .paramsHash(hash)
+                    .activeHash(hash)
+                    .requestedBy(username)
+                    .owner(instanceId)
+                    .heartbeatAt(now)
+                    .createdAt(now)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException("An identical report job was just submitted, retry to follow it");
+        }
+        dispatch(job.getId());
+        return ReportJobDTO.of(job);
+    }
+
+    /** Hands the job to the pool once its row is committed, so the worker can read it. */
+    private void dispatch(Long id) {
+        Runnable execute = () -> {
+            try {
+                pool.execute(() -> run(id));
+            } catch (TaskRejectedException e) {
+                LocalDateTime now = LocalDateTime.now();
+                jobs.failQueued(id, "Report queue is full", now, now.plus(ttl));
+                throw new ConflictException("Report queue is full, retry later");
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    execute.run();
+                }
+            });
+        } else {
+            execute.run();
+        }
+    }
+
+    public ReportJobDTO get(Long id) {
+        return ReportJobDTO.of(find(id));
+    }
+
+    /** Jobs submitted by {@code username} that have not been purged yet, newest first. */
+    public List<ReportJobDTO> mine(String username) {
+        return jobs.findByRequestedByOrderByIdDesc(username).stream().map(ReportJobDTO::of).toList();
+    }
+
+    /** Stored output of a finished job; nothing is inflated until it is written out. */
+    public Download result(Long id) {
+        ReportJob job = find(id);
+        if (job.getStatus() != ReportJobStatus.DONE) {
+            throw new ConflictException("Report job " + id + " is " + job.getStatus());
+        }
+        ReportJobResult r = results.findById(id)
+                .orElseThrow(() -> new NotFoundException("Result of report job " + id + " has expired"));
+        String ext = job.getContentType().startsWith("text/csv") ? "csv" : "json";
+        return new Download(job.getContentType(), "report-" + id + "." + ext, r.getData());
+    }
+
+    /** Pushes the job's state now and on every change until it ends. */
+    public SseEmitter subscribe(Long id) {
+        ReportJob job = find(id);
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+        List<SseEmitter> list = subscribers.computeIfAbsent(id, k -> new CopyOnWriteArrayList<>());
+        list.add(emitter);
+        Runnable remove = () -> list.remove(emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        // the job may have ended between the read and the registration
+        publish(jobs.findById(id).orElse(job));
+        return emitter;
+    }
+
+    private ReportJob find(Long id) {
+        return jobs.findById(id).orElseThrow(() -> new NotFoundException("Report job not found: " + id));
+    }
+
+    // ---------- worker ----------
+
+    void run(Long id) {
+        ReportJob job = jobs.findById(id).orElse(null);
+        if (job == null || job.getStatus() != ReportJobStatus.QUEUED) return;
+        job.setStatus(ReportJobStatus.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        job = jobs.save(job);
+        publish(job);
+
+        IntConsumer progress = pct -> {
+            if (jobs.updateProgress(id, Math.min(pct, 99)) > 0) jobs.findById(id).ifPresent(this::publish);
+        };
+        try {
+            ReportJobRequestDTO request = json.readValue(job.getParams(), ReportJobRequestDTO.class);
+            Output out = compute(request, progress);
+            results.save(ReportJobResult.builder().jobId(id).data(out.gzipped()).build());
+            job = jobs.findById(id).orElseThrow();
+            job.setContentType(out.contentType());
+            job.setResultSize(out.size());
+            job.setProgress(100);
+            finish(job, ReportJobStatus.DONE, null);
+            log.info("Report job {} ({}) done: {} bytes, {} gzipped", id, job.getType(), out.size(), out.gzipped().length);
+        } catch (Exception e) {
+            log.warn("Report job {} failed", id, e);
+            ReportJob failed = jobs.findById(id).orElse(job);
+            String msg = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            finish(failed, ReportJobStatus.FAILED, msg.length() > 500 ? msg.substring(0, 500) : msg);
+        }
+    }
+
+    private void finish(ReportJob job, ReportJobStatus status, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        job.setStatus(status);
+        job.setActiveHash(null);
+        job.setError(error);
+        job.setFinishedAt(now);
+        job.setExpiresAt(now.plus(ttl));
+        publish(jobs.save(job));
+    }
+
+    private Output compute(ReportJobRequestDTO r, IntConsumer progress) throws IOException {
+        ZoneId zone = zones.resolve(r.getZone());
+        return switch (r.getType()) {
+            case LATENESS -> {
+                Set<Long> userIds = null;
+                if (r.getTeamIds() != null && !r.getTeamIds().isEmpty()) {
+                    userIds = new TreeSet<>();
+                    for (Long teamId : r.getTeamIds()) userIds.addAll(members.findUserIdsByTeamId(teamId));
+                }
+                List<LatenessMonthDTO> months = reports.latenessByMonth(userIds, r.getFrom(), r.getTo(),
+                        LocalTime.parse(r.getThreshold()), zone, progress);
+                yield Output.gzip("application/json", out -> json.writeValue(out, months));
+            }
+            case TEAM_TIMESHEETS -> {
+                List<TimeSheetService.TeamTimesheet> out = new ArrayList<>();
+                for (Long teamId : r.getTeamIds()) {
+                    out.add(timesheets.timesheetForTeam(teamId, r.getFrom(), r.getTo(), zone));
+                    progress.accept(out.size() * 100 / r.getTeamIds().size());
+                }
+                yield Output.gzip("application/json", o -> json.writeValue(o, out));
+            }
+            case TIMESHEET_EXPORT -> {
+                long total = Math.max(1, users.countByActiveTrue());
+                // rows are compressed as they are written: only the gzipped file is ever held
+                yield Output.gzip("text/csv;charset=UTF-8", out -> {
+                    Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+                    exports.writeCsv(r.getFrom(), r.getTo(), zone, w, n -> progress.accept((int) (n * 100 / total)));
+                    w.flush();
+                });
+            }
+        };
+    }
+
+    private void publish(ReportJob job) {
+        List<SseEmitter> list = subscribers.get(job.getId());
+        if (list == null || list.isEmpty()) return;
+        ReportJobDTO dto = ReportJobDTO.of(job);
+        boolean ended = !IN_FLIGHT.contains(job.getStatus());
+        for (SseEmitter emitter : list) {
+            try {
+                emitter.send(SseEmitter.event().name("progress").data(dto));
+                if (ended) emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                list.remove(emitter);
+            }
+        }
+        if (ended) subscribers.remove(job.getId());
+    }
+
+    // ---------- housekeeping ----------
+
+    /**
+     * Jobs this instance had in flight when it stopped will never finish: fail them, with those of
+     * instances whose heartbeat has expired. Other instances' live jobs are left alone.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void failInterrupted() {
+        LocalDateTime now = LocalDateTime.now();
+        int n = jobs.failInterrupted(IN_FLIGHT, instanceId, now.minus(heartbeatTimeout),
+                "Interrupted by a restart", now, now.plus(ttl));
+        if (n > 0) log.info("{} report job(s) interrupted by a restart marked failed", n);
+    }
+
+    /** Refreshes this instance's jobs in flight and fails those of instances that stopped beating. */
+    @Scheduled(fixedDelayString = "${app.reports.jobs.heartbeat-interval-ms:30000}")
+    @Transactional
+    public void heartbeat() {
+        LocalDateTime now = LocalDateTime.now();
+        jobs.heartbeat(instanceId, IN_FLIGHT, now);
+        int n = jobs.failStale(IN_FLIGHT, now.minus(heartbeatTimeout),
+                "Instance running the job stopped", now, now.plus(ttl));
+        if (n > 0) log.info("{} report job(s) of a stopped instance marked failed", n);
+    }
+
+    @Scheduled(fixedDelayString = "${app.reports.jobs.purge-interval-ms:600000}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        results.deleteExpired(now);
+        int n = jobs.deleteExpired(now);
+        if (n > 0) log.info("Purged {} expired report job(s)", n);
+    }
+
+    // ---------- parameters ----------
+
+    /** Validates the request and writes its parameters in a fixed order, so equal requests hash equally. */
+    String canonicalParams(ReportJobRequestDTO r) {
+        LocalDate from = r.getFrom(), to = r.getTo();
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new ConflictException("Invalid date window");
+        }
+        long days = to.toEpochDay() - from.toEpochDay() + 1;
+        List<Long> teamIds = r.getTeamIds() == null ? List.of() : List.copyOf(new TreeSet<>(r.getTeamIds()));
+        String threshold = null;
+        switch (r.getType()) {
+            case LATENESS -> {
+                checkDays(days, MAX_LATENESS_DAYS);
+                try {
+                    threshold = r.getThreshold() != null ? LocalTime.parse(r.getThreshold()).toString() : "09:05";
+                } catch (DateTimeParseException e) {
+                    throw new ConflictException("Invalid threshold, expected HH:mm: " + r.getThreshold());
+                }
+            }
+            case TEAM_TIMESHEETS -> {
+                checkDays(days, MAX_TEAM_TIMESHEET_DAYS);
+                if (teamIds.isEmpty()) throw new ConflictException("teamIds is required for TEAM_TIMESHEETS");
+            }
+            case TIMESHEET_EXPORT -> {
+                checkDays(days, TimesheetExportService.MAX_DAYS);
+                teamIds = List.of();
+            }
+        }
+        for (Long teamId : teamIds) {
+            if (!teams.existsById(teamId)) throw new NotFoundException("Team not found: " + teamId);
+        }
+
+        Map<String, Object> p = new LinkedHashMap<>();
+        p.put("type", r.getType());
+        p.put("from", from.toString());
+        p.put("to", to.toString());
+        p.put("teamIds", teamIds);
+        p.put("threshold", threshold);
+        p.put("zone", zones.resolve(r.getZone()).getId());
+        try {
+            return json.writeValueAsString(p);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void checkDays(long days, int max) {
+        if (days > max) throw new ConflictException("Window is limited to " + max + " days for this report");
+    }
+
+    /** A finished report as stored, gzipped: sent as is to clients that accept gzip, else inflated while sent. */
+    public record Download(String contentType, String filename, byte[] gzipped) {
+
+        public void writeTo(OutputStream out) throws IOException {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped), 64 * 1024)) {
+                in.transferTo(out);
+            }
+        }
+    }
+
+    private interface Body {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /** Gzipped output and its uncompressed size. */
+    private record Output(String contentType, byte[] gzipped, long size) {
+
+        static Output gzip(String contentType, Body body) throws IOException {
+            ByteArrayOutputStream packed = new ByteArrayOutputStream(64 * 1024);
+            Counting raw = new Counting(new GZIPOutputStream(packed, 64 * 1024));
+            try (raw) {
+                body.writeTo(raw);
+            }
+            return new Output(contentType, packed.toByteArray(), raw.count);
+        }
+    }
+
+    private static final class Counting extends FilterOutputStream {
+        long count;
+
+        Counting(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -1,20 +1,32 @@
 package epitech.timemanager1.services;
 
+import epitech.timemanager1.dto.LatenessMonthDTO;
 import epitech.timemanager1.dto.ReportsDTO;
 import epitech.timemanager1.dto.TeamAvgHoursDTO;
+import epitech.timemanager1.dto.TeamTrendDTO;
+import epitech.timemanager1.dto.TeamWeekTrendDTO;
 import epitech.timemanager1.entities.Clock;
+import epitech.timemanager1.entities.ClockPause;
 import epitech.timemanager1.entities.Team;
+import epitech.timemanager1.exception.ConflictException;
+import epitech.timemanager1.exception.NotFoundException;
+import epitech.timemanager1.kafka.streams.TeamHoursStateStore;
 import epitech.timemanager1.repositories.ClockRepository;
+import epitech.timemanager1.repositories.DailyUserFactRepository;
 import epitech.timemanager1.repositories.TeamMemberRepository;
 import epitech.timemanager1.repositories.TeamRepository;
 import epitech.timemanager1.repositories.UserRepository;
+import epitech.timemanager1.util.DayBucketer;
 import lombok.RequiredArgsConstructor;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
 import org.springframework.stereotype.Service;
 
 import java.time.*;
+import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAdjusters;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.IntConsumer;
+import java.util.function.ToDoubleFunction;
 
 import static java.time.DayOfWeek.MONDAY;
 
@@ -22,51 +34,42 @@ import static java.time.DayOfWeek.MONDAY;
 @RequiredArgsConstructor
 public class ReportsService {
 
+    /** Local second of the day after which a first clock-in is late (09:05). */
+    private static final int LATE_AFTER = LocalTime.of(9, 5).toSecondOfDay();
+
+    static final int MAX_TREND_WEEKS = 106;
+
     private final ClockRepository clockRepo;
     private final TeamRepository teamRepo;
     private final UserRepository userRepo;
     private final TeamMemberRepository teamMemberRepo;
+    private final TeamHoursStateStore teamHoursStore;
+    private final DailyUserFactRepository facts;
+    private final SiteZones zones;
 
     public ReportsDTO buildReport(ZoneId zone) {
-        ZonedDateTime nowZ = ZonedDateTime.now(zone);
-
-        // Weekly range [Mon 00:00, next Mon 00:00)
-        LocalDateTime weekStart = nowZ.with(TemporalAdjusters.previousOrSame(MONDAY))
-                .toLocalDate().atStartOfDay();
-        LocalDateTime weekEnd = weekStart.plusWeeks(1);
-
-        // Monthly range [1st 00:00, next month 1st 00:00)
-        LocalDateTime monthStart = nowZ.withDayOfMonth(1).toLocalDate().atStartOfDay();
-        LocalDateTime monthEnd = monthStart.plusMonths(1);
-
-        // --- Weekly hours (pause-aware, clamped to [weekStart, weekEnd]) ---
-        //List<Clock> clocksWeek = clockRepo.findAllBetweenFetchUser(weekStart, weekEnd);
-
-        List<Clock> clocksWeek = clockRepo.findAllBetweenFetchUserWithPauses(weekStart, weekEnd);
-
-        Map<Long, Double> userHours = clocksWeek.stream()
-                .collect(Collectors.groupingBy(c -> c.getUser().getId(),
-                        Collectors.summingDouble(c -> {
-                            LocalDateTime start = max(c.getClockIn(), weekStart);
-                            LocalDateTime end   = min(c.getClockOut() != null ? c.getClockOut() : nowZ.toLocalDateTime(),
-                                    weekEnd);
-                            if (end.isBefore(start)) return 0.0;
-
-                            long grossMin = Duration.between(start, end).toMinutes();
-
-                            long pauseMin = (c.getPauses() == null ? 0L :
-                                    c.getPauses().stream()
-                                            .mapToLong(p -> {
-                                                LocalDateTime ps = max(p.getStartAt(), start);
-                                                LocalDateTime pe = min(p.getEndAt(), end);
-                                                return pe.isAfter(ps) ? Duration.between(ps, pe).toMinutes() : 0L;
-                                            })
-                                            .sum());
-
-                            long netMin = Math.max(0, grossMin - pauseMin);
-                            return netMin / 60d;
-                        })
-                ));
+        LocalDate today = LocalDate.now(zone);
+
+        // Weekly range [Mon 00:00, next Mon 00:00) and monthly range [1st 00:00, next 1st 00:00), in the site's zone
+        LocalDate monday = today.with(TemporalAdjusters.previousOrSame(MONDAY));
+        DayBucketer week = zones.days(zone, monday, monday.plusDays(6));
+        DayBucketer month = zones.days(zone, today.withDayOfMonth(1), today.with(TemporalAdjusters.lastDayOfMonth()));
+
+        // --- Weekly hours: local Kafka Streams store when running, Postgres otherwise ---
+        // the store is keyed by storage-local Mondays, so it only answers for sites in the storage zone
+        Optional<ReadOnlyKeyValueStore<String, Long>> store = zone.getRules().equals(zones.storage().getRules())
+                ? teamHoursStore.store() : Optional.empty();
+        ToDoubleFunction<Long> hoursOf;
+        if (store.isPresent()) {
+            // the store only holds closed sessions: open ones count until now, as on the database path.
+            // Their ended pauses are already subtracted in the store, so clamp only after the sum.
+            Map<Long, Double> openHours = openHoursFromDb(week, LocalDateTime.now(zones.storage()));
+            hoursOf = id -> Math.max(0.0,
+                    TeamHoursStateStore.netHours(store.get(), id, monday) + openHours.getOrDefault(id, 0.0));
+        } else {
+            Map<Long, Double> userHours = weeklyHoursFromDb(week, LocalDateTime.now(zones.storage()));
+            hoursOf = id -> userHours.getOrDefault(id, 0.0);
+        }
 
         // --- Compute team averages (same as before) ---
         List<TeamAvgHoursDTO> teamAvg = new ArrayList<>();
@@ -75,7 +78,7 @@ public class ReportsService {
             if (memberIds.isEmpty()) continue;
 
             double sum = memberIds.stream()
-                    .mapToDouble(id -> userHours.getOrDefault(id, 0.0))
+                    .mapToDouble(hoursOf)
                     .sum();
 
             double avg = sum / memberIds.size();
@@ -86,19 +89,19 @@ public class ReportsService {
                     .build());
         }
 
-        // --- Monthly lateness rate (unchanged; pauses don’t affect first clock-in time) ---
-        List<Clock> clocksMonth = clockRepo.findAllBetweenFetchUser(monthStart, monthEnd);
-        Map<Map.Entry<Long, LocalDate>, Clock> firstClockByUserDay = clocksMonth.stream()
-                .collect(Collectors.toMap(
-                        c -> Map.entry(c.getUser().getId(), c.getClockIn().toLocalDate()),
-                        c -> c,
-                        (a, b) -> a.getClockIn().isBefore(b.getClockIn()) ? a : b
-                ));
+        // --- Monthly lateness rate: first clock-in of each (user, local day) against 09:05 local ---
+        // pauses don't affect the first clock-in time
+        Map<Long, long[]> firstInByUser = firstClockIns(month, null);
 
-        long totalDaysWithClock = firstClockByUserDay.size();
-        long lateCount = firstClockByUserDay.values().stream()
-                .filter(c -> c.getClockIn().toLocalTime().isAfter(LocalTime.of(9, 5)))
-                .count();
+        long totalDaysWithClock = 0;
+        long lateCount = 0;
+        for (long[] firsts : firstInByUser.values()) {
+            for (long in : firsts) {
+                if (in == Long.MAX_VALUE) continue;
+                totalDaysWithClock++;
+                if (month.secondOfDay(in) > LATE_AFTER) lateCount++;
+            }
+        }
 
         double latenessRate = totalDaysWithClock == 0 ? 0.0 : (double) lateCount / totalDaysWithClock;
 
@@ -110,6 +113,167 @@ public class ReportsService {
                 .build();
     }
 
+    /**
+     * Lateness of each employee per month of {@code [from, to]}: days with a clock-in, and days whose
+     * first clock-in is after {@code threshold} local time. Months are read one at a time;
+     * {@code progress} receives the percentage done after each.
+     *
+     * @param userIds employees to include, or null for everyone who clocked in
+     */
+    public List<LatenessMonthDTO> latenessByMonth(Set<Long> userIds, LocalDate from, LocalDate to,
+                                                  LocalTime threshold, ZoneId zone, IntConsumer progress) {
+        int late = threshold.toSecondOfDay();
+        List<LatenessMonthDTO> out = new ArrayList<>();
+        YearMonth first = YearMonth.from(from), last = YearMonth.from(to);
+        long months = first.until(last, ChronoUnit.MONTHS) + 1;
+        int done = 0;
+        for (YearMonth ym = first; !ym.isAfter(last); ym = ym.plusMonths(1)) {
+            LocalDate a = ym.atDay(1).isBefore(from) ? from : ym.atDay(1);
+            LocalDate b = ym.atEndOfMonth().isAfter(to) ? to : ym.atEndOfMonth();
+            DayBucketer month = zones.days(zone, a, b);
+            Map<Long, long[]> firsts = firstClockIns(month, userIds);
+            for (Long userId : new TreeSet<>(firsts.keySet())) {
+                int days = 0, lateDays = 0;
+                for (long in : firsts.get(userId)) {
+                    if (in == Long.MAX_VALUE) continue;
+                    days++;
+                    if (month.secondOfDay(in) > late) lateDays++;
+                }
+                out.add(new LatenessMonthDTO(userId, ym, days, lateDays, (double) lateDays / days));
+            }
+            progress.accept((int) (++done * 100 / months));
+        }
+        return out;
+    }
+
+    /**
+     * Weekly net hours and lateness of each team for the weeks overlapping {@code [from, to]},
+     * from the hours cube's daily facts (local days of the default site zone) in one grouped query.
+     * Teams are counted with their current members, like the weekly overview. Days the facts do not
+     * cover yet (before the cube existed, or edited after the nightly rebuild) are filled by
+     * {@link HoursCubeService#backfill(LocalDate, LocalDate)}.
+     *
+     * @param teamIds teams to include, or null / empty for every team
+     * @param lateAfter local time after which a first clock-in is late, 09:05 when null
+     */
+    public List<TeamTrendDTO> teamTrends(LocalDate from, LocalDate to, Collection<Long> teamIds, LocalTime lateAfter) {
+        LocalDate fromWeek = from.with(TemporalAdjusters.previousOrSame(MONDAY));
+        LocalDate toWeek = to.with(TemporalAdjusters.previousOrSame(MONDAY));
+        long weeks = ChronoUnit.WEEKS.between(fromWeek, toWeek) + 1;
+        if (weeks < 1 || weeks > MAX_TREND_WEEKS) {
+            throw new ConflictException("Trend range must be 1 to " + MAX_TREND_WEEKS + " weeks");
+        }
+
+        List<Team> selected;
+        if (teamIds == null || teamIds.isEmpty()) {
+            selected = teamRepo.findAll();
+        } else {
+            Set<Long> wanted = new HashSet<>(teamIds);
+            selected = teamRepo.findAllById(wanted);
+            if (selected.size() != wanted.size()) throw new NotFoundException("Team not found");
+        }
+        if (selected.isEmpty()) return List.of();
+        selected = selected.stream().sorted(Comparator.comparing(Team::getName)).toList();
+        List<Long> ids = selected.stream().map(Team::getId).toList();
+
+        Map<Long, Long> members = new HashMap<>();
+        for (Object[] r : teamMemberRepo.countMembersByTeamIds(ids)) {
+            members.put((Long) r[0], ((Number) r[1]).longValue());
+        }
+        // (team, week) -> [net minutes, active members, days with clock, late days]
+        Map<Long, Map<LocalDate, long[]>> totals = new HashMap<>();
+        int late = (lateAfter == null ? LocalTime.of(9, 5) : lateAfter).toSecondOfDay();
+        for (Object[] r : facts.weeklyTeamTotals(ids, fromWeek, toWeek, late)) {
+            totals.computeIfAbsent((Long) r[0], id -> new HashMap<>()).put((LocalDate) r[1], new long[]{
+                    count(r[2]), count(r[3]), count(r[4]), count(r[5])});
+        }
+
+        List<TeamTrendDTO> out = new ArrayList<>(selected.size());
+        for (Team t : selected) {
+            long size = members.getOrDefault(t.getId(), 0L);
+            Map<LocalDate, long[]> byWeek = totals.getOrDefault(t.getId(), Map.of());
+            List<TeamWeekTrendDTO> series = new ArrayList<>((int) weeks);
+            for (LocalDate w = fromWeek; !w.isAfter(toWeek); w = w.plusWeeks(1)) {
+                long[] v = byWeek.getOrDefault(w, new long[4]);
+                double hours = v[0] / 60.0;
+                series.add(new TeamWeekTrendDTO(w, round2(hours), size == 0 ? 0.0 : round2(hours / size),
+                        v[1], v[2], v[3], v[2] == 0 ? 0.0 : (double) v[3] / v[2]));
+            }
+            out.add(new TeamTrendDTO(t.getId(), t.getName(), size, series));
+        }
+        return out;
+    }
+
+    private static long count(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    private static double round2(double v) {
+        return Math.round(v * 100.0) / 100.0;
+    }
+
+    /** Epoch second of each employee's first clock-in per day of {@code days} ({@code Long.MAX_VALUE} when none). */
+    private Map<Long, long[]> firstClockIns(DayBucketer days, Set<Long> userIds) {
+        Map<Long, long[]> firstInByUser = new HashMap<>();
+        for (Clock c : clockRepo.findAllBetweenFetchUser(days.storageStart(), days.storageEnd())) {
+            Long userId = c.getUser().getId();
+            if (userIds != null && !userIds.contains(userId)) continue;
+            long in = days.toInstant(c.getClockIn());
+            int day = days.dayOf(in);
+            if (day < 0) continue;
+            long[] firsts = firstInByUser.computeIfAbsent(userId, id -> {
+                long[] a = new long[days.days()];
+                Arrays.fill(a, Long.MAX_VALUE);
+                return a;
+            });
+            firsts[day] = Math.min(firsts[day], in);
+        }
+        return firstInByUser;
+    }
+
+    /** Weekly hours per user (pause-aware, clamped to the week). */
+    private Map<Long, Double> weeklyHoursFromDb(DayBucketer week, LocalDateTime now) {
+        Map<Long, Double> hours = new HashMap<>();
+        for (Clock c : clockRepo.findAllBetweenFetchUserWithPauses(week.storageStart(), week.storageEnd())) {
+            LocalDateTime out = c.getClockOut() != null ? c.getClockOut() : now;
+            long gross = week.clippedSeconds(c.getClockIn(), out);
+            if (gross == 0) continue;
+            long paused = 0;
+            if (c.getPauses() != null) {
+                for (ClockPause p : c.getPauses()) {
+                    LocalDateTime pauseEnd = p.getEndAt() != null ? p.getEndAt() : out;
+                    paused += week.clippedSeconds(max(p.getStartAt(), c.getClockIn()), min(pauseEnd, out));
+                }
+            }
+            long netMin = Math.max(0, gross - paused) / 60;
+            hours.merge(c.getUser().getId(), netMin / 60d, Double::sum);
+        }
+        return hours;
+    }
+
+    /**
+     * Weekly hours per user of the sessions still open, up to {@code now}. Only their running pause
+     * is removed: ended ones are already subtracted in the streams store.
+     */
+    private Map<Long, Double> openHoursFromDb(DayBucketer week, LocalDateTime now) {
+        Map<Long, Double> hours = new HashMap<>();
+        for (Clock c : clockRepo.findOpenBeforeFetchUserWithPauses(week.storageEnd())) {
+            long gross = week.clippedSeconds(c.getClockIn(), now);
+            if (gross == 0) continue;
+            long paused = 0;
+            if (c.getPauses() != null) {
+                for (ClockPause p : c.getPauses()) {
+                    if (p.getEndAt() == null) {
+                        paused += week.clippedSeconds(max(p.getStartAt(), c.getClockIn()), now);
+                    }
+                }
+            }
+            long netMin = Math.max(0, gross - paused) / 60;
+            hours.merge(c.getUser().getId(), netMin / 60d, Double::sum);
+        }
+        return hours;
+    }
+
     private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
         return a.isAfter(b) ? a : b;
     }
@@ -1,5 +1,7 @@
 package epitech.timemanager1.services;
 
+import epitech.timemanager1.dto.ScheduleCoverageDTO;
+import epitech.timemanager1.dto.WeeklyPatternDTO;
 import epitech.timemanager1.entities.ScheduleTemplate;
 import epitech.timemanager1.entities.Team;
 import epitech.timemanager1.entities.WorkShift;
@@ -8,12 +10,19 @@ import epitech.timemanager1.exception.NotFoundException;
 import epitech.timemanager1.repositories.ScheduleTemplateRepository;
 import epitech.timemanager1.repositories.TeamRepository;
 import epitech.timemanager1.repositories.WorkShiftRepository;
+import epitech.timemanager1.util.BusinessCalendar;
+import epitech.timemanager1.util.WeeklyPattern;
+import epitech.timemanager1.util.WeeklyPatternJson;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.*;
+import java.time.temporal.TemporalAdjusters;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @Transactional
@@ -23,6 +32,13 @@ public class ScheduleTemplateService {
     private final ScheduleTemplateRepository templates;
     private final TeamRepository teams;
     private final WorkShiftRepository workShifts;
+    private final HolidayCalendarService holidays;
+    private final ShiftSeriesExpander seriesExpander;
+
+    /** Compiled weeklyPatternJson per template id, with the source it was compiled from. */
+    private final Map<Long, CompiledSource> compiled = new ConcurrentHashMap<>();
+
+    private record CompiledSource(String json, WeeklyPatternJson.Compiled pattern) {}
 
     // -------- CREATE --------
     public ScheduleTemplate create(Long teamId, String name, boolean active, String weeklyPatternJson) {
@@ -31,6 +47,7 @@ public class ScheduleTemplateService {
         if (templates.existsByTeamIdAndNameIgnoreCase(teamId, name)) {
             throw new ConflictException("Template name already exists for this team");
         }
+        WeeklyPatternJson.Compiled pattern = compile(weeklyPatternJson);
 
         ScheduleTemplate st = ScheduleTemplate.builder()
                 .team(team)
@@ -39,7 +56,11 @@ public class ScheduleTemplateService {
                 .weeklyPatternJson(weeklyPatternJson)
                 .build();
 
-        return templates.save(st);
+        ScheduleTemplate saved = templates.save(st);
+        if (saved.getId() != null) {
+            compiled.put(saved.getId(), new CompiledSource(weeklyPatternJson, pattern));
+        }
+        return saved;
     }
 
     // -------- UPDATE --------
@@ -62,7 +83,9 @@ public class ScheduleTemplateService {
         st.setActive(active); // frontend sends desired active flag
 
         if (weeklyPatternJson != null) {
+            WeeklyPatternJson.Compiled pattern = compile(weeklyPatternJson);
             st.setWeeklyPatternJson(weeklyPatternJson);
+            compiled.put(st.getId(), new CompiledSource(weeklyPatternJson, pattern));
         }
 
         return templates.save(st); // repository.save(...)
@@ -105,7 +128,11 @@ public class ScheduleTemplateService {
         return st;
     }
 
-    /** Generate unassigned shifts from an active template into a date range. */
+    /**
+     * Generate unassigned shifts from an active template into a date range: one shift per slot
+     * of the template's weekly pattern (Monday to Friday 09:00-17:00 when it has none), on days
+     * inside the pattern's validity that are neither excluded nor holidays of the team.
+     */
     public int generateShifts(Long templateId, LocalDate fromDate, LocalDate toDate, ZoneId zone) {
         ScheduleTemplate st = templates.findById(templateId)
                 .orElseThrow(() -> new NotFoundException("Template not found: " + templateId));
@@ -116,16 +143,16 @@ public class ScheduleTemplateService {
             throw new ConflictException("Invalid date range");
         }
 
+        WeeklyPatternJson.Compiled pattern = pattern(st);
+        BusinessCalendar calendar = holidays.forTeam(st.getTeam().getId());
         int created = 0;
         for (LocalDate d = fromDate; !d.isAfter(toDate); d = d.plusDays(1)) {
-            DayOfWeek dow = d.getDayOfWeek();
-            if (dow != DayOfWeek.SATURDAY && dow != DayOfWeek.SUNDAY) {
-                LocalDateTime start = d.atTime(9, 0);
-                LocalDateTime end   = d.atTime(17, 0);
+            if (!pattern.appliesOn(d) || calendar.holidayName(d) != null) continue;
+            for (int[] slot : pattern.pattern().ranges(d.getDayOfWeek())) {
                 WorkShift ws = WorkShift.builder()
                         .team(st.getTeam())
-                        .startAt(start)
-                        .endAt(end)
+                        .startAt(d.atStartOfDay().plusMinutes(slot[0]))
+                        .endAt(d.atStartOfDay().plusMinutes(slot[1]))
                         .note("generated from template: " + st.getName())
                         .build();
                 workShifts.save(ws);
@@ -135,6 +162,41 @@ public class ScheduleTemplateService {
         return created;
     }
 
+    /** The template's weekly pattern as slots per day, with its planned hours per week. */
+    public WeeklyPatternDTO pattern(Long templateId) {
+        return WeeklyPatternDTO.of(pattern(get(templateId)).pattern());
+    }
+
+    /** Whether a shift lies entirely within the template's weekly pattern. */
+    public boolean fits(Long templateId, LocalDateTime startAt, LocalDateTime endAt) {
+        if (startAt == null || endAt == null || !startAt.isBefore(endAt)) {
+            throw new ConflictException("Invalid time window");
+        }
+        return pattern(get(templateId)).pattern().covers(startAt, endAt);
+    }
+
+    /** Minutes of the template's pattern that the team's shifts of one week leave uncovered. */
+    public ScheduleCoverageDTO coverage(Long templateId, LocalDate anyDayOfWeek) {
+        ScheduleTemplate st = get(templateId);
+        WeeklyPattern expected = pattern(st).pattern();
+        LocalDate monday = anyDayOfWeek.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDateTime from = monday.atStartOfDay();
+        LocalDateTime to = from.plusWeeks(1);
+        Long teamId = st.getTeam().getId();
+
+        // Shifts starting the day before can still run into Monday
+        List<WorkShift> shifts = ShiftSeriesExpander.merge(
+                workShifts.findByTeamIdAndStartAtBetweenOrderByStartAtAsc(teamId, from.minusDays(1), to),
+                seriesExpander.forTeam(teamId, from.minusDays(1), to));
+        WeeklyPattern planned = WeeklyPattern.ofIntervals(monday, shifts.stream()
+                .map(s -> new LocalDateTime[]{s.getStartAt(), s.getEndAt()})
+                .toList());
+
+        WeeklyPattern uncovered = expected.minus(planned);
+        return new ScheduleCoverageDTO(templateId, monday, WeeklyPatternDTO.of(expected),
+                WeeklyPatternDTO.of(uncovered), Math.round(expected.intersect(planned).hoursPerWeek() * 100.0) / 100.0);
+    }
+
     public List<ScheduleTemplate> listForTeam(Long teamId) {
         return templates.findByTeamIdOrderByNameAsc(teamId);
     }
@@ -144,5 +206,32 @@ public class ScheduleTemplateService {
             throw new NotFoundException("Template not found: " + templateId);
         }
         templates.deleteById(templateId);
+        compiled.remove(templateId);
+    }
+
+    // -------- helpers --------
+
+    private ScheduleTemplate get(Long templateId) {
+        return templates.findById(templateId)
+                .orElseThrow(() -> new NotFoundException("Template not found: " + templateId));
+    }
+
+    /** Compiled pattern of a template, recompiled only when its JSON changed (e.g. by another instance). */
+    private WeeklyPatternJson.Compiled pattern(ScheduleTemplate st) {
+        CompiledSource cached = compiled.get(st.getId());
+        if (cached != null && Objects.equals(cached.json(), st.getWeeklyPatternJson())) {
+            return cached.pattern();
+        }
+        WeeklyPatternJson.Compiled pattern = compile(st.getWeeklyPatternJson());
+        compiled.put(st.getId(), new CompiledSource(st.getWeeklyPatternJson(), pattern));
+        return pattern;
+    }
+
+    private static WeeklyPatternJson.Compiled compile(String json) {
+        try {
+            return WeeklyPatternJson.compile(json);
+        } catch (IllegalArgumentException ex) {
+            throw new ConflictException("Invalid weekly pattern: " + ex.getMessage());
+        }
     }
 }
\ No newline at end of file
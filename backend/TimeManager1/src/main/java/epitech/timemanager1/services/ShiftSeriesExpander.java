@@ -0,0 +1,105 @@
+package epitech.timemanager1.services;
+
+import epitech.timemanager1.entities.ShiftSeries;
+import epitech.timemanager1.entities.ShiftSeriesException;
+import epitech.timemanager1.entities.WorkShift;
+import epitech.timemanager1.repositories.ShiftSeriesExceptionRepository;
+import epitech.timemanager1.repositories.ShiftSeriesRepository;
+import epitech.timemanager1.util.BusinessCalendar;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Expands {@link ShiftSeries} into occurrences for a read window.
+ * <p>
+ * Occurrences are transient {@link WorkShift}s (no id, {@code seriesId} and
+ * {@code occurrenceDate} set) so readers can merge them with stored shifts. The series and
+ * their exceptions come from two queries; expansion is a walk over the days of the window.
+ * </p>
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class ShiftSeriesExpander {
+
+    private final ShiftSeriesRepository series;
+    private final ShiftSeriesExceptionRepository exceptions;
+    private final HolidayCalendarService holidays;
+
+    /** Occurrences of the team's series starting in {@code [from, to]}. */
+    public List<WorkShift> forTeam(Long teamId, LocalDateTime from, LocalDateTime to) {
+        return expand(series.findActiveForTeam(teamId, from.toLocalDate(), to.toLocalDate()), from, to);
+    }
+
+    /** Occurrences of the employee's series starting in {@code [from, to]}. */
+    public List<WorkShift> forEmployee(Long employeeId, LocalDateTime from, LocalDateTime to) {
+        return expand(series.findActiveForEmployee(employeeId, from.toLocalDate(), to.toLocalDate()), from, to);
+    }
+
+    /** Occurrences of the series of any of {@code employeeIds} starting in {@code [from, to]}. */
+    public List<WorkShift> forEmployees(Collection<Long> employeeIds, LocalDateTime from, LocalDateTime to) {
+        return expand(series.findActiveForEmployees(employeeIds, from.toLocalDate(), to.toLocalDate()), from, to);
+    }
+
+    /** Stored shifts and occurrences in one list, by start time. */
+    public static List<WorkShift> merge(List<WorkShift> stored, List<WorkShift> occurrences) {
+        if (occurrences.isEmpty()) return stored;
+        List<WorkShift> all = new ArrayList<>(stored.size() + occurrences.size());
+        all.addAll(stored);
+        all.addAll(occurrences);
+        all.sort(Comparator.comparing(WorkShift::getStartAt));
+        return all;
+    }
+
+    List<WorkShift> expand(List<ShiftSeries> active, LocalDateTime from, LocalDateTime to) {
+        if (active.isEmpty() || to.isBefore(from)) return List.of();
+        LocalDate firstDay = from.toLocalDate();
+        LocalDate lastDay = to.toLocalDate();
+
+        Map<Long, Set<LocalDate>> skipped = new HashMap<>();
+        for (ShiftSeriesException e : exceptions.findForSeriesBetween(
+                active.stream().map(ShiftSeries::getId).toList(), firstDay, lastDay)) {
+            skipped.computeIfAbsent(e.getSeries().getId(), id -> new HashSet<>()).add(e.getOccurrenceDate());
+        }
+
+        List<WorkShift> out = new ArrayList<>();
+        for (ShiftSeries s : active) {
+            Set<LocalDate> skip = skipped.getOrDefault(s.getId(), Set.of());
+            BusinessCalendar calendar = s.isSkipHolidays() ? holidays.forTeam(s.getTeam().getId()) : null;
+            LocalDate first = s.getValidFrom().isAfter(firstDay) ? s.getValidFrom() : firstDay;
+            LocalDate last = s.getValidUntil() != null && s.getValidUntil().isBefore(lastDay) ? s.getValidUntil() : lastDay;
+
+            for (LocalDate d = first; !d.isAfter(last); d = d.plusDays(1)) {
+                if (!s.runsOn(d.getDayOfWeek()) || skip.contains(d)) continue;
+                if (calendar != null && calendar.holidayName(d) != null) continue;
+                LocalDateTime start = s.occurrenceStart(d);
+                if (start.isBefore(from) || start.isAfter(to)) continue;
+
+                WorkShift ws = WorkShift.builder()
+                        .team(s.getTeam())
+                        .employee(s.getEmployee())
+                        .startAt(start)
+                        .endAt(s.occurrenceEnd(d))
+                        .note(s.getNote())
+                        .seriesId(s.getId())
+                        .occurrenceDate(d)
+                        .build();
+                out.add(ws);
+            }
+        }
+        out.sort(Comparator.comparing(WorkShift::getStartAt));
+        return out;
+    }
+}
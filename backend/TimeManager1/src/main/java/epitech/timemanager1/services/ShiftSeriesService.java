@@ -0,0 +1,182 @@
+package epitech.timemanager1.services;
+
+import epitech.timemanager1.entities.ShiftSeries;
+import epitech.timemanager1.entities.ShiftSeriesException;
+import epitech.timemanager1.entities.Team;
+import epitech.timemanager1.entities.User;
+import epitech.timemanager1.entities.WorkShift;
+import epitech.timemanager1.exception.ConflictException;
+import epitech.timemanager1.exception.NotFoundException;
+import epitech.timemanager1.repositories.ShiftSeriesExceptionRepository;
+import epitech.timemanager1.repositories.ShiftSeriesRepository;
+import epitech.timemanager1.repositories.TeamRepository;
+import epitech.timemanager1.repositories.UserRepository;
+import epitech.timemanager1.repositories.WorkShiftRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Recurring shifts: a rule ({@link ShiftSeries}) plus the occurrences that depart from it
+ * ({@link ShiftSeriesException}).
+ * <p>
+ * Only edited occurrences are stored as {@link WorkShift}s (created through
+ * {@link WorkShiftService}, so the usual overlap rules apply to them); everything else is
+ * expanded on read by {@link ShiftSeriesExpander}.
+ * </p>
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class ShiftSeriesService {
+
+    private final ShiftSeriesRepository series;
+    private final ShiftSeriesExceptionRepository exceptions;
+    private final TeamRepository teams;
+    private final UserRepository users;
+    private final WorkShiftRepository workShifts;
+    private final WorkShiftService workShiftService;
+    private final PayrollLock payrollLock;
+
+    public ShiftSeries create(Long teamId, Long employeeId, Set<DayOfWeek> days,
+                              LocalTime startTime, LocalTime endTime,
+                              LocalDate validFrom, LocalDate validUntil,
+                              boolean skipHolidays, String note) {
+        if (days == null || days.isEmpty()) {
+            throw new ConflictException("A series needs at least one weekday");
+        }
+        if (startTime.equals(endTime)) {
+            throw new ConflictException("Invalid time window");
+        }
+        if (validUntil != null && validUntil.isBefore(validFrom)) {
+            throw new ConflictException("Invalid date range");
+        }
+        Team team = teams.findById(teamId)
+                .orElseThrow(() -> new NotFoundException("Team not found: " + teamId));
+        User employee = employeeId == null ? null : users.findById(employeeId)
+                .orElseThrow(() -> new NotFoundException("User not found: " + employeeId));
+
+        ShiftSeries s = ShiftSeries.builder()
+                .team(team)
+                .employee(employee)
+                .weekdays(ShiftSeries.weekdayMask(days))
+                .startTime(startTime)
+                .endTime(endTime)
+                .validFrom(validFrom)
+                .validUntil(validUntil)
+                .skipHolidays(skipHolidays)
+                .note(note)
+                .build();
+        assertPayrollOpen(s, validFrom, validUntil);
+        return series.save(s);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ShiftSeries> listForTeam(Long teamId) {
+        return series.findByTeamIdOrderByIdAsc(teamId);
+    }
+
+    /** Stops the series after {@code lastDay}; occurrences already edited stay. */
+    public ShiftSeries end(Long seriesId, LocalDate lastDay) {
+        ShiftSeries s = get(seriesId);
+        if (lastDay.isBefore(s.getValidFrom())) {
+            throw new ConflictException("Invalid date range");
+        }
+        // occurrences removed after lastDay, or added up to it when the series is extended
+        LocalDate until = s.getValidUntil();
+        if (until == null || until.isAfter(lastDay)) {
+            assertPayrollOpen(s, lastDay.plusDays(1), until);
+        } else if (lastDay.isAfter(until)) {
+            assertPayrollOpen(s, until.plusDays(1), lastDay);
+        }
+        s.setValidUntil(lastDay);
+        return s;
+    }
+
+    /** Deletes the rule and its exceptions; edited occurrences remain as plain shifts. */
+    public void delete(Long seriesId) {
+        ShiftSeries s = get(seriesId);
+        assertPayrollOpen(s, s.getValidFrom(), s.getValidUntil());
+        exceptions.deleteBySeriesId(s.getId());
+        series.delete(s);
+    }
+
+    /**
+     * Edits one occurrence: the first edit materialises it as a {@link WorkShift}, later edits
+     * update that shift. Null arguments keep the occurrence's value. An occurrence that was
+     * cancelled, or whose shift was deleted, is materialised again from the series.
+     */
+    public WorkShift editOccurrence(Long seriesId, LocalDate date, Long employeeId,
+                                    LocalDateTime startAt, LocalDateTime endAt, String note) {
+        ShiftSeries s = get(seriesId);
+        ShiftSeriesException ex = exceptions.findBySeriesIdAndOccurrenceDate(seriesId, date).orElse(null);
+
+        if (ex != null && ex.getShiftId() != null && workShifts.existsById(ex.getShiftId())) {
+            return workShiftService.update(ex.getShiftId(), employeeId, startAt, endAt, null, note);
+        }
+        if (ex == null) {
+            requireOccurrence(s, date);
+            assertPayrollOpen(s, date, date);
+        }
+
+        WorkShift ws = workShiftService.create(
+                s.getTeam().getId(),
+                employeeId != null ? employeeId : (s.getEmployee() != null ? s.getEmployee().getId() : null),
+                startAt != null ? startAt : s.occurrenceStart(date),
+                endAt != null ? endAt : s.occurrenceEnd(date),
+                null,
+                note != null ? note : s.getNote());
+
+        if (ex == null) {
+            ex = ShiftSeriesException.builder().series(s).occurrenceDate(date).build();
+        }
+        ex.setShiftId(ws.getId());
+        exceptions.save(ex);
+        return ws;
+    }
+
+    /** Cancels one occurrence (and deletes it if it had been edited). */
+    public void cancelOccurrence(Long seriesId, LocalDate date) {
+        ShiftSeries s = get(seriesId);
+        ShiftSeriesException ex = exceptions.findBySeriesIdAndOccurrenceDate(seriesId, date).orElse(null);
+        if (ex == null) {
+            requireOccurrence(s, date);
+            assertPayrollOpen(s, date, date);
+            ex = ShiftSeriesException.builder().series(s).occurrenceDate(date).build();
+        } else if (ex.getShiftId() != null && workShifts.existsById(ex.getShiftId())) {
+            workShiftService.delete(ex.getShiftId());
+        }
+        ex.setShiftId(null);
+        exceptions.save(ex);
+    }
+
+    private ShiftSeries get(Long seriesId) {
+        return series.findById(seriesId)
+                .orElseThrow(() -> new NotFoundException("Shift series not found: " + seriesId));
+    }
+
+    /**
+     * Refuses a change to the series' occurrences on {@code [from, to]} when one falls in a closed
+     * payroll period; like single shifts, only assigned ones count. An open-ended range stops today,
+     * since closed periods have all ended.
+     */
+    private void assertPayrollOpen(ShiftSeries s, LocalDate from, LocalDate to) {
+        if (s.getEmployee() == null) return;
+        LocalDate last = to != null ? to : LocalDate.now();
+        // an overnight occurrence ends the next day
+        payrollLock.assertOpenBetween(from, s.getEndTime().isAfter(s.getStartTime()) ? last : last.plusDays(1));
+    }
+
+    private static void requireOccurrence(ShiftSeries s, LocalDate date) {
+        if (!s.hasOccurrenceOn(date)) {
+            throw new ConflictException("Series " + s.getId() + " has no occurrence on " + date);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package epitech.timemanager1.services;
+
+import epitech.timemanager1.exception.ConflictException;
+import epitech.timemanager1.util.DayBucketer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Time zones of stored timestamps and of the sites reading them.
+ * <p>
+ * Clock and shift times are stored as zone-less {@link LocalDateTime}s in
+ * {@code app.time.storage-zone}. Reports and timesheets are cut at the local midnights of the
+ * zone asked for, or at {@code app.time.default-zone}. Both default to the JVM zone.
+ * </p>
+ */
+@Component
+public class SiteZones {
+
+    private final ZoneId storage;
+    private final ZoneId defaultSite;
+
+    public SiteZones(@Value("${app.time.storage-zone:}") String storageZone,
+                     @Value("${app.time.default-zone:}") String defaultZone) {
+        this.storage = parse(storageZone, ZoneId.systemDefault());
+        this.defaultSite = parse(defaultZone, storage);
+    }
+
+    public ZoneId storage() {
+        return storage;
+    }
+
+    /** The zone named by a request parameter, the default site zone when blank. */
+    public ZoneId resolve(String zoneId) {
+        return parse(zoneId, defaultSite);
+    }
+
+    /** Bucketer over the local days {@code first} to {@code last} (inclusive) of {@code site}. */
+    public DayBucketer days(ZoneId site, LocalDate first, LocalDate last) {
+        return DayBucketer.of(storage, site != null ? site : defaultSite, first, last);
+    }
+
+    /** A wall-clock time of {@code site} as a stored timestamp. */
+    public LocalDateTime toStorage(LocalDateTime siteTime, ZoneId site) {
+        return siteTime.atZone(site).withZoneSameInstant(storage).toLocalDateTime();
+    }
+
+    private static ZoneId parse(String zoneId, ZoneId fallback) {
+        if (zoneId == null || zoneId.isBlank()) return fallback;
+        try {
+            return ZoneId.of(zoneId);
+        } catch (DateTimeException e) {
+            throw new ConflictException("Unknown time zone: " + zoneId);
+        }
+    }
+}
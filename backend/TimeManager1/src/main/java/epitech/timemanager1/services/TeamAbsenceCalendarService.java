@@ -0,0 +1,127 @@
+package epitech.timemanager1.services;
+
+import epitech.timemanager1.dto.TeamAbsenceCalendarDTO;
+import epitech.timemanager1.dto.TeamAbsenceCalendarDTO.Member;
+import epitech.timemanager1.dto.TeamAbsenceCalendarDTO.Segment;
+import epitech.timemanager1.entities.LeaveStatus;
+import epitech.timemanager1.exception.NotFoundException;
+import epitech.timemanager1.repositories.LeaveRequestRepository;
+import epitech.timemanager1.repositories.LeaveRequestRepository.TeamAbsenceRow;
+import epitech.timemanager1.repositories.TeamRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Builds a team's absence calendar (approved and pending leaves) over a long horizon.
+ * <p>
+ * All leaves of the team touching the window come from one query. Each leave becomes a +1 at
+ * its first day and a -1 the day after its last one, bucketed per day (a difference array);
+ * a single sweep over the days applies them, so the cost is O(days + leaves) whatever the
+ * length of the leaves. Per-member counters make overlapping leaves of one member count once.
+ * </p>
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class TeamAbsenceCalendarService {
+
+    static final int MAX_DAYS = 731;
+
+    private static final int APPROVED = 0;
+    private static final int PENDING = 1;
+
+    private final TeamRepository teams;
+    private final LeaveRequestRepository leaves;
+
+    public TeamAbsenceCalendarDTO calendar(Long teamId, LocalDate from, int days) {
+        if (!teams.existsById(teamId)) {
+            throw new NotFoundException("Team not found: " + teamId);
+        }
+        int n = Math.max(1, Math.min(days, MAX_DAYS));
+        LocalDate to = from.plusDays(n - 1L);
+
+        List<TeamAbsenceRow> rows = leaves.findTeamAbsences(teamId, from, to,
+                List.of(LeaveStatus.APPROVED, LeaveStatus.PENDING));
+
+        // Members sorted by id, so segment member lists come out ascending
+        Map<Long, Member> byId = new TreeMap<>();
+        for (TeamAbsenceRow r : rows) {
+            byId.putIfAbsent(r.getEmployeeId(), new Member(r.getEmployeeId(), r.getFirstName(), r.getLastName()));
+        }
+        List<Member> members = List.copyOf(byId.values());
+        Map<Long, Integer> indexOf = new HashMap<>();
+        for (int i = 0; i < members.size(); i++) indexOf.put(members.get(i).id(), i);
+
+        // Difference array of membership changes: changes[d] holds the deltas applied on day d
+        @SuppressWarnings("unchecked")
+        List<int[]>[] changes = new List[n + 1];
+        for (TeamAbsenceRow r : rows) {
+            int first = (int) Math.max(0, ChronoUnit.DAYS.between(from, r.getStartDate()));
+            int last = (int) Math.min(n - 1, ChronoUnit.DAYS.between(from, r.getEndDate()));
+            if (first > last) continue;
+            int member = indexOf.get(r.getEmployeeId());
+            int status = r.getStatus() == LeaveStatus.APPROVED ? APPROVED : PENDING;
+            bucket(changes, first).add(new int[]{member, status, +1});
+            bucket(changes, last + 1).add(new int[]{member, status, -1});
+        }
+
+        int[][] active = new int[2][members.size()];
+        int[] distinct = new int[2];
+        int[][] counts = new int[2][n];
+        List<Segment> segments = new ArrayList<>();
+        Segment open = null;
+
+        for (int d = 0; d < n; d++) {
+            if (changes[d] != null) {
+                for (int[] c : changes[d]) {
+                    int before = active[c[1]][c[0]];
+                    int after = before + c[2];
+                    active[c[1]][c[0]] = after;
+                    if (before == 0 && after > 0) distinct[c[1]]++;
+                    else if (before > 0 && after == 0) distinct[c[1]]--;
+                }
+                List<Long> approvedNow = snapshot(active[APPROVED], members);
+                List<Long> pendingNow = snapshot(active[PENDING], members);
+                if (open == null || !open.approved().equals(approvedNow) || !open.pending().equals(pendingNow)) {
+                    close(segments, open, d - 1);
+                    open = approvedNow.isEmpty() && pendingNow.isEmpty()
+                            ? null
+                            : new Segment(d, d, approvedNow, pendingNow);
+                }
+            }
+            counts[APPROVED][d] = distinct[APPROVED];
+            counts[PENDING][d] = distinct[PENDING];
+        }
+        close(segments, open, n - 1);
+
+        return new TeamAbsenceCalendarDTO(teamId, from, n, members, counts[APPROVED], counts[PENDING], segments);
+    }
+
+    private static List<int[]> bucket(List<int[]>[] changes, int day) {
+        if (changes[day] == null) changes[day] = new ArrayList<>(2);
+        return changes[day];
+    }
+
+    private static List<Long> snapshot(int[] active, List<Member> members) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < active.length; i++) {
+            if (active[i] > 0) ids.add(members.get(i).id());
+        }
+        return ids;
+    }
+
+    private static void close(List<Segment> segments, Segment open, int lastDay) {
+        if (open != null) {
+            segments.add(new Segment(open.fromDay(), lastDay, open.approved(), open.pending()));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package epitech.timemanager1.services;
+
+import epitech.timemanager1.dto.TeamCoverageDTO;
+import epitech.timemanager1.entities.WorkShift;
+import epitech.timemanager1.exception.ConflictException;
+import epitech.timemanager1.exception.NotFoundException;
+import epitech.timemanager1.repositories.ClockPauseRepository;
+import epitech.timemanager1.repositories.ClockRepository;
+import epitech.timemanager1.repositories.TeamRepository;
+import epitech.timemanager1.repositories.TimeRangeRow;
+import epitech.timemanager1.repositories.WorkShiftRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Planned-versus-actual staffing curves of a team over up to a quarter.
+ * <p>
+ * Shifts, clock sessions and pauses come from one projection query each. Every interval is
+ * clipped to the window and becomes two endpoints (+1 at its start, -1 at its end; pauses the
+ * other way round) packed into a {@code long[]}; after a primitive sort, one sweep over the
+ * endpoints spreads the running headcount over the slots it spans. The cost is
+ * {@code O(E log E + slots)} for {@code E} endpoints, whatever the team size.
+ * </p>
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class TeamCoverageService {
+
+    static final int MAX_DAYS = 92;
+
+    private final TeamRepository teams;
+    private final WorkShiftRepository workShifts;
+    private final ClockRepository clocks;
+    private final ClockPauseRepository pauses;
+    private final ShiftSeriesExpander seriesExpander;
+
+    public TeamCoverageDTO coverage(Long teamId, LocalDate fromDay, int days, int slotMinutes) {
+        if (slotMinutes < 5 || slotMinutes > 1440 || 1440 % slotMinutes != 0) {
+            throw new ConflictException("slotMinutes must divide a day and be at least 5");
+        }
+        if (!teams.existsById(teamId)) {
+            throw new NotFoundException("Team not found: " + teamId);
+        }
+        int n = Math.max(1, Math.min(days, MAX_DAYS));
+        LocalDateTime from = fromDay.atStartOfDay();
+        LocalDateTime to = from.plusDays(n);
+        int minutes = n * 1440;
+        LocalDateTime now = LocalDateTime.now();
+
+        Endpoints planned = new Endpoints();
+        for (TimeRangeRow r : workShifts.findAssignedRangesForTeam(teamId, from, to)) {
+            planned.add(from, minutes, r.getStartAt(), r.getEndAt(), 1);
+        }
+        // Series occurrences starting the day before can still run into the window
+        List<WorkShift> occurrences = seriesExpander.forTeam(teamId, from.minusDays(1), to);
+        for (WorkShift s : occurrences) {
+            if (s.getEmployee() != null) planned.add(from, minutes, s.getStartAt(), s.getEndAt(), 1);
+        }
+
+        Endpoints actual = new Endpoints();
+        for (TimeRangeRow r : clocks.findRangesForTeam(teamId, from, to)) {
+            actual.add(from, minutes, r.getStartAt(), r.getEndAt() != null ? r.getEndAt() : now, 1);
+        }
+        for (TimeRangeRow r : pauses.findRangesForTeam(teamId, from, to)) {
+            actual.add(from, minutes, r.getStartAt(), r.getEndAt() != null ? r.getEndAt() : now, -1);
+        }
+
+        int slots = minutes / slotMinutes;
+        return new TeamCoverageDTO(teamId, from, slotMinutes, slots,
+                planned.sweep(slots, slotMinutes), actual.sweep(slots, slotMinutes));
+    }
+
+    /** Interval endpoints packed as {@code minute << 1 | (rising ? 1 : 0)}. */
+    static final class Endpoints {
+
+        private long[] events = new long[64];
+        private int size;
+
+        /** Adds {@code [start, end)} clipped to the window; {@code sign} -1 subtracts it. */
+        void add(LocalDateTime windowStart, int windowMinutes, LocalDateTime start, LocalDateTime end, int sign) {
+            long a = Math.max(0, ChronoUnit.MINUTES.between(windowStart, start));
+            long b = Math.min(windowMinutes, ChronoUnit.MINUTES.between(windowStart, end));
+            if (a >= b) return;
+            if (size + 2 > events.length) events = Arrays.copyOf(events, events.length * 2);
+            events[size++] = a << 1 | (sign > 0 ? 1 : 0);
+            events[size++] = b << 1 | (sign > 0 ? 0 : 1);
+        }
+
+        /** Average headcount per slot. */
+        double[] sweep(int slots, int slotMinutes) {
+            Arrays.sort(events, 0, size);
+            long[] personMinutes = new long[slots];
+            int level = 0;
+            long prev = 0;
+            for (int i = 0; i < size; i++) {
+                long minute = events[i] >>> 1;
+                if (level != 0) spread(personMinutes, slotMinutes, level, prev, minute);
+                level += (events[i] & 1) == 1 ? 1 : -1;
+                prev = minute;
+            }
+            double[] out = new double[slots];
+            for (int s = 0; s < slots; s++) {
+                out[s] = Math.max(0, Math.round(personMinutes[s] * 100.0 / slotMinutes) / 100.0);
+            }
+            return out;
+        }
+
+        private static void spread(long[] personMinutes, int slotMinutes, int level, long from, long to) {
+            while (from < to) {
+                int slot = (int) (from / slotMinutes);
+                long end = Math.min(to, (long) (slot + 1) * slotMinutes);
+                personMinutes[slot] += level * (end - from);
+                from = end;
+            }
+        }
+    }
+}
@@ -1,13 +1,18 @@
 package epitech.timemanager1.services;
 
+import epitech.timemanager1.entities.Clock;
 import epitech.timemanager1.entities.LeaveRequest;
 import epitech.timemanager1.entities.LeaveStatus;
+import epitech.timemanager1.entities.ScheduleOverride;
 import epitech.timemanager1.entities.User;
 import epitech.timemanager1.entities.WorkShift;
 import epitech.timemanager1.exception.NotFoundException;
 import epitech.timemanager1.repositories.*;
+import epitech.timemanager1.util.BusinessCalendar;
+import epitech.timemanager1.util.DayBucketer;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.*;
@@ -25,6 +30,13 @@ public class TimeSheetService {
     private final ScheduleOverrideRepository overrides;
     private final UserRepository users;
     private final TeamRepository teams;
+    private final HolidayCalendarService holidays;
+    private final ShiftSeriesExpander seriesExpander;
+    private final SiteZones zones;
+
+    /** Expected hours of a business day without approved leave. */
+    @Value("${app.timesheet.daily-hours:7}")
+    private double dailyHours;
 
     // ---------- Public API ----------
 
@@ -33,16 +45,21 @@ public class TimeSheetService {
     public EmployeeTimesheet timesheetForEmployee(Long employeeId, LocalDate from, LocalDate to, ZoneId zone) {
         if (employeeId == null) throw new IllegalArgumentException("employeeId must not be null");
         if (from == null || to == null || from.isAfter(to)) throw new IllegalArgumentException("Invalid date window");
+        holidays.requireCovered(from, to);
 
         User user = users.findById(employeeId)
                 .orElseThrow(() -> new NotFoundException("User not found: " + employeeId));
 
-        LocalDateTime winStart = from.atStartOfDay();
-        LocalDateTime winEnd   = to.plusDays(1).atStartOfDay();
+        // days of [from, to] cut at the site's local midnights
+        ZoneId site = zone != null ? zone : zones.resolve(null);
+        DayBucketer buckets = zones.days(site, from, to);
+        LocalDateTime winStart = buckets.storageStart();
+        LocalDateTime winEnd   = buckets.storageEnd();
 
-        // planned shifts
-        List<WorkShift> planned = workShifts
-                .findByEmployeeIdAndStartAtBetweenOrderByStartAtAsc(employeeId, winStart, winEnd);
+        // planned shifts (stored + occurrences of recurring series)
+        List<WorkShift> planned = ShiftSeriesExpander.merge(
+                workShifts.findByEmployeeIdAndStartAtBetweenOrderByStartAtAsc(employeeId, winStart, winEnd),
+                seriesExpander.forEmployee(employeeId, winStart, winEnd));
 
         // clocks intersecting window (actual)
         var actualClocks = clocks.findByUserIdAndClockInBetween(employeeId, winStart, winEnd);
@@ -51,34 +68,97 @@ public class TimeSheetService {
         List<LeaveRequest> leaveWindow = leaves.findForEmployeeInWindow(employeeId, from, to);
 
         // overrides in the window
-        var overrideByDate = overrides
-                .findByEmployeeIdAndDateBetweenOrderByDateAsc(employeeId, from, to)
-                .stream().collect(Collectors.groupingBy(o -> o.getDate()));
+        var overrideList = overrides.findByEmployeeIdAndDateBetweenOrderByDateAsc(employeeId, from, to);
+
+        return assemble(user, from, to, site, buckets, planned, actualClocks, leaveWindow, overrideList,
+                holidays.forEmployee(employeeId), LocalDateTime.now(zones.storage()));
+    }
+
+    /**
+     * Loads what the timesheets of {@code employeeIds} need, with one query per source for the whole
+     * slice. {@link #timesheetFromSlice} then builds each timesheet without touching the database,
+     * so a slice can be computed on several threads once it is loaded.
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public Slice loadSlice(List<Long> employeeIds, LocalDate from, LocalDate to, ZoneId zone) {
+        if (from == null || to == null || from.isAfter(to)) throw new IllegalArgumentException("Invalid date window");
+        holidays.requireCovered(from, to);
+        ZoneId site = zone != null ? zone : zones.resolve(null);
+        DayBucketer buckets = zones.days(site, from, to);
+        LocalDateTime winStart = buckets.storageStart();
+        LocalDateTime winEnd   = buckets.storageEnd();
+
+        Map<Long, User> byId = users.findAllById(employeeIds).stream()
+                .collect(Collectors.toMap(User::getId, u -> u));
+        Map<Long, List<WorkShift>> planned = ShiftSeriesExpander.merge(
+                        workShifts.findByEmployeeIdInAndStartAtBetweenOrderByStartAtAsc(employeeIds, winStart, winEnd),
+                        seriesExpander.forEmployees(employeeIds, winStart, winEnd))
+                .stream().collect(Collectors.groupingBy(s -> s.getEmployee().getId()));
+        Map<Long, List<Clock>> clocksById = clocks.findByUserIdInAndClockInBetween(employeeIds, winStart, winEnd)
+                .stream().collect(Collectors.groupingBy(c -> c.getUser().getId()));
+        Map<Long, List<LeaveRequest>> leavesById = leaves.findForEmployeesInWindow(employeeIds, from, to)
+                .stream().collect(Collectors.groupingBy(l -> l.getEmployee().getId()));
+        Map<Long, List<ScheduleOverride>> overridesById = overrides
+                .findByEmployeeIdInAndDateBetweenOrderByDateAsc(employeeIds, from, to)
+                .stream().collect(Collectors.groupingBy(o -> o.getEmployee().getId()));
+
+        return new Slice(employeeIds.stream().filter(byId::containsKey).toList(), from, to, site, buckets,
+                LocalDateTime.now(zones.storage()), byId, planned, clocksById, leavesById, overridesById,
+                holidays.forEmployees(employeeIds));
+    }
+
+    /** Timesheet of one employee of a loaded slice; no database access, so no transaction of its own. */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public EmployeeTimesheet timesheetFromSlice(Slice slice, Long employeeId) {
+        return assemble(slice.users().get(employeeId), slice.from(), slice.to(), slice.zone(), slice.buckets(),
+                slice.planned().getOrDefault(employeeId, List.of()),
+                slice.clocks().getOrDefault(employeeId, List.of()),
+                slice.leaves().getOrDefault(employeeId, List.of()),
+                slice.overrides().getOrDefault(employeeId, List.of()),
+                slice.calendars().get(employeeId),
+                slice.now());
+    }
+
+    private EmployeeTimesheet assemble(User user, LocalDate from, LocalDate to, ZoneId site, DayBucketer buckets,
+                                       List<WorkShift> planned, List<Clock> actualClocks,
+                                       List<LeaveRequest> leaveWindow, List<ScheduleOverride> overrideList,
+                                       BusinessCalendar calendar, LocalDateTime now) {
+        var overrideByDate = overrideList.stream().collect(Collectors.groupingBy(o -> o.getDate()));
+
+        // Expected hours: business days of the window minus those covered by approved leave (O(1) each)
+        int businessDays = calendar.businessDaysBetween(from, to);
+        int leaveDays = leaveWindow.stream()
+                .filter(l -> l.getStatus() == LeaveStatus.APPROVED)
+                .mapToInt(l -> calendar.businessDaysBetween(
+                        l.getStartDate().isBefore(from) ? from : l.getStartDate(),
+                        l.getEndDate().isAfter(to) ? to : l.getEndDate()))
+                .sum();
+
+        // One pass over shifts and clocks: shifts listed on every day they touch,
+        // clocked seconds split at each local midnight (an open session runs until now)
+        int n = buckets.days();
+        List<List<WorkShift>> shiftsByDay = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) shiftsByDay.add(new ArrayList<>(2));
+        for (WorkShift s : planned) {
+            long start = buckets.toInstant(s.getStartAt());
+            long end = buckets.toInstant(s.getEndAt());
+            for (int i = Math.max(0, buckets.floorDay(start)); i < n && buckets.dayStart(i) < end; i++) {
+                if (buckets.dayStart(i + 1) > start) shiftsByDay.get(i).add(s);
+            }
+        }
+        long[] actualSeconds = new long[n];
+        for (Clock c : actualClocks) {
+            buckets.accumulate(c.getClockIn(), c.getClockOut() != null ? c.getClockOut() : now, actualSeconds);
+        }
 
         // Build per-day rows
         List<TimesheetDay> days = new ArrayList<>();
-        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
-            LocalDateTime dayStart = d.atStartOfDay();
-            LocalDateTime dayEnd   = d.plusDays(1).atStartOfDay();
-
-            // Planned shifts on this day
-            List<WorkShift> dayShifts = planned.stream()
-                    .filter(s -> intersects(s.getStartAt(), s.getEndAt(), dayStart, dayEnd))
-                    .toList();
-
-            // Actual minutes worked this day (clip by day window)
-            double actualMinutes = actualClocks.stream()
-                    .mapToDouble(c -> {
-                        LocalDateTime start = max(c.getClockIn(), dayStart);
-                        LocalDateTime out   = c.getClockOut() != null ? c.getClockOut() : dayEnd;
-                        out = min(out, dayEnd);
-                        return out.isAfter(start) ? Duration.between(start, out).toMinutes() : 0;
-                    }).sum();
+        for (int i = 0; i < n; i++) {
+            LocalDate d = buckets.day(i);
 
             // Leave on this day (first overlapping, prefer APPROVED over PENDING)
-            LocalDate finalD = d;
             String leaveLabel = leaveWindow.stream()
-                    .filter(l -> overlapsDay(l.getStartDate(), l.getEndDate(), finalD))
+                    .filter(l -> overlapsDay(l.getStartDate(), l.getEndDate(), d))
                     .sorted(Comparator
                             .comparing((LeaveRequest l) -> l.getStatus() != LeaveStatus.APPROVED) // APPROVED first
                             .thenComparing(LeaveRequest::getStartDate))
@@ -93,16 +173,20 @@ public class TimeSheetService {
                             .collect(Collectors.joining("; ")))
                     .orElse(null);
 
+            boolean onApprovedLeave = leaveLabel != null && leaveLabel.startsWith(LeaveStatus.APPROVED.name());
             days.add(new TimesheetDay(
                     d,
-                    toIntervals(dayShifts),
-                    round2(actualMinutes / 60.0),
+                    toIntervals(shiftsByDay.get(i)),
+                    round2(actualSeconds[i] / 3600.0),
+                    calendar.isBusinessDay(d) && !onApprovedLeave ? dailyHours : 0,
+                    calendar.holidayName(d),
                     leaveLabel,
                     overrideNote
             ));
         }
 
-        return new EmployeeTimesheet(employeeId, user.getFirstName() + " " + user.getLastName(), from, to, zone, days);
+        return new EmployeeTimesheet(user.getId(), user.getFirstName() + " " + user.getLastName(), from, to, site,
+                businessDays, round2((businessDays - leaveDays) * dailyHours), days);
     }
 
     /** Timesheet for all assigned employees in a team (grouped per employee). */
@@ -110,15 +194,19 @@ public class TimeSheetService {
     public TeamTimesheet timesheetForTeam(Long teamId, LocalDate from, LocalDate to, ZoneId zone) {
         if (teamId == null) throw new IllegalArgumentException("teamId must not be null");
         if (from == null || to == null || from.isAfter(to)) throw new IllegalArgumentException("Invalid date window");
+        holidays.requireCovered(from, to);
 
         var team = teams.findById(teamId)
                 .orElseThrow(() -> new NotFoundException("Team not found: " + teamId));
 
-        LocalDateTime winStart = from.atStartOfDay();
-        LocalDateTime winEnd   = to.plusDays(1).atStartOfDay();
+        DayBucketer buckets = zones.days(zone, from, to);
+        LocalDateTime winStart = buckets.storageStart();
+        LocalDateTime winEnd   = buckets.storageEnd();
 
         // Collect all shifts for the team in the window
-        List<WorkShift> teamShifts = workShifts.findByTeamIdAndStartAtBetweenOrderByStartAtAsc(teamId, winStart, winEnd);
+        List<WorkShift> teamShifts = ShiftSeriesExpander.merge(
+                workShifts.findByTeamIdAndStartAtBetweenOrderByStartAtAsc(teamId, winStart, winEnd),
+                seriesExpander.forTeam(teamId, winStart, winEnd));
 
         // Group by employee (ignore unassigned)
         Map<Long, List<WorkShift>> byEmployee = teamShifts.stream()
@@ -138,23 +226,10 @@ public class TimeSheetService {
 
     // ---------- helpers ----------
 
-    private static boolean intersects(LocalDateTime aStart, LocalDateTime aEnd,
-                                      LocalDateTime bStart, LocalDateTime bEnd) {
-        return aStart.isBefore(bEnd) && aEnd.isAfter(bStart);
-    }
-
     private static boolean overlapsDay(LocalDate start, LocalDate end, LocalDate day) {
         return !start.isAfter(day) && !end.isBefore(day);
     }
 
-    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
-        return a.isAfter(b) ? a : b;
-    }
-
-    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
-        return a.isBefore(b) ? a : b;
-    }
-
     private static double round2(double v) {
         return Math.round(v * 100.0) / 100.0;
     }
@@ -172,6 +247,8 @@ public class TimeSheetService {
             LocalDate date,
             List<PlannedInterval> planned, // from WorkShift
             double actualHours,            // from Clock (sum in hours, 2-decimal)
+            double expectedHours,          // daily hours on a business day without approved leave, else 0
+            String holiday,                // holiday name from the employee's calendar, or null
             String leave,                  // e.g. "APPROVED PAID" or null
             String overrides               // e.g. "location=A; special=Yes" or null
     ) {}
@@ -190,9 +267,27 @@ public class TimeSheetService {
             LocalDate from,
             LocalDate to,
             ZoneId zone,
+            int businessDays,              // weekdays of the window that are not holidays
+            double expectedHours,          // business days not on approved leave x daily hours
             List<TimesheetDay> days
     ) {}
 
+    /** Inputs of the timesheets of a slice of employees, grouped by employee id. */
+    public record Slice(
+            List<Long> employeeIds,        // ids that exist, in the order asked for
+            LocalDate from,
+            LocalDate to,
+            ZoneId zone,
+            DayBucketer buckets,
+            LocalDateTime now,
+            Map<Long, User> users,
+            Map<Long, List<WorkShift>> planned,
+            Map<Long, List<Clock>> clocks,
+            Map<Long, List<LeaveRequest>> leaves,
+            Map<Long, List<ScheduleOverride>> overrides,
+            Map<Long, BusinessCalendar> calendars
+    ) {}
+
     /** Timesheet view for the whole team (list of employee timesheets). */
     public record TeamTimesheet(
             Long teamId,
@@ -0,0 +1,190 @@
+package epitech.timemanager1.services;
+
+import epitech.timemanager1.exception.ConflictException;
+import epitech.timemanager1.repositories.UserRepository;
+import epitech.timemanager1.services.TimeSheetService.EmployeeTimesheet;
+import epitech.timemanager1.services.TimeSheetService.PlannedInterval;
+import epitech.timemanager1.services.TimeSheetService.TimesheetDay;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.IntConsumer;
+
+/**
+ * Company-wide timesheet export, written as CSV while it is computed.
+ * <p>
+ * Active employees are walked by id in slices of {@code app.timesheet.export.slice-size} (a keyset
+ * cursor, as in {@link LeaveAccrualJob}). Each slice is loaded with one query per source
+ * ({@link TimeSheetService#loadSlice}). Its timesheets are then built on
+ * {@code app.timesheet.export.workers} threads while the next slice is loaded and the previous
+ * one is written. At most two slices are held at once, whatever the size of the company, and rows
+ * come out in employee id order.
+ * </p>
+ */
+@Slf4j
+@Service
+public class TimesheetExportService {
+
+    static final int MAX_DAYS = 31;
+
+    static final String HEADER =
+            "employee_id,employee,date,planned,actual_hours,expected_hours,holiday,leave,overrides";
+
+    private static final DateTimeFormatter HH_MM = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final TimeSheetService timesheets;
+    private final UserRepository users;
+    private final int sliceSize;
+    private final int workers;
+    private final ThreadPoolTaskExecutor pool;
+
+    public TimesheetExportService(TimeSheetService timesheets,
+                                  UserRepository users,
+                                  @Value("${app.timesheet.export.slice-size:200}") int sliceSize,
+                                  @Value("${app.timesheet.export.workers:4}") int workers) {
+        this.timesheets = timesheets;
+        this.users = users;
+        this.sliceSize = sliceSize;
+        this.workers = workers;
+
+        this.pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(workers);
+        pool.setMaxPoolSize(workers);
+        pool.setThreadNamePrefix("timesheet-export-");
+        pool.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Writes one CSV row per active employee and day of {@code [from, to]} (inclusive) to {@code out}.
+     *
+     * @return the number of employees written
+     */
+    public int writeCsv(LocalDate from, LocalDate to, ZoneId zone, Writer out) throws IOException {
+        return writeCsv(from, to, zone, out, written -> {});
+    }
+
+    /** Same, reporting the number of employees written so far after each slice. */
+    public int writeCsv(LocalDate from, LocalDate to, ZoneId zone, Writer out, IntConsumer progress) throws IOException {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new ConflictException("Invalid date window");
+        }
+        if (to.toEpochDay() - from.toEpochDay() >= MAX_DAYS) {
+            throw new ConflictException("Export is limited to " + MAX_DAYS + " days");
+        }
+        out.write(HEADER);
+        out.write("\r\n");
+
+        int written = 0;
+        long afterId = 0L;
+        List<CompletableFuture<List<EmployeeTimesheet>>> previous = List.of();
+        try {
+            List<Long> ids;
+            while (!(ids = users.findActiveIdsAfter(afterId, Limit.of(sliceSize))).isEmpty()) {
+                afterId = ids.get(ids.size() - 1);
+                List<CompletableFuture<List<EmployeeTimesheet>>> current = compute(timesheets.loadSlice(ids, from, to, zone));
+                written += write(previous, out);
+                progress.accept(written);
+                previous = current;
+            }
+            written += write(previous, out);
+            progress.accept(written);
+            log.info("Timesheet export {}..{}: {} employee(s)", from, to, written);
+        } catch (IOException | RuntimeException e) {
+            previous.forEach(f -> f.cancel(false));
+            throw e;
+        }
+        return written;
+    }
+
+    /** Splits a loaded slice into one contiguous part per worker. */
+    private List<CompletableFuture<List<EmployeeTimesheet>>> compute(TimeSheetService.Slice slice) {
+        List<Long> ids = slice.employeeIds();
+        int part = Math.max(1, (ids.size() + workers - 1) / workers);
+        List<CompletableFuture<List<EmployeeTimesheet>>> parts = new ArrayList<>(workers);
+        for (int i = 0; i < ids.size(); i += part) {
+            List<Long> sub = ids.subList(i, Math.min(ids.size(), i + part));
+            parts.add(CompletableFuture.supplyAsync(
+                    () -> sub.stream().map(id -> timesheets.timesheetFromSlice(slice, id)).toList(), pool));
+        }
+        return parts;
+    }
+
+    private static int write(List<CompletableFuture<List<EmployeeTimesheet>>> parts, Writer out) throws IOException {
+        int written = 0;
+        for (CompletableFuture<List<EmployeeTimesheet>> f : parts) {
+            List<EmployeeTimesheet> sheets;
+            try {
+                sheets = f.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+            for (EmployeeTimesheet t : sheets) {
+                writeRows(t, out);
+                written++;
+            }
+        }
+        out.flush();
+        return written;
+    }
+
+    /** The CSV rows of one employee, one per day. */
+    public static void writeRows(EmployeeTimesheet t, Writer out) throws IOException {
+        StringBuilder row = new StringBuilder(128);
+        for (TimesheetDay d : t.days()) {
+            row.setLength(0);
+            row.append(t.employeeId()).append(',');
+            cell(row, t.employeeName()).append(',');
+            row.append(d.date()).append(',');
+            cell(row, planned(d.planned())).append(',');
+            row.append(d.actualHours()).append(',');
+            row.append(d.expectedHours()).append(',');
+            cell(row, d.holiday()).append(',');
+            cell(row, d.leave()).append(',');
+            cell(row, d.overrides()).append("\r\n");
+            out.append(row);
+        }
+    }
+
+    private static String planned(List<PlannedInterval> intervals) {
+        if (intervals.isEmpty()) return null;
+        StringBuilder sb = new StringBuilder();
+        for (PlannedInterval p : intervals) {
+            if (!sb.isEmpty()) sb.append(' ');
+            sb.append(HH_MM.format(p.startAt())).append('-').append(HH_MM.format(p.endAt()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * RFC 4180 cell: quoted when it holds a separator, quote or line break. Text starting with
+     * a formula character gets a leading apostrophe so spreadsheets do not evaluate it.
+     */
+    static StringBuilder cell(StringBuilder row, String value) {
+        if (value == null || value.isEmpty()) return row;
+        char first = value.charAt(0);
+        String v = first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r'
+                ? "'" + value : value;
+        if (v.indexOf(',') < 0 && v.indexOf('"') < 0 && v.indexOf('\n') < 0 && v.indexOf('\r') < 0) {
+            return row.append(v);
+        }
+        return row.append('"').append(v.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -2,6 +2,7 @@ package epitech.timemanager1.services;
 
 import epitech.timemanager1.dto.UserDTO;
 import epitech.timemanager1.entities.User;
+import epitech.timemanager1.eventbus.EventBus;
 import epitech.timemanager1.events.UserApprovedEvent;
 import epitech.timemanager1.events.UserRegisteredEvent;
 import epitech.timemanager1.events.UserRejectedEvent;
@@ -12,9 +13,6 @@ import epitech.timemanager1.mapper.UserMapper;
 import epitech.timemanager1.repositories.TeamMemberRepository;
 import epitech.timemanager1.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,16 +30,7 @@ public class UserService {
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final TeamMemberRepository teamMemberRepository;
-
-    /** OPTIONAL Kafka beans (NOT created in tests) */
-    @Autowired(required = false)
-    private KafkaTemplate<String, UserRegisteredEvent> kafkaTemplate;
-
-    @Autowired(required = false)
-    private KafkaTemplate<String, Object> kafkaTemplate2;
-
-    @Value("${app.kafka.enabled:true}")
-    private boolean kafkaEnabled;
+    private final EventBus eventBus;
 
     public UserDTO create(UserDTO dto) {
         if (dto.getPassword() == null || dto.getPassword().isBlank()) {
@@ -59,18 +48,16 @@ public class UserService {
 
         User savedUser = userRepository.save(user);
 
-        if (kafkaEnabled && kafkaTemplate != null) {
-            kafkaTemplate.send(
-                    KafkaTopics.USER_REGISTERED,
-                    "user-" + savedUser.getId(),
-                    new UserRegisteredEvent(
-                            savedUser.getId(),
-                            savedUser.getEmail(),
-                            savedUser.getFirstName(),
-                            LocalDateTime.now()
-                    )
-            );
-        }
+        eventBus.publish(
+                KafkaTopics.USER_REGISTERED,
+                "user-" + savedUser.getId(),
+                new UserRegisteredEvent(
+                        savedUser.getId(),
+                        savedUser.getEmail(),
+                        savedUser.getFirstName(),
+                        LocalDateTime.now()
+                )
+        );
 
         return userMapper.toDTO(savedUser);
     }
@@ -126,17 +113,16 @@ public class UserService {
         user.setActive(true);
         userRepository.save(user);
 
-        if (kafkaEnabled && kafkaTemplate2 != null) {
-            kafkaTemplate2.send(
-                    KafkaTopics.USER_APPROVED,
-                    new UserApprovedEvent(
-                            user.getId(),
-                            user.getEmail(),
-                            user.getFirstName(),
-                            LocalDateTime.now()
-                    )
-            );
-        }
+        eventBus.publish(
+                KafkaTopics.USER_APPROVED,
+                "user-" + user.getId(),
+                new UserApprovedEvent(
+                        user.getId(),
+                        user.getEmail(),
+                        user.getFirstName(),
+                        LocalDateTime.now()
+                )
+        );
     }
 
     public void rejectUser(Long id) {
@@ -146,18 +132,17 @@ public class UserService {
         user.setActive(false);
         userRepository.save(user);
 
-        if (kafkaEnabled && kafkaTemplate2 != null) {
-            kafkaTemplate2.send(
-                    KafkaTopics.USER_REJECTED,
-                    new UserRejectedEvent(
-                            user.getId(),
-                            user.getEmail(),
-                            user.getFirstName(),
-                            "Account rejected by admin",
-                            LocalDateTime.now()
-                    )
-            );
-        }
+        eventBus.publish(
+                KafkaTopics.USER_REJECTED,
+                "user-" + user.getId(),
+                new UserRejectedEvent(
+                        user.getId(),
+                        user.getEmail(),
+                        user.getFirstName(),
+                        "Account rejected by admin",
+                        LocalDateTime.now()
+                )
+        );
     }
 
     @Transactional(readOnly = true)
@@ -1,29 +1,53 @@
 package epitech.timemanager1.services;
 
+import epitech.timemanager1.config.ShiftOverlapConstraint;
+import epitech.timemanager1.dto.RosterCloneResultDTO;
+import epitech.timemanager1.dto.WorkShiftBatchDTO;
+import epitech.timemanager1.dto.WorkShiftBatchResultDTO;
 import epitech.timemanager1.entities.Team;
 import epitech.timemanager1.entities.User;
 import epitech.timemanager1.entities.WorkShift;
+import epitech.timemanager1.events.WorkShiftEvent;
 import epitech.timemanager1.exception.ConflictException;
 import epitech.timemanager1.exception.NotFoundException;
 import epitech.timemanager1.repositories.TeamRepository;
 import epitech.timemanager1.repositories.UserRepository;
 import epitech.timemanager1.repositories.WorkShiftRepository;
+import epitech.timemanager1.util.IntervalIndex;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class WorkShiftService {
 
+    static final int MAX_CLONE_WEEKS = 52;
+
     private final WorkShiftRepository workShifts;
     private final TeamRepository teams;
     private final UserRepository users;
+    private final ApplicationEventPublisher events;
+    private final ShiftOverlapConstraint overlapConstraint;
+    private final ShiftSeriesExpander seriesExpander;
+    private final PayrollLock payrollLock;
 
     /** Create a work shift (optionally assigned to an employee). */
     public WorkShift create(Long teamId,
@@ -44,6 +68,7 @@ public class WorkShiftService {
         if (employeeId != null) {
             employee = users.findById(employeeId)
                     .orElseThrow(() -> new NotFoundException("User not found: " + employeeId));
+            payrollLock.assertOpenDuring(startAt, endAt);
             ensureNoEmployeeOverlap(employee.getId(), startAt, endAt, null);
         }
 
@@ -61,7 +86,133 @@ public class WorkShiftService {
             ws.setNote(concatNoteWithLocation(note, location));
         }
 
-        return workShifts.save(ws);
+        WorkShift saved = checked(() -> workShifts.save(ws));
+        publish(WorkShiftEvent.Type.SHIFT_CREATED, saved, idOf(saved.getEmployee()));
+        return saved;
+    }
+
+    /**
+     * Create many shifts at once; each entry is created or refused on its own.
+     * <p>
+     * Teams, employees and the employees' existing shifts over the batch window are loaded
+     * with one query each, then every entry is checked against a per-employee interval index
+     * that also holds the entries accepted before it, so conflicts inside the batch are caught
+     * too. Accepted shifts are saved together at the end; if the database overlap constraint
+     * still catches a clash (a concurrent writer), the whole batch fails with a conflict.
+     * </p>
+     */
+    public List<WorkShiftBatchResultDTO> createAll(List<WorkShiftBatchDTO.Item> items) {
+        Map<Long, Team> teamsById = teams.findAllById(
+                        items.stream().map(WorkShiftBatchDTO.Item::getTeamId).filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Team::getId, Function.identity()));
+        Set<Long> employeeIds = items.stream().map(WorkShiftBatchDTO.Item::getEmployeeId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, User> usersById = users.findAllById(employeeIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        Map<Long, IntervalIndex<LocalDateTime, Integer>> busy = new HashMap<>();
+        LocalDateTime from = null, to = null;
+        for (WorkShiftBatchDTO.Item it : items) {
+            if (it.getEmployeeId() == null || !validWindow(it.getStartAt(), it.getEndAt())) continue;
+            if (from == null || it.getStartAt().isBefore(from)) from = it.getStartAt();
+            if (to == null || it.getEndAt().isAfter(to)) to = it.getEndAt();
+        }
+        if (from != null && !usersById.isEmpty()) {
+            for (WorkShift s : workShifts.findForEmployeesOverlapping(usersById.keySet(), from, to)) {
+                busy.computeIfAbsent(s.getEmployee().getId(), id -> IntervalIndex.halfOpen())
+                        .add(s.getStartAt(), s.getEndAt(), -1); // -1: stored shift
+            }
+        }
+
+        WorkShiftBatchResultDTO[] results = new WorkShiftBatchResultDTO[items.size()];
+        List<WorkShift> accepted = new ArrayList<>();
+        List<Integer> acceptedAt = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            WorkShiftBatchDTO.Item it = items.get(i);
+            if (!validWindow(it.getStartAt(), it.getEndAt())) {
+                results[i] = WorkShiftBatchResultDTO.refused(i, "Invalid time window");
+                continue;
+            }
+            Team team = teamsById.get(it.getTeamId());
+            if (team == null) {
+                results[i] = WorkShiftBatchResultDTO.refused(i, "Team not found: " + it.getTeamId());
+                continue;
+            }
+            User employee = null;
+            if (it.getEmployeeId() != null) {
+                employee = usersById.get(it.getEmployeeId());
+                if (employee == null) {
+                    results[i] = WorkShiftBatchResultDTO.refused(i, "User not found: " + it.getEmployeeId());
+                    continue;
+                }
+                try {
+                    payrollLock.assertOpenDuring(it.getStartAt(), it.getEndAt());
+                } catch (ConflictException e) {
+                    results[i] = WorkShiftBatchResultDTO.refused(i, e.getMessage());
+                    continue;
+                }
+                IntervalIndex<LocalDateTime, Integer> index =
+                        busy.computeIfAbsent(employee.getId(), id -> IntervalIndex.halfOpen());
+                List<Integer> clashes = index.overlapping(it.getStartAt(), it.getEndAt());
+                if (!clashes.isEmpty()) {
+                    int other = clashes.stream().mapToInt(Integer::intValue).min().getAsInt();
+                    results[i] = WorkShiftBatchResultDTO.refused(i, other < 0
+                            ? "Employee already has overlapping shift"
+                            : "Overlaps entry " + other + " of the batch");
+                    continue;
+                }
+                index.add(it.getStartAt(), it.getEndAt(), i);
+            }
+
+            WorkShift ws = WorkShift.builder()
+                    .team(team)
+                    .employee(employee)
+                    .startAt(it.getStartAt())
+                    .endAt(it.getEndAt())
+                    .note(it.getLocation() != null && !it.getLocation().isBlank()
+                            ? concatNoteWithLocation(it.getNote(), it.getLocation())
+                            : it.getNote())
+                    .build();
+            accepted.add(ws);
+            acceptedAt.add(i);
+        }
+
+        List<WorkShift> saved = checked(() -> workShifts.saveAll(accepted));
+        for (int k = 0; k < saved.size(); k++) {
+            WorkShift ws = saved.get(k);
+            int i = acceptedAt.get(k);
+            results[i] = WorkShiftBatchResultDTO.created(i, ws.getId());
+            publish(WorkShiftEvent.Type.SHIFT_CREATED, ws, idOf(ws.getEmployee()));
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Copy every shift of a team's week (Monday to Sunday, the week containing {@code sourceWeek})
+     * into the {@code weeks} following weeks, as one INSERT ... SELECT.
+     * <p>
+     * Copies whose employee is on approved leave, or already busy at that time, are skipped
+     * inside the same statement, so re-running a clone only fills the gaps. A shift whose copies
+     * would overlap the next week's copies of the same employee's shift is skipped in every week.
+     * No per-shift events are published for cloned shifts.
+     * </p>
+     */
+    public RosterCloneResultDTO cloneWeek(Long teamId, LocalDate sourceWeek, int weeks) {
+        if (weeks < 1 || weeks > MAX_CLONE_WEEKS) {
+            throw new ConflictException("weeks must be between 1 and " + MAX_CLONE_WEEKS);
+        }
+        if (!teams.existsById(teamId)) {
+            throw new NotFoundException("Team not found: " + teamId);
+        }
+        LocalDate monday = sourceWeek.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDateTime from = monday.atStartOfDay();
+        LocalDateTime to = from.plusWeeks(1);
+        payrollLock.assertOpenBetween(monday.plusWeeks(1), monday.plusWeeks(weeks + 1L).minusDays(1));
+
+        long source = workShifts.countByTeamIdAndStartAtGreaterThanEqualAndStartAtLessThan(teamId, from, to);
+        int created = source == 0 ? 0 : checked(() -> workShifts.cloneWeeks(teamId, from, to, weeks));
+        return new RosterCloneResultDTO(teamId, monday, weeks, source, created, source * weeks - created);
     }
 
     /** Update a work shift’s core fields. */
@@ -77,6 +228,11 @@ public class WorkShiftService {
         if (startAt != null && endAt != null && !startAt.isBefore(endAt)) {
             throw new ConflictException("Invalid time window");
         }
+        // the shift's old and new times both count: an assigned shift feeds a closed period's lateness
+        if (ws.getEmployee() != null || newEmployeeId != null) {
+            payrollLock.assertOpenDuring(ws.getStartAt(), ws.getEndAt());
+            payrollLock.assertOpenDuring(startAt != null ? startAt : ws.getStartAt(), endAt != null ? endAt : ws.getEndAt());
+        }
 
         // Re-assign employee if changed
         if (!Objects.equals(idOf(ws.getEmployee()), newEmployeeId)) {
@@ -109,7 +265,9 @@ public class WorkShiftService {
         if (location != null && !location.isBlank()) {
             ws.setNote(concatNoteWithLocation(ws.getNote(), location));
         }
+        checked(() -> ws);
 
+        publish(WorkShiftEvent.Type.SHIFT_UPDATED, ws, idOf(ws.getEmployee()));
         return ws;
     }
 
@@ -121,8 +279,11 @@ public class WorkShiftService {
         User employee = users.findById(employeeId)
                 .orElseThrow(() -> new NotFoundException("User not found: " + employeeId));
 
+        payrollLock.assertOpenDuring(ws.getStartAt(), ws.getEndAt());
         ensureNoEmployeeOverlap(employee.getId(), ws.getStartAt(), ws.getEndAt(), ws.getId());
         ws.setEmployee(employee);
+        checked(() -> ws);
+        publish(WorkShiftEvent.Type.SHIFT_ASSIGNED, ws, employee.getId());
         return ws;
     }
 
@@ -130,7 +291,12 @@ public class WorkShiftService {
     public WorkShift unassignEmployee(Long shiftId) {
         WorkShift ws = workShifts.findById(shiftId)
                 .orElseThrow(() -> new NotFoundException("Shift not found: " + shiftId));
+        Long previousEmployeeId = idOf(ws.getEmployee());
+        if (previousEmployeeId != null) {
+            payrollLock.assertOpenDuring(ws.getStartAt(), ws.getEndAt());
+        }
         ws.setEmployee(null);
+        publish(WorkShiftEvent.Type.SHIFT_UNASSIGNED, ws, previousEmployeeId);
         return ws;
     }
 
@@ -139,19 +305,26 @@ public class WorkShiftService {
         if (!workShifts.existsById(shiftId)) {
             throw new NotFoundException("Shift not found: " + shiftId);
         }
+        workShifts.findById(shiftId)
+                .filter(ws -> ws.getEmployee() != null)
+                .ifPresent(ws -> payrollLock.assertOpenDuring(ws.getStartAt(), ws.getEndAt()));
         workShifts.deleteById(shiftId);
     }
 
-    /** List shifts for a team in a window (manager view). */
+    /** List shifts for a team in a window (manager view), recurring series expanded. */
     @Transactional
     public List<WorkShift> listTeamShifts(Long teamId, LocalDateTime from, LocalDateTime to) {
-        return workShifts.findByTeamIdAndStartAtBetweenOrderByStartAtAsc(teamId, from, to);
+        return ShiftSeriesExpander.merge(
+                workShifts.findByTeamIdAndStartAtBetweenOrderByStartAtAsc(teamId, from, to),
+                seriesExpander.forTeam(teamId, from, to));
     }
 
-    /** List shifts for an employee in a window (employee view). */
+    /** List shifts for an employee in a window (employee view), recurring series expanded. */
     @Transactional
     public List<WorkShift> listEmployeeShifts(Long employeeId, LocalDateTime from, LocalDateTime to) {
-        return workShifts.findByEmployeeIdAndStartAtBetweenOrderByStartAtAsc(employeeId, from, to);
+        return ShiftSeriesExpander.merge(
+                workShifts.findByEmployeeIdAndStartAtBetweenOrderByStartAtAsc(employeeId, from, to),
+                seriesExpander.forEmployee(employeeId, from, to));
     }
 
     // ---- helpers ----
@@ -160,6 +333,9 @@ public class WorkShiftService {
                                          LocalDateTime startAt,
                                          LocalDateTime endAt,
                                          Long excludeShiftId) {
+        if (overlapConstraint.isInstalled()) {
+            return; // the database refuses the overlap when the change is flushed, see checked()
+        }
         boolean overlaps = (excludeShiftId == null)
                 ? workShifts.existsOverlapForEmployee(employeeId, startAt, endAt)
                 : workShifts.existsOverlapForEmployeeExcludingId(employeeId, excludeShiftId, startAt, endAt);
@@ -169,6 +345,42 @@ public class WorkShiftService {
         }
     }
 
+    /**
+     * Runs a write and, when the overlap constraint is installed, flushes it right away so a
+     * violation surfaces here as a {@link ConflictException} rather than at commit.
+     */
+    private <T> T checked(Supplier<T> write) {
+        try {
+            T result = write.get();
+            if (overlapConstraint.isInstalled()) {
+                workShifts.flush();
+            }
+            return result;
+        } catch (DataIntegrityViolationException ex) {
+            if (ShiftOverlapConstraint.isViolation(ex)) {
+                throw new ConflictException("Employee already has overlapping shift");
+            }
+            throw ex;
+        }
+    }
+
+    private static boolean validWindow(LocalDateTime startAt, LocalDateTime endAt) {
+        return startAt != null && endAt != null && startAt.isBefore(endAt);
+    }
+
+    /** userId is the employee the change concerns (the previous one for an unassignment). */
+    private void publish(WorkShiftEvent.Type type, WorkShift ws, Long userId) {
+        events.publishEvent(new WorkShiftEvent(
+                type,
+                ws.getId(),
+                ws.getTeam() != null ? ws.getTeam().getId() : null,
+                userId,
+                ws.getStartAt(),
+                ws.getEndAt(),
+                LocalDateTime.now()
+        ));
+    }
+
     private Long idOf(User u) {
         return u == null ? null : u.getId();
     }
@@ -47,4 +47,10 @@ public class LoggingMailService implements MailService {
         Reason: {}
         """, to, firstName, reason);
     }
-}
\ No newline at end of file
+
+    @Async
+    @Override
+    public void sendDigestEmail(String to, String subject, String htmlBody) {
+        log.info("[DEV MAIL] To: {} | {} ({} chars of HTML)", to, subject, htmlBody.length());
+    }
+}
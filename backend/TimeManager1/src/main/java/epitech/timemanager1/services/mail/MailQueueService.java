@@ -0,0 +1,116 @@
+package epitech.timemanager1.services.mail;
+
+import epitech.timemanager1.entities.OutboundMail;
+import epitech.timemanager1.entities.OutboundMailStatus;
+import epitech.timemanager1.repositories.OutboundMailRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Persistent outbound mail queue.
+ * <p>
+ * {@link SmtpMailService} only enqueues; {@link MailQueueWorker} claims due rows in batches,
+ * delivers them over one SMTP connection per batch and reports the outcome back here.
+ * Failed deliveries are retried with exponential backoff until {@code app.mail.queue.max-attempts}.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class MailQueueService {
+
+    private final OutboundMailRepository mails;
+
+    @Value("${app.mail.queue.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.mail.queue.backoff-base-seconds:30}")
+    private long backoffBaseSeconds;
+
+    @Value("${app.mail.queue.backoff-max-seconds:3600}")
+    private long backoffMaxSeconds;
+
+    @Value("${app.mail.queue.stale-after-minutes:10}")
+    private long staleAfterMinutes;
+
+    public OutboundMail enqueue(String to, String subject, String body) {
+        return enqueue(to, subject, body, false);
+    }
+
+    public OutboundMail enqueue(String to, String subject, String body, boolean html) {
+        LocalDateTime now = LocalDateTime.now();
+        return mails.save(OutboundMail.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .html(html)
+                .status(OutboundMailStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+    }
+
+    /** Claims up to {@code limit} due mails and marks them SENDING. */
+    public List<QueuedMail> claimBatch(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        mails.requeueStale(now.minusMinutes(staleAfterMinutes));
+
+        List<OutboundMail> due = mails.findDueForUpdate(now, PageRequest.of(0, limit));
+        for (OutboundMail m : due) {
+            m.setStatus(OutboundMailStatus.SENDING);
+            m.setNextAttemptAt(now); // claim time, used to detect stale SENDING rows
+        }
+        return due.stream()
+                .map(m -> new QueuedMail(m.getId(), m.getRecipient(), m.getSubject(), m.getBody(), m.isHtml(),
+                        m.getAttempts()))
+                .toList();
+    }
+
+    public void markSent(Collection<Long> ids) {
+        if (ids.isEmpty()) return;
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboundMail m : mails.findAllById(ids)) {
+            m.setStatus(OutboundMailStatus.SENT);
+            m.setAttempts(m.getAttempts() + 1);
+            m.setSentAt(now);
+            m.setLastError(null);
+        }
+    }
+
+    /** Schedules a retry with exponential backoff, or gives up after the last attempt. */
+    public void markFailed(Long id, String error) {
+        mails.findById(id).ifPresent(m -> {
+            int attempts = m.getAttempts() + 1;
+            m.setAttempts(attempts);
+            m.setLastError(error == null ? null : error.substring(0, Math.min(error.length(), 500)));
+
+            if (attempts >= maxAttempts) {
+                m.setStatus(OutboundMailStatus.FAILED);
+            } else {
+                m.setStatus(OutboundMailStatus.PENDING);
+                m.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoffSeconds(attempts)));
+            }
+        });
+    }
+
+    long backoffSeconds(int attempts) {
+        long delay = backoffBaseSeconds << Math.min(attempts - 1, 20);
+        return Math.min(delay, backoffMaxSeconds);
+    }
+
+    @Transactional(readOnly = true)
+    public long pendingCount() {
+        return mails.countByStatus(OutboundMailStatus.PENDING);
+    }
+
+    /** Detached copy of a claimed row, safe to hand to a worker thread. */
+    public record QueuedMail(Long id, String to, String subject, String body, boolean html, int attempts) {}
+}
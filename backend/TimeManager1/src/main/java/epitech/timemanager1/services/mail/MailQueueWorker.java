@@ -0,0 +1,173 @@
+package epitech.timemanager1.services.mail;
+
+import epitech.timemanager1.services.mail.MailQueueService.QueuedMail;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Drains the {@link MailQueueService} with a small pool of workers.
+ * <p>
+ * Each worker takes a batch and waits on the shared {@link MailRateLimiter}. It then hands
+ * the whole batch to {@link JavaMailSender#send(MimeMessage...)}, which sends it over
+ * a single SMTP connection. Only the messages reported in
+ * {@link MailSendException#getFailedMessages()} are scheduled for retry.
+ * </p>
+ * Metrics: {@code mail.queue.sent}, {@code mail.queue.failed}, {@code mail.queue.batch}
+ * and {@code mail.queue.pending}.
+ */
+@Slf4j
+@Component
+@Profile({"dev", "prod"})
+public class MailQueueWorker {
+
+    private final MailQueueService queue;
+    private final JavaMailSender mailSender;
+    private final MailRateLimiter rateLimiter;
+    private final ThreadPoolTaskExecutor pool;
+    private final Semaphore freeWorkers;
+    private final int batchSize;
+
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+
+    @Value("${app.mail.from:no-reply@timemanager.local}")
+    private String from;
+
+    public MailQueueWorker(MailQueueService queue,
+                           JavaMailSender mailSender,
+                           MeterRegistry meters,
+                           @Value("${app.mail.queue.workers:4}") int workers,
+                           @Value("${app.mail.queue.batch-size:50}") int batchSize,
+                           @Value("${app.mail.queue.rate-per-second:20}") double ratePerSecond) {
+        this.queue = queue;
+        this.mailSender = mailSender;
+        this.batchSize = batchSize;
+        this.rateLimiter = new MailRateLimiter(ratePerSecond);
+        this.freeWorkers = new Semaphore(workers);
+
+        this.pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(workers);
+        pool.setMaxPoolSize(workers);
+        pool.setQueueCapacity(0);
+        pool.setThreadNamePrefix("mail-worker-");
+        pool.initialize();
+
+        this.sentCounter = meters.counter("mail.queue.sent");
+        this.failedCounter = meters.counter("mail.queue.failed");
+        this.batchTimer = meters.timer("mail.queue.batch");
+        Gauge.builder("mail.queue.pending", queue, MailQueueService::pendingCount).register(meters);
+    }
+
+    /** Claims one batch per idle worker; busy workers keep the rest of the queue untouched. */
+    @Scheduled(fixedDelayString = "${app.mail.queue.poll-interval-ms:1000}")
+    public void drain() {
+        while (freeWorkers.tryAcquire()) {
+            List<QueuedMail> batch;
+            try {
+                batch = queue.claimBatch(batchSize);
+            } catch (RuntimeException ex) {
+                freeWorkers.release();
+                log.warn("Could not claim mail batch", ex);
+                return;
+            }
+            if (batch.isEmpty()) {
+                freeWorkers.release();
+                return;
+            }
+            pool.execute(() -> {
+                try {
+                    deliver(batch);
+                } finally {
+                    freeWorkers.release();
+                }
+            });
+        }
+    }
+
+    void deliver(List<QueuedMail> batch) {
+        Map<MimeMessage, QueuedMail> byMessage = new IdentityHashMap<>();
+        for (QueuedMail m : batch) {
+            try {
+                byMessage.put(toMimeMessage(m), m);
+            } catch (MessagingException ex) {
+                fail(m, ex);
+            }
+        }
+        if (byMessage.isEmpty()) return;
+
+        try {
+            rateLimiter.acquire(byMessage.size());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            byMessage.values().forEach(m -> queue.markFailed(m.id(), "interrupted before send"));
+            return;
+        }
+
+        List<Long> sent = new ArrayList<>(byMessage.size());
+        Timer.Sample sample = Timer.start();
+        try {
+            mailSender.send(byMessage.keySet().toArray(MimeMessage[]::new));
+            byMessage.values().forEach(m -> sent.add(m.id()));
+        } catch (MailSendException ex) {
+            Map<Object, Exception> failed = ex.getFailedMessages();
+            byMessage.forEach((msg, m) -> {
+                Exception cause = failed.isEmpty() ? ex : failed.get(msg);
+                if (cause == null) {
+                    sent.add(m.id());
+                } else {
+                    fail(m, cause);
+                }
+            });
+        } catch (MailException ex) {
+            byMessage.values().forEach(m -> fail(m, ex));
+        } finally {
+            sample.stop(batchTimer);
+        }
+
+        queue.markSent(sent);
+        sentCounter.increment(sent.size());
+    }
+
+    private MimeMessage toMimeMessage(QueuedMail m) throws MessagingException {
+        MimeMessage msg = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(msg, "UTF-8");
+        if (from != null) helper.setFrom(from);
+        helper.setTo(m.to());
+        helper.setSubject(m.subject());
+        helper.setText(m.body(), m.html());
+        return msg;
+    }
+
+    private void fail(QueuedMail m, Exception cause) {
+        log.warn("Mail {} to {} failed (attempt {}): {}", m.id(), m.to(), m.attempts() + 1, cause.getMessage());
+        queue.markFailed(m.id(), cause.getMessage());
+        failedCounter.increment();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+}
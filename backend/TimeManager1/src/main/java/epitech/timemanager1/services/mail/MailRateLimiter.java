@@ -0,0 +1,32 @@
+package epitech.timemanager1.services.mail;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimal rate limiter spacing permits evenly at {@code permitsPerSecond}.
+ * Callers block until their permits are available; a value &lt;= 0 disables throttling.
+ */
+public class MailRateLimiter {
+
+    private final double permitsPerSecond;
+    private long nextFreeNanos = System.nanoTime();
+
+    public MailRateLimiter(double permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    public void acquire(int permits) throws InterruptedException {
+        if (permitsPerSecond <= 0 || permits <= 0) return;
+
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long start = Math.max(now, nextFreeNanos);
+            nextFreeNanos = start + (long) (permits * TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+            waitNanos = start - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
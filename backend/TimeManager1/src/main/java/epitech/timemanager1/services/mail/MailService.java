@@ -19,4 +19,13 @@ public interface MailService {
     void sendWelcomeEmail(String to, String firstName);
 
     void sendRejectionEmail(String email, String s, String reason);
+
+    /**
+     * Sends an already rendered HTML digest.
+     *
+     * @param to       the recipient's email address
+     * @param subject  the mail subject
+     * @param htmlBody the rendered HTML body
+     */
+    void sendDigestEmail(String to, String subject, String htmlBody);
 }
\ No newline at end of file
@@ -3,43 +3,30 @@ package epitech.timemanager1.services.mail;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+/**
+ * Production {@link MailService}: renders the message and puts it on the persistent
+ * {@link MailQueueService}. Delivery happens in batches in {@link MailQueueWorker}.
+ */
 @Profile({"dev", "prod"})
 @Service
 @RequiredArgsConstructor
 public class SmtpMailService implements MailService {
 
-    private final JavaMailSender mailSender;
-
-    @Value("${app.mail.from:no-reply@timemanager.local}")
-    private String from;
+    private final MailQueueService mailQueue;
 
     @Value("${app.mail.reset.subject:Reset your password}")
     private String resetSubject;
 
-    @Async
     @Override
     public void sendPasswordResetEmail(String to, String link) {
-        SimpleMailMessage msg = new SimpleMailMessage();
-        msg.setFrom(from);
-        msg.setTo(to);
-        msg.setSubject(resetSubject);
-        msg.setText(buildResetBody(link));
-        mailSender.send(msg);
+        mailQueue.enqueue(to, resetSubject, buildResetBody(link));
     }
 
-    @Async
     @Override
     public void sendWelcomeEmail(String to, String firstName) {
-        SimpleMailMessage msg = new SimpleMailMessage();
-        msg.setFrom(from);
-        msg.setTo(to);
-        msg.setSubject("Welcome to TimeManager 👋");
-        msg.setText("""
+        mailQueue.enqueue(to, "Welcome to TimeManager 👋", """
             Hello %s,
 
             Welcome to TimeManager!
@@ -47,7 +34,6 @@ public class SmtpMailService implements MailService {
 
             — TimeManager Team
             """.formatted(firstName));
-        mailSender.send(msg);
     }
 
     private String buildResetBody(String link) {
@@ -63,14 +49,9 @@ public class SmtpMailService implements MailService {
                 """.formatted(link);
     }
 
-    @Async
     @Override
     public void sendRejectionEmail(String to, String firstName, String reason) {
-        SimpleMailMessage msg = new SimpleMailMessage();
-        msg.setFrom(from);
-        msg.setTo(to);
-        msg.setSubject("Your TimeManager account");
-        msg.setText("""
+        mailQueue.enqueue(to, "Your TimeManager account", """
         Hello %s,
 
         Unfortunately, your account was rejected.
@@ -80,7 +61,10 @@ public class SmtpMailService implements MailService {
 
         — TimeManager Team
         """.formatted(firstName, reason));
+    }
 
-        mailSender.send(msg);
+    @Override
+    public void sendDigestEmail(String to, String subject, String htmlBody) {
+        mailQueue.enqueue(to, subject, htmlBody, true);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,149 @@
+package epitech.timemanager1.services.notification;
+
+import epitech.timemanager1.entities.DigestRun;
+import epitech.timemanager1.entities.Role;
+import epitech.timemanager1.entities.User;
+import epitech.timemanager1.repositories.ClockRepository;
+import epitech.timemanager1.repositories.ClockRepository.OpenClockDigestRow;
+import epitech.timemanager1.repositories.DigestRunRepository;
+import epitech.timemanager1.repositories.LeaveRequestRepository;
+import epitech.timemanager1.repositories.LeaveRequestRepository.PendingLeaveDigestRow;
+import epitech.timemanager1.repositories.UserRepository;
+import epitech.timemanager1.services.mail.MailService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sends one digest mail per manager (and CEO) instead of a mail per event.
+ * <p>
+ * Each run collects everything that is waiting on a recipient: pending leave requests of their
+ * teams, team members who forgot to clock out, and (for CEOs) accounts awaiting approval.
+ * The items come from three grouped queries and are bucketed per recipient in a single pass.
+ * Items are read from the current state at send time, so anything already handled is left out.
+ * Every digest is rendered with the cached {@code mail/manager-digest} Thymeleaf template.
+ * </p>
+ * <p>
+ * The schedule fires on every instance; a run first claims the day with a {@link DigestRun} row
+ * and only the instance whose insert succeeds sends, so managers get one digest a day. A run
+ * that dies after its claim is not retried that day.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ManagerDigestService {
+
+    static final String TEMPLATE = "mail/manager-digest";
+
+    private final LeaveRequestRepository leaves;
+    private final ClockRepository clocks;
+    private final UserRepository users;
+    private final DigestRunRepository runs;
+    private final MailService mailService;
+    private final ITemplateEngine templateEngine;
+
+    @Value("${app.digest.open-clock-hours:12}")
+    private long openClockHours;
+
+    /** One recipient's digest; only sent when at least one list is non-empty. */
+    public record Digest(String email,
+                         String firstName,
+                         List<PendingLeaveDigestRow> pendingLeaves,
+                         List<OpenClockDigestRow> openClocks,
+                         List<User> pendingUsers) {
+
+        Digest(String email, String firstName) {
+            this(email, firstName, new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        }
+
+        public int size() {
+            return pendingLeaves.size() + openClocks.size() + pendingUsers.size();
+        }
+    }
+
+    /** Parses the template once at startup so the first scheduled run hits the cache. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmTemplate() {
+        render(new Digest("warmup@timemanager.local", ""));
+    }
+
+    @Scheduled(cron = "${app.digest.cron:0 0 8 * * MON-FRI}")
+    public void sendDigests() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            runs.saveAndFlush(DigestRun.builder().day(now.toLocalDate()).startedAt(now).build());
+        } catch (DataIntegrityViolationException ex) {
+            log.info("Manager digest of {} already sent by another instance", now.toLocalDate());
+            return;
+        }
+        Map<String, Digest> digests = collect(now);
+        for (Digest digest : digests.values()) {
+            try {
+                mailService.sendDigestEmail(digest.email(), subjectOf(digest), render(digest));
+            } catch (RuntimeException ex) {
+                log.warn("Could not send digest to {}", digest.email(), ex);
+            }
+        }
+        log.info("Sent {} manager digest(s)", digests.size());
+    }
+
+    /**
+     * Groups every outstanding item by recipient; recipients without items are absent. The rows
+     * come through team membership, so an employee in two teams of the same manager yields two
+     * rows for one item: each item is listed once per recipient, under its first team.
+     */
+    public Map<String, Digest> collect(LocalDateTime now) {
+        Map<String, Digest> byRecipient = new LinkedHashMap<>();
+
+        Set<String> seenLeaves = new HashSet<>();
+        for (PendingLeaveDigestRow row : leaves.findPendingForDigest()) {
+            if (!seenLeaves.add(row.getManagerEmail() + "/" + row.getLeaveId())) continue;
+            byRecipient.computeIfAbsent(row.getManagerEmail(), e -> new Digest(e, row.getManagerFirstName()))
+                    .pendingLeaves().add(row);
+        }
+
+        Set<String> seenClocks = new HashSet<>();
+        for (OpenClockDigestRow row : clocks.findOpenSinceForDigest(now.minusHours(openClockHours))) {
+            if (!seenClocks.add(row.getManagerEmail() + "/" + row.getClockId())) continue;
+            byRecipient.computeIfAbsent(row.getManagerEmail(), e -> new Digest(e, row.getManagerFirstName()))
+                    .openClocks().add(row);
+        }
+
+        List<User> awaitingApproval = users.findAllByActiveFalse();
+        if (!awaitingApproval.isEmpty()) {
+            for (User ceo : users.findByRoleAndActiveTrue(Role.CEO)) {
+                byRecipient.computeIfAbsent(ceo.getEmail(), e -> new Digest(e, ceo.getFirstName()))
+                        .pendingUsers().addAll(awaitingApproval);
+            }
+        }
+        return byRecipient;
+    }
+
+    public String render(Digest digest) {
+        Context ctx = new Context(Locale.ENGLISH);
+        ctx.setVariable("digest", digest);
+        return templateEngine.process(TEMPLATE, ctx);
+    }
+
+    private static String subjectOf(Digest digest) {
+        int n = digest.size();
+        return "TimeManager: " + n + (n == 1 ? " item needs" : " items need") + " your attention";
+    }
+}
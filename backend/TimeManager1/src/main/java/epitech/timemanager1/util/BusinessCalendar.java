@@ -0,0 +1,158 @@
+package epitech.timemanager1.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Working days of one holiday calendar over a fixed range of years.
+ * <p>
+ * A day is a business day unless it falls on a weekend day or a holiday. Built once, the
+ * calendar keeps a prefix-sum table ({@code prefix[i]} = business days in
+ * {@code [start, start + i)}), so counting the business days between two dates is two array
+ * reads, whatever the distance. Dates outside the range are rejected.
+ * </p>
+ */
+public final class BusinessCalendar {
+
+    private final String code;
+    private final LocalDate start;
+    private final LocalDate end;          // inclusive
+    private final int[] prefix;
+    private final Map<LocalDate, String> holidays;
+
+    private BusinessCalendar(String code, LocalDate start, LocalDate end, int[] prefix, Map<LocalDate, String> holidays) {
+        this.code = code;
+        this.start = start;
+        this.end = end;
+        this.prefix = prefix;
+        this.holidays = holidays;
+    }
+
+    /** A calendar with weekends only (Saturday and Sunday), e.g. for tests or unknown regions. */
+    public static BusinessCalendar weekendsOnly(String code, int firstYear, int lastYear) {
+        return builder(code, firstYear, lastYear).build();
+    }
+
+    public static Builder builder(String code, int firstYear, int lastYear) {
+        return new Builder(code, firstYear, lastYear);
+    }
+
+    public String code() {
+        return code;
+    }
+
+    public boolean covers(LocalDate date) {
+        return !date.isBefore(start) && !date.isAfter(end);
+    }
+
+    public boolean isBusinessDay(LocalDate date) {
+        int i = index(date);
+        return prefix[i + 1] - prefix[i] == 1;
+    }
+
+    /** The holiday's name, or {@code null} if the date is not a holiday. */
+    public String holidayName(LocalDate date) {
+        return holidays.get(date);
+    }
+
+    /** Holidays between two dates (inclusive), in date order. */
+    public Map<LocalDate, String> holidaysBetween(LocalDate from, LocalDate to) {
+        Map<LocalDate, String> out = new TreeMap<>();
+        holidays.forEach((d, name) -> {
+            if (!d.isBefore(from) && !d.isAfter(to)) out.put(d, name);
+        });
+        return out;
+    }
+
+    /** Business days in {@code [from, to]}, both ends included; 0 when {@code from} is after {@code to}. */
+    public int businessDaysBetween(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) return 0;
+        return prefix[index(to) + 1] - prefix[index(from)];
+    }
+
+    private int index(LocalDate date) {
+        if (!covers(date)) {
+            throw new IllegalArgumentException("Date " + date + " outside calendar " + code
+                    + " (" + start + " .. " + end + ")");
+        }
+        return (int) ChronoUnit.DAYS.between(start, date);
+    }
+
+    /** Computus (anonymous Gregorian algorithm). */
+    public static LocalDate easterSunday(int year) {
+        int a = year % 19, b = year / 100, c = year % 100;
+        int d = b / 4, e = b % 4, f = (b + 8) / 25, g = (b - f + 1) / 3;
+        int h = (19 * a + b - d - g + 15) % 30;
+        int i = c / 4, k = c % 4;
+        int l = (32 + 2 * e + 2 * i - h - k) % 7;
+        int m = (a + 11 * h + 22 * l) / 451;
+        int month = (h + l - 7 * m + 114) / 31;
+        int day = (h + l - 7 * m + 114) % 31 + 1;
+        return LocalDate.of(year, month, day);
+    }
+
+    public static final class Builder {
+
+        private final String code;
+        private final int firstYear;
+        private final int lastYear;
+        private final Set<DayOfWeek> weekend = EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+        private final Map<LocalDate, String> holidays = new HashMap<>();
+
+        private Builder(String code, int firstYear, int lastYear) {
+            if (firstYear > lastYear) throw new IllegalArgumentException("firstYear > lastYear");
+            this.code = code;
+            this.firstYear = firstYear;
+            this.lastYear = lastYear;
+        }
+
+        public Builder weekend(List<DayOfWeek> days) {
+            weekend.clear();
+            weekend.addAll(days);
+            return this;
+        }
+
+        /** Same day every year; skipped in years where it does not exist (29 February). */
+        public Builder yearly(MonthDay day, String name) {
+            for (int y = firstYear; y <= lastYear; y++) {
+                if (day.isValidYear(y)) holidays.putIfAbsent(day.atYear(y), name);
+            }
+            return this;
+        }
+
+        /** Easter Sunday plus {@code offsetDays} every year (Easter Monday is +1). */
+        public Builder easterRelative(int offsetDays, String name) {
+            for (int y = firstYear; y <= lastYear; y++) {
+                holidays.putIfAbsent(easterSunday(y).plusDays(offsetDays), name);
+            }
+            return this;
+        }
+
+        public Builder on(LocalDate date, String name) {
+            if (date.getYear() >= firstYear && date.getYear() <= lastYear) holidays.put(date, name);
+            return this;
+        }
+
+        public BusinessCalendar build() {
+            LocalDate start = LocalDate.of(firstYear, 1, 1);
+            LocalDate end = LocalDate.of(lastYear, 12, 31);
+            int days = (int) ChronoUnit.DAYS.between(start, end) + 1;
+            int[] prefix = new int[days + 1];
+            LocalDate d = start;
+            for (int i = 0; i < days; i++, d = d.plusDays(1)) {
+                boolean business = !weekend.contains(d.getDayOfWeek()) && !holidays.containsKey(d);
+                prefix[i + 1] = prefix[i] + (business ? 1 : 0);
+            }
+            return new BusinessCalendar(code, start, end, prefix, Collections.unmodifiableMap(new HashMap<>(holidays)));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package epitech.timemanager1.util;
+
+import epitech.timemanager1.entities.Role;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+/**
+ * A question to the hours cube: which measures, grouped by which dimensions, over which facts.
+ * <p>
+ * The text forms are the request parameters:
+ * </p>
+ * <ul>
+ *   <li>{@code by}: comma-separated dimensions, e.g. {@code team,month}; empty for a grand total</li>
+ *   <li>{@code measures}: comma-separated measures, e.g. {@code net_hours,lateness_rate}</li>
+ *   <li>{@code filter}: {@code dimension:value,value;dimension:value...}, values OR-ed within a
+ *       dimension and dimensions AND-ed, e.g. {@code team:3,5;role:EMPLOYEE;weekday:MON..FRI}.
+ *       Weeks are given by any of their days, months as {@code YYYY-MM}, weekdays as 1-7 or
+ *       {@code MON}-{@code SUN} with {@code ..} ranges.</li>
+ * </ul>
+ * Anything else is rejected with an {@link IllegalArgumentException}.
+ */
+public record CubeQuery(List<Dimension> by,
+                        List<Measure> measures,
+                        Map<Dimension, List<Object>> filters,
+                        LocalDate from,
+                        LocalDate to,
+                        int lateAfterSecond) {
+
+    public static final List<Measure> DEFAULT_MEASURES =
+            List.of(Measure.NET_HOURS, Measure.PAUSE_HOURS, Measure.DAYS, Measure.LATE_DAYS, Measure.LATENESS_RATE);
+
+    public enum Dimension {
+        USER, TEAM, ROLE, DAY, WEEK, MONTH, WEEKDAY;
+
+        public String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        /** Filter values of this dimension, in the type of the fact column. */
+        List<Object> parse(String value) {
+            return switch (this) {
+                case USER, TEAM -> List.of(Long.parseLong(value));
+                case ROLE -> List.of(Role.valueOf(value.toUpperCase(Locale.ROOT)));
+                case DAY -> List.of(LocalDate.parse(value));
+                case WEEK -> List.of(LocalDate.parse(value).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)));
+                case MONTH -> List.of(YearMonth.parse(value).atDay(1));
+                case WEEKDAY -> weekdays(value);
+            };
+        }
+
+        /** A grouped value as returned to the client. */
+        public Object format(Object value) {
+            if (value == null) return null;
+            return switch (this) {
+                case USER, TEAM -> value;
+                case ROLE, DAY, WEEK -> value.toString();
+                case MONTH -> YearMonth.from((LocalDate) value).toString();
+                case WEEKDAY -> DayOfWeek.of(((Number) value).intValue()).name();
+            };
+        }
+
+        private static List<Object> weekdays(String value) {
+            int range = value.indexOf("..");
+            if (range < 0) return List.of(weekday(value));
+            int first = weekday(value.substring(0, range)), last = weekday(value.substring(range + 2));
+            if (last < first) throw new IllegalArgumentException("Empty weekday range");
+            List<Object> days = new ArrayList<>();
+            for (int d = first; d <= last; d++) days.add(d);
+            return days;
+        }
+
+        private static int weekday(String value) {
+            if (value.length() == 1 && Character.isDigit(value.charAt(0))) {
+                return DayOfWeek.of(value.charAt(0) - '0').getValue();
+            }
+            String v = value.toUpperCase(Locale.ROOT);
+            for (DayOfWeek d : DayOfWeek.values()) {
+                if (v.length() >= 3 && d.name().startsWith(v)) return d.getValue();
+            }
+            throw new IllegalArgumentException("Unknown weekday: " + value);
+        }
+    }
+
+    public enum Measure {
+        NET_HOURS, PAUSE_HOURS, DAYS, LATE_DAYS, LATENESS_RATE, AVG_NET_HOURS;
+
+        public String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public CubeQuery {
+        by = List.copyOf(by);
+        measures = List.copyOf(measures);
+        Map<Dimension, List<Object>> copy = new EnumMap<>(Dimension.class);
+        filters.forEach((d, values) -> copy.put(d, List.copyOf(values)));
+        filters = Collections.unmodifiableMap(copy);
+    }
+
+    public static CubeQuery parse(String by, String measures, String filter,
+                                  LocalDate from, LocalDate to, LocalTime lateAfter) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Invalid date window");
+        }
+        List<Dimension> dims = new ArrayList<>();
+        for (String token : tokens(by, ",")) {
+            Dimension d = constant(Dimension.class, token, "dimension");
+            if (dims.contains(d)) throw new IllegalArgumentException("Dimension listed twice: " + token);
+            dims.add(d);
+        }
+        List<Measure> ms = new ArrayList<>();
+        for (String token : tokens(measures, ",")) {
+            Measure m = constant(Measure.class, token, "measure");
+            if (!ms.contains(m)) ms.add(m);
+        }
+        Map<Dimension, List<Object>> filters = new EnumMap<>(Dimension.class);
+        for (String clause : tokens(filter, ";")) {
+            int colon = clause.indexOf(':');
+            if (colon <= 0) throw new IllegalArgumentException("Filter must be dimension:value[,value]: " + clause);
+            Dimension d = constant(Dimension.class, clause.substring(0, colon), "dimension");
+            if (filters.containsKey(d)) throw new IllegalArgumentException("Dimension filtered twice: " + d.key());
+            List<Object> values = new ArrayList<>();
+            for (String v : tokens(clause.substring(colon + 1), ",")) {
+                try {
+                    for (Object o : d.parse(v)) if (!values.contains(o)) values.add(o);
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("Invalid " + d.key() + " value: " + v);
+                }
+            }
+            if (values.isEmpty()) throw new IllegalArgumentException("No value for filter " + d.key());
+            filters.put(d, values);
+        }
+        return new CubeQuery(dims, ms.isEmpty() ? DEFAULT_MEASURES : ms, filters, from, to,
+                (lateAfter == null ? LocalTime.of(9, 5) : lateAfter).toSecondOfDay());
+    }
+
+    private static List<String> tokens(String text, String separator) {
+        if (text == null || text.isBlank()) return List.of();
+        List<String> out = new ArrayList<>();
+        for (String t : text.split(separator)) {
+            if (!t.isBlank()) out.add(t.trim());
+        }
+        return out;
+    }
+
+    private static <E extends Enum<E>> E constant(Class<E> type, String token, String what) {
+        try {
+            return Enum.valueOf(type, token.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + what + ": " + token);
+        }
+    }
+}
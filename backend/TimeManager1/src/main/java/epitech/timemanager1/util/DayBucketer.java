@@ -0,0 +1,172 @@
+package epitech.timemanager1.util;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Splits stored timestamps into the local days of a site, DST included.
+ * <p>
+ * Timestamps are stored as zone-less {@link LocalDateTime}s in the storage zone. When the
+ * bucketer is built, it precomputes the storage zone's offset transitions around the window and
+ * the site's local midnights as epoch seconds. After that, converting a record to an instant
+ * needs no {@code ZonedDateTime}: it takes the local epoch second and looks up the offset in the
+ * table. Clipping an interval to days is a walk over the midnight array, so a 23- or 25-hour day
+ * is handled like any other. Instances are immutable; build one per request and window.
+ * </p>
+ */
+public final class DayBucketer {
+
+    private static final long DAY = 86_400;
+
+    private final LocalDate first;
+    private final long[] midnights; // days + 1 entries, epoch seconds
+    private final Offsets storage;
+    private final Offsets site;
+
+    private DayBucketer(LocalDate first, long[] midnights, Offsets storage, Offsets site) {
+        this.first = first;
+        this.midnights = midnights;
+        this.storage = storage;
+        this.site = site;
+    }
+
+    /** Days {@code first} to {@code last} (inclusive) of {@code siteZone}, for timestamps stored in {@code storageZone}. */
+    public static DayBucketer of(ZoneId storageZone, ZoneId siteZone, LocalDate first, LocalDate last) {
+        if (last.isBefore(first)) throw new IllegalArgumentException("last day before first day");
+        int days = (int) (last.toEpochDay() - first.toEpochDay()) + 1;
+        long[] midnights = new long[days + 1];
+        for (int i = 0; i <= days; i++) {
+            midnights[i] = first.plusDays(i).atStartOfDay(siteZone).toEpochSecond();
+        }
+        long lo = midnights[0] - DAY, hi = midnights[days] + DAY;
+        return new DayBucketer(first, midnights, Offsets.of(storageZone.getRules(), lo, hi),
+                Offsets.of(siteZone.getRules(), lo, hi));
+    }
+
+    public int days() {
+        return midnights.length - 1;
+    }
+
+    public LocalDate day(int index) {
+        return first.plusDays(index);
+    }
+
+    /** Start of day {@code index} (index {@link #days()} is the end of the window), epoch seconds. */
+    public long dayStart(int index) {
+        return midnights[index];
+    }
+
+    /** Start of the window as a stored timestamp, for repository queries. */
+    public LocalDateTime storageStart() {
+        return toStored(midnights[0]);
+    }
+
+    /** End (exclusive) of the window as a stored timestamp. */
+    public LocalDateTime storageEnd() {
+        return toStored(midnights[days()]);
+    }
+
+    /** Epoch seconds of a stored timestamp. */
+    public long toInstant(LocalDateTime stored) {
+        long local = stored.toEpochSecond(ZoneOffset.UTC);
+        return local - storage.forLocal(local);
+    }
+
+    private LocalDateTime toStored(long instant) {
+        return LocalDateTime.ofEpochSecond(instant, 0, ZoneOffset.ofTotalSeconds(storage.forInstant(instant)));
+    }
+
+    /** Index of the day containing {@code instant}, or -1 outside the window. */
+    public int dayOf(long instant) {
+        int i = floorDay(instant);
+        return i >= days() ? -1 : i;
+    }
+
+    /** Index of the last day starting at or before {@code instant}: -1 before the window, {@link #days()} after it. */
+    public int floorDay(long instant) {
+        int i = Arrays.binarySearch(midnights, instant);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    /** Site wall-clock second of the day of {@code instant} (e.g. 32 700 for 09:05). */
+    public int secondOfDay(long instant) {
+        return (int) Math.floorMod(instant + site.forInstant(instant), DAY);
+    }
+
+    /** Seconds of {@code [start, end)} inside the window. */
+    public long clippedSeconds(LocalDateTime start, LocalDateTime end) {
+        long s = Math.max(toInstant(start), midnights[0]);
+        long e = Math.min(toInstant(end), midnights[days()]);
+        return Math.max(0, e - s);
+    }
+
+    /** Adds the seconds of {@code [start, end)} falling on each day of the window to {@code perDay}. */
+    public void accumulate(LocalDateTime start, LocalDateTime end, long[] perDay) {
+        long s = Math.max(toInstant(start), midnights[0]);
+        long e = Math.min(toInstant(end), midnights[days()]);
+        for (int i = Math.max(0, floorDay(s)); s < e; i++) {
+            long cut = Math.min(e, midnights[i + 1]);
+            perDay[i] += cut - s;
+            s = cut;
+        }
+    }
+
+    /** Offset of a zone around the window, as a transition table. */
+    static final class Offsets {
+        private final int initial;
+        private final long[] at;       // transition instants
+        private final long[] localCut; // first local second mapped to the offset after the transition
+        private final int[] after;
+
+        private Offsets(int initial, long[] at, long[] localCut, int[] after) {
+            this.initial = initial;
+            this.at = at;
+            this.localCut = localCut;
+            this.after = after;
+        }
+
+        static Offsets of(ZoneRules rules, long lo, long hi) {
+            int initial = rules.getOffset(Instant.ofEpochSecond(lo)).getTotalSeconds();
+            if (rules.isFixedOffset()) return new Offsets(initial, new long[0], new long[0], new int[0]);
+            List<ZoneOffsetTransition> found = new ArrayList<>();
+            ZoneOffsetTransition t = rules.nextTransition(Instant.ofEpochSecond(lo));
+            while (t != null && t.toEpochSecond() <= hi) {
+                found.add(t);
+                t = rules.nextTransition(t.getInstant());
+            }
+            int n = found.size();
+            long[] at = new long[n], localCut = new long[n];
+            int[] after = new int[n];
+            for (int i = 0; i < n; i++) {
+                ZoneOffsetTransition tr = found.get(i);
+                int before = tr.getOffsetBefore().getTotalSeconds();
+                at[i] = tr.toEpochSecond();
+                after[i] = tr.getOffsetAfter().getTotalSeconds();
+                // gap: skipped local times keep the old offset (moved forward, as ZonedDateTime does);
+                // overlap: repeated local times take the earlier offset
+                localCut[i] = at[i] + Math.max(before, after[i]);
+            }
+            return new Offsets(initial, at, localCut, after);
+        }
+
+        int forInstant(long instant) {
+            int offset = initial;
+            for (int i = 0; i < at.length && at[i] <= instant; i++) offset = after[i];
+            return offset;
+        }
+
+        int forLocal(long local) {
+            int offset = initial;
+            for (int i = 0; i < localCut.length && localCut[i] <= local; i++) offset = after[i];
+            return offset;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package epitech.timemanager1.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Small in-memory index of intervals for repeated overlap queries.
+ * <p>
+ * Entries are kept sorted by start, together with a running maximum of the ends. A query
+ * binary-searches the last entry starting before the query end and walks backwards only while
+ * that running maximum can still reach the query start, so disjoint history is never scanned.
+ * Inserts are {@code O(n)}, which is fine for per-employee or per-team sets that are built
+ * once and then checked many times.
+ * </p>
+ * Use {@link #closed()} for inclusive date ranges (leaves) and {@link #halfOpen()} for
+ * {@code [start, end)} time ranges (shifts, clocks).
+ */
+public final class IntervalIndex<P extends Comparable<? super P>, V> {
+
+    private record Entry<P, V>(P start, P end, V value) {}
+
+    private final boolean closed;
+    private final List<Entry<P, V>> entries = new ArrayList<>();
+    /** maxEnd.get(i) = max end of entries[0..i] */
+    private final List<P> maxEnd = new ArrayList<>();
+
+    private IntervalIndex(boolean closed) {
+        this.closed = closed;
+    }
+
+    /** Intervals are {@code [start, end]}: touching ranges overlap. */
+    public static <P extends Comparable<? super P>, V> IntervalIndex<P, V> closed() {
+        return new IntervalIndex<>(true);
+    }
+
+    /** Intervals are {@code [start, end)}: touching ranges do not overlap. */
+    public static <P extends Comparable<? super P>, V> IntervalIndex<P, V> halfOpen() {
+        return new IntervalIndex<>(false);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void add(P start, P end, V value) {
+        int at = upperBound(start);
+        entries.add(at, new Entry<>(start, end, value));
+        maxEnd.add(at, null);
+        refreshMaxEnd(at);
+    }
+
+    /** Removes every entry holding {@code value}; returns whether one was found. */
+    public boolean remove(V value) {
+        int first = -1;
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            if (entries.get(i).value.equals(value)) {
+                entries.remove(i);
+                maxEnd.remove(i);
+                first = i;
+            }
+        }
+        if (first < 0) return false;
+        refreshMaxEnd(first);
+        return true;
+    }
+
+    private void refreshMaxEnd(int from) {
+        for (int i = from; i < entries.size(); i++) {
+            P prev = i == 0 ? null : maxEnd.get(i - 1);
+            P e = entries.get(i).end;
+            maxEnd.set(i, prev == null || e.compareTo(prev) > 0 ? e : prev);
+        }
+    }
+
+    public List<V> overlapping(P start, P end) {
+        List<V> out = new ArrayList<>();
+        scan(start, end, v -> {
+            out.add(v);
+            return false;
+        });
+        return out.reversed();
+    }
+
+    public Optional<V> firstOverlapping(P start, P end, Predicate<? super V> filter) {
+        List<V> hit = new ArrayList<>(1);
+        scan(start, end, v -> {
+            if (!filter.test(v)) return false;
+            hit.add(v);
+            return true;
+        });
+        return hit.stream().findFirst();
+    }
+
+    public boolean anyOverlapping(P start, P end, Predicate<? super V> filter) {
+        return firstOverlapping(start, end, filter).isPresent();
+    }
+
+    /** Visits overlapping entries from the latest start backwards until {@code visitor} returns true. */
+    private void scan(P start, P end, Predicate<V> visitor) {
+        // entries that start at/after `end` cannot overlap (strictly after for closed ranges)
+        int i = (closed ? upperBound(end) : lowerBound(end)) - 1;
+        for (; i >= 0; i--) {
+            if (!reaches(maxEnd.get(i), start)) return;
+            Entry<P, V> e = entries.get(i);
+            if (reaches(e.end, start) && visitor.test(e.value)) return;
+        }
+    }
+
+    private boolean reaches(P end, P start) {
+        int c = end.compareTo(start);
+        return closed ? c >= 0 : c > 0;
+    }
+
+    /** First index whose start is {@code > p}. */
+    private int upperBound(P p) {
+        int lo = 0, hi = entries.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (entries.get(mid).start.compareTo(p) <= 0) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    /** First index whose start is {@code >= p}. */
+    private int lowerBound(P p) {
+        int lo = 0, hi = entries.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (entries.get(mid).start.compareTo(p) < 0) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,202 @@
+package epitech.timemanager1.util;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A week at minute resolution: 7 &times; 1440 bits, bit {@code m} set when minute {@code m} of the
+ * week (Monday 00:00 = 0) is worked.
+ * <p>
+ * Fits, coverage and totals are word-wise operations on 158 longs, independent of how many
+ * slots the pattern has. Instances are immutable; build them with {@link #builder()}.
+ * </p>
+ */
+public final class WeeklyPattern {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+    private static final int WORDS = (MINUTES_PER_WEEK + 63) / 64;
+
+    private static final WeeklyPattern EMPTY = new WeeklyPattern(new long[WORDS]);
+
+    private final long[] bits;
+
+    private WeeklyPattern(long[] bits) {
+        this.bits = bits;
+    }
+
+    public static WeeklyPattern empty() {
+        return EMPTY;
+    }
+
+    /** Monday to Friday, 09:00-17:00: what shift generation used before templates had a pattern. */
+    public static WeeklyPattern officeHours() {
+        Builder b = builder();
+        for (DayOfWeek d : DayOfWeek.values()) {
+            if (d.getValue() <= 5) b.add(d, LocalTime.of(9, 0), LocalTime.of(17, 0));
+        }
+        return b.build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** The minutes covered by {@code [start, end)} intervals placed on the week starting {@code monday}. */
+    public static WeeklyPattern ofIntervals(LocalDate monday, List<LocalDateTime[]> intervals) {
+        LocalDateTime weekStart = monday.atStartOfDay();
+        long[] bits = new long[WORDS];
+        for (LocalDateTime[] iv : intervals) {
+            long from = Math.max(0, ChronoUnit.MINUTES.between(weekStart, iv[0]));
+            long to = Math.min(MINUTES_PER_WEEK, ChronoUnit.MINUTES.between(weekStart, iv[1]));
+            if (from < to) set(bits, (int) from, (int) to);
+        }
+        return new WeeklyPattern(bits);
+    }
+
+    static int minuteOfWeek(DayOfWeek day, int minuteOfDay) {
+        return (day.getValue() - 1) * MINUTES_PER_DAY + minuteOfDay;
+    }
+
+    public boolean isEmpty() {
+        for (long w : bits) {
+            if (w != 0) return false;
+        }
+        return true;
+    }
+
+    /** Worked minutes per week. */
+    public int minutes() {
+        int n = 0;
+        for (long w : bits) n += Long.bitCount(w);
+        return n;
+    }
+
+    public double hoursPerWeek() {
+        return minutes() / 60.0;
+    }
+
+    /**
+     * Whether every minute of {@code [start, end)} is in the pattern (the week repeats, so a shift
+     * may run from Sunday into Monday). Shifts longer than a week never fit.
+     */
+    public boolean covers(LocalDateTime start, LocalDateTime end) {
+        long length = Duration.between(start, end).toMinutes();
+        if (length <= 0) return true;
+        if (length > MINUTES_PER_WEEK) return false;
+        int from = minuteOfWeek(start.getDayOfWeek(), start.getHour() * 60 + start.getMinute());
+        int to = from + (int) length;
+        if (to <= MINUTES_PER_WEEK) return allSet(from, to);
+        return allSet(from, MINUTES_PER_WEEK) && allSet(0, to - MINUTES_PER_WEEK);
+    }
+
+    /** Minutes of this pattern that are not in {@code other}. */
+    public WeeklyPattern minus(WeeklyPattern other) {
+        long[] out = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) out[i] = bits[i] & ~other.bits[i];
+        return new WeeklyPattern(out);
+    }
+
+    /** Minutes in both patterns. */
+    public WeeklyPattern intersect(WeeklyPattern other) {
+        long[] out = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) out[i] = bits[i] & other.bits[i];
+        return new WeeklyPattern(out);
+    }
+
+    /** Runs of worked minutes of one day, as {@code [startMinute, endMinute)} pairs of that day. */
+    public List<int[]> ranges(DayOfWeek day) {
+        int base = minuteOfWeek(day, 0);
+        List<int[]> out = new ArrayList<>();
+        int m = nextSet(base, base + MINUTES_PER_DAY);
+        while (m < base + MINUTES_PER_DAY) {
+            int end = nextClear(m, base + MINUTES_PER_DAY);
+            out.add(new int[]{m - base, end - base});
+            m = nextSet(end, base + MINUTES_PER_DAY);
+        }
+        return out;
+    }
+
+    private boolean allSet(int from, int to) {
+        return nextClear(from, to) == to;
+    }
+
+    /** First set bit in {@code [from, limit)}, or {@code limit}. */
+    private int nextSet(int from, int limit) {
+        int i = from >>> 6;
+        if (from >= limit) return limit;
+        long w = bits[i] & (-1L << from);
+        while (true) {
+            if (w != 0) return Math.min(limit, (i << 6) + Long.numberOfTrailingZeros(w));
+            if (++i >= WORDS || (i << 6) >= limit) return limit;
+            w = bits[i];
+        }
+    }
+
+    /** First clear bit in {@code [from, limit)}, or {@code limit}. */
+    private int nextClear(int from, int limit) {
+        int i = from >>> 6;
+        if (from >= limit) return limit;
+        long w = ~bits[i] & (-1L << from);
+        while (true) {
+            if (w != 0) return Math.min(limit, (i << 6) + Long.numberOfTrailingZeros(w));
+            if (++i >= WORDS || (i << 6) >= limit) return limit;
+            w = ~bits[i];
+        }
+    }
+
+    private static void set(long[] bits, int from, int to) {
+        if (from >= to) return;
+        int first = from >>> 6, last = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (first == last) {
+            bits[first] |= firstMask & lastMask;
+            return;
+        }
+        bits[first] |= firstMask;
+        for (int i = first + 1; i < last; i++) bits[i] = -1L;
+        bits[last] |= lastMask;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof WeeklyPattern p && Arrays.equals(bits, p.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bits);
+    }
+
+    public static final class Builder {
+
+        private final long[] bits = new long[WORDS];
+
+        private Builder() {
+        }
+
+        /** Adds {@code [start, end)} on {@code day}; an {@code end} of {@code null} means midnight (24:00). */
+        public Builder add(DayOfWeek day, LocalTime start, LocalTime end) {
+            int from = start.getHour() * 60 + start.getMinute();
+            int to = end == null ? MINUTES_PER_DAY : end.getHour() * 60 + end.getMinute();
+            if (to <= from) {
+                throw new IllegalArgumentException(day + " " + start + "-" + (end == null ? "24:00" : end)
+                        + ": end must be after start");
+            }
+            set(bits, minuteOfWeek(day, from), minuteOfWeek(day, to));
+            return this;
+        }
+
+        public WeeklyPattern build() {
+            return new WeeklyPattern(bits.clone());
+        }
+    }
+}
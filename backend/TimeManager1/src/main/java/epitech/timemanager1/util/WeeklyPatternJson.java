@@ -0,0 +1,99 @@
+package epitech.timemanager1.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads the {@code weeklyPatternJson} of a schedule template, as written by the manager UI:
+ * <pre>
+ * { "mon": [["09:00","12:00"], ["13:00","17:00"]], "tue": [...], ...,
+ *   "excludedDates": ["2025-12-26"], "startDate": "2025-01-01", "endDate": "2025-12-31" }
+ * </pre>
+ * Slot ends may be {@code "24:00"}. Other keys (e.g. {@code pauseDuration}) are ignored.
+ */
+public final class WeeklyPatternJson {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Map<String, DayOfWeek> DAYS = Map.of(
+            "mon", DayOfWeek.MONDAY, "tue", DayOfWeek.TUESDAY, "wed", DayOfWeek.WEDNESDAY,
+            "thu", DayOfWeek.THURSDAY, "fri", DayOfWeek.FRIDAY, "sat", DayOfWeek.SATURDAY,
+            "sun", DayOfWeek.SUNDAY);
+
+    /**
+     * A compiled template pattern.
+     *
+     * @param validFrom     first day the pattern applies, or null
+     * @param validUntil    last day the pattern applies, or null
+     * @param excludedDates days without shifts
+     */
+    public record Compiled(WeeklyPattern pattern, LocalDate validFrom, LocalDate validUntil,
+                           Set<LocalDate> excludedDates) {
+
+        public boolean appliesOn(LocalDate date) {
+            return (validFrom == null || !date.isBefore(validFrom))
+                    && (validUntil == null || !date.isAfter(validUntil))
+                    && !excludedDates.contains(date);
+        }
+    }
+
+    private WeeklyPatternJson() {
+    }
+
+    /**
+     * Compiles a pattern; a null or blank one gives {@link WeeklyPattern#officeHours()}.
+     *
+     * @throws IllegalArgumentException if the JSON cannot be read
+     */
+    public static Compiled compile(String json) {
+        if (json == null || json.isBlank()) {
+            return new Compiled(WeeklyPattern.officeHours(), null, null, Set.of());
+        }
+        JsonNode root;
+        try {
+            root = JSON.readTree(json);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("not valid JSON: " + ex.getOriginalMessage());
+        }
+        if (!root.isObject()) throw new IllegalArgumentException("expected a JSON object");
+
+        WeeklyPattern.Builder builder = WeeklyPattern.builder();
+        try {
+            for (Map.Entry<String, DayOfWeek> day : DAYS.entrySet()) {
+                JsonNode slots = root.get(day.getKey());
+                if (slots == null || slots.isNull()) continue;
+                if (!slots.isArray()) throw new IllegalArgumentException(day.getKey() + ": expected a list of slots");
+                for (JsonNode slot : slots) {
+                    if (!slot.isArray() || slot.size() < 2) {
+                        throw new IllegalArgumentException(day.getKey() + ": a slot is [\"HH:mm\", \"HH:mm\"]");
+                    }
+                    String end = slot.get(1).asText();
+                    builder.add(day.getValue(), LocalTime.parse(slot.get(0).asText()),
+                            "24:00".equals(end) ? null : LocalTime.parse(end));
+                }
+            }
+
+            Set<LocalDate> excluded = new HashSet<>();
+            JsonNode ex = root.get("excludedDates");
+            if (ex != null && ex.isArray()) {
+                for (JsonNode d : ex) excluded.add(LocalDate.parse(d.asText()));
+            }
+            return new Compiled(builder.build(), date(root, "startDate"), date(root, "endDate"), Set.copyOf(excluded));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("cannot read '" + e.getParsedString() + "'");
+        }
+    }
+
+    private static LocalDate date(JsonNode root, String key) {
+        JsonNode n = root.get(key);
+        return n == null || n.isNull() || n.asText().isBlank() ? null : LocalDate.parse(n.asText());
+    }
+}
@@ -0,0 +1,146 @@
+package epitech.timemanager1.eventbus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferEventBusTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private RingBufferEventBus bus;
+
+    @AfterEach
+    void tearDown() {
+        if (bus != null) bus.stop();
+    }
+
+    @Test
+    void ring_buffer_rounds_capacity_and_reports_full_and_empty() {
+        RingBuffer<Integer> ring = new RingBuffer<>(5);
+        assertEquals(8, ring.capacity());
+
+        for (int i = 0; i < 8; i++) assertTrue(ring.offer(i));
+        assertFalse(ring.offer(99));
+        assertEquals(8, ring.size());
+
+        for (int i = 0; i < 8; i++) assertEquals(i, ring.poll());
+        assertNull(ring.poll());
+    }
+
+    @Test
+    void concurrent_producers_deliver_every_event_exactly_once_in_batches() throws Exception {
+        bus = new RingBufferEventBus(meters, 64, 16, BackpressurePolicy.BLOCK);
+        int producers = 4, perProducer = 5_000, total = producers * perProducer;
+
+        List<Object> received = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(total);
+        bus.subscribe("t", events -> {
+            batchSizes.add(events.size());
+            received.addAll(events);
+            events.forEach(e -> done.countDown());
+        });
+        bus.start();
+
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            pool.execute(() -> {
+                for (int i = 0; i < perProducer; i++) bus.publish("t", null, base + i);
+            });
+        }
+        pool.shutdown();
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(total, new HashSet<>(received).size());
+        assertTrue(batchSizes.stream().allMatch(n -> n >= 1 && n <= 16));
+    }
+
+    @Test
+    void events_of_one_producer_keep_their_order() throws Exception {
+        bus = new RingBufferEventBus(meters, 8, 4, BackpressurePolicy.BLOCK);
+        List<Object> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(1_000);
+        bus.subscribe("t", events -> {
+            received.addAll(events);
+            events.forEach(e -> done.countDown());
+        });
+        bus.start();
+
+        for (int i = 0; i < 1_000; i++) bus.publish("t", "k", i);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 1_000; i++) assertEquals(i, received.get(i));
+    }
+
+    @Test
+    void drop_policy_discards_and_counts_when_full() throws Exception {
+        bus = new RingBufferEventBus(meters, 2, 1, BackpressurePolicy.DROP);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        bus.subscribe("t", events -> {
+            blocked.countDown();
+            await(release);
+        });
+        bus.start();
+
+        bus.publish("t", null, 0);
+        assertTrue(blocked.await(5, TimeUnit.SECONDS)); // consumer holds event 0, ring is empty again
+        for (int i = 1; i <= 4; i++) bus.publish("t", null, i);
+        release.countDown();
+
+        assertEquals(2.0, meters.counter("eventbus.dropped", "topic", "t").count());
+    }
+
+    @Test
+    void caller_runs_policy_delivers_on_the_publishing_thread_when_full() throws Exception {
+        bus = new RingBufferEventBus(meters, 2, 1, BackpressurePolicy.CALLER_RUNS);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Set<String> threads = Collections.synchronizedSet(new HashSet<>());
+        bus.subscribe("t", events -> {
+            threads.add(Thread.currentThread().getName());
+            if (events.contains(0)) {
+                blocked.countDown();
+                await(release);
+            }
+        });
+        bus.start();
+
+        bus.publish("t", null, 0);
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 3; i++) bus.publish("t", null, i);
+        release.countDown();
+
+        assertTrue(threads.contains(Thread.currentThread().getName()));
+    }
+
+    @Test
+    void publish_without_subscriber_is_a_no_op() {
+        bus = new RingBufferEventBus(meters, 2, 1, BackpressurePolicy.BLOCK);
+        bus.start();
+        assertDoesNotThrow(() -> {
+            for (int i = 0; i < 10; i++) bus.publish("nobody", null, i);
+        });
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package epitech.timemanager1.exception;
+
+import epitech.timemanager1.entities.LeaveBalance;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiExceptionHandlerTest {
+
+    private final ApiExceptionHandler handler = new ApiExceptionHandler();
+
+    @Test
+    void concurrent_balance_posting_is_a_retryable_conflict() {
+        ResponseEntity<?> res = handler.handleOptimisticLock(
+                new ObjectOptimisticLockingFailureException(LeaveBalance.class, 3L));
+
+        assertEquals(409, res.getStatusCode().value());
+        assertEquals(true, ((Map<?, ?>) res.getBody()).get("retry"));
+    }
+
+    @Test
+    void concurrent_first_posting_is_a_retryable_conflict_without_constraint_details() {
+        ResponseEntity<?> res = handler.handleDataIntegrity(
+                new DataIntegrityViolationException("duplicate key value violates unique constraint ux_leave_balance"));
+
+        assertEquals(409, res.getStatusCode().value());
+        Map<?, ?> body = (Map<?, ?>) res.getBody();
+        assertEquals(true, body.get("retry"));
+        assertFalse(body.get("error").toString().contains("ux_leave_balance"));
+    }
+}
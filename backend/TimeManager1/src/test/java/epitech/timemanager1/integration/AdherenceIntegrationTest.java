@@ -0,0 +1,78 @@
+package epitech.timemanager1.integration;
+
+import epitech.timemanager1.IntegrationTest;
+import epitech.timemanager1.dto.AdherenceSummaryDTO;
+import epitech.timemanager1.dto.ShiftAdherenceDTO;
+import epitech.timemanager1.entities.Clock;
+import epitech.timemanager1.entities.Role;
+import epitech.timemanager1.entities.Team;
+import epitech.timemanager1.entities.User;
+import epitech.timemanager1.entities.WorkShift;
+import epitech.timemanager1.repositories.ClockRepository;
+import epitech.timemanager1.repositories.TeamRepository;
+import epitech.timemanager1.repositories.UserRepository;
+import epitech.timemanager1.repositories.WorkShiftRepository;
+import epitech.timemanager1.services.AdherenceService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@IntegrationTest
+@Transactional
+class AdherenceIntegrationTest {
+
+    @Autowired UserRepository users;
+    @Autowired TeamRepository teams;
+    @Autowired WorkShiftRepository shifts;
+    @Autowired ClockRepository clocks;
+    @Autowired AdherenceService adherence;
+
+    @Test
+    void shifts_are_matched_with_overlapping_clocks_of_their_employee() {
+        Team team = teams.save(Team.builder().name("Adherence team").createdAt(LocalDateTime.now()).build());
+        User ann = users.save(employee("ann.adherence@test.local"));
+        User ben = users.save(employee("ben.adherence@test.local"));
+        LocalDate day = LocalDate.of(2025, 3, 3);
+
+        shifts.save(WorkShift.builder().team(team).employee(ann)
+                .startAt(day.atTime(9, 0)).endAt(day.atTime(17, 0)).build());
+        shifts.save(WorkShift.builder().team(team).employee(ben)
+                .startAt(day.atTime(9, 0)).endAt(day.atTime(17, 0)).build());
+        shifts.save(WorkShift.builder().team(team) // unassigned: not judged
+                .startAt(day.atTime(9, 0)).endAt(day.atTime(17, 0)).build());
+
+        clocks.save(Clock.builder().user(ann).clockIn(day.atTime(9, 25)).clockOut(day.atTime(12, 0)).build());
+        clocks.save(Clock.builder().user(ann).clockIn(day.atTime(13, 0)).clockOut(day.atTime(17, 40)).build());
+        clocks.save(Clock.builder().user(ann).clockIn(day.plusDays(1).atTime(9, 0)) // another day
+                .clockOut(day.plusDays(1).atTime(17, 0)).build());
+
+        AdherenceSummaryDTO sum = adherence.forTeam(team.getId(), day, day, true);
+
+        assertEquals(2, sum.shiftCount());
+        ShiftAdherenceDTO a = byEmployee(sum.shifts(), ann);
+        assertEquals(25, a.lateMinutes());
+        assertEquals(40, a.overtimeMinutes());
+        assertEquals(155 + 240, a.workedMinutes());
+        assertTrue(byEmployee(sum.shifts(), ben).noShow());
+
+        List<AdherenceSummaryDTO> company = adherence.forCompany(day.withDayOfMonth(1), day.withDayOfMonth(31));
+        AdherenceSummaryDTO mine = company.stream().filter(t -> t.teamId().equals(team.getId())).findFirst().orElseThrow();
+        assertEquals(1, mine.lateCount());
+        assertEquals(1, mine.noShowCount());
+    }
+
+    private static ShiftAdherenceDTO byEmployee(List<ShiftAdherenceDTO> shifts, User u) {
+        return shifts.stream().filter(s -> s.employeeId().equals(u.getId())).findFirst().orElseThrow();
+    }
+
+    private static User employee(String email) {
+        return User.builder().firstName("Ad").lastName("Herence").email(email)
+                .password("{noop}x").role(Role.EMPLOYEE).active(true).build();
+    }
+}
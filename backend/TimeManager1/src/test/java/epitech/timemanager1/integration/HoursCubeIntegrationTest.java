@@ -0,0 +1,141 @@
+package epitech.timemanager1.integration;
+
+import epitech.timemanager1.IntegrationTest;
+import epitech.timemanager1.dto.HoursCubeDTO;
+import epitech.timemanager1.entities.Clock;
+import epitech.timemanager1.entities.ClockPause;
+import epitech.timemanager1.entities.Role;
+import epitech.timemanager1.entities.Team;
+import epitech.timemanager1.entities.User;
+import epitech.timemanager1.exception.ConflictException;
+import epitech.timemanager1.repositories.ClockPauseRepository;
+import epitech.timemanager1.repositories.ClockRepository;
+import epitech.timemanager1.repositories.TeamRepository;
+import epitech.timemanager1.repositories.UserRepository;
+import epitech.timemanager1.services.ClockPauseService;
+import epitech.timemanager1.services.ClockService;
+import epitech.timemanager1.services.HoursCubeService;
+import epitech.timemanager1.services.TeamMemberService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Not transactional: facts are refreshed once each clock or pause change has committed. */
+@IntegrationTest
+class HoursCubeIntegrationTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 2, 3);
+    private static final LocalDate SUNDAY = MONDAY.plusDays(6);
+
+    @Autowired UserRepository users;
+    @Autowired TeamRepository teams;
+    @Autowired ClockPauseRepository pauses;
+    @Autowired ClockRepository clocks;
+    @Autowired ClockService clockService;
+    @Autowired ClockPauseService pauseService;
+    @Autowired TeamMemberService memberService;
+    @Autowired HoursCubeService cube;
+
+    private final String tag = UUID.randomUUID().toString().substring(0, 8);
+
+    @Test
+    void clock_outs_feed_the_facts_and_rollups_slice_them() {
+        Team north = teams.save(Team.builder().name("Cube north " + tag).createdAt(LocalDateTime.now()).build());
+        Team south = teams.save(Team.builder().name("Cube south " + tag).createdAt(LocalDateTime.now()).build());
+        User ann = users.save(User.builder().firstName("Ann").lastName("Cube").email("ann.cube+" + tag + "@test.local")
+                .password("{noop}x").role(Role.EMPLOYEE).active(true).build());
+        User bob = users.save(User.builder().firstName("Bob").lastName("Cube").email("bob.cube+" + tag + "@test.local")
+                .password("{noop}x").role(Role.MANAGER).active(true).build());
+        memberService.addMember(north.getId(), ann.getId());
+        memberService.addMember(north.getId(), bob.getId());
+        memberService.addMember(south.getId(), bob.getId());
+
+        Clock monday = clockService.clockIn(ann.getId(), MONDAY.atTime(9, 0));
+        pauses.save(ClockPause.builder().clock(monday)
+                .startAt(MONDAY.atTime(12, 0)).endAt(MONDAY.atTime(13, 0)).build());
+        clockService.clockOut(ann.getId(), MONDAY.atTime(17, 0));                   // 7h net, 1h pause
+        clockService.clockIn(ann.getId(), MONDAY.plusDays(1).atTime(9, 30));
+        clockService.clockOut(ann.getId(), MONDAY.plusDays(1).atTime(17, 30));     // 8h, late
+        clockService.clockIn(bob.getId(), MONDAY.atTime(8, 0));
+        clockService.clockOut(bob.getId(), MONDAY.atTime(12, 0));                  // 4h
+
+        String teams = "team:" + north.getId() + "," + south.getId();
+
+        HoursCubeDTO byTeam = cube.query("team", "net_hours,days,late_days", teams, MONDAY, SUNDAY, null);
+        assertEquals(List.of("team"), byTeam.by());
+        assertEquals(2, byTeam.rows().size());
+        Map<String, Object> n = byTeam.rows().get(0);
+        assertEquals(north.getId(), n.get("team"));
+        assertEquals(19.0, n.get("net_hours"));
+        assertEquals(3L, n.get("days"));
+        assertEquals(1L, n.get("late_days"));
+        assertEquals(4.0, byTeam.rows().get(1).get("net_hours"));
+
+        // filtering on both teams counts Bob once
+        Map<String, Object> total = cube.query("", "net_hours,pause_hours,lateness_rate", teams, MONDAY, SUNDAY, null)
+                .rows().get(0);
+        assertEquals(19.0, total.get("net_hours"));
+        assertEquals(1.0, total.get("pause_hours"));
+        assertEquals(1.0 / 3, (double) total.get("lateness_rate"), 1e-9);
+
+        List<Map<String, Object>> mondays = cube.query("role,weekday", "net_hours",
+                teams + ";weekday:MON", MONDAY, SUNDAY, null).rows();
+        assertEquals(List.of(
+                Map.of("role", "EMPLOYEE", "weekday", "MONDAY", "net_hours", 7.0),
+                Map.of("role", "MANAGER", "weekday", "MONDAY", "net_hours", 4.0)), mondays);
+
+        // rebuilding the week from the clocks gives the same answer
+        HoursCubeDTO before = cube.query("user,day", null, teams, MONDAY, SUNDAY, null);
+        assertTrue(cube.rebuild(MONDAY, SUNDAY) >= 3);
+        assertEquals(before.rows(), cube.query("user,day", null, teams, MONDAY, SUNDAY, null).rows());
+
+        assertThrows(ConflictException.class, () -> cube.query("colour", null, null, MONDAY, SUNDAY, null));
+        assertThrows(ConflictException.class, () -> cube.query("team", null, null, MONDAY, MONDAY.plusYears(2), null));
+    }
+
+    @Test
+    void pauses_edited_or_removed_after_clock_out_refresh_the_facts() {
+        Team team = teams.save(Team.builder().name("Cube pauses " + tag).createdAt(LocalDateTime.now()).build());
+        User cat = users.save(User.builder().firstName("Cat").lastName("Cube").email("cat.cube+" + tag + "@test.local")
+                .password("{noop}x").role(Role.EMPLOYEE).active(true).build());
+        memberService.addMember(team.getId(), cat.getId());
+        Clock monday = clockService.clockIn(cat.getId(), MONDAY.atTime(9, 0));
+        clockService.clockOut(cat.getId(), MONDAY.atTime(17, 0));
+        ClockPause lunch = pauseService.create(monday.getId(), MONDAY.atTime(12, 0), MONDAY.atTime(13, 0), null);
+        String filter = "team:" + team.getId();
+        assertEquals(7.0, cube.query("", "net_hours", filter, MONDAY, SUNDAY, null).rows().get(0).get("net_hours"));
+
+        pauseService.update(monday.getId(), lunch.getId(), MONDAY.atTime(12, 0), MONDAY.atTime(12, 30), null);
+        assertEquals(7.5, cube.query("", "net_hours", filter, MONDAY, SUNDAY, null).rows().get(0).get("net_hours"));
+
+        pauseService.delete(monday.getId(), lunch.getId());
+        assertEquals(8.0, cube.query("", "net_hours", filter, MONDAY, SUNDAY, null).rows().get(0).get("net_hours"));
+    }
+
+    @Test
+    void backfill_fills_days_older_than_the_facts_over_several_windows() {
+        Team team = teams.save(Team.builder().name("Cube backfill " + tag).createdAt(LocalDateTime.now()).build());
+        User dan = users.save(User.builder().firstName("Dan").lastName("Cube").email("dan.cube+" + tag + "@test.local")
+                .password("{noop}x").role(Role.EMPLOYEE).active(true).build());
+        memberService.addMember(team.getId(), dan.getId());
+        // saved straight to the table, as clocks recorded before the cube existed
+        LocalDate first = LocalDate.of(2024, 6, 3);
+        LocalDate last = first.plusDays(45);
+        clocks.save(Clock.builder().user(dan).clockIn(first.atTime(9, 0)).clockOut(first.atTime(15, 0)).build());
+        clocks.save(Clock.builder().user(dan).clockIn(last.atTime(9, 0)).clockOut(last.atTime(13, 0)).build());
+        String filter = "team:" + team.getId();
+        assertEquals(0.0, cube.query("", "net_hours", filter, first, last, null).rows().get(0).get("net_hours"));
+
+        assertTrue(cube.backfill(first, last) >= 2);
+
+        assertEquals(10.0, cube.query("", "net_hours", filter, first, last, null).rows().get(0).get("net_hours"));
+        assertThrows(ConflictException.class, () -> cube.backfill(first, first.plusYears(3)));
+    }
+}
@@ -0,0 +1,86 @@
+package epitech.timemanager1.integration;
+
+import epitech.timemanager1.IntegrationTest;
+import epitech.timemanager1.dto.LeaveAccrualRuleDTO;
+import epitech.timemanager1.dto.LeaveBalanceDTO;
+import epitech.timemanager1.entities.LeaveLedgerEntryKind;
+import epitech.timemanager1.entities.LeaveRequest;
+import epitech.timemanager1.entities.LeaveType;
+import epitech.timemanager1.entities.Role;
+import epitech.timemanager1.entities.User;
+import epitech.timemanager1.repositories.UserRepository;
+import epitech.timemanager1.services.LeaveAccrualJob;
+import epitech.timemanager1.services.LeaveLedgerService;
+import epitech.timemanager1.services.LeaveRequestService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@IntegrationTest
+@Transactional
+class LeaveBalanceLedgerIntegrationTest {
+
+    @Autowired UserRepository users;
+    @Autowired LeaveRequestService leaves;
+    @Autowired LeaveLedgerService ledger;
+    @Autowired LeaveAccrualJob accrualJob;
+
+    Long employeeId;
+
+    @BeforeEach
+    void seed() {
+        employeeId = users.save(User.builder()
+                .firstName("Led").lastName("Ger")
+                .email("ledger@test.local").password("{noop}x")
+                .role(Role.EMPLOYEE).active(true).build()).getId();
+
+        LeaveAccrualRuleDTO paid = new LeaveAccrualRuleDTO();
+        paid.setDaysPerYear(new BigDecimal("25"));
+        paid.setCarryOverMaxDays(new BigDecimal("5"));
+        ledger.saveRule(LeaveType.PAID, paid);
+    }
+
+    private void assertBalance(String accrued, String taken, String pending, String available) {
+        LeaveBalanceDTO b = ledger.balanceFor(employeeId, LeaveType.PAID);
+        assertEquals(0, new BigDecimal(accrued).compareTo(b.accrued()), "accrued");
+        assertEquals(0, new BigDecimal(taken).compareTo(b.taken()), "taken");
+        assertEquals(0, new BigDecimal(pending).compareTo(b.pending()), "pending");
+        assertEquals(0, new BigDecimal(available).compareTo(b.available()), "available");
+    }
+
+    @Test
+    void leave_lifecycle_and_yearly_accrual_move_the_balance() {
+        accrualJob.run(2025);
+        assertBalance("25", "0", "0", "25");
+
+        LeaveRequest lr = leaves.requestLeave(employeeId, LeaveType.PAID,
+                LocalDate.of(2025, 5, 5), LocalDate.of(2025, 5, 7), "trip");
+        assertBalance("25", "0", "3", "22");
+
+        // Mon 5 .. Fri 9 May: 8 May is a public holiday in the default (FR) calendar
+        leaves.update(lr.getId(), null, LocalDate.of(2025, 5, 5), LocalDate.of(2025, 5, 9), null);
+        assertBalance("25", "0", "4", "21");
+
+        leaves.approve(lr.getId());
+        assertBalance("25", "4", "0", "21");
+
+        LeaveRequest rejected = leaves.requestLeave(employeeId, LeaveType.PAID,
+                LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 2), null);
+        leaves.reject(rejected.getId(), "no");
+        assertBalance("25", "4", "0", "21");
+
+        accrualJob.run(2025); // already credited: no change
+        assertBalance("25", "4", "0", "21");
+
+        accrualJob.run(2026); // 21 unused, 5 carried over, 16 expire, then 25 more
+        assertBalance("34", "4", "0", "30");
+
+        assertEquals(LeaveLedgerEntryKind.ACCRUAL, ledger.history(employeeId, LeaveType.PAID).get(0).kind());
+    }
+}
@@ -0,0 +1,134 @@
+package epitech.timemanager1.integration;
+
+import epitech.timemanager1.IntegrationTest;
+import epitech.timemanager1.dto.OvertimeRuleDTO;
+import epitech.timemanager1.dto.OvertimeWeekDTO;
+import epitech.timemanager1.dto.TeamOvertimeDTO;
+import epitech.timemanager1.entities.Clock;
+import epitech.timemanager1.entities.ClockPause;
+import epitech.timemanager1.entities.Role;
+import epitech.timemanager1.entities.Team;
+import epitech.timemanager1.entities.User;
+import epitech.timemanager1.events.ClockEvent;
+import epitech.timemanager1.repositories.ClockPauseRepository;
+import epitech.timemanager1.repositories.ClockRepository;
+import epitech.timemanager1.repositories.TeamRepository;
+import epitech.timemanager1.repositories.UserRepository;
+import epitech.timemanager1.services.ClockPauseService;
+import epitech.timemanager1.services.ClockService;
+import epitech.timemanager1.services.OvertimeService;
+import epitech.timemanager1.services.TeamMemberService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@IntegrationTest
+@Transactional
+class OvertimeIntegrationTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    @Autowired UserRepository users;
+    @Autowired TeamRepository teams;
+    @Autowired ClockRepository clocks;
+    @Autowired ClockPauseRepository pauses;
+    @Autowired ClockService clockService;
+    @Autowired ClockPauseService pauseService;
+    @Autowired TeamMemberService memberService;
+    @Autowired OvertimeService overtime;
+    @Autowired EntityManager em;
+
+    @Test
+    void clock_outs_feed_the_weekly_accumulator_with_the_team_rule() {
+        Team team = teams.save(Team.builder().name("Overtime team").createdAt(LocalDateTime.now()).build());
+        User eve = users.save(User.builder().firstName("Eve").lastName("Overtime").email("eve.overtime@test.local")
+                .password("{noop}x").role(Role.EMPLOYEE).active(true).build());
+        memberService.addMember(team.getId(), eve.getId());
+        overtime.saveRule(team.getId(), new OvertimeRuleDTO(null, 480, 600, 900));
+
+        clockService.clockIn(eve.getId(), MONDAY.atTime(8, 0));
+        clockService.clockOut(eve.getId(), MONDAY.atTime(18, 0));            // 600: 120 daily overtime
+
+        Clock tuesday = clockService.clockIn(eve.getId(), MONDAY.plusDays(1).atTime(8, 0));
+        pauses.save(ClockPause.builder().clock(tuesday)
+                .startAt(MONDAY.plusDays(1).atTime(12, 0)).endAt(MONDAY.plusDays(1).atTime(13, 0)).build());
+        em.flush();
+        em.clear();
+        clockService.clockOut(eve.getId(), MONDAY.plusDays(1).atTime(17, 0)); // 480 net
+        em.flush();
+
+        List<OvertimeWeekDTO> mine = overtime.forUser(eve.getId(), MONDAY, MONDAY.plusDays(6));
+        assertEquals(1, mine.size());
+        OvertimeWeekDTO week = mine.get(0);
+        assertEquals(1080, week.workedMinutes());
+        assertEquals(120, week.dailyOvertimeMinutes());
+        assertEquals(960 - 600, week.weeklyOvertimeMinutes());
+        assertEquals(960 - 900, week.higherRateMinutes());
+
+        TeamOvertimeDTO teamWeek = overtime.forTeam(team.getId(), MONDAY, MONDAY);
+        assertEquals(480, teamWeek.dailyOvertimeMinutes() + teamWeek.weeklyOvertimeMinutes());
+
+        // rebuilding the week from the clocks gives the same buckets
+        assertEquals(1, overtime.rebuildWeek(MONDAY.plusDays(3)));
+        OvertimeWeekDTO rebuilt = overtime.forUser(eve.getId(), MONDAY, MONDAY).get(0);
+        assertArrayEquals(week.dayMinutes(), rebuilt.dayMinutes());
+        assertEquals(week.totalOvertimeMinutes(), rebuilt.totalOvertimeMinutes());
+        assertEquals(week.higherRateMinutes(), rebuilt.higherRateMinutes());
+    }
+
+    @Test
+    void pauses_added_edited_or_removed_after_clock_out_recompute_the_week() {
+        User max = users.save(User.builder().firstName("Max").lastName("Overtime").email("max.overtime@test.local")
+                .password("{noop}x").role(Role.EMPLOYEE).active(true).build());
+        clockService.clockIn(max.getId(), MONDAY.atTime(8, 0));
+        Clock monday = clockService.clockOut(max.getId(), MONDAY.atTime(18, 0));
+        em.flush();
+        em.clear(); // each step below is its own request
+        assertEquals(600, overtime.forUser(max.getId(), MONDAY, MONDAY).get(0).workedMinutes());
+
+        ClockPause lunch = pauseService.create(monday.getId(), MONDAY.atTime(12, 0), MONDAY.atTime(13, 0), null);
+        em.flush();
+        em.clear();
+        assertEquals(540, overtime.forUser(max.getId(), MONDAY, MONDAY).get(0).workedMinutes());
+
+        pauseService.update(monday.getId(), lunch.getId(), null, MONDAY.atTime(12, 30), null);
+        em.flush();
+        em.clear();
+        assertEquals(570, overtime.forUser(max.getId(), MONDAY, MONDAY).get(0).workedMinutes());
+
+        pauseService.delete(monday.getId(), lunch.getId());
+        em.flush();
+        em.clear();
+        assertEquals(600, overtime.forUser(max.getId(), MONDAY, MONDAY).get(0).workedMinutes());
+
+        // replaying a clock-out recomputes rather than adds
+        overtime.onClock(new ClockEvent(ClockEvent.Type.CLOCK_OUT, monday.getId(), max.getId(),
+                monday.getClockIn(), monday.getClockOut(), LocalDateTime.now()));
+        assertEquals(600, overtime.forUser(max.getId(), MONDAY, MONDAY).get(0).workedMinutes());
+    }
+
+    @Test
+    void a_rule_change_recomputes_past_weeks_not_yet_closed() {
+        Team team = teams.save(Team.builder().name("Rule change team").createdAt(LocalDateTime.now()).build());
+        User ada = users.save(User.builder().firstName("Ada").lastName("Overtime").email("ada.overtime@test.local")
+                .password("{noop}x").role(Role.EMPLOYEE).active(true).build());
+        memberService.addMember(team.getId(), ada.getId());
+        clockService.clockIn(ada.getId(), MONDAY.atTime(8, 0));
+        clockService.clockOut(ada.getId(), MONDAY.atTime(18, 0));            // 600: within the default
+        em.flush();
+        assertEquals(0, overtime.forUser(ada.getId(), MONDAY, MONDAY).get(0).dailyOvertimeMinutes());
+
+        overtime.saveRule(team.getId(), new OvertimeRuleDTO(null, 480, null, null));
+        em.flush();
+        em.clear();
+
+        assertEquals(120, overtime.forUser(ada.getId(), MONDAY, MONDAY).get(0).dailyOvertimeMinutes());
+    }
+}
@@ -0,0 +1,197 @@
+package epitech.timemanager1.integration;
+
+import epitech.timemanager1.IntegrationTest;
+import epitech.timemanager1.dto.PayrollLineDTO;
+import epitech.timemanager1.dto.PayrollPeriodDTO;
+import epitech.timemanager1.entities.Clock;
+import epitech.timemanager1.entities.ClockPause;
+import epitech.timemanager1.entities.LeaveRequest;
+import epitech.timemanager1.entities.LeaveType;
+import epitech.timemanager1.entities.Role;
+import epitech.timemanager1.entities.ShiftSeries;
+import epitech.timemanager1.entities.Team;
+import epitech.timemanager1.entities.User;
+import epitech.timemanager1.exception.ConflictException;
+import epitech.timemanager1.repositories.ClockPauseRepository;
+import epitech.timemanager1.repositories.ClockRepository;
+import epitech.timemanager1.repositories.TeamRepository;
+import epitech.timemanager1.repositories.UserRepository;
+import epitech.timemanager1.services.ClockPauseService;
+import epitech.timemanager1.services.ClockService;
+import epitech.timemanager1.services.LeaveRequestService;
+import epitech.timemanager1.services.PayrollService;
+import epitech.timemanager1.services.ShiftSeriesService;
+import epitech.timemanager1.services.WorkShiftService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@IntegrationTest
+@Transactional
+class PayrollCloseIntegrationTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 3, 31);
+
+    @Autowired UserRepository users;
+    @Autowired TeamRepository teams;
+    @Autowired ClockRepository clocks;
+    @Autowired ClockPauseRepository pauses;
+    @Autowired ClockService clockService;
+    @Autowired ClockPauseService pauseService;
+    @Autowired LeaveRequestService leaves;
+    @Autowired PayrollService payroll;
+    @Autowired WorkShiftService shifts;
+    @Autowired ShiftSeriesService series;
+    @Autowired EntityManager em;
+
+    @Test
+    void closing_freezes_totals_and_locks_the_period() {
+        User paula = users.save(User.builder().firstName("Pau").lastName("Roll").email("paula.payroll@test.local")
+                .password("{noop}x").role(Role.EMPLOYEE).active(true).build());
+
+        Clock monday = clocks.save(Clock.builder().user(paula)
+                .clockIn(LocalDate.of(2025, 3, 3).atTime(9, 0)).clockOut(LocalDate.of(2025, 3, 3).atTime(17, 0)).build());
+        pauses.save(ClockPause.builder().clock(monday)
+                .startAt(LocalDate.of(2025, 3, 3).atTime(12, 0)).endAt(LocalDate.of(2025, 3, 3).atTime(13, 0)).build());
+        clocks.save(Clock.builder().user(paula) // half of it in the next period
+                .clockIn(LocalDate.of(2025, 3, 31).atTime(22, 0)).clockOut(LocalDate.of(2025, 4, 1).atTime(2, 0)).build());
+        LeaveRequest leave = leaves.requestLeave(paula.getId(), LeaveType.PAID,
+                LocalDate.of(2025, 3, 13), LocalDate.of(2025, 3, 18), "trip"); // Thu..Tue: 4 business days
+        leaves.approve(leave.getId());
+        em.flush();
+        em.clear();
+
+        PayrollPeriodDTO closed = payroll.close(FROM, TO);
+        em.flush();
+        em.clear();
+
+        assertTrue(closed.compressedSize() > 0);
+        PayrollLineDTO line = payroll.line(closed.id(), paula.getId());
+        assertEquals(7 * 60 + 2 * 60, line.netMinutes());
+        assertEquals(60, line.pauseMinutes());
+        assertEquals(4, line.leaveDays());
+        assertEquals(closed.sha256(), payroll.snapshot(closed.id()).period().sha256());
+
+        assertThrows(ConflictException.class, () -> payroll.close(TO, TO));
+        assertThrows(ConflictException.class,
+                () -> clockService.clockIn(paula.getId(), LocalDate.of(2025, 3, 10).atTime(9, 0)));
+        assertThrows(ConflictException.class,
+                () -> pauseService.create(monday.getId(), LocalDate.of(2025, 3, 3).atTime(15, 0),
+                        LocalDate.of(2025, 3, 3).atTime(15, 30), null));
+    }
+
+    @Test
+    void a_period_with_an_open_session_cannot_be_closed() {
+        User olly = users.save(User.builder().firstName("Ol").lastName("Ly").email("olly.payroll@test.local")
+                .password("{noop}x").role(Role.EMPLOYEE).active(true).build());
+        clocks.save(Clock.builder().user(olly).clockIn(LocalDate.of(2025, 3, 20).atTime(9, 0)).build());
+
+        assertThrows(ConflictException.class, () -> payroll.close(FROM, TO));
+    }
+
+    @Test
+    void a_session_open_since_before_the_period_blocks_its_close() {
+        User olga = users.save(User.builder().firstName("Ol").lastName("Ga").email("olga.payroll@test.local")
+                .password("{noop}x").role(Role.EMPLOYEE).active(true).build());
+        clocks.save(Clock.builder().user(olga).clockIn(LocalDate.of(2025, 2, 20).atTime(9, 0)).build());
+
+        assertThrows(ConflictException.class, () -> payroll.close(FROM, TO));
+    }
+
+    @Test
+    void clocking_out_across_a_closed_period_is_refused() {
+        User cleo = users.save(User.builder().firstName("Cl").lastName("Eo").email("cleo.payroll@test.local")
+                .password("{noop}x").role(Role.EMPLOYEE).active(true).build());
+        payroll.close(FROM, TO);
+        em.flush();
+        // opened before the period and forgotten until after it: both ends are outside the closed days
+        clocks.save(Clock.builder().user(cleo).clockIn(LocalDate.of(2025, 2, 27).atTime(9, 0)).build());
+        em.flush();
+
+        assertThrows(ConflictException.class,
+                () -> clockService.clockOut(cleo.getId(), LocalDate.of(2025, 4, 2).atTime(17, 0)));
+    }
+
+    @Test
+    void a_week_straddling_two_periods_is_counted_whole_in_the_one_holding_its_sunday() {
+        User sam = users.save(User.builder().firstName("Sa").lastName("Am").email("sam.payroll@test.local")
+                .password("{noop}x").role(Role.EMPLOYEE).active(true).build());
+        // 45h in the week of Monday 24 March: 27h before the boundary, 18h after it
+        for (int d = 24; d <= 28; d++) {
+            clocks.save(Clock.builder().user(sam)
+                    .clockIn(LocalDate.of(2025, 3, d).atTime(8, 0)).clockOut(LocalDate.of(2025, 3, d).atTime(17, 0)).build());
+        }
+        em.flush();
+        em.clear();
+
+        PayrollPeriodDTO first = payroll.close(FROM, LocalDate.of(2025, 3, 26));
+        PayrollPeriodDTO second = payroll.close(LocalDate.of(2025, 3, 27), LocalDate.of(2025, 4, 20));
+        em.flush();
+        em.clear();
+
+        PayrollLineDTO before = payroll.line(first.id(), sam.getId());
+        assertEquals(27 * 60, before.netMinutes());
+        assertEquals(0, before.weeklyOvertimeMinutes());
+        PayrollLineDTO after = payroll.line(second.id(), sam.getId());
+        assertEquals(18 * 60, after.netMinutes());
+        assertEquals(45 * 60 - 2100, after.weeklyOvertimeMinutes());
+        assertEquals(45 * 60 - 2580, after.higherRateMinutes());
+    }
+
+    @Test
+    void overtime_counts_the_whole_week_ending_in_the_period_and_leaves_and_shifts_inside_it_are_locked() {
+        User owen = users.save(User.builder().firstName("Ow").lastName("En").email("owen.payroll@test.local")
+                .password("{noop}x").role(Role.EMPLOYEE).active(true).build());
+        Team team = teams.save(Team.builder().name("Payroll team").createdAt(LocalDateTime.now()).build());
+        // the week of Monday 24 Feb straddles the period start and ends on Sunday 2 March: it belongs to March
+        clocks.save(Clock.builder().user(owen)
+                .clockIn(LocalDate.of(2025, 2, 28).atTime(8, 0)).clockOut(LocalDate.of(2025, 2, 28).atTime(20, 0)).build());
+        clocks.save(Clock.builder().user(owen)
+                .clockIn(LocalDate.of(2025, 3, 1).atTime(8, 0)).clockOut(LocalDate.of(2025, 3, 1).atTime(20, 0)).build());
+        em.flush();
+        em.clear();
+
+        PayrollPeriodDTO closed = payroll.close(FROM, TO);
+        em.flush();
+        em.clear();
+
+        PayrollLineDTO line = payroll.line(closed.id(), owen.getId());
+        assertEquals(12 * 60, line.netMinutes());
+        assertEquals(2 * (12 * 60 - 600), line.dailyOvertimeMinutes());
+
+        LeaveRequest leave = leaves.requestLeave(owen.getId(), LeaveType.PAID,
+                LocalDate.of(2025, 3, 24), LocalDate.of(2025, 3, 25), "late request");
+        assertThrows(ConflictException.class, () -> leaves.approve(leave.getId()));
+        assertThrows(ConflictException.class, () -> shifts.create(team.getId(), owen.getId(),
+                LocalDate.of(2025, 3, 10).atTime(9, 0), LocalDate.of(2025, 3, 10).atTime(17, 0), null, null));
+    }
+
+    @Test
+    void series_changes_over_a_closed_period_are_refused() {
+        User sia = users.save(User.builder().firstName("Si").lastName("A").email("sia.payroll@test.local")
+                .password("{noop}x").role(Role.EMPLOYEE).active(true).build());
+        Team team = teams.save(Team.builder().name("Series payroll team").createdAt(LocalDateTime.now()).build());
+        ShiftSeries mondays = series.create(team.getId(), sia.getId(), Set.of(DayOfWeek.MONDAY),
+                LocalTime.of(9, 0), LocalTime.of(17, 0), LocalDate.of(2025, 2, 3), null, false, null);
+        em.flush();
+
+        payroll.close(FROM, TO);
+        em.flush();
+
+        assertThrows(ConflictException.class, () -> series.create(team.getId(), sia.getId(), Set.of(DayOfWeek.TUESDAY),
+                LocalTime.of(9, 0), LocalTime.of(17, 0), LocalDate.of(2025, 3, 4), null, false, null));
+        assertThrows(ConflictException.class, () -> series.cancelOccurrence(mondays.getId(), LocalDate.of(2025, 3, 10)));
+        assertThrows(ConflictException.class, () -> series.end(mondays.getId(), LocalDate.of(2025, 2, 28)));
+        assertThrows(ConflictException.class, () -> series.delete(mondays.getId()));
+    }
+}
@@ -0,0 +1,108 @@
+package epitech.timemanager1.integration;
+
+import epitech.timemanager1.IntegrationTest;
+import epitech.timemanager1.dto.RosterCloneResultDTO;
+import epitech.timemanager1.entities.LeaveRequest;
+import epitech.timemanager1.entities.LeaveType;
+import epitech.timemanager1.entities.Role;
+import epitech.timemanager1.entities.Team;
+import epitech.timemanager1.entities.User;
+import epitech.timemanager1.entities.WorkShift;
+import epitech.timemanager1.repositories.TeamRepository;
+import epitech.timemanager1.repositories.UserRepository;
+import epitech.timemanager1.repositories.WorkShiftRepository;
+import epitech.timemanager1.services.LeaveRequestService;
+import epitech.timemanager1.services.WorkShiftService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@IntegrationTest
+@Transactional
+class RosterCloneIntegrationTest {
+
+    @Autowired UserRepository users;
+    @Autowired TeamRepository teams;
+    @Autowired WorkShiftRepository shifts;
+    @Autowired WorkShiftService service;
+    @Autowired LeaveRequestService leaves;
+
+    Team team;
+    User alice;
+    User bob;
+
+    @BeforeEach
+    void seed() {
+        team = teams.save(Team.builder().name("Clone team").createdAt(LocalDateTime.now()).build());
+        alice = users.save(employee("alice.clone@test.local"));
+        bob = users.save(employee("bob.clone@test.local"));
+
+        // Source week: Mon 3 .. Sun 9 March 2025
+        shift(alice, LocalDateTime.of(2025, 3, 3, 9, 0), LocalDateTime.of(2025, 3, 3, 17, 0));
+        shift(bob, LocalDateTime.of(2025, 3, 4, 9, 0), LocalDateTime.of(2025, 3, 4, 17, 0));
+        shift(null, LocalDateTime.of(2025, 3, 5, 9, 0), LocalDateTime.of(2025, 3, 5, 13, 0));
+    }
+
+    private static User employee(String email) {
+        return User.builder().firstName("Clo").lastName("Ne").email(email)
+                .password("{noop}x").role(Role.EMPLOYEE).active(true).build();
+    }
+
+    private void shift(User employee, LocalDateTime start, LocalDateTime end) {
+        shifts.save(WorkShift.builder().team(team).employee(employee).startAt(start).endAt(end).build());
+    }
+
+    @Test
+    void clones_into_following_weeks_skipping_leave_and_busy_slots() {
+        LeaveRequest lr = leaves.requestLeave(bob.getId(), LeaveType.PAID,
+                LocalDate.of(2025, 3, 11), LocalDate.of(2025, 3, 11), null);
+        leaves.approve(lr.getId());
+        shift(alice, LocalDateTime.of(2025, 3, 17, 10, 0), LocalDateTime.of(2025, 3, 17, 12, 0));
+
+        // any day of the source week will do
+        RosterCloneResultDTO result = service.cloneWeek(team.getId(), LocalDate.of(2025, 3, 6), 3);
+
+        assertEquals(LocalDate.of(2025, 3, 3), result.sourceWeekStart());
+        assertEquals(3, result.sourceShifts());
+        assertEquals(7, result.created());
+        assertEquals(2, result.skipped());
+
+        List<WorkShift> bobs = shifts.findByEmployeeIdAndStartAtBetweenOrderByStartAtAsc(bob.getId(),
+                LocalDateTime.of(2025, 3, 10, 0, 0), LocalDateTime.of(2025, 3, 31, 0, 0));
+        assertEquals(List.of(LocalDateTime.of(2025, 3, 18, 9, 0), LocalDateTime.of(2025, 3, 25, 9, 0)),
+                bobs.stream().map(WorkShift::getStartAt).toList());
+
+        RosterCloneResultDTO again = service.cloneWeek(team.getId(), LocalDate.of(2025, 3, 3), 3);
+        assertEquals(0, again.created());
+        assertEquals(9, again.skipped());
+    }
+
+    @Test
+    void a_shift_overlapping_the_next_week_copy_of_a_sunday_night_shift_is_not_cloned() {
+        User carol = users.save(employee("carol.clone@test.local"));
+        // Monday early shift, and a Sunday night one running into the next Monday morning
+        shift(carol, LocalDateTime.of(2025, 3, 3, 5, 0), LocalDateTime.of(2025, 3, 3, 13, 0));
+        shift(carol, LocalDateTime.of(2025, 3, 9, 22, 0), LocalDateTime.of(2025, 3, 10, 6, 0));
+
+        RosterCloneResultDTO result = service.cloneWeek(team.getId(), LocalDate.of(2025, 3, 3), 3);
+
+        assertEquals(5, result.sourceShifts());
+        assertEquals(9 + 3, result.created());
+
+        List<WorkShift> carols = shifts.findByEmployeeIdAndStartAtBetweenOrderByStartAtAsc(carol.getId(),
+                LocalDateTime.of(2025, 3, 10, 0, 0), LocalDateTime.of(2025, 3, 31, 0, 0));
+        assertEquals(List.of(LocalDateTime.of(2025, 3, 16, 22, 0), LocalDateTime.of(2025, 3, 23, 22, 0),
+                        LocalDateTime.of(2025, 3, 30, 22, 0)),
+                carols.stream().map(WorkShift::getStartAt).toList());
+        for (int i = 1; i < carols.size(); i++) {
+            assertFalse(carols.get(i).getStartAt().isBefore(carols.get(i - 1).getEndAt()));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package epitech.timemanager1.integration;
+
+import epitech.timemanager1.IntegrationTest;
+import epitech.timemanager1.entities.Role;
+import epitech.timemanager1.entities.ShiftSeries;
+import epitech.timemanager1.entities.Team;
+import epitech.timemanager1.entities.User;
+import epitech.timemanager1.entities.WorkShift;
+import epitech.timemanager1.exception.ConflictException;
+import epitech.timemanager1.repositories.TeamRepository;
+import epitech.timemanager1.repositories.UserRepository;
+import epitech.timemanager1.repositories.WorkShiftRepository;
+import epitech.timemanager1.services.ShiftSeriesService;
+import epitech.timemanager1.services.TimeSheetService;
+import epitech.timemanager1.services.WorkShiftService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@IntegrationTest
+@Transactional
+class ShiftSeriesIntegrationTest {
+
+    @Autowired UserRepository users;
+    @Autowired TeamRepository teams;
+    @Autowired WorkShiftRepository shifts;
+    @Autowired ShiftSeriesService seriesService;
+    @Autowired WorkShiftService workShiftService;
+    @Autowired TimeSheetService timesheets;
+
+    Team team;
+    User employee;
+    ShiftSeries weekdays;
+
+    @BeforeEach
+    void seed() {
+        team = teams.save(Team.builder().name("Series team").createdAt(LocalDateTime.now()).build());
+        employee = users.save(User.builder().firstName("Se").lastName("Ries").email("series@test.local")
+                .password("{noop}x").role(Role.EMPLOYEE).active(true).build());
+        weekdays = seriesService.create(team.getId(), employee.getId(),
+                Set.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY),
+                LocalTime.of(9, 0), LocalTime.of(17, 0),
+                LocalDate.of(2025, 1, 1), null, true, "weekday");
+    }
+
+    private List<WorkShift> week(LocalDate monday) {
+        return workShiftService.listEmployeeShifts(employee.getId(),
+                monday.atStartOfDay(), monday.plusDays(7).atStartOfDay());
+    }
+
+    @Test
+    void occurrences_are_expanded_on_read_without_rows() {
+        // Mon 5 .. Sun 11 May 2025; Thursday 8 May is a holiday (FR)
+        List<WorkShift> listed = week(LocalDate.of(2025, 5, 5));
+
+        assertEquals(List.of(5, 6, 7, 9), listed.stream().map(s -> s.getStartAt().getDayOfMonth()).toList());
+        assertTrue(listed.stream().allMatch(s -> s.getId() == null && weekdays.getId().equals(s.getSeriesId())));
+        assertEquals(0, shifts.count());
+
+        assertEquals(4, workShiftService.listTeamShifts(team.getId(),
+                LocalDateTime.of(2025, 5, 5, 0, 0), LocalDateTime.of(2025, 5, 12, 0, 0)).size());
+        TimeSheetService.EmployeeTimesheet ts = timesheets.timesheetForEmployee(employee.getId(),
+                LocalDate.of(2025, 5, 5), LocalDate.of(2025, 5, 5), ZoneId.of("UTC"));
+        assertEquals(1, ts.days().get(0).planned().size());
+    }
+
+    @Test
+    void edited_occurrence_is_materialised_and_cancelled_one_disappears() {
+        LocalDate tuesday = LocalDate.of(2025, 5, 13);
+        WorkShift edited = seriesService.editOccurrence(weekdays.getId(), tuesday, null,
+                tuesday.atTime(10, 0), tuesday.atTime(18, 0), null);
+        seriesService.cancelOccurrence(weekdays.getId(), LocalDate.of(2025, 5, 14));
+
+        List<WorkShift> listed = week(LocalDate.of(2025, 5, 12));
+        assertEquals(4, listed.size());
+        assertEquals(1, shifts.count());
+        WorkShift tue = listed.get(1);
+        assertEquals(edited.getId(), tue.getId());
+        assertEquals(LocalTime.of(10, 0), tue.getStartAt().toLocalTime());
+        assertTrue(listed.stream().noneMatch(s -> s.getStartAt().toLocalDate().equals(LocalDate.of(2025, 5, 14))));
+
+        // editing again updates the same row
+        seriesService.editOccurrence(weekdays.getId(), tuesday, null, null, tuesday.atTime(19, 0), null);
+        assertEquals(1, shifts.count());
+
+        // cancelling an edited occurrence removes its row
+        seriesService.cancelOccurrence(weekdays.getId(), tuesday);
+        assertEquals(0, shifts.count());
+        assertEquals(3, week(LocalDate.of(2025, 5, 12)).size());
+    }
+
+    @Test
+    void editing_an_occurrence_whose_shift_was_deleted_materialises_it_again() {
+        LocalDate tuesday = LocalDate.of(2025, 5, 13);
+        WorkShift edited = seriesService.editOccurrence(weekdays.getId(), tuesday, null,
+                tuesday.atTime(10, 0), tuesday.atTime(18, 0), null);
+        workShiftService.delete(edited.getId());
+        assertEquals(3, week(LocalDate.of(2025, 5, 12)).size());
+
+        WorkShift again = seriesService.editOccurrence(weekdays.getId(), tuesday, null, null, tuesday.atTime(16, 0), null);
+
+        assertNotEquals(edited.getId(), again.getId());
+        assertEquals(tuesday.atTime(9, 0), again.getStartAt());
+        assertEquals(tuesday.atTime(16, 0), again.getEndAt());
+        assertEquals(1, shifts.count());
+        assertEquals(4, week(LocalDate.of(2025, 5, 12)).size());
+    }
+
+    @Test
+    void cannot_edit_a_day_outside_the_rule() {
+        assertThrows(ConflictException.class, () -> seriesService.editOccurrence(weekdays.getId(),
+                LocalDate.of(2025, 5, 10), null, null, null, null)); // Saturday
+    }
+}
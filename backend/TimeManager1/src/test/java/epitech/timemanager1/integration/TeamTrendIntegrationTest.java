@@ -0,0 +1,90 @@
+package epitech.timemanager1.integration;
+
+import epitech.timemanager1.IntegrationTest;
+import epitech.timemanager1.dto.TeamTrendDTO;
+import epitech.timemanager1.dto.TeamWeekTrendDTO;
+import epitech.timemanager1.entities.Role;
+import epitech.timemanager1.entities.Team;
+import epitech.timemanager1.entities.User;
+import epitech.timemanager1.exception.ConflictException;
+import epitech.timemanager1.exception.NotFoundException;
+import epitech.timemanager1.repositories.TeamRepository;
+import epitech.timemanager1.repositories.UserRepository;
+import epitech.timemanager1.services.ClockService;
+import epitech.timemanager1.services.HoursCubeService;
+import epitech.timemanager1.services.ReportsService;
+import epitech.timemanager1.services.TeamMemberService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@IntegrationTest
+@Transactional
+class TeamTrendIntegrationTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 2, 3);
+
+    @Autowired UserRepository users;
+    @Autowired TeamRepository teams;
+    @Autowired ClockService clockService;
+    @Autowired TeamMemberService memberService;
+    @Autowired ReportsService reports;
+    @Autowired HoursCubeService cube;
+    @Autowired EntityManager em;
+
+    @Test
+    void weekly_series_come_from_one_grouped_query_with_empty_weeks_filled() {
+        Team team = teams.save(Team.builder().name("Trend team").createdAt(LocalDateTime.now()).build());
+        Team idle = teams.save(Team.builder().name("Trend idle").createdAt(LocalDateTime.now()).build());
+        User ann = users.save(User.builder().firstName("Ann").lastName("Trend").email("ann.trend@test.local")
+                .password("{noop}x").role(Role.EMPLOYEE).active(true).build());
+        User bob = users.save(User.builder().firstName("Bob").lastName("Trend").email("bob.trend@test.local")
+                .password("{noop}x").role(Role.EMPLOYEE).active(true).build());
+        memberService.addMember(team.getId(), ann.getId());
+        memberService.addMember(team.getId(), bob.getId());
+
+        clockService.clockIn(ann.getId(), MONDAY.atTime(9, 0));
+        clockService.clockOut(ann.getId(), MONDAY.atTime(17, 0));
+        clockService.clockIn(bob.getId(), MONDAY.plusDays(2).atTime(9, 30));
+        clockService.clockOut(bob.getId(), MONDAY.plusDays(2).atTime(13, 30));
+        clockService.clockIn(ann.getId(), MONDAY.plusWeeks(2).atTime(10, 0));
+        clockService.clockOut(ann.getId(), MONDAY.plusWeeks(2).atTime(16, 0));
+        em.flush();
+        // clock-outs refresh the facts after commit, which this test's transaction never reaches
+        cube.rebuild(MONDAY, MONDAY.plusWeeks(2).plusDays(6));
+
+        List<TeamTrendDTO> trends = reports.teamTrends(MONDAY.plusDays(3), MONDAY.plusWeeks(2).plusDays(6),
+                List.of(team.getId(), idle.getId()), null);
+
+        assertEquals(List.of("Trend idle", "Trend team"), trends.stream().map(TeamTrendDTO::teamName).toList());
+        TeamTrendDTO t = trends.get(1);
+        assertEquals(2, t.members());
+        assertEquals(List.of(MONDAY, MONDAY.plusWeeks(1), MONDAY.plusWeeks(2)),
+                t.weeks().stream().map(TeamWeekTrendDTO::weekStart).toList());
+
+        TeamWeekTrendDTO first = t.weeks().get(0);
+        assertEquals(12.0, first.netHours());
+        assertEquals(6.0, first.avgHours());
+        assertEquals(2, first.activeMembers());
+        assertEquals(2, first.daysWithClock());
+        assertEquals(1, first.lateDays());
+        assertEquals(0.5, first.latenessRate());
+
+        assertEquals(new TeamWeekTrendDTO(MONDAY.plusWeeks(1), 0.0, 0.0, 0, 0, 0, 0.0), t.weeks().get(1));
+        assertEquals(6.0, t.weeks().get(2).netHours());
+        assertEquals(1, t.weeks().get(2).lateDays());
+
+        assertTrue(trends.get(0).weeks().stream().allMatch(w -> w.netHours() == 0.0));
+        assertEquals(0, trends.get(0).members());
+
+        assertThrows(ConflictException.class, () -> reports.teamTrends(MONDAY, MONDAY.plusYears(3), null, null));
+        assertThrows(NotFoundException.class, () -> reports.teamTrends(MONDAY, MONDAY, List.of(-1L), null));
+    }
+}
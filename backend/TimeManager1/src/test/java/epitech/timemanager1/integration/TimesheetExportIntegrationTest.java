@@ -0,0 +1,99 @@
+package epitech.timemanager1.integration;
+
+import epitech.timemanager1.IntegrationTest;
+import epitech.timemanager1.entities.Clock;
+import epitech.timemanager1.entities.Role;
+import epitech.timemanager1.entities.ScheduleOverride;
+import epitech.timemanager1.entities.Team;
+import epitech.timemanager1.entities.User;
+import epitech.timemanager1.entities.WorkShift;
+import epitech.timemanager1.repositories.ClockRepository;
+import epitech.timemanager1.repositories.ScheduleOverrideRepository;
+import epitech.timemanager1.repositories.TeamRepository;
+import epitech.timemanager1.repositories.UserRepository;
+import epitech.timemanager1.repositories.WorkShiftRepository;
+import epitech.timemanager1.services.TimeSheetService;
+import epitech.timemanager1.services.TimesheetExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@IntegrationTest
+@Transactional
+class TimesheetExportIntegrationTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 3, 31);
+    private static final ZoneId UTC = ZoneId.of("UTC");
+
+    @Autowired UserRepository users;
+    @Autowired TeamRepository teams;
+    @Autowired ClockRepository clocks;
+    @Autowired WorkShiftRepository shifts;
+    @Autowired ScheduleOverrideRepository overrides;
+    @Autowired TimeSheetService timesheets;
+
+    @Test
+    void export_streams_the_same_rows_as_single_timesheets_in_id_order() throws Exception {
+        Team team = teams.save(Team.builder().name("Export team").createdAt(LocalDateTime.now()).build());
+        List<User> staff = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            User u = users.save(User.builder().firstName(i == 0 ? "=Exp0" : "Exp" + i).lastName(i == 0 ? "Formula, Inc" : "Export")
+                    .email("export" + i + "@test.local").password("{noop}x").role(Role.EMPLOYEE).active(true).build());
+            staff.add(u);
+            LocalDate day = FROM.plusDays(2 + i);
+            shifts.save(WorkShift.builder().team(team).employee(u)
+                    .startAt(day.atTime(9, 0)).endAt(day.atTime(17, 0)).build());
+            clocks.save(Clock.builder().user(u).clockIn(day.atTime(9, 10)).clockOut(day.atTime(16, 50)).build());
+        }
+        overrides.save(ScheduleOverride.builder().employee(staff.get(1)).date(FROM.plusDays(3))
+                .field("location").value("Lyon").build());
+        users.save(User.builder().firstName("Gone").lastName("Export").email("export.gone@test.local")
+                .password("{noop}x").role(Role.EMPLOYEE).active(false).build());
+
+        // slices of 2 on 2 workers: several slices in flight, each split across threads
+        TimesheetExportService export = new TimesheetExportService(timesheets, users, 2, 2);
+        StringWriter out = new StringWriter();
+        int written = export.writeCsv(FROM, TO, UTC, out);
+
+        List<String> lines = Arrays.asList(out.toString().split("\r\n"));
+        assertTrue(lines.get(0).startsWith("employee_id,employee,date"));
+        long active = users.findAll().stream().filter(User::isActive).count();
+        assertEquals(active, written);
+        assertEquals(active * 31 + 1, lines.size());
+
+        for (User u : staff) {
+            StringWriter single = new StringWriter();
+            TimesheetExportService.writeRows(timesheets.timesheetForEmployee(u.getId(), FROM, TO, UTC), single);
+            List<String> expected = Arrays.asList(single.toString().split("\r\n"));
+            List<String> exported = lines.stream().filter(l -> l.startsWith(u.getId() + ",")).toList();
+            assertEquals(expected, exported);
+        }
+
+        String row = lines.stream().filter(l -> l.startsWith(staff.get(0).getId() + ",") && l.contains(",2025-03-03,"))
+                .findFirst().orElseThrow();
+        assertEquals(staff.get(0).getId() + ",\"'=Exp0 Formula, Inc\",2025-03-03,09:00-17:00,7.67,7.0,,,", row);
+
+        // overrides are read in bulk with the slice and land on their day
+        assertTrue(lines.stream().anyMatch(l -> l.startsWith(staff.get(1).getId() + ",")
+                && l.contains(",2025-03-04,") && l.endsWith(",location=Lyon")));
+
+        // ids never go backwards: rows come out slice by slice in employee id order
+        long previous = 0;
+        for (String l : lines.subList(1, lines.size())) {
+            long id = Long.parseLong(l.substring(0, l.indexOf(',')));
+            assertTrue(id >= previous);
+            previous = id;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package epitech.timemanager1.kafka.codec;
+
+import epitech.timemanager1.entities.LeaveStatus;
+import epitech.timemanager1.entities.LeaveType;
+import epitech.timemanager1.events.LeaveStatusChangedEvent;
+import epitech.timemanager1.events.UserRegisteredEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binary codec vs. Spring's JSON (de)serializer on two representative events.
+ * The JSON readers get a fixed target type (no type-header lookup), so their numbers are a best case.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=epitech.timemanager1.kafka.codec.EventCodecBenchmark}
+ * or straight from the IDE; not part of the surefire run.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventCodecBenchmark {
+
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+    private final JsonDeserializer<UserRegisteredEvent> smallJsonDeserializer =
+            new JsonDeserializer<>(UserRegisteredEvent.class).ignoreTypeHeaders();
+    private final JsonDeserializer<LeaveStatusChangedEvent> largeJsonDeserializer =
+            new JsonDeserializer<>(LeaveStatusChangedEvent.class).ignoreTypeHeaders();
+    private final EventCodec codec = EventCodec.DEFAULT;
+
+    private Object small;
+    private Object large;
+    private byte[] smallJson, largeJson, smallBinary, largeBinary;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_000_000);
+        small = new UserRegisteredEvent(42L, "ada@example.com", "Ada", now);
+        large = new LeaveStatusChangedEvent(4242L, 42L, LeaveType.PAID, LeaveStatus.PENDING, LeaveStatus.APPROVED,
+                LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 15), now);
+
+        smallJson = jsonSerializer.serialize("t", small);
+        largeJson = jsonSerializer.serialize("t", large);
+        smallBinary = codec.encode(small);
+        largeBinary = codec.encode(large);
+    }
+
+    @Benchmark public byte[] encodeSmallJson() { return jsonSerializer.serialize("t", small); }
+    @Benchmark public byte[] encodeSmallBinary() { return codec.encode(small); }
+    @Benchmark public byte[] encodeLargeJson() { return jsonSerializer.serialize("t", large); }
+    @Benchmark public byte[] encodeLargeBinary() { return codec.encode(large); }
+
+    @Benchmark public Object decodeSmallJson() { return smallJsonDeserializer.deserialize("t", smallJson); }
+    @Benchmark public Object decodeSmallBinary() { return codec.decode(smallBinary); }
+    @Benchmark public Object decodeLargeJson() { return largeJsonDeserializer.deserialize("t", largeJson); }
+    @Benchmark public Object decodeLargeBinary() { return codec.decode(largeBinary); }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EventCodecBenchmark.class.getSimpleName()).build()).run();
+    }
+}
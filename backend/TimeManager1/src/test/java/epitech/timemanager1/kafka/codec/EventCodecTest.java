@@ -0,0 +1,157 @@
+package epitech.timemanager1.kafka.codec;
+
+import epitech.timemanager1.entities.LeaveStatus;
+import epitech.timemanager1.entities.LeaveType;
+import epitech.timemanager1.events.ClockEvent;
+import epitech.timemanager1.events.ClockPauseEvent;
+import epitech.timemanager1.events.LeaveStatusChangedEvent;
+import epitech.timemanager1.events.PasswordResetRequestedEvent;
+import epitech.timemanager1.events.UserApprovedEvent;
+import epitech.timemanager1.events.UserRegisteredEvent;
+import epitech.timemanager1.events.UserRejectedEvent;
+import epitech.timemanager1.events.WorkShiftEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventCodecTest {
+
+    static final LocalDateTime T = LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_793_238);
+
+    static List<Object> samples() {
+        return List.of(
+                new UserRegisteredEvent(1L, "ada@example.com", "Ada", T),
+                new UserApprovedEvent(2L, "bob@example.com", "Bob", T),
+                new UserRejectedEvent(3L, "eve@example.com", "Ève", "Account rejected by admin", T),
+                new PasswordResetRequestedEvent(4L, "ada@example.com", "https://tm.local/reset?token=abc", T),
+                new ClockEvent(ClockEvent.Type.CLOCK_OUT, 10L, 1L, T.minusHours(8), T, T),
+                new ClockPauseEvent(ClockPauseEvent.Type.PAUSE_STARTED, 20L, 10L, 1L, T, null, T),
+                new WorkShiftEvent(WorkShiftEvent.Type.SHIFT_UNASSIGNED, 30L, 5L, null, T, T.plusHours(4), T),
+                new LeaveStatusChangedEvent(40L, 1L, LeaveType.PAID, null, LeaveStatus.PENDING,
+                        LocalDate.of(1969, 7, 20), LocalDate.of(2038, 1, 19), T)
+        );
+    }
+
+    @Test
+    void every_catalogued_event_round_trips() {
+        for (Object event : samples()) {
+            byte[] bytes = EventCodec.DEFAULT.encode(event);
+            assertEquals(event, EventCodec.DEFAULT.decode(bytes), event.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void pause_edits_round_trip_with_the_previous_interval() {
+        ClockPauseEvent changed = new ClockPauseEvent(ClockPauseEvent.Type.PAUSE_CHANGED, 20L, 10L, 1L,
+                T, T.plusMinutes(30), T, T.minusMinutes(5), T.plusMinutes(20));
+        ClockPauseEvent removed = new ClockPauseEvent(ClockPauseEvent.Type.PAUSE_REMOVED, 20L, 10L, 1L,
+                null, null, T, T, T.plusMinutes(30));
+        assertEquals(changed, EventCodec.DEFAULT.decode(EventCodec.DEFAULT.encode(changed)));
+        assertEquals(removed, EventCodec.DEFAULT.decode(EventCodec.DEFAULT.encode(removed)));
+    }
+
+    @Test
+    void every_event_published_to_kafka_has_a_schema() {
+        assertEquals(samples().size(), EventSchemaCatalogue.schemas().size());
+        assertEquals(
+                samples().stream().map(Object::getClass).distinct().count(),
+                EventSchemaCatalogue.schemas().stream().map(s -> s.type).distinct().count());
+    }
+
+    @Test
+    void payload_is_much_smaller_than_json() {
+        int binaryTotal = 0, jsonTotal = 0;
+        try (JsonSerializer<Object> json = new JsonSerializer<>()) {
+            for (Object event : samples()) {
+                int binary = EventCodec.DEFAULT.encode(event).length;
+                int text = json.serialize("t", event).length;
+                assertTrue(binary < text, event.getClass().getSimpleName() + ": " + binary + " vs " + text);
+                binaryTotal += binary;
+                jsonTotal += text;
+            }
+        }
+        assertTrue(binaryTotal * 2 < jsonTotal, binaryTotal + " vs " + jsonTotal);
+    }
+
+    @Test
+    void serializer_and_deserializer_pass_nulls_through() {
+        try (EventCodecSerializer ser = new EventCodecSerializer();
+             EventCodecDeserializer de = new EventCodecDeserializer()) {
+            assertNull(ser.serialize("t", null));
+            assertNull(de.deserialize("t", null));
+            Object event = samples().get(0);
+            assertEquals(event, de.deserialize("t", ser.serialize("t", event)));
+        }
+    }
+
+    // ---- schema evolution: the same schema id seen by an old and a new reader ----
+
+    enum Channel { MAIL, SMS }
+
+    record NoticeV1(Long userId, String text) {}
+
+    record NoticeV2(Long userId, String text, Channel channel, LocalDate sendOn) {}
+
+    /** V3 dropped {@code text}; its number stays retired. */
+    record NoticeV3(Long userId, Channel channel, LocalDate sendOn) {}
+
+    static final EventCodec V1 = new EventCodec(List.of(EventSchema.of(99, 1, NoticeV1.class, "userId", "text")));
+    static final EventCodec V2 = new EventCodec(List.of(
+            EventSchema.of(99, 2, NoticeV2.class, "userId", "text", "channel", "sendOn")));
+    static final EventCodec V3 = new EventCodec(List.of(
+            EventSchema.of(99, 3, NoticeV3.class, "userId", EventSchemaCatalogue.RETIRED, "channel", "sendOn")));
+
+    @Test
+    void old_reader_skips_fields_it_does_not_know() {
+        byte[] fromNew = V2.encode(new NoticeV2(7L, "hi", Channel.SMS, LocalDate.of(2025, 1, 1)));
+        assertEquals(new NoticeV1(7L, "hi"), V1.decode(fromNew));
+    }
+
+    @Test
+    void new_reader_leaves_fields_missing_from_old_writers_null() {
+        byte[] fromOld = V1.encode(new NoticeV1(7L, "hi"));
+        assertEquals(new NoticeV2(7L, "hi", null, null), V2.decode(fromOld));
+    }
+
+    @Test
+    void retired_field_is_ignored_and_not_reused() {
+        byte[] fromV2 = V2.encode(new NoticeV2(7L, "hi", Channel.MAIL, null));
+        assertEquals(new NoticeV3(7L, Channel.MAIL, null), V3.decode(fromV2));
+
+        byte[] fromV3 = V3.encode(new NoticeV3(7L, Channel.MAIL, null));
+        assertEquals(new NoticeV2(7L, null, Channel.MAIL, null), V2.decode(fromV3));
+    }
+
+    @Test
+    void unknown_enum_constant_decodes_as_null() {
+        record Flag(Long id, Status status) {
+            enum Status { ON }
+        }
+        record FlagNext(Long id, Channel status) {}
+        EventCodec writer = new EventCodec(List.of(EventSchema.of(98, 2, FlagNext.class, "id", "status")));
+        EventCodec reader = new EventCodec(List.of(EventSchema.of(98, 1, Flag.class, "id", "status")));
+
+        assertEquals(new Flag(1L, null), reader.decode(writer.encode(new FlagNext(1L, Channel.SMS))));
+    }
+
+    @Test
+    void schema_must_number_every_component() {
+        assertThrows(EventCodecException.class, () -> EventSchema.of(97, 1, NoticeV2.class, "userId", "text"));
+        assertThrows(EventCodecException.class, () -> EventSchema.of(97, 1, NoticeV1.class, "userId", "txt"));
+    }
+
+    @Test
+    void rejects_unregistered_types_and_foreign_payloads() {
+        assertThrows(EventCodecException.class, () -> EventCodec.DEFAULT.encode("plain string"));
+        assertThrows(EventCodecException.class, () -> EventCodec.DEFAULT.decode("{\"a\":1}".getBytes()));
+        byte[] full = EventCodec.DEFAULT.encode(samples().get(2));
+        byte[] truncated = Arrays.copyOf(full, full.length - 3);
+        assertThrows(EventCodecException.class, () -> EventCodec.DEFAULT.decode(truncated));
+    }
+}
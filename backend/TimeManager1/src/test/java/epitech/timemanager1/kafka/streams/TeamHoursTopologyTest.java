@@ -0,0 +1,103 @@
+package epitech.timemanager1.kafka.streams;
+
+import epitech.timemanager1.events.ClockEvent;
+import epitech.timemanager1.events.ClockPauseEvent;
+import epitech.timemanager1.kafka.KafkaTopics;
+import epitech.timemanager1.kafka.codec.EventCodec;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.KeyValueStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeamHoursTopologyTest {
+
+    TopologyTestDriver driver;
+    TestInputTopic<String, ClockEvent> clocks;
+    TestInputTopic<String, ClockPauseEvent> pauses;
+    KeyValueStore<String, Long> store;
+
+    @BeforeEach
+    void setUp() {
+        StreamsBuilder builder = new StreamsBuilder();
+        TeamHoursTopology.build(builder);
+
+        Properties props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "team-hours-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        driver = new TopologyTestDriver(builder.build(), props);
+
+        clocks = driver.createInputTopic(KafkaTopics.CLOCK_EVENTS,
+                new StringSerializer(), EventCodec.serde(ClockEvent.class).serializer());
+        pauses = driver.createInputTopic(KafkaTopics.PAUSE_EVENTS,
+                new StringSerializer(), EventCodec.serde(ClockPauseEvent.class).serializer());
+        store = driver.getKeyValueStore(TeamHoursTopology.USER_WEEK_NET_MINUTES);
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    void closedClockMinusEndedPause_isStoredPerUserWeek() {
+        LocalDateTime in  = LocalDateTime.of(2025, 1, 7, 9, 0);   // Tuesday
+        LocalDateTime out = LocalDateTime.of(2025, 1, 7, 17, 0);
+
+        clocks.pipeInput("user-1", new ClockEvent(ClockEvent.Type.CLOCK_IN, 10L, 1L, in, null, in));
+        clocks.pipeInput("user-1", new ClockEvent(ClockEvent.Type.CLOCK_OUT, 10L, 1L, in, out, out));
+        pauses.pipeInput("user-1", new ClockPauseEvent(ClockPauseEvent.Type.PAUSE_ENDED, 5L, 10L, 1L,
+                in.withHour(12), in.withHour(13), out));
+
+        assertEquals(420L, store.get(TeamHoursTopology.key(1L, LocalDate.of(2025, 1, 6))));
+    }
+
+    @Test
+    void sessionCrossingMonday_isSplitBetweenWeeks() {
+        LocalDateTime in  = LocalDateTime.of(2025, 1, 12, 22, 0); // Sunday
+        LocalDateTime out = LocalDateTime.of(2025, 1, 13, 2, 0);  // Monday
+
+        clocks.pipeInput("user-2", new ClockEvent(ClockEvent.Type.CLOCK_OUT, 11L, 2L, in, out, out));
+
+        assertEquals(120L, store.get(TeamHoursTopology.key(2L, LocalDate.of(2025, 1, 6))));
+        assertEquals(120L, store.get(TeamHoursTopology.key(2L, LocalDate.of(2025, 1, 13))));
+    }
+
+    @Test
+    void openPauseAndClockIn_doNotChangeStore() {
+        LocalDateTime in = LocalDateTime.of(2025, 1, 7, 9, 0);
+
+        clocks.pipeInput("user-3", new ClockEvent(ClockEvent.Type.CLOCK_IN, 12L, 3L, in, null, in));
+        pauses.pipeInput("user-3", new ClockPauseEvent(ClockPauseEvent.Type.PAUSE_STARTED, 6L, 12L, 3L,
+                in.plusHours(1), null, in));
+
+        assertNull(store.get(TeamHoursTopology.key(3L, LocalDate.of(2025, 1, 6))));
+    }
+
+    @Test
+    void editedAndRemovedPauses_giveTheirPreviousIntervalBack() {
+        LocalDateTime in  = LocalDateTime.of(2025, 1, 7, 9, 0);
+        LocalDateTime out = LocalDateTime.of(2025, 1, 7, 17, 0);
+
+        clocks.pipeInput("user-4", new ClockEvent(ClockEvent.Type.CLOCK_OUT, 13L, 4L, in, out, out));
+        pauses.pipeInput("user-4", new ClockPauseEvent(ClockPauseEvent.Type.PAUSE_ENDED, 7L, 13L, 4L,
+                in.withHour(12), in.withHour(13), out));
+        pauses.pipeInput("user-4", new ClockPauseEvent(ClockPauseEvent.Type.PAUSE_CHANGED, 7L, 13L, 4L,
+                in.withHour(12), in.withHour(12).plusMinutes(30), out, in.withHour(12), in.withHour(13)));
+        assertEquals(450L, store.get(TeamHoursTopology.key(4L, LocalDate.of(2025, 1, 6))));
+
+        pauses.pipeInput("user-4", new ClockPauseEvent(ClockPauseEvent.Type.PAUSE_REMOVED, 7L, 13L, 4L,
+                null, null, out, in.withHour(12), in.withHour(12).plusMinutes(30)));
+        assertEquals(480L, store.get(TeamHoursTopology.key(4L, LocalDate.of(2025, 1, 6))));
+    }
+}
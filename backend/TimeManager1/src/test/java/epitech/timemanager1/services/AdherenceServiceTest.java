@@ -0,0 +1,162 @@
+package epitech.timemanager1.services;
+
+import epitech.timemanager1.dto.AdherenceSummaryDTO;
+import epitech.timemanager1.dto.ShiftAdherenceDTO;
+import epitech.timemanager1.exception.ConflictException;
+import epitech.timemanager1.exception.NotFoundException;
+import epitech.timemanager1.repositories.ShiftClockRow;
+import epitech.timemanager1.repositories.TeamRepository;
+import epitech.timemanager1.repositories.WorkShiftRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdherenceServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 3);
+
+    private final SpelAwareProxyProjectionFactory projections = new SpelAwareProxyProjectionFactory();
+
+    @Mock WorkShiftRepository workShifts;
+    @Mock TeamRepository teams;
+
+    AdherenceService svc;
+
+    @BeforeEach
+    void setUp() {
+        svc = new AdherenceService(workShifts, teams, 5);
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.atTime(hour, minute);
+    }
+
+    private ShiftClockRow row(long shiftId, long teamId, LocalDateTime in, LocalDateTime out) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("shiftId", shiftId);
+        values.put("employeeId", 100 + shiftId);
+        values.put("teamId", teamId);
+        values.put("shiftStart", at(9, 0));
+        values.put("shiftEnd", at(17, 0));
+        values.put("clockIn", in);
+        values.put("clockOut", out);
+        return projections.createProjection(ShiftClockRow.class, values);
+    }
+
+    @Test
+    void judges_each_shift_from_its_clock_rows() {
+        when(teams.existsById(4L)).thenReturn(true);
+        when(workShifts.streamWithClocksForTeam(eq(4L), any(), any(), any())).thenReturn(Stream.of(
+                row(1, 4, at(9, 3), at(17, 0)),                       // within grace
+                row(2, 4, at(9, 20), at(12, 0)),                      // late, two sessions
+                row(2, 4, at(13, 0), at(16, 30)),                     // ... and left early
+                row(3, 4, null, null),                                // no-show
+                row(4, 4, at(8, 55), null),                           // never clocked out
+                row(5, 4, at(9, 0), at(18, 15))));                    // overtime
+
+        AdherenceSummaryDTO sum = svc.forTeam(4L, DAY, DAY, true);
+
+        List<ShiftAdherenceDTO> s = sum.shifts();
+        assertEquals(5, s.size());
+        assertEquals(0, s.get(0).lateMinutes());
+        assertEquals(477, s.get(0).workedMinutes());
+
+        assertEquals(20, s.get(1).lateMinutes());
+        assertEquals(30, s.get(1).earlyLeaveMinutes());
+        assertEquals(at(16, 30), s.get(1).lastClockOut());
+        assertEquals(160 + 210, s.get(1).workedMinutes());
+
+        assertTrue(s.get(2).noShow());
+        assertEquals(0, s.get(2).workedMinutes());
+
+        assertTrue(s.get(3).missingClockOut());
+        assertNull(s.get(3).lastClockOut());
+        assertEquals(0, s.get(3).earlyLeaveMinutes());
+        assertEquals(480, s.get(3).workedMinutes());
+
+        assertEquals(75, s.get(4).overtimeMinutes());
+
+        assertEquals(5, sum.shiftCount());
+        assertEquals(1, sum.lateCount());
+        assertEquals(1, sum.earlyLeaveCount());
+        assertEquals(1, sum.noShowCount());
+        assertEquals(1, sum.missingClockOutCount());
+        assertEquals(5 * 480, sum.plannedMinutes());
+        assertEquals(75, sum.overtimeMinutes());
+    }
+
+    @Test
+    void one_session_over_back_to_back_shifts_is_split_between_them() {
+        when(teams.existsById(4L)).thenReturn(true);
+        Map<String, Object> morning = new HashMap<>(Map.of("shiftId", 1L, "employeeId", 100L, "teamId", 4L,
+                "shiftStart", at(8, 0), "shiftEnd", at(12, 0), "nextShiftStart", at(12, 0),
+                "clockIn", at(8, 0), "clockOut", at(16, 0)));
+        Map<String, Object> afternoon = new HashMap<>(Map.of("shiftId", 2L, "employeeId", 100L, "teamId", 4L,
+                "shiftStart", at(12, 0), "shiftEnd", at(16, 0), "previousShiftEnd", at(12, 0),
+                "clockIn", at(8, 0), "clockOut", at(16, 0)));
+        when(workShifts.streamWithClocksForTeam(eq(4L), any(), any(), any())).thenReturn(Stream.of(
+                projections.createProjection(ShiftClockRow.class, morning),
+                projections.createProjection(ShiftClockRow.class, afternoon)));
+
+        List<ShiftAdherenceDTO> s = svc.forTeam(4L, DAY, DAY, true).shifts();
+
+        assertEquals(0, s.get(0).overtimeMinutes());
+        assertEquals(at(12, 0), s.get(0).lastClockOut());
+        assertEquals(240, s.get(0).workedMinutes());
+        assertEquals(0, s.get(1).lateMinutes());
+        assertEquals(at(12, 0), s.get(1).firstClockIn());
+        assertEquals(240, s.get(1).workedMinutes());
+    }
+
+    @Test
+    void a_late_start_is_still_seen_after_the_previous_shift() {
+        when(teams.existsById(4L)).thenReturn(true);
+        Map<String, Object> afternoon = new HashMap<>(Map.of("shiftId", 2L, "employeeId", 100L, "teamId", 4L,
+                "shiftStart", at(12, 0), "shiftEnd", at(16, 0), "previousShiftEnd", at(12, 0),
+                "clockIn", at(12, 40), "clockOut", at(16, 0)));
+        when(workShifts.streamWithClocksForTeam(eq(4L), any(), any(), any()))
+                .thenReturn(Stream.of(projections.createProjection(ShiftClockRow.class, afternoon)));
+
+        assertEquals(40, svc.forTeam(4L, DAY, DAY, true).shifts().get(0).lateMinutes());
+    }
+
+    @Test
+    void company_totals_are_grouped_by_team_without_detail() {
+        when(workShifts.streamWithClocks(any(), any(), any())).thenReturn(Stream.of(
+                row(1, 7, at(9, 30), at(17, 0)),
+                row(2, 3, null, null),
+                row(3, 7, at(9, 0), at(17, 0))));
+
+        List<AdherenceSummaryDTO> all = svc.forCompany(DAY, DAY.plusDays(30));
+
+        assertEquals(List.of(3L, 7L), all.stream().map(AdherenceSummaryDTO::teamId).toList());
+        assertEquals(1, all.get(0).noShowCount());
+        assertEquals(2, all.get(1).shiftCount());
+        assertEquals(30, all.get(1).lateMinutes());
+        assertTrue(all.get(1).shifts().isEmpty());
+    }
+
+    @Test
+    void rejects_unknown_team_and_oversized_windows() {
+        assertThrows(ConflictException.class, () -> svc.forCompany(DAY, DAY.plusDays(31)));
+        assertThrows(ConflictException.class, () -> svc.forTeam(4L, DAY, DAY.minusDays(1), false));
+        when(teams.existsById(4L)).thenReturn(false);
+        assertThrows(NotFoundException.class, () -> svc.forTeam(4L, DAY, DAY, false));
+        verifyNoInteractions(workShifts);
+    }
+}
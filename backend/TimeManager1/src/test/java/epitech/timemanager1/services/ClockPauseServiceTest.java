@@ -0,0 +1,96 @@
+package epitech.timemanager1.services;
+
+import epitech.timemanager1.entities.Clock;
+import epitech.timemanager1.entities.ClockPause;
+import epitech.timemanager1.entities.User;
+import epitech.timemanager1.events.ClockPauseEvent;
+import epitech.timemanager1.repositories.ClockPauseRepository;
+import epitech.timemanager1.repositories.ClockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClockPauseServiceTest {
+
+    static final LocalDateTime IN = LocalDateTime.of(2025, 6, 10, 9, 0);
+
+    @Mock ClockRepository clocks;
+    @Mock ClockPauseRepository pauses;
+    @Mock ApplicationEventPublisher events;
+    @Mock PayrollLock payrollLock;
+
+    @InjectMocks ClockPauseService service;
+
+    Clock clock;
+    ClockPause lunch;
+
+    @BeforeEach
+    void setup() {
+        User user = User.builder().id(1L).email("a@b.c").build();
+        clock = Clock.builder().id(10L).user(user).clockIn(IN).clockOut(IN.plusHours(8)).pauses(new ArrayList<>()).build();
+        lunch = ClockPause.builder().id(5L).clock(clock).startAt(IN.plusHours(3)).endAt(IN.plusHours(4)).build();
+        clock.getPauses().add(lunch);
+        when(pauses.existsByIdAndClockId(5L, 10L)).thenReturn(true);
+        when(pauses.findById(5L)).thenReturn(Optional.of(lunch));
+    }
+
+    private ClockPauseEvent published() {
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(events).publishEvent(captor.capture());
+        return (ClockPauseEvent) captor.getValue();
+    }
+
+    @Test
+    void editing_a_closed_pause_publishes_the_old_and_new_times() {
+        when(pauses.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        service.update(10L, 5L, null, IN.plusHours(3).plusMinutes(30), null);
+
+        ClockPauseEvent e = published();
+        assertEquals(ClockPauseEvent.Type.PAUSE_CHANGED, e.type());
+        assertEquals(IN.plusHours(3), e.startAt());
+        assertEquals(IN.plusHours(3).plusMinutes(30), e.endAt());
+        assertEquals(IN.plusHours(3), e.previousStartAt());
+        assertEquals(IN.plusHours(4), e.previousEndAt());
+    }
+
+    @Test
+    void editing_only_the_note_publishes_nothing() {
+        when(pauses.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        service.update(10L, 5L, null, null, "lunch");
+
+        verifyNoInteractions(events);
+    }
+
+    @Test
+    void removing_a_pause_publishes_its_times_after_the_delete() {
+        service.delete(10L, 5L);
+
+        var order = inOrder(pauses, events);
+        order.verify(pauses).delete(lunch);
+        order.verify(events).publishEvent(any(ClockPauseEvent.class));
+        ClockPauseEvent e = published();
+        assertEquals(ClockPauseEvent.Type.PAUSE_REMOVED, e.type());
+        assertNull(e.startAt());
+        assertEquals(IN.plusHours(3), e.previousStartAt());
+        assertEquals(IN.plusHours(4), e.previousEndAt());
+        assertEquals(1L, e.userId());
+        assertEquals(List.of(), clock.getPauses());
+    }
+}
@@ -2,6 +2,7 @@ package epitech.timemanager1.services;
 
 import epitech.timemanager1.entities.Clock;
 import epitech.timemanager1.entities.User;
+import epitech.timemanager1.events.ClockEvent;
 import epitech.timemanager1.exception.ConflictException;
 import epitech.timemanager1.exception.NotFoundException;
 import epitech.timemanager1.repositories.ClockRepository;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 
 import java.time.LocalDateTime;
@@ -24,6 +26,8 @@ class ClockServiceTest {
 
     @Mock ClockRepository clockRepo;
     @Mock UserRepository userRepo;
+    @Mock ApplicationEventPublisher events;
+    @Mock PayrollLock payrollLock;
 
     @InjectMocks ClockService service;
 
@@ -50,6 +54,8 @@ class ClockServiceTest {
         assertEquals(user, saved.getUser());
         assertNotNull(saved.getClockIn());
         verify(clockRepo).save(any(Clock.class));
+        verify(events).publishEvent(argThat((Object e) ->
+                e instanceof ClockEvent ce && ce.type() == ClockEvent.Type.CLOCK_IN && ce.userId() == 1L));
     }
 
     @Test
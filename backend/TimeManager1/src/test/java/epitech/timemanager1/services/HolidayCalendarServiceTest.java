@@ -0,0 +1,77 @@
+package epitech.timemanager1.services;
+
+import epitech.timemanager1.config.HolidayProperties;
+import epitech.timemanager1.exception.ConflictException;
+import epitech.timemanager1.exception.NotFoundException;
+import epitech.timemanager1.repositories.TeamMemberRepository;
+import epitech.timemanager1.util.BusinessCalendar;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HolidayCalendarServiceTest {
+
+    private final TeamMemberRepository members = mock(TeamMemberRepository.class);
+
+    private HolidayCalendarService service(Map<Long, String> teams) {
+        return new HolidayCalendarService(
+                new HolidayProperties("FR", List.of("FR", "BE"), "classpath:holidays/", 2024, 2026, teams),
+                new DefaultResourceLoader(), members);
+    }
+
+    @Test
+    void bundled_files_load_with_their_movable_holidays() {
+        HolidayCalendarService svc = service(Map.of());
+        BusinessCalendar fr = svc.calendar("FR");
+
+        assertEquals("Ascension", fr.holidayName(LocalDate.of(2025, 5, 29)));
+        assertEquals("Lundi de Pentecôte", fr.holidayName(LocalDate.of(2025, 6, 9)));
+        assertNull(svc.calendar("BE").holidayName(LocalDate.of(2025, 7, 14)));
+        assertThrows(NotFoundException.class, () -> svc.calendar("XX"));
+    }
+
+    @Test
+    void dates_outside_the_loaded_years_are_a_conflict() {
+        HolidayCalendarService svc = service(Map.of());
+
+        svc.requireCovered(LocalDate.of(2024, 1, 1), LocalDate.of(2026, 12, 31));
+        assertThrows(ConflictException.class, () -> svc.requireCovered(LocalDate.of(2023, 12, 31), LocalDate.of(2024, 1, 2)));
+        assertThrows(ConflictException.class, () -> svc.requireCovered(LocalDate.of(2026, 12, 30), LocalDate.of(2027, 1, 1)));
+    }
+
+    @Test
+    void employee_uses_first_mapped_team_else_default() {
+        HolidayCalendarService svc = service(Map.of(7L, "BE"));
+        when(members.findTeamIdsByUserId(1L)).thenReturn(List.of(3L, 7L));
+        when(members.findTeamIdsByUserId(2L)).thenReturn(List.of(3L));
+
+        assertEquals("BE", svc.forEmployee(1L).code());
+        assertEquals("FR", svc.forEmployee(2L).code());
+        assertEquals("BE", svc.forTeam(7L).code());
+        assertEquals("FR", svc.forTeam(null).code());
+    }
+
+    @Test
+    void file_format_supports_dates_weekend_and_rejects_garbage() {
+        BusinessCalendar cal = HolidayCalendarService.parse("T", new ByteArrayResource("""
+                # comment
+                weekend=FRIDAY,SATURDAY
+                2025-03-03 One-off
+                easter-2 Good Friday
+                """.getBytes(StandardCharsets.UTF_8)), 2025, 2025);
+        assertEquals("One-off", cal.holidayName(LocalDate.of(2025, 3, 3)));
+        assertEquals("Good Friday", cal.holidayName(LocalDate.of(2025, 4, 18)));
+        assertTrue(cal.isBusinessDay(LocalDate.of(2025, 3, 2))); // Sunday
+
+        assertThrows(IllegalStateException.class, () -> HolidayCalendarService.parse("T",
+                new ByteArrayResource("someday Party".getBytes(StandardCharsets.UTF_8)), 2025, 2025));
+    }
+}
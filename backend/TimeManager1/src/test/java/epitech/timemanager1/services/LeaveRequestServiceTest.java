@@ -1,5 +1,9 @@
 package epitech.timemanager1.services;
 
+import epitech.timemanager1.dto.LeaveBulkDecisionDTO;
+import epitech.timemanager1.dto.LeaveDecisionResultDTO;
+import epitech.timemanager1.dto.PendingLeavePageDTO;
+import epitech.timemanager1.dto.PendingLeaveRowDTO;
 import epitech.timemanager1.entities.*;
 import epitech.timemanager1.exception.ConflictException;
 import epitech.timemanager1.exception.NotFoundException;
@@ -10,6 +14,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -23,6 +29,9 @@ class LeaveRequestServiceTest {
 
     @Mock LeaveRequestRepository leaves;
     @Mock UserRepository users;
+    @Mock ApplicationEventPublisher events;
+    @Mock PayrollLock payrollLock;
+    @Mock HolidayCalendarService holidays;
 
     @InjectMocks LeaveRequestService svc;
 
@@ -143,9 +152,92 @@ class LeaveRequestServiceTest {
         assertThrows(ConflictException.class, () -> svc.approve(1L));
     }
 
+    @Test
+    void decideAll_checksConflictsOncePerBatch_andReportsEachLeave() {
+        User other = User.builder().id(11L).firstName("C").lastName("D").build();
+        LeaveRequest approvedJan = leave(100L, employee, LeaveStatus.APPROVED, 10, 12);
+        LeaveRequest clashes = leave(1L, employee, LeaveStatus.PENDING, 12, 14);      // touches approvedJan
+        LeaveRequest free = leave(2L, employee, LeaveStatus.PENDING, 20, 22);
+        LeaveRequest clashesInBatch = leave(3L, employee, LeaveStatus.PENDING, 21, 25); // overlaps #2 once approved
+        LeaveRequest rejected = leave(4L, other, LeaveStatus.PENDING, 10, 12);
+        LeaveRequest alreadyDone = leave(5L, other, LeaveStatus.REJECTED, 1, 2);
+
+        when(leaves.findAllByIdFetchEmployee(anyCollection()))
+                .thenReturn(List.of(clashes, free, clashesInBatch, rejected, alreadyDone));
+        when(leaves.findByEmployeeIdsAndStatusIn(anyCollection(), eq(List.of(LeaveStatus.APPROVED))))
+                .thenReturn(List.of(approvedJan));
+
+        List<LeaveDecisionResultDTO> out = svc.decideAll(List.of(
+                item(1L, LeaveStatus.APPROVED),
+                item(2L, LeaveStatus.APPROVED),
+                item(3L, LeaveStatus.APPROVED),
+                new LeaveBulkDecisionDTO.Item(4L, LeaveStatus.REJECTED, "busy season"),
+                item(5L, LeaveStatus.APPROVED),
+                item(99L, LeaveStatus.APPROVED)));
+
+        assertEquals(List.of(false, true, false, true, false, false),
+                out.stream().map(LeaveDecisionResultDTO::applied).toList());
+        assertEquals(LeaveStatus.PENDING, clashes.getStatus());
+        assertEquals(LeaveStatus.APPROVED, free.getStatus());
+        assertEquals(LeaveStatus.PENDING, clashesInBatch.getStatus());
+        assertEquals(LeaveStatus.REJECTED, rejected.getStatus());
+        assertEquals("busy season", rejected.getReason());
+        assertNull(out.get(5).status());
+
+        verify(leaves, times(1)).findByEmployeeIdsAndStatusIn(anyCollection(), anyCollection());
+        verify(leaves, never()).findByEmployeeIdOrderByStartDateAsc(anyLong());
+        verify(events, times(2)).publishEvent(any(Object.class));
+    }
+
+    private static LeaveRequest leave(Long id, User who, LeaveStatus status, int fromDay, int toDay) {
+        return LeaveRequest.builder()
+                .id(id).employee(who).type(LeaveType.PAID).status(status)
+                .startDate(LocalDate.of(2025, 1, fromDay))
+                .endDate(LocalDate.of(2025, 1, toDay))
+                .build();
+    }
+
+    private static LeaveBulkDecisionDTO.Item item(Long id, LeaveStatus decision) {
+        return new LeaveBulkDecisionDTO.Item(id, decision, null);
+    }
+
     @Test
     void listForEmployee_userMissing_throws() {
         when(users.findById(10L)).thenReturn(Optional.empty());
         assertThrows(NotFoundException.class, () -> svc.listForEmployee(10L));
     }
-}
\ No newline at end of file
+
+    private static PendingLeaveRowDTO row(long id, LocalDate start) {
+        return new PendingLeaveRowDTO(id, 10L, "A", "B", LeaveType.PAID, start, start.plusDays(1), null, null);
+    }
+
+    @Test
+    void pendingQueue_fetchesOneExtraRow_andReturnsKeysetCursor() {
+        LocalDate d = LocalDate.of(2025, 3, 3);
+        when(leaves.findPendingQueueForManager(7L, Limit.of(3)))
+                .thenReturn(List.of(row(4L, d), row(9L, d), row(2L, d.plusDays(1))));
+
+        PendingLeavePageDTO page = svc.pendingQueueForManager(7L, null, 2);
+
+        assertEquals(List.of(4L, 9L), page.items().stream().map(PendingLeaveRowDTO::id).toList());
+        assertEquals("2025-03-03:9", page.nextCursor());
+    }
+
+    @Test
+    void pendingQueue_resumesAfterCursor_andEndsWithoutCursor() {
+        LocalDate d = LocalDate.of(2025, 3, 3);
+        when(leaves.findPendingQueueForManagerAfter(7L, d, 9L, Limit.of(3)))
+                .thenReturn(List.of(row(2L, d.plusDays(1))));
+
+        PendingLeavePageDTO page = svc.pendingQueueForManager(7L, "2025-03-03:9", 2);
+
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void pendingQueue_badCursor_throws() {
+        assertThrows(ConflictException.class, () -> svc.pendingQueueForManager(7L, "yesterday", 2));
+        verifyNoInteractions(leaves);
+    }
+}
@@ -0,0 +1,74 @@
+package epitech.timemanager1.services;
+
+import epitech.timemanager1.entities.Clock;
+import epitech.timemanager1.entities.ClockPause;
+import epitech.timemanager1.entities.OvertimeRule;
+import epitech.timemanager1.entities.OvertimeWeek;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OvertimeServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    private static final OvertimeRule RULE = OvertimeRule.builder()
+            .dailyMaxMinutes(600).weeklyMaxMinutes(2100).weeklyHigherRateMinutes(2580).build();
+
+    private static Clock clock(LocalDateTime in, LocalDateTime out, ClockPause... pauses) {
+        return Clock.builder().clockIn(in).clockOut(out).pauses(new ArrayList<>(List.of(pauses))).build();
+    }
+
+    @Test
+    void session_minutes_are_split_at_midnight_and_week_boundaries_minus_pauses() {
+        LocalDate sunday = MONDAY.minusDays(1);
+        Clock c = clock(sunday.atTime(22, 0), MONDAY.atTime(2, 0),
+                ClockPause.builder().startAt(MONDAY.atTime(0, 30)).endAt(MONDAY.atTime(1, 0)).build(),
+                ClockPause.builder().startAt(MONDAY.atTime(1, 45)).build()); // left open: ends with the session
+
+        Map<LocalDate, Map<LocalDate, Integer>> byWeek = OvertimeService.netMinutesByWeek(c, null, null);
+
+        assertEquals(Map.of(sunday, 120), byWeek.get(MONDAY.minusWeeks(1)));
+        assertEquals(Map.of(MONDAY, 75), byWeek.get(MONDAY));
+
+        // clipped to the week being rebuilt
+        assertEquals(Map.of(MONDAY, Map.of(MONDAY, 75)),
+                OvertimeService.netMinutesByWeek(c, MONDAY.atStartOfDay(), MONDAY.plusDays(7).atStartOfDay()));
+    }
+
+    @Test
+    void buckets_are_daily_then_weekly_on_regular_minutes() {
+        OvertimeWeek w = OvertimeWeek.builder().weekStart(MONDAY).build();
+        for (int d = 0; d < 5; d++) w.add(MONDAY.plusDays(d), 540);   // 5 x 9 h
+        w.add(MONDAY.plusDays(5), 720);                               // Saturday 12 h
+        w.recompute(RULE);
+
+        assertEquals(3420, w.getWorkedMinutes());
+        assertEquals(120, w.getDailyOvertimeMinutes());
+        assertEquals(3300 - 2100, w.getWeeklyOvertimeMinutes());
+        assertEquals(3300 - 2580, w.getHigherRateMinutes());
+
+        // adding a session only moves the affected buckets
+        w.add(MONDAY, 90);
+        w.recompute(RULE);
+        assertEquals(150, w.getDailyOvertimeMinutes());
+        assertEquals(3360 - 2100, w.getWeeklyOvertimeMinutes());
+    }
+
+    @Test
+    void disabled_thresholds_give_no_overtime() {
+        OvertimeWeek w = OvertimeWeek.builder().weekStart(MONDAY).build();
+        w.add(MONDAY, 900);
+        w.recompute(OvertimeRule.builder().weeklyMaxMinutes(600).build());
+
+        assertEquals(0, w.getDailyOvertimeMinutes());
+        assertEquals(300, w.getWeeklyOvertimeMinutes());
+        assertEquals(0, w.getHigherRateMinutes());
+    }
+}
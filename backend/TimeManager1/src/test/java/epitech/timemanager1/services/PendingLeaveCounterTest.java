@@ -0,0 +1,124 @@
+package epitech.timemanager1.services;
+
+import epitech.timemanager1.entities.LeaveStatus;
+import epitech.timemanager1.entities.LeaveType;
+import epitech.timemanager1.events.LeaveStatusChangedEvent;
+import epitech.timemanager1.repositories.LeaveRequestRepository;
+import epitech.timemanager1.repositories.TeamMemberRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PendingLeaveCounterTest {
+
+    @Mock LeaveRequestRepository leaves;
+    @Mock TeamMemberRepository members;
+
+    @InjectMocks PendingLeaveCounter counter;
+
+    private static LeaveStatusChangedEvent transition(LeaveStatus previous, LeaveStatus status) {
+        return transition(previous, status, LocalDateTime.now());
+    }
+
+    private static LeaveStatusChangedEvent transition(LeaveStatus previous, LeaveStatus status, LocalDateTime at) {
+        LocalDate d = LocalDate.of(2025, 3, 3);
+        return new LeaveStatusChangedEvent(1L, 10L, LeaveType.PAID, previous, status, d, d, at);
+    }
+
+    private static long millis(LocalDateTime t) {
+        return t.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @Test
+    void seedsOnce_thenFollowsTransitions() {
+        when(leaves.countPendingForManager(3L)).thenReturn(2L);
+        when(members.findManagerIdsByUserId(10L)).thenReturn(List.of(3L, 4L));
+
+        assertEquals(2, counter.pendingFor(3L));
+
+        counter.onLeaveStatusChanged(transition(null, LeaveStatus.PENDING));
+        counter.onLeaveStatusChanged(transition(null, LeaveStatus.PENDING));
+        counter.onLeaveStatusChanged(transition(LeaveStatus.PENDING, LeaveStatus.APPROVED));
+        counter.onLeaveStatusChanged(transition(LeaveStatus.PENDING, null)); // deleted
+
+        assertEquals(2, counter.pendingFor(3L));
+        verify(leaves, times(1)).countPendingForManager(3L);
+        verify(leaves, never()).countPendingForManager(4L); // manager 4 never asked: not tracked
+    }
+
+    @Test
+    void transitionsNotTouchingPending_areIgnored() {
+        when(leaves.countPendingForManager(3L)).thenReturn(1L);
+        counter.pendingFor(3L);
+
+        counter.onLeaveStatusChanged(transition(LeaveStatus.APPROVED, LeaveStatus.CANCELLED));
+
+        verifyNoInteractions(members);
+        assertEquals(1, counter.pendingFor(3L));
+    }
+
+    @Test
+    void offsettingTransitions_keepTheCountButMoveChangedAt() {
+        when(leaves.countPendingForManager(3L)).thenReturn(1L);
+        when(members.findManagerIdsByUserId(10L)).thenReturn(List.of(3L));
+        long seeded = counter.changedAt(3L);
+
+        counter.onLeaveStatusChanged(transition(LeaveStatus.PENDING, LeaveStatus.APPROVED));
+        counter.onLeaveStatusChanged(transition(null, LeaveStatus.PENDING));
+
+        assertEquals(1, counter.pendingFor(3L));
+        assertTrue(counter.changedAt(3L) > seeded);
+    }
+
+    @Test
+    void resync_reseedsFromTheDatabase() {
+        when(leaves.countPendingForManager(3L)).thenReturn(1L, 5L);
+
+        assertEquals(1, counter.pendingFor(3L));
+        counter.resync();
+        assertEquals(5, counter.pendingFor(3L));
+    }
+
+    @Test
+    void resync_keepsChangedAtWhenTheQueueDidNotMove() {
+        LocalDateTime last = LocalDateTime.of(2025, 3, 3, 10, 15, 0, 123_000_000);
+        when(leaves.countPendingForManager(3L)).thenReturn(2L);
+        when(leaves.lastPendingChangeForManager(3L)).thenReturn(last);
+        long seeded = counter.changedAt(3L);
+
+        counter.resync();
+
+        assertEquals(millis(last), seeded);
+        assertEquals(seeded, counter.changedAt(3L));
+    }
+
+    @Test
+    void changedAt_isTheLeaveStamp_soAnInstanceWithoutTheEventAgreesAfterResync() {
+        LocalDateTime before = LocalDateTime.of(2025, 3, 3, 9, 0);
+        LocalDateTime approvedAt = LocalDateTime.of(2025, 3, 3, 10, 15, 0, 123_000_000);
+        when(leaves.countPendingForManager(3L)).thenReturn(1L, 1L, 0L);
+        when(leaves.lastPendingChangeForManager(3L)).thenReturn(before, before, approvedAt);
+        when(members.findManagerIdsByUserId(10L)).thenReturn(List.of(3L));
+        PendingLeaveCounter other = new PendingLeaveCounter(leaves, members);
+        counter.changedAt(3L);
+        other.changedAt(3L);
+
+        counter.onLeaveStatusChanged(transition(LeaveStatus.PENDING, LeaveStatus.APPROVED, approvedAt));
+        other.resync();
+
+        assertEquals(millis(approvedAt), counter.changedAt(3L));
+        assertEquals(counter.changedAt(3L), other.changedAt(3L));
+        assertEquals(counter.pendingFor(3L), other.pendingFor(3L));
+    }
+}
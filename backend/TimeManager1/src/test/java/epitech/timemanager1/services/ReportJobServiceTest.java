@@ -0,0 +1,190 @@
+package epitech.timemanager1.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import epitech.timemanager1.dto.LatenessMonthDTO;
+import epitech.timemanager1.dto.ReportJobDTO;
+import epitech.timemanager1.dto.ReportJobRequestDTO;
+import epitech.timemanager1.entities.ReportJob;
+import epitech.timemanager1.entities.ReportJobResult;
+import epitech.timemanager1.entities.ReportJobStatus;
+import epitech.timemanager1.entities.ReportJobType;
+import epitech.timemanager1.exception.ConflictException;
+import epitech.timemanager1.repositories.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportJobServiceTest {
+
+    @Mock ReportJobRepository jobs;
+    @Mock ReportJobResultRepository results;
+    @Mock ReportsService reports;
+    @Mock TimeSheetService timesheets;
+    @Mock TimesheetExportService exports;
+    @Mock TeamRepository teams;
+    @Mock TeamMemberRepository members;
+    @Mock UserRepository users;
+
+    ReportJobService svc;
+
+    @BeforeEach
+    void setUp() {
+        svc = new ReportJobService(jobs, results, reports, timesheets, exports, teams, members, users,
+                new SiteZones("UTC", "UTC"), new ObjectMapper().findAndRegisterModules(),
+                1, 10, 2, Duration.ofHours(1), "node-a", Duration.ofMinutes(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        svc.shutdown();
+    }
+
+    static ReportJobRequestDTO lateness(List<Long> teamIds) {
+        ReportJobRequestDTO r = new ReportJobRequestDTO();
+        r.setType(ReportJobType.LATENESS);
+        r.setFrom(LocalDate.of(2025, 1, 1));
+        r.setTo(LocalDate.of(2025, 12, 31));
+        r.setTeamIds(teamIds);
+        return r;
+    }
+
+    @Test
+    void equal_requests_have_equal_canonical_params() {
+        when(teams.existsById(anyLong())).thenReturn(true);
+        assertEquals(svc.canonicalParams(lateness(List.of(3L, 1L, 3L))), svc.canonicalParams(lateness(List.of(1L, 3L))));
+        assertNotEquals(svc.canonicalParams(lateness(List.of(1L))), svc.canonicalParams(lateness(List.of(1L, 3L))));
+
+        ReportJobRequestDTO tooLong = lateness(null);
+        tooLong.setTo(LocalDate.of(2026, 1, 2));
+        assertThrows(ConflictException.class, () -> svc.canonicalParams(tooLong));
+    }
+
+    @Test
+    void malformed_threshold_is_refused_at_submit() {
+        ReportJobRequestDTO r = lateness(null);
+        r.setThreshold("9h05");
+        assertThrows(ConflictException.class, () -> svc.submit(r, "a@b.c"));
+
+        r.setThreshold("09:05:00");
+        assertTrue(svc.canonicalParams(r).contains("\"threshold\":\"09:05\""));
+        verify(jobs, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void restart_fails_only_own_or_stale_jobs() {
+        svc.failInterrupted();
+
+        ArgumentCaptor<LocalDateTime> staleBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(jobs).failInterrupted(eq(ReportJobService.IN_FLIGHT), eq("node-a"), staleBefore.capture(),
+                anyString(), any(), any());
+        assertTrue(staleBefore.getValue().isBefore(LocalDateTime.now().minusMinutes(1)));
+    }
+
+    @Test
+    void identical_job_in_flight_is_reused() {
+        ReportJob running = ReportJob.builder().id(7L).type(ReportJobType.LATENESS)
+                .status(ReportJobStatus.RUNNING).params("{}").paramsHash("h").requestedBy("a@b.c")
+                .createdAt(LocalDateTime.now()).build();
+        when(jobs.findFirstByParamsHashAndStatusInOrderByIdAsc(anyString(), eq(ReportJobService.IN_FLIGHT)))
+                .thenReturn(Optional.of(running));
+
+        ReportJobDTO dto = svc.submit(lateness(null), "other@b.c");
+
+        assertEquals(7L, dto.id());
+        verify(jobs, never()).save(any());
+        verify(jobs, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void per_user_limit_is_enforced() {
+        when(jobs.findFirstByParamsHashAndStatusInOrderByIdAsc(anyString(), any())).thenReturn(Optional.empty());
+        when(jobs.countByRequestedByAndStatusIn("a@b.c", ReportJobService.IN_FLIGHT)).thenReturn(2L);
+
+        assertThrows(ConflictException.class, () -> svc.submit(lateness(null), "a@b.c"));
+        verify(jobs, never()).save(any());
+        verify(jobs, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void run_stores_the_gzipped_result_and_marks_the_job_done() throws Exception {
+        String params = svc.canonicalParams(lateness(null));
+        ReportJob job = ReportJob.builder().id(5L).type(ReportJobType.LATENESS).status(ReportJobStatus.QUEUED)
+                .params(params).paramsHash("h").requestedBy("a@b.c").createdAt(LocalDateTime.now()).build();
+        when(jobs.findById(5L)).thenReturn(Optional.of(job));
+        when(jobs.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(reports.latenessByMonth(isNull(), eq(LocalDate.of(2025, 1, 1)), eq(LocalDate.of(2025, 12, 31)),
+                any(), any(), any()))
+                .thenReturn(List.of(new LatenessMonthDTO(1L, YearMonth.of(2025, 1), 20, 5, 0.25)));
+
+        svc.run(5L);
+
+        ArgumentCaptor<ReportJobResult> saved = ArgumentCaptor.forClass(ReportJobResult.class);
+        verify(results).save(saved.capture());
+        String body;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(saved.getValue().getData()))) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertTrue(body.contains("\"lateDays\":5"), body);
+        assertEquals(ReportJobStatus.DONE, job.getStatus());
+        assertEquals(100, job.getProgress());
+        assertEquals("application/json", job.getContentType());
+        assertNotNull(job.getExpiresAt());
+    }
+
+    @Test
+    void export_rows_are_gzipped_as_written_and_the_download_inflates_them() throws Exception {
+        ReportJobRequestDTO export = new ReportJobRequestDTO();
+        export.setType(ReportJobType.TIMESHEET_EXPORT);
+        export.setFrom(LocalDate.of(2025, 3, 1));
+        export.setTo(LocalDate.of(2025, 3, 31));
+        ReportJob job = ReportJob.builder().id(6L).type(ReportJobType.TIMESHEET_EXPORT).status(ReportJobStatus.QUEUED)
+                .params(svc.canonicalParams(export)).paramsHash("h").requestedBy("a@b.c")
+                .createdAt(LocalDateTime.now()).build();
+        when(jobs.findById(6L)).thenReturn(Optional.of(job));
+        when(jobs.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(users.countByActiveTrue()).thenReturn(1L);
+        String csv = "employee_id,date,net_minutes\n" + "7,2025-03-03,480\n".repeat(1000);
+        when(exports.writeCsv(any(), any(), any(), any(), any())).thenAnswer(inv -> {
+            inv.<Writer>getArgument(3).write(csv);
+            return 1;
+        });
+
+        svc.run(6L);
+
+        ArgumentCaptor<ReportJobResult> saved = ArgumentCaptor.forClass(ReportJobResult.class);
+        verify(results).save(saved.capture());
+        byte[] packed = saved.getValue().getData();
+        assertEquals(ReportJobStatus.DONE, job.getStatus());
+        assertEquals(csv.length(), job.getResultSize());
+        assertTrue(packed.length < csv.length() / 10);
+
+        when(results.findById(6L)).thenReturn(Optional.of(saved.getValue()));
+        ReportJobService.Download d = svc.result(6L);
+        assertEquals("report-6.csv", d.filename());
+        assertSame(packed, d.gzipped());
+        ByteArrayOutputStream sent = new ByteArrayOutputStream();
+        d.writeTo(sent);
+        assertEquals(csv, sent.toString(StandardCharsets.UTF_8));
+    }
+}
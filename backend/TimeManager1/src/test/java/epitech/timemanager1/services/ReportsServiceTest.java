@@ -0,0 +1,130 @@
+package epitech.timemanager1.services;
+
+import epitech.timemanager1.dto.ReportsDTO;
+import epitech.timemanager1.entities.Clock;
+import epitech.timemanager1.entities.ClockPause;
+import epitech.timemanager1.entities.Team;
+import epitech.timemanager1.entities.User;
+import epitech.timemanager1.kafka.streams.TeamHoursStateStore;
+import epitech.timemanager1.kafka.streams.TeamHoursTopology;
+import epitech.timemanager1.repositories.*;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportsServiceTest {
+
+    private static final ZoneId UTC = ZoneId.of("UTC");
+
+    @Mock ClockRepository clocks;
+    @Mock TeamRepository teams;
+    @Mock UserRepository users;
+    @Mock TeamMemberRepository members;
+    @Mock TeamHoursStateStore teamHoursStore;
+    @Mock DailyUserFactRepository facts;
+    @Mock ReadOnlyKeyValueStore<String, Long> store;
+
+    ReportsService svc;
+
+    @BeforeEach
+    void setUp() {
+        svc = new ReportsService(clocks, teams, users, members, teamHoursStore, facts, new SiteZones("UTC", "UTC"));
+        Team team = new Team();
+        team.setId(1L);
+        team.setName("Ops");
+        when(teams.findAll()).thenReturn(List.of(team));
+        when(members.findUserIdsByTeamId(1L)).thenReturn(List.of(7L));
+    }
+
+    @Test
+    void site_in_the_storage_zone_reads_the_streams_store() {
+        LocalDate monday = LocalDate.now(UTC).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        when(teamHoursStore.store()).thenReturn(Optional.of(store));
+        when(store.get(TeamHoursTopology.key(7L, monday))).thenReturn(90L);
+
+        ReportsDTO report = svc.buildReport(UTC);
+
+        assertEquals(1.5, report.getTeamAvgHoursWeek().get(0).getAvgHours(), 1e-9);
+    }
+
+    @Test
+    void store_path_counts_open_sessions_until_now_like_the_database_path() {
+        LocalDate monday = LocalDate.now(UTC).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        User u = new User();
+        u.setId(7L);
+        // open for two hours, or since Monday midnight when the week started less than two hours ago
+        LocalDateTime in = LocalDateTime.now(UTC).minusHours(2);
+        Clock open = Clock.builder().user(u).clockIn(in).build();
+        when(teamHoursStore.store()).thenReturn(Optional.of(store));
+        when(store.get(TeamHoursTopology.key(7L, monday))).thenReturn(60L);
+        when(clocks.findOpenBeforeFetchUserWithPauses(any())).thenReturn(List.of(open));
+
+        double avg = svc.buildReport(UTC).getTeamAvgHoursWeek().get(0).getAvgHours();
+
+        double expectedOpen = in.isBefore(monday.atStartOfDay())
+                ? Duration.between(monday.atStartOfDay(), LocalDateTime.now(UTC)).toMinutes() / 60d : 2.0;
+        assertEquals(1.0 + expectedOpen, avg, 0.05);
+    }
+
+    @Test
+    void store_path_keeps_the_ended_pause_of_an_open_session() {
+        LocalDate monday = LocalDate.now(UTC).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDateTime weekStart = monday.atStartOfDay();
+        LocalDateTime now = LocalDateTime.now(UTC);
+        User u = new User();
+        u.setId(7L);
+        // clocked in five hours ago, paused from three to two hours ago, still working
+        LocalDateTime in = now.minusHours(5);
+        ClockPause pause = ClockPause.builder().startAt(now.minusHours(3)).endAt(now.minusHours(2)).build();
+        Clock open = Clock.builder().user(u).clockIn(in).pauses(List.of(pause)).build();
+        // the store only holds the ended pause of that session, as a negative delta
+        long pausedMinutes = minutesInWeek(pause.getStartAt(), pause.getEndAt(), weekStart);
+        when(teamHoursStore.store()).thenReturn(Optional.of(store));
+        when(store.get(TeamHoursTopology.key(7L, monday))).thenReturn(-pausedMinutes);
+        when(clocks.findOpenBeforeFetchUserWithPauses(any())).thenReturn(List.of(open));
+
+        double avg = svc.buildReport(UTC).getTeamAvgHoursWeek().get(0).getAvgHours();
+
+        double expected = (minutesInWeek(in, now, weekStart) - pausedMinutes) / 60d;
+        assertEquals(expected, avg, 0.05);
+    }
+
+    @Test
+    void site_in_another_zone_ignores_the_storage_keyed_store() {
+        ZoneId kiritimati = ZoneId.of("Pacific/Kiritimati"); // UTC+14
+        User u = new User();
+        u.setId(7L);
+        LocalDateTime in = LocalDate.now(kiritimati).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                .atTime(9, 0).atZone(kiritimati).withZoneSameInstant(UTC).toLocalDateTime();
+        Clock c = Clock.builder().user(u).clockIn(in).clockOut(in.plusHours(2)).build();
+        when(clocks.findAllBetweenFetchUserWithPauses(any(), any())).thenReturn(List.of(c));
+
+        ReportsDTO report = svc.buildReport(kiritimati);
+
+        verify(teamHoursStore, never()).store();
+        assertEquals(2.0, report.getTeamAvgHoursWeek().get(0).getAvgHours(), 1e-9);
+    }
+
+    /** Minutes of {@code [from, to)} from {@code weekStart} on, as the store and the open-session read count them. */
+    private static long minutesInWeek(LocalDateTime from, LocalDateTime to, LocalDateTime weekStart) {
+        LocalDateTime a = from.isBefore(weekStart) ? weekStart : from;
+        return a.isBefore(to) ? Duration.between(a, to).toMinutes() : 0;
+    }
+}
@@ -8,13 +8,17 @@ import epitech.timemanager1.exception.NotFoundException;
 import epitech.timemanager1.repositories.ScheduleTemplateRepository;
 import epitech.timemanager1.repositories.TeamRepository;
 import epitech.timemanager1.repositories.WorkShiftRepository;
+import epitech.timemanager1.util.BusinessCalendar;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.MonthDay;
 import java.time.ZoneId;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,6 +30,8 @@ class ScheduleTemplateServiceTest {
     @Mock ScheduleTemplateRepository templates;
     @Mock TeamRepository teams;
     @Mock WorkShiftRepository workShifts;
+    @Mock HolidayCalendarService holidays;
+    @Mock ShiftSeriesExpander seriesExpander;
 
     @InjectMocks ScheduleTemplateService svc;
 
@@ -60,6 +66,7 @@ class ScheduleTemplateServiceTest {
 
         when(templates.findById(9L)).thenReturn(Optional.of(st));
         when(workShifts.save(any(WorkShift.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(holidays.forTeam(5L)).thenReturn(BusinessCalendar.weekendsOnly("T", 2025, 2025));
 
         LocalDate from = LocalDate.of(2025,1,6);   // Monday
         LocalDate to   = LocalDate.of(2025,1,10);  // Friday
@@ -68,6 +75,24 @@ class ScheduleTemplateServiceTest {
         assertEquals(5, created); // Mon..Fri
     }
 
+    @Test
+    void generateShifts_skips_team_holidays() {
+        Team team = Team.builder().id(5L).name("X").build();
+        ScheduleTemplate st = ScheduleTemplate.builder()
+                .id(9L).team(team).name("Default").active(true).build();
+
+        when(templates.findById(9L)).thenReturn(Optional.of(st));
+        when(workShifts.save(any(WorkShift.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(holidays.forTeam(5L)).thenReturn(BusinessCalendar.builder("T", 2025, 2025)
+                .yearly(MonthDay.of(5, 1), "Labour day")
+                .yearly(MonthDay.of(5, 8), "Victory day")
+                .build());
+
+        // 2025-05-01 .. 2025-05-11: 7 weekdays, two of them holidays
+        int created = svc.generateShifts(9L, LocalDate.of(2025, 5, 1), LocalDate.of(2025, 5, 11), ZoneId.of("UTC"));
+        assertEquals(5, created);
+    }
+
     @Test
     void generateShifts_inactiveTemplate_throwsConflict() {
         Team team = Team.builder().id(5L).name("X").build();
@@ -165,4 +190,53 @@ class ScheduleTemplateServiceTest {
 
         verify(templates).deleteById(10L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void generateShifts_followsWeeklyPattern_slotsValidityAndExclusions() {
+        Team team = Team.builder().id(5L).name("X").build();
+        ScheduleTemplate st = ScheduleTemplate.builder()
+                .id(9L).team(team).name("Split").active(true)
+                .weeklyPatternJson("""
+                        {"mon":[["08:00","12:00"],["14:00","18:00"]],"sat":[["10:00","14:00"]],
+                         "excludedDates":["2025-01-13"],"endDate":"2025-01-18"}""")
+                .build();
+
+        when(templates.findById(9L)).thenReturn(Optional.of(st));
+        when(holidays.forTeam(5L)).thenReturn(BusinessCalendar.weekendsOnly("T", 2025, 2025));
+        List<WorkShift> saved = new java.util.ArrayList<>();
+        when(workShifts.save(any(WorkShift.class))).thenAnswer(inv -> {
+            saved.add(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+
+        // Mon 6 .. Sun 19 Jan: Monday 13 excluded, pattern ends Saturday 18
+        int created = svc.generateShifts(9L, LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 19), ZoneId.of("UTC"));
+
+        assertEquals(4, created); // Mon 6 (2 slots), Sat 11, Sat 18
+        assertEquals(LocalDateTime.of(2025, 1, 6, 14, 0), saved.get(1).getStartAt());
+        assertEquals(LocalDateTime.of(2025, 1, 18, 14, 0), saved.get(3).getEndAt());
+    }
+
+    @Test
+    void create_invalidPattern_throwsConflict() {
+        when(teams.findById(5L)).thenReturn(Optional.of(Team.builder().id(5L).name("X").build()));
+        when(templates.existsByTeamIdAndNameIgnoreCase(5L, "Bad")).thenReturn(false);
+
+        ConflictException ex = assertThrows(ConflictException.class,
+                () -> svc.create(5L, "Bad", true, "{\"mon\":[[\"18:00\",\"09:00\"]]}"));
+        assertTrue(ex.getMessage().startsWith("Invalid weekly pattern"));
+        verify(templates, never()).save(any());
+    }
+
+    @Test
+    void fits_usesCompiledPattern() {
+        ScheduleTemplate st = ScheduleTemplate.builder()
+                .id(9L).team(Team.builder().id(5L).build()).name("Default").active(true).build();
+        when(templates.findById(9L)).thenReturn(Optional.of(st));
+
+        LocalDate monday = LocalDate.of(2025, 1, 6);
+        assertTrue(svc.fits(9L, monday.atTime(9, 0), monday.atTime(17, 0)));
+        assertFalse(svc.fits(9L, monday.atTime(8, 0), monday.atTime(12, 0)));
+        assertFalse(svc.fits(9L, monday.plusDays(5).atTime(9, 0), monday.plusDays(5).atTime(12, 0)));
+    }
+}
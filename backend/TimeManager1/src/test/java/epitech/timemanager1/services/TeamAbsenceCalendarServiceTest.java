@@ -0,0 +1,86 @@
+package epitech.timemanager1.services;
+
+import epitech.timemanager1.dto.TeamAbsenceCalendarDTO;
+import epitech.timemanager1.dto.TeamAbsenceCalendarDTO.Segment;
+import epitech.timemanager1.entities.LeaveStatus;
+import epitech.timemanager1.exception.NotFoundException;
+import epitech.timemanager1.repositories.LeaveRequestRepository;
+import epitech.timemanager1.repositories.LeaveRequestRepository.TeamAbsenceRow;
+import epitech.timemanager1.repositories.TeamRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TeamAbsenceCalendarServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 3, 1);
+
+    private final SpelAwareProxyProjectionFactory projections = new SpelAwareProxyProjectionFactory();
+
+    @Mock TeamRepository teams;
+    @Mock LeaveRequestRepository leaves;
+
+    @InjectMocks TeamAbsenceCalendarService svc;
+
+    private TeamAbsenceRow leave(long employeeId, LeaveStatus status, int firstDay, int lastDay) {
+        return projections.createProjection(TeamAbsenceRow.class, Map.of(
+                "employeeId", employeeId,
+                "firstName", "E" + employeeId,
+                "lastName", "L",
+                "status", status,
+                "startDate", FROM.plusDays(firstDay),
+                "endDate", FROM.plusDays(lastDay)));
+    }
+
+    @Test
+    void sweep_countsPerDay_andGroupsDaysWithTheSameMembers() {
+        when(teams.existsById(4L)).thenReturn(true);
+        when(leaves.findTeamAbsences(eq(4L), eq(FROM), eq(FROM.plusDays(9)), anyCollection())).thenReturn(List.of(
+                leave(7L, LeaveStatus.APPROVED, -3, 2),   // starts before the window
+                leave(5L, LeaveStatus.APPROVED, 2, 4),
+                leave(5L, LeaveStatus.APPROVED, 3, 3),    // overlaps the previous one: still one member
+                leave(7L, LeaveStatus.PENDING, 8, 15)));  // runs past the window
+
+        TeamAbsenceCalendarDTO cal = svc.calendar(4L, FROM, 10);
+
+        assertEquals(10, cal.days());
+        assertEquals(List.of(5L, 7L), cal.members().stream().map(TeamAbsenceCalendarDTO.Member::id).toList());
+        assertArrayEquals(new int[]{1, 1, 2, 1, 1, 0, 0, 0, 0, 0}, cal.approved());
+        assertArrayEquals(new int[]{0, 0, 0, 0, 0, 0, 0, 0, 1, 1}, cal.pending());
+        assertEquals(List.of(
+                new Segment(0, 1, List.of(7L), List.of()),
+                new Segment(2, 2, List.of(5L, 7L), List.of()),
+                new Segment(3, 4, List.of(5L), List.of()),
+                new Segment(8, 9, List.of(), List.of(7L))), cal.segments());
+    }
+
+    @Test
+    void horizon_isCapped() {
+        when(teams.existsById(4L)).thenReturn(true);
+        when(leaves.findTeamAbsences(anyLong(), any(), any(), anyCollection())).thenReturn(List.of());
+
+        TeamAbsenceCalendarDTO cal = svc.calendar(4L, FROM, 10_000);
+
+        assertEquals(TeamAbsenceCalendarService.MAX_DAYS, cal.approved().length);
+        assertTrue(cal.segments().isEmpty());
+    }
+
+    @Test
+    void unknownTeam_throws() {
+        when(teams.existsById(4L)).thenReturn(false);
+        assertThrows(NotFoundException.class, () -> svc.calendar(4L, FROM, 10));
+        verifyNoInteractions(leaves);
+    }
+}
@@ -0,0 +1,96 @@
+package epitech.timemanager1.services;
+
+import epitech.timemanager1.dto.TeamCoverageDTO;
+import epitech.timemanager1.entities.User;
+import epitech.timemanager1.entities.WorkShift;
+import epitech.timemanager1.exception.ConflictException;
+import epitech.timemanager1.repositories.ClockPauseRepository;
+import epitech.timemanager1.repositories.ClockRepository;
+import epitech.timemanager1.repositories.TeamRepository;
+import epitech.timemanager1.repositories.TimeRangeRow;
+import epitech.timemanager1.repositories.WorkShiftRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TeamCoverageServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 3);
+
+    private final SpelAwareProxyProjectionFactory projections = new SpelAwareProxyProjectionFactory();
+
+    @Mock TeamRepository teams;
+    @Mock WorkShiftRepository workShifts;
+    @Mock ClockRepository clocks;
+    @Mock ClockPauseRepository pauses;
+    @Mock ShiftSeriesExpander seriesExpander;
+
+    @InjectMocks TeamCoverageService svc;
+
+    private TimeRangeRow range(LocalDateTime start, LocalDateTime end) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("startAt", start);
+        values.put("endAt", end);
+        return projections.createProjection(TimeRangeRow.class, values);
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.atTime(hour, minute);
+    }
+
+    @Test
+    void sweep_gives_average_headcount_per_slot() {
+        when(teams.existsById(4L)).thenReturn(true);
+        when(workShifts.findAssignedRangesForTeam(eq(4L), any(), any())).thenReturn(List.of(
+                range(at(9, 0), at(10, 0)),
+                range(at(9, 30), at(10, 30)),
+                range(DAY.minusDays(1).atTime(23, 0), at(0, 30)))); // starts before the window
+        WorkShift occurrence = WorkShift.builder().employee(new User())
+                .startAt(at(10, 0)).endAt(at(11, 0)).build();
+        WorkShift unassigned = WorkShift.builder().startAt(at(10, 0)).endAt(at(11, 0)).build();
+        when(seriesExpander.forTeam(eq(4L), any(), any())).thenReturn(List.of(occurrence, unassigned));
+        when(clocks.findRangesForTeam(eq(4L), any(), any())).thenReturn(List.of(
+                range(at(9, 5), at(10, 0)),
+                range(at(9, 0), at(11, 0))));
+        when(pauses.findRangesForTeam(eq(4L), any(), any())).thenReturn(List.of(
+                range(at(9, 30), at(9, 45))));
+
+        TeamCoverageDTO cov = svc.coverage(4L, DAY, 1, 15);
+
+        assertEquals(96, cov.slots());
+        assertEquals(DAY.atStartOfDay(), cov.from());
+        assertEquals(1.0, cov.planned()[0]);     // 00:00-00:15
+        assertEquals(0.0, cov.planned()[2]);     // 00:30-00:45
+        assertEquals(1.0, cov.planned()[36]);    // 09:00
+        assertEquals(2.0, cov.planned()[38]);    // 09:30
+        assertEquals(2.0, cov.planned()[40]);    // 10:00: second shift + series occurrence
+        assertEquals(1.0, cov.planned()[42]);    // 10:30
+        assertEquals(0.0, cov.planned()[44]);    // 11:00
+
+        assertEquals(1.67, cov.actual()[36]);    // 09:00-09:15, one of them from 09:05
+        assertEquals(2.0, cov.actual()[37]);
+        assertEquals(1.0, cov.actual()[38]);     // one on pause
+        assertEquals(1.0, cov.actual()[40]);
+        assertEquals(0.0, cov.actual()[44]);
+    }
+
+    @Test
+    void slot_length_must_divide_a_day() {
+        assertThrows(ConflictException.class, () -> svc.coverage(4L, DAY, 1, 7));
+        verifyNoInteractions(teams);
+    }
+}
@@ -3,6 +3,7 @@ package epitech.timemanager1.services;
 import epitech.timemanager1.entities.*;
 import epitech.timemanager1.entities.Clock;
 import epitech.timemanager1.repositories.*;
+import epitech.timemanager1.util.BusinessCalendar;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
@@ -24,6 +25,9 @@ class TimeSheetServiceTest {
     @Mock ScheduleOverrideRepository overrides;
     @Mock UserRepository users;
     @Mock TeamRepository teams;
+    @Mock HolidayCalendarService holidays;
+    @Mock ShiftSeriesExpander seriesExpander;
+    @Spy SiteZones zones = new SiteZones("UTC", "UTC");
 
     @InjectMocks TimeSheetService svc;
 
@@ -67,6 +71,7 @@ class TimeSheetServiceTest {
                 .thenReturn(List.of()); // no leave
         when(overrides.findByEmployeeIdAndDateBetweenOrderByDateAsc(eq(empId), any(), any()))
                 .thenReturn(List.of()); // no overrides
+        when(holidays.forEmployee(empId)).thenReturn(BusinessCalendar.weekendsOnly("T", 2025, 2025));
 
         var ts = svc.timesheetForEmployee(empId, day, day, ZoneId.of("UTC"));
         assertEquals(empId, ts.employeeId());
@@ -76,5 +81,7 @@ class TimeSheetServiceTest {
         assertEquals(7.67, d.actualHours(), 0.01);
         assertNull(d.leave());
         assertNull(d.overrides());
+        assertEquals(1, ts.businessDays());
+        assertNull(d.holiday());
     }
 }
\ No newline at end of file
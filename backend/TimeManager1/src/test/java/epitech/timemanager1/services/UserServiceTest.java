@@ -3,9 +3,12 @@ package epitech.timemanager1.services;
 import epitech.timemanager1.dto.UserDTO;
 import epitech.timemanager1.entities.Role;
 import epitech.timemanager1.entities.User;
+import epitech.timemanager1.eventbus.EventBus;
+import epitech.timemanager1.events.UserApprovedEvent;
 import epitech.timemanager1.events.UserRegisteredEvent;
 import epitech.timemanager1.exception.ConflictException;
 import epitech.timemanager1.exception.NotFoundException;
+import epitech.timemanager1.kafka.KafkaTopics;
 import epitech.timemanager1.mapper.UserMapper;
 import epitech.timemanager1.repositories.TeamMemberRepository;
 import epitech.timemanager1.repositories.UserRepository;
@@ -36,6 +39,9 @@ class UserServiceTest {
     @Mock
     private TeamMemberRepository teamMemberRepository;
 
+    @Mock
+    private EventBus eventBus;
+
     private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
 
     private UserService userService;
@@ -48,7 +54,8 @@ class UserServiceTest {
                 userRepository,
                 userMapper,
                 passwordEncoder,
-                teamMemberRepository
+                teamMemberRepository,
+                eventBus
         );
     }
 
@@ -133,5 +140,6 @@ class UserServiceTest {
 
         assertTrue(user.isActive());
         verify(userRepository).save(user);
+        verify(eventBus).publish(eq(KafkaTopics.USER_APPROVED), eq("user-1"), any(UserApprovedEvent.class));
     }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package epitech.timemanager1.services;
 
+import epitech.timemanager1.config.ShiftOverlapConstraint;
+import epitech.timemanager1.dto.WorkShiftBatchDTO;
+import epitech.timemanager1.dto.WorkShiftBatchResultDTO;
 import epitech.timemanager1.entities.Role;
 import epitech.timemanager1.entities.Team;
 import epitech.timemanager1.entities.User;
@@ -14,12 +17,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +38,10 @@ class WorkShiftServiceTest {
     @Mock WorkShiftRepository repo;
     @Mock TeamRepository teams;
     @Mock UserRepository users;
+    @Mock ApplicationEventPublisher events;
+    @Mock ShiftOverlapConstraint overlapConstraint;
+    @Mock ShiftSeriesExpander seriesExpander;
+    @Mock PayrollLock payrollLock;
 
     @InjectMocks WorkShiftService svc;
 
@@ -216,4 +230,110 @@ class WorkShiftServiceTest {
 
         verify(repo).deleteById(5L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void createAll_refusesConflictsWithStoredAndEarlierEntries_andSavesTheRestOnce() {
+        Team t = team(7L);
+        User u = user(11L);
+        LocalDateTime d = LocalDateTime.of(2025, 1, 10, 0, 0);
+
+        when(teams.findAllById(anyCollection())).thenReturn(List.of(t));
+        when(users.findAllById(anyCollection())).thenReturn(List.of(u));
+        when(repo.findForEmployeesOverlapping(anyCollection(), any(), any()))
+                .thenReturn(List.of(shift(1L, t, u, d.withHour(8), d.withHour(12))));
+        AtomicLong ids = new AtomicLong(100);
+        when(repo.saveAll(anyCollection())).thenAnswer(inv -> {
+            List<WorkShift> out = new ArrayList<>();
+            for (WorkShift ws : inv.<Iterable<WorkShift>>getArgument(0)) {
+                ws.setId(ids.incrementAndGet());
+                out.add(ws);
+            }
+            return out;
+        });
+
+        List<WorkShiftBatchResultDTO> results = svc.createAll(List.of(
+                new WorkShiftBatchDTO.Item(7L, 11L, d.withHour(12), d.withHour(16), null, null), // touches stored: ok
+                new WorkShiftBatchDTO.Item(7L, 11L, d.withHour(10), d.withHour(11), null, null), // stored clash
+                new WorkShiftBatchDTO.Item(7L, 11L, d.withHour(15), d.withHour(18), null, null), // clashes entry 0
+                new WorkShiftBatchDTO.Item(7L, null, d.withHour(10), d.withHour(11), "Lyon", null), // unassigned
+                new WorkShiftBatchDTO.Item(9L, null, d.withHour(10), d.withHour(11), null, null),  // unknown team
+                new WorkShiftBatchDTO.Item(7L, 11L, d.withHour(18), d.withHour(17), null, null)  // bad window
+        ));
+
+        assertEquals(6, results.size());
+        assertTrue(results.get(0).created());
+        assertEquals(101L, results.get(0).shiftId());
+        assertEquals("Employee already has overlapping shift", results.get(1).error());
+        assertEquals("Overlaps entry 0 of the batch", results.get(2).error());
+        assertTrue(results.get(3).created());
+        assertEquals(102L, results.get(3).shiftId());
+        assertEquals("Team not found: 9", results.get(4).error());
+        assertEquals("Invalid time window", results.get(5).error());
+
+        verify(repo, times(1)).saveAll(anyCollection());
+        verify(repo, times(1)).findForEmployeesOverlapping(anyCollection(), any(), any());
+        verify(repo, never()).save(any());
+        verify(events, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void createAll_unknownEmployee_isRefusedPerRow() {
+        Team t = team(7L);
+        LocalDateTime d = LocalDateTime.of(2025, 1, 10, 0, 0);
+
+        when(teams.findAllById(anyCollection())).thenReturn(List.of(t));
+        when(users.findAllById(anyCollection())).thenReturn(List.of());
+        when(repo.saveAll(anyCollection())).thenReturn(List.of());
+
+        List<WorkShiftBatchResultDTO> results = svc.createAll(List.of(
+                new WorkShiftBatchDTO.Item(7L, 42L, d.withHour(9), d.withHour(17), null, null)));
+
+        assertFalse(results.get(0).created());
+        assertEquals("User not found: 42", results.get(0).error());
+        verify(repo, never()).findForEmployeesOverlapping(anyCollection(), any(), any());
+    }
+
+    @Test
+    void create_withDatabaseConstraint_skipsPreCheck_andMapsViolationToConflict() {
+        Team t = team(7L);
+        User u = user(11L);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 10, 9, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 1, 10, 17, 0);
+
+        when(overlapConstraint.isInstalled()).thenReturn(true);
+        when(teams.findById(7L)).thenReturn(Optional.of(t));
+        when(users.findById(11L)).thenReturn(Optional.of(u));
+        SQLException pg = new SQLException(
+                "conflicting key value violates exclusion constraint \"" + ShiftOverlapConstraint.NAME + "\"", "23P01");
+        when(repo.save(any())).thenThrow(new DataIntegrityViolationException("could not execute statement", pg));
+
+        ConflictException ex = assertThrows(ConflictException.class,
+                () -> svc.create(7L, 11L, start, end, null, null));
+
+        assertEquals("Employee already has overlapping shift", ex.getMessage());
+        verify(repo, never()).existsOverlapForEmployee(any(), any(), any());
+        verify(events, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void assignEmployee_withDatabaseConstraint_flushesInsteadOfQuerying() {
+        Team t = team(7L);
+        User u = user(11L);
+        WorkShift ws = shift(1L, t, null,
+                LocalDateTime.of(2025, 1, 10, 9, 0), LocalDateTime.of(2025, 1, 10, 17, 0));
+
+        when(overlapConstraint.isInstalled()).thenReturn(true);
+        when(repo.findById(1L)).thenReturn(Optional.of(ws));
+        when(users.findById(11L)).thenReturn(Optional.of(u));
+
+        assertSame(u, svc.assignEmployee(1L, 11L).getEmployee());
+        verify(repo).flush();
+        verify(repo, never()).existsOverlapForEmployeeExcludingId(any(), any(), any(), any());
+    }
+
+    @Test
+    void otherIntegrityViolations_areNotMistakenForOverlaps() {
+        SQLException fk = new SQLException("violates foreign key constraint \"fk_team\"", "23503");
+        assertFalse(ShiftOverlapConstraint.isViolation(new DataIntegrityViolationException("x", fk)));
+    }
+}
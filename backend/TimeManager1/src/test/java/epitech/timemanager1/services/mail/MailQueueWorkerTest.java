@@ -0,0 +1,114 @@
+package epitech.timemanager1.services.mail;
+
+import epitech.timemanager1.services.mail.MailQueueService.QueuedMail;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MailQueueWorkerTest {
+
+    /** Local SMTP stand-in: records one "connection" per batch and rejects configured recipients. */
+    static class StandInSmtp extends JavaMailSenderImpl {
+        final List<List<String>> connections = new CopyOnWriteArrayList<>();
+        final Set<String> rejected = new HashSet<>();
+
+        @Override
+        protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+            List<String> delivered = new ArrayList<>();
+            Map<Object, Exception> failed = new LinkedHashMap<>();
+            for (int i = 0; i < mimeMessages.length; i++) {
+                String to = recipient(mimeMessages[i]);
+                if (rejected.contains(to)) {
+                    Object original = originalMessages != null ? originalMessages[i] : mimeMessages[i];
+                    failed.put(original, new MessagingException("550 mailbox unavailable"));
+                } else {
+                    delivered.add(to);
+                }
+            }
+            connections.add(delivered);
+            if (!failed.isEmpty()) throw new MailSendException(failed);
+        }
+
+        private static String recipient(MimeMessage msg) {
+            try {
+                Address[] to = msg.getAllRecipients();
+                return to[0].toString();
+            } catch (MessagingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @Mock MailQueueService queue;
+
+    StandInSmtp smtp;
+    SimpleMeterRegistry meters;
+    MailQueueWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        smtp = new StandInSmtp();
+        meters = new SimpleMeterRegistry();
+        worker = new MailQueueWorker(queue, smtp, meters, 2, 10, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.shutdown();
+    }
+
+    private static QueuedMail mail(long id, String to) {
+        return new QueuedMail(id, to, "subject", "body", false, 0);
+    }
+
+    @Test
+    void deliver_sendsWholeBatchOverOneConnection() {
+        worker.deliver(List.of(mail(1, "a@x.io"), mail(2, "b@x.io"), mail(3, "c@x.io")));
+
+        assertEquals(1, smtp.connections.size());
+        assertEquals(3, smtp.connections.get(0).size());
+        verify(queue).markSent(argThat(ids -> ids.containsAll(List.of(1L, 2L, 3L)) && ids.size() == 3));
+        verify(queue, never()).markFailed(anyLong(), any());
+        assertEquals(3.0, meters.counter("mail.queue.sent").count());
+    }
+
+    @Test
+    void deliver_onlyRejectedRecipientsAreRetried() {
+        smtp.rejected.add("b@x.io");
+
+        worker.deliver(List.of(mail(1, "a@x.io"), mail(2, "b@x.io"), mail(3, "c@x.io")));
+
+        verify(queue).markFailed(eq(2L), contains("550"));
+        verify(queue).markSent(argThat(ids -> ids.containsAll(List.of(1L, 3L)) && ids.size() == 2));
+        assertEquals(1.0, meters.counter("mail.queue.failed").count());
+    }
+
+    @Test
+    void drain_claimsUntilQueueIsEmpty() {
+        when(queue.claimBatch(10))
+                .thenReturn(List.of(mail(1, "a@x.io")))
+                .thenReturn(List.of());
+
+        worker.drain();
+
+        verify(queue, timeout(2000)).markSent(argThat(ids -> ids.contains(1L)));
+        verify(queue, times(2)).claimBatch(10);
+    }
+}
@@ -0,0 +1,138 @@
+package epitech.timemanager1.services.notification;
+
+import epitech.timemanager1.entities.LeaveType;
+import epitech.timemanager1.entities.Role;
+import epitech.timemanager1.entities.User;
+import epitech.timemanager1.repositories.ClockRepository;
+import epitech.timemanager1.repositories.ClockRepository.OpenClockDigestRow;
+import epitech.timemanager1.repositories.DigestRunRepository;
+import epitech.timemanager1.repositories.LeaveRequestRepository;
+import epitech.timemanager1.repositories.LeaveRequestRepository.PendingLeaveDigestRow;
+import epitech.timemanager1.repositories.UserRepository;
+import epitech.timemanager1.services.mail.MailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ManagerDigestServiceTest {
+
+    private final SpelAwareProxyProjectionFactory projections = new SpelAwareProxyProjectionFactory();
+
+    private LeaveRequestRepository leaves;
+    private ClockRepository clocks;
+    private UserRepository users;
+    private DigestRunRepository runs;
+    private MailService mail;
+    private ManagerDigestService service;
+
+    @BeforeEach
+    void setUp() {
+        leaves = mock(LeaveRequestRepository.class);
+        clocks = mock(ClockRepository.class);
+        users = mock(UserRepository.class);
+        runs = mock(DigestRunRepository.class);
+        mail = mock(MailService.class);
+
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+
+        service = new ManagerDigestService(leaves, clocks, users, runs, mail, engine);
+    }
+
+    private PendingLeaveDigestRow leave(long id, String manager, String employee) {
+        return projections.createProjection(PendingLeaveDigestRow.class, Map.of(
+                "leaveId", id,
+                "managerEmail", manager,
+                "managerFirstName", "Boss",
+                "employeeName", employee,
+                "teamName", "Core",
+                "type", LeaveType.PAID,
+                "startDate", LocalDate.of(2025, 3, 3),
+                "endDate", LocalDate.of(2025, 3, 5)));
+    }
+
+    private OpenClockDigestRow openClock(long id, String manager, String employee) {
+        return projections.createProjection(OpenClockDigestRow.class, Map.of(
+                "clockId", id,
+                "managerEmail", manager,
+                "managerFirstName", "Boss",
+                "employeeName", employee,
+                "teamName", "Core",
+                "clockIn", LocalDateTime.of(2025, 3, 2, 8, 30)));
+    }
+
+    @Test
+    void groups_items_per_recipient_and_sends_one_mail_each() {
+        when(leaves.findPendingForDigest()).thenReturn(List.of(
+                leave(1L, "a@x.io", "Jane Doe"),
+                leave(2L, "a@x.io", "John Roe"),
+                leave(3L, "b@x.io", "Max Poe")));
+        when(clocks.findOpenSinceForDigest(any())).thenReturn(List.of(openClock(9L, "a@x.io", "Jane Doe")));
+        when(users.findAllByActiveFalse()).thenReturn(List.of(
+                User.builder().firstName("New").lastName("Comer").email("new@x.io").build()));
+        when(users.findByRoleAndActiveTrue(Role.CEO)).thenReturn(List.of(
+                User.builder().firstName("Chief").email("ceo@x.io").role(Role.CEO).active(true).build()));
+
+        service.sendDigests();
+
+        verify(mail).sendDigestEmail(eq("a@x.io"), contains("3 items"),
+                argThat(html -> html.contains("John Roe") && html.contains("2025-03-02 08:30")));
+        verify(mail).sendDigestEmail(eq("b@x.io"), contains("1 item needs"), contains("Max Poe"));
+        verify(mail).sendDigestEmail(eq("ceo@x.io"), anyString(), contains("new@x.io"));
+        verifyNoMoreInteractions(mail);
+    }
+
+    @Test
+    void an_employee_in_two_teams_of_the_same_manager_is_listed_once() {
+        // one row per team membership
+        when(leaves.findPendingForDigest()).thenReturn(List.of(
+                leave(1L, "a@x.io", "Jane Doe"),
+                leave(1L, "a@x.io", "Jane Doe")));
+        when(clocks.findOpenSinceForDigest(any())).thenReturn(List.of(
+                openClock(9L, "a@x.io", "Jane Doe"),
+                openClock(9L, "a@x.io", "Jane Doe")));
+        when(users.findAllByActiveFalse()).thenReturn(List.of());
+
+        ManagerDigestService.Digest digest = service.collect(LocalDateTime.of(2025, 3, 3, 8, 0)).get("a@x.io");
+
+        assertEquals(1, digest.pendingLeaves().size());
+        assertEquals(1, digest.openClocks().size());
+        assertEquals(2, digest.size());
+    }
+
+    @Test
+    void nothing_outstanding_sends_nothing() {
+        when(leaves.findPendingForDigest()).thenReturn(List.of());
+        when(clocks.findOpenSinceForDigest(any())).thenReturn(List.of());
+        when(users.findAllByActiveFalse()).thenReturn(List.of());
+
+        service.sendDigests();
+
+        verifyNoInteractions(mail);
+        verify(users, never()).findByRoleAndActiveTrue(any());
+    }
+
+    @Test
+    void day_already_claimed_by_another_instance_sends_nothing() {
+        when(runs.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("ux_digest_run_day"));
+
+        service.sendDigests();
+
+        verifyNoInteractions(mail, leaves, clocks);
+    }
+}
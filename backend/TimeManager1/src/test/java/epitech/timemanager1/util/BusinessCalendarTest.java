@@ -0,0 +1,61 @@
+package epitech.timemanager1.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusinessCalendarTest {
+
+    private final BusinessCalendar fr = BusinessCalendar.builder("FR", 2024, 2026)
+            .yearly(MonthDay.of(1, 1), "New year")
+            .yearly(MonthDay.of(5, 1), "Labour day")
+            .easterRelative(1, "Easter Monday")
+            .on(LocalDate.of(2025, 12, 26), "Bridge day")
+            .build();
+
+    @Test
+    void easter_matches_known_dates() {
+        assertEquals(LocalDate.of(2024, 3, 31), BusinessCalendar.easterSunday(2024));
+        assertEquals(LocalDate.of(2025, 4, 20), BusinessCalendar.easterSunday(2025));
+        assertEquals(LocalDate.of(2038, 4, 25), BusinessCalendar.easterSunday(2038));
+    }
+
+    @Test
+    void business_days_skip_weekends_and_holidays() {
+        assertFalse(fr.isBusinessDay(LocalDate.of(2025, 4, 21)));  // Easter Monday
+        assertEquals("Easter Monday", fr.holidayName(LocalDate.of(2025, 4, 21)));
+        assertFalse(fr.isBusinessDay(LocalDate.of(2025, 4, 19)));  // Saturday
+        assertTrue(fr.isBusinessDay(LocalDate.of(2025, 4, 22)));
+
+        // April 2025: 22 weekdays, minus Easter Monday
+        assertEquals(21, fr.businessDaysBetween(LocalDate.of(2025, 4, 1), LocalDate.of(2025, 4, 30)));
+        assertEquals(1, fr.businessDaysBetween(LocalDate.of(2025, 4, 22), LocalDate.of(2025, 4, 22)));
+        assertEquals(0, fr.businessDaysBetween(LocalDate.of(2025, 4, 22), LocalDate.of(2025, 4, 21)));
+    }
+
+    @Test
+    void prefix_sums_match_a_day_by_day_count_across_years() {
+        LocalDate from = LocalDate.of(2024, 2, 27), to = LocalDate.of(2026, 3, 3);
+        int expected = 0;
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            if (fr.isBusinessDay(d)) expected++;
+        }
+        assertEquals(expected, fr.businessDaysBetween(from, to));
+    }
+
+    @Test
+    void custom_weekend_and_range_checks() {
+        BusinessCalendar friSat = BusinessCalendar.builder("X", 2025, 2025)
+                .weekend(List.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY))
+                .build();
+        assertTrue(friSat.isBusinessDay(LocalDate.of(2025, 6, 1)));   // Sunday
+        assertFalse(friSat.isBusinessDay(LocalDate.of(2025, 6, 6)));  // Friday
+
+        assertThrows(IllegalArgumentException.class, () -> friSat.isBusinessDay(LocalDate.of(2026, 1, 1)));
+    }
+}
@@ -0,0 +1,71 @@
+package epitech.timemanager1.util;
+
+import epitech.timemanager1.entities.Role;
+import epitech.timemanager1.util.CubeQuery.Dimension;
+import epitech.timemanager1.util.CubeQuery.Measure;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CubeQueryTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 3, 31);
+
+    @Test
+    void parses_dimensions_measures_and_filters() {
+        CubeQuery q = CubeQuery.parse(" Team, month ", "net_hours,LATENESS_RATE,net_hours",
+                "team:3,5;role:employee;weekday:mon..fri;week:2025-01-08;month:2025-02", FROM, TO, LocalTime.of(9, 0));
+
+        assertEquals(List.of(Dimension.TEAM, Dimension.MONTH), q.by());
+        assertEquals(List.of(Measure.NET_HOURS, Measure.LATENESS_RATE), q.measures());
+        assertEquals(List.of(3L, 5L), q.filters().get(Dimension.TEAM));
+        assertEquals(List.of(Role.EMPLOYEE), q.filters().get(Dimension.ROLE));
+        assertEquals(List.of(1, 2, 3, 4, 5), q.filters().get(Dimension.WEEKDAY));
+        assertEquals(List.of(LocalDate.of(2025, 1, 6)), q.filters().get(Dimension.WEEK));
+        assertEquals(List.of(LocalDate.of(2025, 2, 1)), q.filters().get(Dimension.MONTH));
+        assertEquals(9 * 3600, q.lateAfterSecond());
+    }
+
+    @Test
+    void blank_parts_fall_back_to_a_grand_total_of_the_default_measures() {
+        CubeQuery q = CubeQuery.parse(null, " ", null, FROM, TO, null);
+        assertTrue(q.by().isEmpty());
+        assertTrue(q.filters().isEmpty());
+        assertEquals(CubeQuery.DEFAULT_MEASURES, q.measures());
+        assertEquals(LocalTime.of(9, 5).toSecondOfDay(), q.lateAfterSecond());
+    }
+
+    @Test
+    void rejects_anything_outside_the_grammar() {
+        for (String[] bad : new String[][]{
+                {"team;drop table users", null, null},
+                {"team,team", null, null},
+                {null, "salary", null},
+                {null, null, "team"},
+                {null, null, "team:abc"},
+                {null, null, "weekday:8"},
+                {null, null, "weekday:fri..mon"},
+                {null, null, "role:1=1"},
+                {null, null, "team:1;team:2"},
+                {null, null, "month:"},
+        }) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> CubeQuery.parse(bad[0], bad[1], bad[2], FROM, TO, null), String.join("|", String.valueOf(bad[0]),
+                            String.valueOf(bad[1]), String.valueOf(bad[2])));
+        }
+        assertThrows(IllegalArgumentException.class, () -> CubeQuery.parse(null, null, null, TO, FROM, null));
+    }
+
+    @Test
+    void formats_grouped_values_for_the_client() {
+        assertEquals("2025-02", Dimension.MONTH.format(LocalDate.of(2025, 2, 1)));
+        assertEquals("SATURDAY", Dimension.WEEKDAY.format(6));
+        assertEquals("MANAGER", Dimension.ROLE.format(Role.MANAGER));
+        assertEquals(7L, Dimension.TEAM.format(7L));
+    }
+}
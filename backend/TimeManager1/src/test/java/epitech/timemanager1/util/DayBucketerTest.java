@@ -0,0 +1,96 @@
+package epitech.timemanager1.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayBucketerTest {
+
+    static final ZoneId UTC = ZoneId.of("UTC");
+    static final ZoneId PARIS = ZoneId.of("Europe/Paris");
+    static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    @Test
+    void spring_forward_day_has_23_hours() {
+        DayBucketer b = DayBucketer.of(PARIS, PARIS, LocalDate.of(2025, 3, 29), LocalDate.of(2025, 3, 31));
+        long[] perDay = new long[b.days()];
+        b.accumulate(LocalDateTime.of(2025, 3, 29, 0, 0), LocalDateTime.of(2025, 4, 1, 0, 0), perDay);
+
+        assertArrayEquals(new long[]{24 * 3600, 23 * 3600, 24 * 3600}, perDay);
+    }
+
+    @Test
+    void fall_back_day_has_25_hours() {
+        DayBucketer b = DayBucketer.of(PARIS, PARIS, LocalDate.of(2025, 10, 26), LocalDate.of(2025, 10, 26));
+        long[] perDay = new long[1];
+        b.accumulate(LocalDateTime.of(2025, 10, 25, 22, 0), LocalDateTime.of(2025, 10, 27, 2, 0), perDay);
+
+        assertEquals(25 * 3600, perDay[0]);
+    }
+
+    @Test
+    void night_shift_across_the_change_counts_real_time() {
+        // 22:00 -> 06:00 over the spring-forward night is 7 hours, split 2 + 5
+        DayBucketer b = DayBucketer.of(PARIS, PARIS, LocalDate.of(2025, 3, 29), LocalDate.of(2025, 3, 30));
+        long[] perDay = new long[b.days()];
+        b.accumulate(LocalDateTime.of(2025, 3, 29, 22, 0), LocalDateTime.of(2025, 3, 30, 6, 0), perDay);
+
+        assertArrayEquals(new long[]{2 * 3600, 5 * 3600}, perDay);
+    }
+
+    @Test
+    void utc_storage_is_cut_at_site_midnight() {
+        DayBucketer b = DayBucketer.of(UTC, PARIS, LocalDate.of(2025, 1, 7), LocalDate.of(2025, 1, 8));
+        assertEquals(LocalDateTime.of(2025, 1, 6, 23, 0), b.storageStart());
+        assertEquals(LocalDateTime.of(2025, 1, 8, 23, 0), b.storageEnd());
+
+        // 22:30 UTC on the 7th is 23:30 in Paris: still the 7th; 23:30 UTC is the 8th
+        long[] perDay = new long[b.days()];
+        b.accumulate(LocalDateTime.of(2025, 1, 7, 22, 30), LocalDateTime.of(2025, 1, 7, 23, 30), perDay);
+        assertArrayEquals(new long[]{30 * 60, 30 * 60}, perDay);
+
+        long in = b.toInstant(LocalDateTime.of(2025, 1, 7, 8, 10));
+        assertEquals(0, b.dayOf(in));
+        assertEquals(9 * 3600 + 10 * 60, b.secondOfDay(in));
+    }
+
+    @Test
+    void outside_the_window_is_ignored() {
+        DayBucketer b = DayBucketer.of(UTC, UTC, LocalDate.of(2025, 1, 7), LocalDate.of(2025, 1, 7));
+        long[] perDay = new long[1];
+        b.accumulate(LocalDateTime.of(2025, 1, 5, 9, 0), LocalDateTime.of(2025, 1, 6, 9, 0), perDay);
+        b.accumulate(LocalDateTime.of(2025, 1, 8, 9, 0), LocalDateTime.of(2025, 1, 8, 17, 0), perDay);
+
+        assertEquals(0, perDay[0]);
+        assertEquals(-1, b.dayOf(b.toInstant(LocalDateTime.of(2025, 1, 8, 0, 0))));
+        assertEquals(-1, b.dayOf(b.toInstant(LocalDateTime.of(2025, 1, 6, 23, 59))));
+        assertEquals(8 * 3600, b.clippedSeconds(LocalDateTime.of(2025, 1, 7, 16, 0), LocalDateTime.of(2025, 1, 9, 0, 0)));
+    }
+
+    @Test
+    void conversions_match_zoned_date_time_around_transitions() {
+        DayBucketer b = DayBucketer.of(NEW_YORK, PARIS, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 11, 30));
+        Random rnd = new Random(42);
+        LocalDateTime base = LocalDateTime.of(2025, 3, 1, 0, 0);
+        for (int i = 0; i < 20_000; i++) {
+            LocalDateTime t = base.plusMinutes(rnd.nextInt(274 * 24 * 60));
+            long instant = t.atZone(NEW_YORK).toEpochSecond();
+            assertEquals(instant, b.toInstant(t), t::toString);
+
+            LocalDateTime site = t.atZone(NEW_YORK).withZoneSameInstant(PARIS).toLocalDateTime();
+            assertEquals(site.toLocalTime().toSecondOfDay(), b.secondOfDay(instant), t::toString);
+            int day = b.dayOf(instant);
+            if (day >= 0) assertEquals(site.toLocalDate(), b.day(day), t::toString);
+        }
+        // skipped and repeated local times resolve like ZonedDateTime
+        for (LocalDateTime t : new LocalDateTime[]{
+                LocalDateTime.of(2025, 3, 9, 2, 30), LocalDateTime.of(2025, 11, 2, 1, 30)}) {
+            assertEquals(t.atZone(NEW_YORK).toEpochSecond(), b.toInstant(t), t::toString);
+        }
+    }
+}
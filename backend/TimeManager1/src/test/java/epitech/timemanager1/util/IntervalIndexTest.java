@@ -0,0 +1,82 @@
+package epitech.timemanager1.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalIndexTest {
+
+    static LocalDate d(int day) {
+        return LocalDate.of(2025, 1, day);
+    }
+
+    @Test
+    void closed_ranges_overlap_when_touching() {
+        IntervalIndex<LocalDate, String> idx = IntervalIndex.closed();
+        idx.add(d(10), d(12), "a");
+
+        assertEquals(List.of("a"), idx.overlapping(d(12), d(14)));
+        assertEquals(List.of("a"), idx.overlapping(d(8), d(10)));
+        assertTrue(idx.overlapping(d(13), d(20)).isEmpty());
+    }
+
+    @Test
+    void half_open_ranges_do_not_overlap_when_touching() {
+        IntervalIndex<Integer, String> idx = IntervalIndex.halfOpen();
+        idx.add(10, 12, "a");
+
+        assertTrue(idx.overlapping(12, 14).isEmpty());
+        assertTrue(idx.overlapping(8, 10).isEmpty());
+        assertEquals(List.of("a"), idx.overlapping(11, 11 + 1));
+    }
+
+    @Test
+    void long_interval_is_found_behind_later_short_ones() {
+        IntervalIndex<Integer, String> idx = IntervalIndex.closed();
+        idx.add(1, 100, "long");
+        idx.add(5, 6, "x");
+        idx.add(20, 21, "y");
+
+        assertEquals(List.of("long", "y"), idx.overlapping(21, 30));
+    }
+
+    @Test
+    void filter_and_remove() {
+        IntervalIndex<Integer, String> idx = IntervalIndex.closed();
+        idx.add(1, 5, "self");
+        idx.add(3, 8, "other");
+
+        assertEquals("other", idx.firstOverlapping(2, 4, v -> !v.equals("self")).orElseThrow());
+        assertTrue(idx.remove("other"));
+        assertFalse(idx.anyOverlapping(2, 4, v -> !v.equals("self")));
+        assertFalse(idx.remove("other"));
+        assertEquals(1, idx.size());
+    }
+
+    @Test
+    void matches_brute_force_on_random_intervals() {
+        Random rnd = new Random(42);
+        for (boolean closed : new boolean[]{true, false}) {
+            IntervalIndex<Integer, Integer> idx = closed ? IntervalIndex.closed() : IntervalIndex.halfOpen();
+            List<int[]> all = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                int s = rnd.nextInt(1000), e = s + 1 + rnd.nextInt(50);
+                idx.add(s, e, i);
+                all.add(new int[]{s, e, i});
+            }
+            for (int q = 0; q < 500; q++) {
+                int s = rnd.nextInt(1000), e = s + rnd.nextInt(60);
+                List<Integer> expected = all.stream()
+                        .filter(iv -> closed ? iv[0] <= e && iv[1] >= s : iv[0] < e && iv[1] > s)
+                        .map(iv -> iv[2]).sorted().toList();
+                List<Integer> actual = idx.overlapping(s, e).stream().sorted().toList();
+                assertEquals(expected, actual, (closed ? "closed" : "half-open") + " [" + s + "," + e + "]");
+            }
+        }
+    }
+}
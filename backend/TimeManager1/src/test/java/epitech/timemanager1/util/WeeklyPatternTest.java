@@ -0,0 +1,77 @@
+package epitech.timemanager1.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeeklyPatternTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 1, 6);
+
+    private final WeeklyPattern split = WeeklyPattern.builder()
+            .add(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(12, 0))
+            .add(DayOfWeek.MONDAY, LocalTime.of(13, 0), LocalTime.of(17, 30))
+            .add(DayOfWeek.SUNDAY, LocalTime.of(22, 0), null) // to midnight
+            .build();
+
+    @Test
+    void counts_minutes_and_lists_slots() {
+        assertEquals(3 * 60 + 4 * 60 + 30 + 2 * 60, split.minutes());
+        assertEquals(9.5, split.hoursPerWeek());
+        List<int[]> monday = split.ranges(DayOfWeek.MONDAY);
+        assertEquals(2, monday.size());
+        assertArrayEquals(new int[]{540, 720}, monday.get(0));
+        assertArrayEquals(new int[]{780, 1050}, monday.get(1));
+        assertArrayEquals(new int[]{1320, 1440}, split.ranges(DayOfWeek.SUNDAY).get(0));
+        assertTrue(split.ranges(DayOfWeek.TUESDAY).isEmpty());
+    }
+
+    @Test
+    void covers_checks_every_minute_and_wraps_the_week() {
+        assertTrue(split.covers(MONDAY.atTime(9, 0), MONDAY.atTime(12, 0)));
+        assertFalse(split.covers(MONDAY.atTime(11, 0), MONDAY.atTime(14, 0))); // lunch gap
+        assertTrue(split.covers(MONDAY.minusDays(1).atTime(22, 30), MONDAY.atTime(0, 0)));
+        assertFalse(split.covers(MONDAY.minusDays(1).atTime(23, 0), MONDAY.atTime(1, 0)));
+
+        assertFalse(WeeklyPattern.officeHours().covers(MONDAY.atTime(9, 0), MONDAY.plusDays(8).atTime(9, 0)));
+    }
+
+    @Test
+    void minus_gives_uncovered_minutes() {
+        WeeklyPattern planned = WeeklyPattern.ofIntervals(MONDAY, List.of(
+                new LocalDateTime[]{MONDAY.atTime(8, 0), MONDAY.atTime(10, 0)},
+                new LocalDateTime[]{MONDAY.atTime(13, 0), MONDAY.atTime(17, 30)}));
+
+        WeeklyPattern uncovered = split.minus(planned);
+
+        assertArrayEquals(new int[]{600, 720}, uncovered.ranges(DayOfWeek.MONDAY).get(0));
+        assertEquals(2 * 60 + 2 * 60, uncovered.minutes());
+        assertEquals(60 + 4 * 60 + 30, split.intersect(planned).minutes());
+    }
+
+    @Test
+    void reads_the_manager_ui_json() {
+        WeeklyPatternJson.Compiled c = WeeklyPatternJson.compile("""
+                {"mon":[["08:00","12:00"],["14:00","18:00"]],"sat":[["10:00","24:00"]],
+                 "excludedDates":["2025-01-13"],"pauseDuration":30,"startDate":"2025-01-01","endDate":""}""");
+
+        assertEquals(8 + 14, c.pattern().hoursPerWeek());
+        assertTrue(c.appliesOn(LocalDate.of(2025, 1, 6)));
+        assertFalse(c.appliesOn(LocalDate.of(2025, 1, 13)));
+        assertFalse(c.appliesOn(LocalDate.of(2024, 12, 30)));
+        assertEquals(WeeklyPattern.officeHours(), WeeklyPatternJson.compile(null).pattern());
+    }
+
+    @Test
+    void rejects_unreadable_json() {
+        assertThrows(IllegalArgumentException.class, () -> WeeklyPatternJson.compile("{mon:"));
+        assertThrows(IllegalArgumentException.class, () -> WeeklyPatternJson.compile("{\"mon\":[[\"17:00\",\"09:00\"]]}"));
+        assertThrows(IllegalArgumentException.class, () -> WeeklyPatternJson.compile("{\"tue\":[[\"9h\",\"17h\"]]}"));
+    }
+}
@@ -132,6 +132,47 @@ export const getPendingLeaves = async () => {
   }
 };
 
+/**
+ * File des demandes en attente des équipes d'un manager, page par page (pagination par curseur)
+ * GET /api/leaves/pending/queue?managerId={managerId}&size={size}&cursor={cursor}
+ * @param {number} managerId - ID du manager
+ * @param {string|null} cursor - nextCursor de la page précédente (null pour la première page)
+ * @param {number} size - Taille de page (max 100)
+ * @returns {Promise<{items: Array, nextCursor: string|null}>}
+ */
+export const getPendingLeaveQueue = async (managerId, cursor = null, size = 20) => {
+  try {
+    const params = { managerId, size };
+    if (cursor) params.cursor = cursor;
+    const { data } = await api.get('/api/leaves/pending/queue', { params });
+    return {
+      items: Array.isArray(data?.items) ? data.items : [],
+      nextCursor: data?.nextCursor ?? null,
+    };
+  } catch (error) {
+    console.error('[leavesApi] getPendingLeaveQueue error:', error?.message || error);
+    throw error;
+  }
+};
+
+/**
+ * Nombre de demandes en attente pour un manager (léger, fait pour le polling)
+ * GET /api/leaves/pending/count?managerId={managerId}
+ * `changedAt` augmente à chaque mouvement de la file, même quand le nombre reste le même ;
+ * il vient des demandes elles-mêmes, donc toutes les instances finissent par renvoyer le même.
+ * @param {number} managerId - ID du manager
+ * @returns {Promise<{pending: number, changedAt: number}>}
+ */
+export const getPendingLeaveCount = async (managerId) => {
+  try {
+    const { data } = await api.get('/api/leaves/pending/count', { params: { managerId } });
+    return { pending: Number(data?.pending ?? 0), changedAt: Number(data?.changedAt ?? 0) };
+  } catch (error) {
+    console.error('[leavesApi] getPendingLeaveCount error:', error?.message || error);
+    throw error;
+  }
+};
+
 /**
  * Récupérer les congés dans une fenêtre de dates
  * GET /api/leaves/window?employeeId={employeeId}&from={from}&to={to}
@@ -230,6 +271,8 @@ export default {
   rejectLeave,
   getEmployeeLeaves,
   getPendingLeaves,
+  getPendingLeaveQueue,
+  getPendingLeaveCount,
   getLeavesInWindow,
   updateLeave,
   deleteLeave,
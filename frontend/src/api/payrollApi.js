@@ -0,0 +1,47 @@
+// src/api/payrollApi.js
+import api from './client';
+
+/**
+ * Service API pour la clôture de paie.
+ * Une période clôturée fige les totaux de chaque employé ; pointages et pauses
+ * de la période ne sont plus modifiables (409).
+ */
+export const payrollApi = {
+  /**
+   * Clôturer une période (dates incluses, YYYY-MM-DD, 31 jours max)
+   * POST /api/payroll/periods/close
+   */
+  close: async (from, to) => {
+    const { data } = await api.post('/api/payroll/periods/close', { from, to });
+    return data;
+  },
+
+  /**
+   * Lister les périodes clôturées (sans les lignes)
+   * GET /api/payroll/periods
+   */
+  list: async () => {
+    const { data } = await api.get('/api/payroll/periods');
+    return data;
+  },
+
+  /**
+   * Période clôturée avec les totaux figés de tous les employés
+   * GET /api/payroll/periods/{id}
+   */
+  getSnapshot: async (periodId) => {
+    const { data } = await api.get(`/api/payroll/periods/${periodId}`);
+    return data;
+  },
+
+  /**
+   * Totaux figés d'un employé pour une période
+   * GET /api/payroll/periods/{id}/users/{userId}
+   */
+  getLine: async (periodId, userId) => {
+    const { data } = await api.get(`/api/payroll/periods/${periodId}/users/${userId}`);
+    return data;
+  }
+};
+
+export default payrollApi;
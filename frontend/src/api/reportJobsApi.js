@@ -0,0 +1,61 @@
+// src/api/reportJobsApi.js
+import api from './client';
+
+/**
+ * Service API pour les rapports longs calculés en arrière-plan.
+ * On soumet les paramètres, on suit la progression, puis on télécharge le résultat
+ * (conservé pour une durée limitée). Une demande identique déjà en cours renvoie le même job.
+ */
+export const reportJobsApi = {
+  /**
+   * Soumettre un rapport
+   * type : 'LATENESS' | 'TEAM_TIMESHEETS' | 'TIMESHEET_EXPORT' ; from/to inclus (YYYY-MM-DD)
+   * POST /api/report-jobs
+   */
+  submit: async ({ type, from, to, teamIds = null, threshold = null, zone = null }) => {
+    const { data } = await api.post('/api/report-jobs', { type, from, to, teamIds, threshold, zone });
+    return data;
+  },
+
+  /**
+   * Mes jobs de rapport, du plus récent au plus ancien
+   * GET /api/report-jobs
+   */
+  list: async () => {
+    const { data } = await api.get('/api/report-jobs');
+    return data;
+  },
+
+  /**
+   * État et progression (0-100) d'un job
+   * GET /api/report-jobs/{id}
+   */
+  get: async (jobId) => {
+    const { data } = await api.get(`/api/report-jobs/${jobId}`);
+    return data;
+  },
+
+  /**
+   * Résultat d'un job terminé (Blob JSON ou CSV)
+   * GET /api/report-jobs/{id}/result
+   */
+  download: async (jobId) => {
+    const { data } = await api.get(`/api/report-jobs/${jobId}/result`, { responseType: 'blob' });
+    return data;
+  },
+
+  /**
+   * Attendre la fin d'un job en interrogeant son état ; onProgress reçoit chaque état.
+   * (EventSource ne peut pas envoyer le jeton : le flux /events sert aux clients qui le peuvent)
+   */
+  waitFor: async (jobId, onProgress = () => {}, intervalMs = 2000) => {
+    for (;;) {
+      const job = await reportJobsApi.get(jobId);
+      onProgress(job);
+      if (job.status === 'DONE' || job.status === 'FAILED') return job;
+      await new Promise((resolve) => setTimeout(resolve, intervalMs));
+    }
+  }
+};
+
+export default reportJobsApi;
@@ -62,6 +62,93 @@ export const reportsApi = {
     return data;
   },
 
+  /**
+   * Respect du planning d'une équipe : retards, départs anticipés, absences,
+   * pointages non clôturés et heures sup. par shift (from/to inclus, YYYY-MM-DD)
+   * GET /api/reports/teams/{teamId}/adherence
+   */
+  getTeamAdherence: async (teamId, from, to, details = true) => {
+    const { data } = await api.get(`/api/reports/teams/${teamId}/adherence`, {
+      params: { from, to, details }
+    });
+    return data;
+  },
+
+  /**
+   * Totaux de respect du planning de toutes les équipes pour un mois (YYYY-MM)
+   * GET /api/reports/adherence
+   */
+  getCompanyAdherence: async (yearMonth) => {
+    const { data } = await api.get('/api/reports/adherence', {
+      params: { yearMonth }
+    });
+    return data;
+  },
+
+  /**
+   * Heures sup. hebdomadaires d'un utilisateur (journalières, hebdo, taux majoré) en minutes
+   * GET /api/reports/users/{userId}/overtime
+   */
+  getUserOvertime: async (userId, from, to) => {
+    const { data } = await api.get(`/api/reports/users/${userId}/overtime`, {
+      params: { from, to }
+    });
+    return data;
+  },
+
+  /**
+   * Heures sup. hebdomadaires des membres d'une équipe, avec les totaux
+   * GET /api/reports/teams/{teamId}/overtime
+   */
+  getTeamOvertime: async (teamId, from, to) => {
+    const { data } = await api.get(`/api/reports/teams/${teamId}/overtime`, {
+      params: { from, to }
+    });
+    return data;
+  },
+
+  /**
+   * Export CSV des feuilles de temps de toute l'entreprise pour un mois (YYYY-MM),
+   * une ligne par employé et par jour ; renvoie un Blob à télécharger
+   * GET /api/timesheets/export
+   */
+  exportTimesheets: async (yearMonth, zoneId = null) => {
+    const { data } = await api.get('/api/timesheets/export', {
+      params: zoneId ? { yearMonth, zone: zoneId } : { yearMonth },
+      responseType: 'blob'
+    });
+    return data;
+  },
+
+  /**
+   * Tendances hebdomadaires par équipe : heures nettes, moyenne par membre et retards,
+   * une valeur par semaine (semaines vides comprises) ; teamIds vide = toutes les équipes
+   * GET /api/reports/teams/trends
+   */
+  getTeamTrends: async (from, to, teamIds = [], lateAfter = null) => {
+    const params = { from, to };
+    if (teamIds.length) params.teamIds = teamIds.join(',');
+    if (lateAfter) params.lateAfter = lateAfter;
+    const { data } = await api.get('/api/reports/teams/trends', { params });
+    return data;
+  },
+
+  /**
+   * Cube d'heures : heures nettes, pauses et retards regroupés à la demande
+   * by : 'team,month' (user, team, role, day, week, month, weekday)
+   * measures : 'net_hours,pause_hours,days,late_days,lateness_rate,avg_net_hours'
+   * filter : 'team:3,5;role:EMPLOYEE;weekday:MON..FRI' ; from/to inclus (366 jours max)
+   * GET /api/reports/cube
+   */
+  getCube: async ({ from, to, by = '', measures = null, filter = null, lateAfter = null }) => {
+    const params = { from, to, by };
+    if (measures) params.measures = measures;
+    if (filter) params.filter = filter;
+    if (lateAfter) params.lateAfter = lateAfter;
+    const { data } = await api.get('/api/reports/cube', { params });
+    return data;
+  },
+
   /**
    * Obtenir des statistiques détaillées pour un utilisateur
    * Combinaison de plusieurs endpoints pour un rapport complet
@@ -96,6 +96,20 @@ export const updateScheduleTemplate = async (id, templateData) => {
   }
 };
 
+/**
+ * Couverture d'une semaine par les quarts planifiés (minutes du modèle non couvertes)
+ * GET /api/schedule-templates/{id}/coverage?week=YYYY-MM-DD
+ */
+export const getScheduleTemplateCoverage = async (id, week) => {
+  try {
+    const { data } = await api.get(`/api/schedule-templates/${id}/coverage`, { params: { week } });
+    return data;
+  } catch (error) {
+    console.error('[scheduleTemplatesApi] getScheduleTemplateCoverage error:', error?.message || error);
+    throw error;
+  }
+};
+
 // Export objet pour compatibilité avec ancien code si nécessaire
 export const scheduleTemplatesApi = {
   create: createScheduleTemplate,
@@ -104,6 +118,7 @@ export const scheduleTemplatesApi = {
   getActiveForTeam: getActiveScheduleTemplate,
   delete: deleteScheduleTemplate,
   update: updateScheduleTemplate,
+  coverage: getScheduleTemplateCoverage,
 };
 
 export default scheduleTemplatesApi;
\ No newline at end of file
@@ -0,0 +1,63 @@
+// src/api/shiftSeriesApi.js
+import api from './client';
+
+/**
+ * Service API pour les quarts récurrents (séries).
+ * Les occurrences apparaissent dans les listes de workShiftsApi avec seriesId et occurrenceDate.
+ */
+export const shiftSeriesApi = {
+  /**
+   * Créer une série
+   * POST /api/shift-series
+   * { teamId, employeeId?, days: ['MONDAY', ...], startTime: '09:00', endTime: '17:00', validFrom, validUntil?, skipHolidays, note? }
+   */
+  create: async (seriesData) => {
+    const { data } = await api.post('/api/shift-series', seriesData);
+    return data;
+  },
+
+  /**
+   * Lister les séries d'une équipe
+   * GET /api/shift-series/team/{teamId}
+   */
+  listForTeam: async (teamId) => {
+    const { data } = await api.get(`/api/shift-series/team/${teamId}`);
+    return data;
+  },
+
+  /**
+   * Arrêter une série après un jour donné (inclus)
+   * PATCH /api/shift-series/{id}/end?lastDay=...
+   */
+  end: async (id, lastDay) => {
+    const { data } = await api.patch(`/api/shift-series/${id}/end`, null, { params: { lastDay } });
+    return data;
+  },
+
+  /**
+   * Supprimer une série (les occurrences modifiées restent)
+   * DELETE /api/shift-series/{id}
+   */
+  delete: async (id) => {
+    await api.delete(`/api/shift-series/${id}`);
+  },
+
+  /**
+   * Modifier une occurrence (elle devient un quart normal)
+   * PUT /api/shift-series/{id}/occurrences/{date}
+   */
+  editOccurrence: async (id, date, changes) => {
+    const { data } = await api.put(`/api/shift-series/${id}/occurrences/${date}`, changes);
+    return data;
+  },
+
+  /**
+   * Annuler une occurrence
+   * DELETE /api/shift-series/{id}/occurrences/{date}
+   */
+  cancelOccurrence: async (id, date) => {
+    await api.delete(`/api/shift-series/${id}/occurrences/${date}`);
+  }
+};
+
+export default shiftSeriesApi;
@@ -133,4 +133,39 @@ export async function addMember(teamId, userId) {
 
 export async function removeMember(teamId, userId) {
   await api.delete(`/api/teams/${teamId}/members/${userId}`);
-}
\ No newline at end of file
+}
+/**
+ * GET /api/teams/{teamId}/absences?from=YYYY-MM-DD&days=N
+ * Calendrier d'absences de l'équipe : approved[i] / pending[i] = nombre de membres absents
+ * le jour from + i ; segments = plages de jours avec les mêmes membres absents.
+ */
+export async function fetchTeamAbsences(teamId, { from, days = 365 } = {}) {
+  const params = { days };
+  if (from) params.from = from;
+  const { data } = await api.get(`/api/teams/${teamId}/absences`, { params });
+  return data;
+}
+/**
+ * GET /api/teams/{teamId}/coverage?from=YYYY-MM-DD&days=N&slotMinutes=15
+ * Effectif prévu (planned[i], quarts) et réel (actual[i], pointages moins pauses) par créneau :
+ * créneau i = from + i * slotMinutes ; valeurs = nombre moyen de personnes sur le créneau.
+ */
+export async function fetchTeamCoverage(teamId, { from, days = 31, slotMinutes = 15 } = {}) {
+  const params = { days, slotMinutes };
+  if (from) params.from = from;
+  const { data } = await api.get(`/api/teams/${teamId}/coverage`, { params });
+  return data;
+}
+/**
+ * GET / PUT /api/teams/{teamId}/overtime-rule
+ * Seuils d'heures sup. de l'équipe en minutes (null = règle désactivée) :
+ * { dailyMaxMinutes, weeklyMaxMinutes, weeklyHigherRateMinutes }
+ */
+export async function fetchOvertimeRule(teamId) {
+  const { data } = await api.get(`/api/teams/${teamId}/overtime-rule`);
+  return data;
+}
+export async function saveOvertimeRule(teamId, rule) {
+  const { data } = await api.put(`/api/teams/${teamId}/overtime-rule`, rule);
+  return data;
+}
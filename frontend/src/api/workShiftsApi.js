@@ -14,6 +14,24 @@ export const workShiftsApi = {
     return data;
   },
 
+  /**
+   * Créer plusieurs quarts en une fois (max 1000) ; un résultat par entrée
+   * POST /api/workshifts/batch
+   */
+  createBatch: async (shifts) => {
+    const { data } = await api.post('/api/workshifts/batch', { shifts });
+    return data;
+  },
+
+  /**
+   * Recopier la semaine d'une équipe sur les N semaines suivantes
+   * POST /api/workshifts/team/{teamId}/clone-week
+   */
+  cloneWeek: async (teamId, sourceWeek, weeks) => {
+    const { data } = await api.post(`/api/workshifts/team/${teamId}/clone-week`, { sourceWeek, weeks });
+    return data;
+  },
+
   /**
    * Mettre à jour un quart de travail
    * PATCH /api/workshifts/{id}
@@ -1,44 +1,104 @@
-import React, { useEffect, useState } from 'react';
+import React, { useCallback, useEffect, useRef, useState } from 'react';
 import { Check, X, AlertCircle, Loader2, Calendar } from 'lucide-react';
-import { getPendingLeaves, approveLeave, rejectLeave, getLeaveTypeLabel } from '../../api/leavesApi';
+import {
+  getPendingLeaveQueue,
+  getPendingLeaveCount,
+  approveLeave,
+  rejectLeave,
+  getLeaveTypeLabel,
+} from '../../api/leavesApi';
+import { useAuth } from '../../contexts/AuthContext';
 import { Button } from '../ui/button';
 import { Card, CardContent, CardDescription, CardHeader, CardTitle } from '../ui/card';
 import { Badge } from '../ui/Badge';
 
+const PAGE_SIZE = 20;
+
 export default function PendingLeavesWidget() {
+  const { user } = useAuth();
+  const managerId = user?.id;
+
   const [leaves, setLeaves] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [pendingCount, setPendingCount] = useState(0);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState('');
   const [processingId, setProcessingId] = useState(null);
   const [showRejectNote, setShowRejectNote] = useState(null);
   const [rejectNote, setRejectNote] = useState('');
   const [backendNotConfigured] = useState(false); // Backend bug fixed in #70
+  const lastChange = useRef(null);
+
+  // Première page de la file du manager
+  const loadPendingLeaves = useCallback(async () => {
+    if (!managerId) return;
+    try {
+      setError('');
+      const page = await getPendingLeaveQueue(managerId, null, PAGE_SIZE);
+      setLeaves(page.items);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      console.error('[PendingLeavesWidget] Error loading:', err);
+      setError('Erreur lors du chargement des demandes');
+    } finally {
+      setLoading(false);
+    }
+  }, [managerId]);
+
+  // Le polling ne lit que le compteur ; la liste n'est rechargée que si la file a bougé
+  // (changedAt, pas le nombre : une approbation et une nouvelle demande le laissent identique).
+  // Seulement s'il augmente : une instance pas encore resynchronisée renvoie une valeur plus ancienne.
+  const refreshIfChanged = useCallback(async () => {
+    if (!managerId) return;
+    try {
+      const { pending, changedAt } = await getPendingLeaveCount(managerId);
+      setPendingCount(pending);
+      if (lastChange.current === null || changedAt > lastChange.current) {
+        lastChange.current = changedAt;
+        await loadPendingLeaves();
+      }
+    } catch (err) {
+      console.error('[PendingLeavesWidget] Error polling count:', err);
+    } finally {
+      setLoading(false);
+    }
+  }, [managerId, loadPendingLeaves]);
 
   useEffect(() => {
-    loadPendingLeaves();
+    lastChange.current = null;
+    refreshIfChanged();
     // Refresh every 30 seconds
-    const interval = setInterval(loadPendingLeaves, 30000);
+    const interval = setInterval(refreshIfChanged, 30000);
     return () => clearInterval(interval);
-  }, []);
+  }, [refreshIfChanged]);
 
-  const loadPendingLeaves = async () => {
+  const loadMore = async () => {
+    if (!nextCursor) return;
     try {
-      setError('');
-      const data = await getPendingLeaves();
-      setLeaves(Array.isArray(data) ? data : []);
+      setLoadingMore(true);
+      const page = await getPendingLeaveQueue(managerId, nextCursor, PAGE_SIZE);
+      setLeaves((prev) => [...prev, ...page.items]);
+      setNextCursor(page.nextCursor);
     } catch (err) {
-      console.error('[PendingLeavesWidget] Error loading:', err);
+      console.error('[PendingLeavesWidget] Error loading more:', err);
       setError('Erreur lors du chargement des demandes');
     } finally {
-      setLoading(false);
+      setLoadingMore(false);
     }
   };
 
+  // Une demande traitée quitte la file : on suit le compteur localement
+  const removeDecided = (leaveId) => {
+    setLeaves((prev) => prev.filter((l) => l.id !== leaveId));
+    setPendingCount((n) => Math.max(0, n - 1));
+  };
+
   const handleApprove = async (leaveId) => {
     try {
       setProcessingId(leaveId);
       await approveLeave(leaveId);
-      setLeaves((prev) => prev.filter((l) => l.id !== leaveId));
+      removeDecided(leaveId);
     } catch (err) {
       console.error('[PendingLeavesWidget] Error approving:', err);
       setError('Erreur lors de l\'approbation');
@@ -51,7 +111,7 @@ export default function PendingLeavesWidget() {
     try {
       setProcessingId(leaveId);
       await rejectLeave(leaveId, rejectNote || 'Demande rejetée');
-      setLeaves((prev) => prev.filter((l) => l.id !== leaveId));
+      removeDecided(leaveId);
       setShowRejectNote(null);
       setRejectNote('');
     } catch (err) {
@@ -120,9 +180,6 @@ export default function PendingLeavesWidget() {
     );
   }
 
-  // Backend note: The /api/leaves/pending endpoint needs to be configured to filter
-  // requests by manager. Currently it returns ALL pending leaves in the system.
-  // The proper query exists in the repository but isn't wired in the controller/service.
   if (backendNotConfigured) {
     return (
       <Card className="border-yellow-200 bg-yellow-50">
@@ -186,7 +243,7 @@ export default function PendingLeavesWidget() {
           Demandes de congés en attente
         </CardTitle>
         <CardDescription>
-          {leaves.length} demande{leaves.length > 1 ? 's' : ''} à approuver
+          {Math.max(pendingCount, leaves.length)} demande{Math.max(pendingCount, leaves.length) > 1 ? 's' : ''} à approuver
         </CardDescription>
       </CardHeader>
 
@@ -204,25 +261,23 @@ export default function PendingLeavesWidget() {
               <div className="flex items-start justify-between mb-2">
                 <div className="flex-1">
                   <div className="flex justify-between items-start mb-1">
-                    <div className="font-medium text-sm text-gray-900" title={JSON.stringify(leave)}>
-                      {leave.employee && leave.employee.firstName
-                        ? `${leave.employee.firstName} ${leave.employee.lastName}`
-                        : (leave.employee && leave.employee.id
-                          ? `Employé #${leave.employee.id}`
+                    <div className="font-medium text-sm text-gray-900">
+                      {leave.employeeFirstName
+                        ? `${leave.employeeFirstName} ${leave.employeeLastName}`
+                        : (leave.employeeId
+                          ? `Employé #${leave.employeeId}`
                           : `Demande #${leave.id}`)}
                     </div>
-                    {leave.status && (
-                      <span className={`text-xs px-2 py-1 rounded-full ${getStatusColor(leave.status)}`}>
-                        {getStatusLabel(leave.status)}
-                      </span>
-                    )}
+                    <span className={`text-xs px-2 py-1 rounded-full ${getStatusColor('PENDING')}`}>
+                      {getStatusLabel('PENDING')}
+                    </span>
                   </div>
                   <div className="flex gap-2 mt-1">
                     <Badge variant="outline" className="text-xs">
                       {getLeaveTypeLabel(leave.type)}
                     </Badge>
                     <Badge variant="secondary" className="text-xs">
-                      {formatDate(leave.startDate || leave.startAt)} à {formatDate(leave.endDate || leave.endAt)}
+                      {formatDate(leave.startDate)} à {formatDate(leave.endDate)}
                     </Badge>
                   </div>
                 </div>
@@ -304,6 +359,18 @@ export default function PendingLeavesWidget() {
             </div>
           ))}
         </div>
+
+        {nextCursor && (
+          <Button
+            size="sm"
+            variant="outline"
+            onClick={loadMore}
+            disabled={loadingMore}
+            className="w-full mt-3"
+          >
+            {loadingMore ? <Loader2 className="w-4 h-4 animate-spin" /> : 'Voir plus'}
+          </Button>
+        )}
       </CardContent>
     </Card>
   );